@@ -0,0 +1,108 @@
+package com.incubyte.assessment.benchmark;
+
+import com.incubyte.assessment.model.Book;
+import com.incubyte.assessment.repository.RepositoryType;
+import com.incubyte.assessment.repository.library.LibraryRepository;
+import com.incubyte.assessment.repository.library.LibraryRepositoryConfiguration;
+import com.incubyte.assessment.repository.library.LibraryRepositoryFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Shared fixtures of the benchmarks: repository creation, catalog loading and clean up.
+ *
+ * <p>Catalog books have ISBN-13 like numeric ISBNs starting at {@link #FIRST_ISBN}, and every
+ * {@link #AVAILABLE_EVERY}th book is available while the others are borrowed, mimicking a busy library
+ * where most of the catalog is out on loan.</p>
+ */
+final class BenchmarkCatalogs {
+
+    static final int AVAILABLE_EVERY = 10;
+    static final long FIRST_ISBN = 9_780_000_000_000L;
+
+    private static final int LOAD_BATCH_SIZE = 10_000;
+
+    private BenchmarkCatalogs() {
+    }
+
+    static Path createDirectory() {
+        try {
+            return Files.createTempDirectory("library-benchmark");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Creates a fresh repository of the given type, storing any file in the given directory.
+     */
+    static LibraryRepository createRepository(RepositoryType repositoryType, Path directory) {
+        LibraryRepositoryFactory factory = LibraryRepositoryFactory.getInstance();
+        factory.configure(configurationOf(directory).build());
+        return factory.createRepository(repositoryType);
+    }
+
+    /**
+     * Creates a fresh repository of the given type partitioned across {@code shardCount} shards, a single
+     * shard meaning an unsharded repository.
+     */
+    static LibraryRepository createRepository(RepositoryType repositoryType, Path directory, int shardCount) {
+        LibraryRepositoryFactory factory = LibraryRepositoryFactory.getInstance();
+        factory.configure(configurationOf(directory)
+                .shardCount(shardCount)
+                .shardedRepositoryTypes(Set.of(repositoryType))
+                .build());
+        return factory.createRepository(repositoryType);
+    }
+
+    private static LibraryRepositoryConfiguration.Builder configurationOf(Path directory) {
+        return LibraryRepositoryConfiguration.builder()
+                .fileSystemDirectory(directory.resolve("filesystem"))
+                .databaseUrl("jdbc:h2:" + directory.resolve("database"));
+    }
+
+    static String isbnOf(long bookNumber) {
+        return String.valueOf(FIRST_ISBN + bookNumber);
+    }
+
+    static boolean isAvailable(long bookNumber) {
+        return bookNumber % AVAILABLE_EVERY == 0;
+    }
+
+    /**
+     * Loads {@code catalogSize} books into the repository in batches, bypassing the service.
+     */
+    static void populate(LibraryRepository repository, int catalogSize) {
+        List<Book> batch = new ArrayList<>(LOAD_BATCH_SIZE);
+        for (int bookNumber = 0; bookNumber < catalogSize; bookNumber++) {
+            Book book = new Book(isbnOf(bookNumber), "Title " + bookNumber, "Author " + bookNumber % 50_000, 1900 + bookNumber % 120);
+            book.setIsAvailable(isAvailable(bookNumber));
+            batch.add(book);
+
+            if (batch.size() == LOAD_BATCH_SIZE) {
+                repository.addAll(batch);
+                batch = new ArrayList<>(LOAD_BATCH_SIZE);
+            }
+        }
+        repository.addAll(batch);
+    }
+
+    static void close(LibraryRepository repository, Path directory) {
+        LibraryRepositoryFactory.getInstance().clearCache();
+        repository.close();
+
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
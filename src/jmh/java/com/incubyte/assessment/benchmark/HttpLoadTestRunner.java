@@ -0,0 +1,133 @@
+package com.incubyte.assessment.benchmark;
+
+import com.incubyte.assessment.http.LibraryHttpServer;
+import com.incubyte.assessment.metrics.LatencyHistogram;
+import com.incubyte.assessment.metrics.LatencySnapshot;
+import com.incubyte.assessment.repository.library.ConcurrentInMemoryLibraryRepository;
+import com.incubyte.assessment.service.LibraryServiceImpl;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.incubyte.assessment.util.AppConstants.DEFAULT_HTTP_BACKLOG;
+
+/**
+ * Load test of the {@link LibraryHttpServer}, with every client on its own virtual thread holding its own connection.
+ *
+ * <p>Each client adds its own book, then alternately borrows, fetches and returns it. All clients are released
+ * at once, so that every connection is open at the same time. The runner reports the throughput, the latency
+ * percentiles, the failed requests and the peak number of platform threads of the JVM, which stays flat
+ * however many clients are served.</p>
+ *
+ * <p>Arguments: the number of clients, the number of requests per client and, optionally, the base URL of a
+ * server started separately with {@link LibraryHttpServer#main}; without it the server runs in the same JVM,
+ * e.g. {@code mvn -Pbenchmark compile exec:exec -Dbenchmark.mainClass=com.incubyte.assessment.benchmark.HttpLoadTestRunner -Dbenchmark.args="10000 20"}.
+ * Every connection takes one file descriptor on each side, so an in-process run needs twice as many as there
+ * are clients, within the open files limit of the process.</p>
+ */
+public final class HttpLoadTestRunner {
+
+    private static final int DEFAULT_CLIENT_COUNT = 10_000;
+    private static final int DEFAULT_REQUESTS_PER_CLIENT = 20;
+    private static final String BOOK_JSON = "{\"isbn\":\"%s\",\"title\":\"Load Test Book\",\"author\":\"Load Test Author\",\"publicationYear\":2020}";
+
+    private HttpLoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        //The exec profile passes the benchmark arguments as a single argument
+        String[] arguments = String.join(" ", args).trim().split("\\s+");
+        int clientCount = arguments.length > 0 && !arguments[0].isEmpty() ? Integer.parseInt(arguments[0]) : DEFAULT_CLIENT_COUNT;
+        int requestsPerClient = arguments.length > 1 ? Integer.parseInt(arguments[1]) : DEFAULT_REQUESTS_PER_CLIENT;
+
+        LibraryHttpServer server = null;
+        String baseUrl;
+        if (arguments.length > 2) {
+            baseUrl = arguments[2];
+        } else {
+            server = new LibraryHttpServer(new LibraryServiceImpl(new ConcurrentInMemoryLibraryRepository()),
+                    new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), DEFAULT_HTTP_BACKLOG);
+            server.start();
+            baseUrl = "http://localhost:" + server.getPort();
+        }
+
+        try {
+            run(baseUrl, clientCount, requestsPerClient);
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+        }
+    }
+
+    private static void run(String baseUrl, int clientCount, int requestsPerClient) throws InterruptedException {
+        LatencyHistogram latency = new LatencyHistogram();
+        LongAdder failureCount = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+
+        long startNanos;
+        //Resources close in reverse order, so the clients are all done before the HTTP client closes
+        try (HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clientCount; i++) {
+                String isbn = "load-" + i;
+                executor.submit(() -> {
+                    start.await();
+                    for (int request = 0; request < requestsPerClient; request++) {
+                        HttpRequest httpRequest = switch (request % 4) {
+                            case 0 -> post(baseUrl + "/books", BOOK_JSON.formatted(isbn));
+                            case 1 -> post(baseUrl + "/books/" + isbn + "/borrow", null);
+                            case 2 -> HttpRequest.newBuilder(URI.create(baseUrl + "/books/" + isbn)).GET().build();
+                            default -> post(baseUrl + "/books/" + isbn + "/return", null);
+                        };
+                        send(client, httpRequest, request >= 4 && request % 4 == 0, latency, failureCount);
+                    }
+                    return null;
+                });
+            }
+            startNanos = System.nanoTime();
+            start.countDown();
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        LatencySnapshot snapshot = latency.snapshot();
+        System.out.printf("Clients: %d, requests: %d, failures: %d%n", clientCount, snapshot.count(), failureCount.sum());
+        System.out.printf("Throughput: %.0f requests/s over %.2f s%n", snapshot.count() * 1e9 / elapsedNanos, elapsedNanos / 1e9);
+        System.out.printf("Latency: p50 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, max %.2f ms%n",
+                snapshot.p50Nanos() / 1e6, snapshot.p99Nanos() / 1e6, snapshot.p999Nanos() / 1e6, snapshot.maxNanos() / 1e6);
+        System.out.printf("Peak platform threads: %d%n", threads.getPeakThreadCount());
+    }
+
+    private static HttpRequest post(String url, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .POST(body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    //Re-adding the book of the client answers 409, which is expected rather than a failure
+    private static void send(HttpClient client, HttpRequest request, boolean conflictExpected, LatencyHistogram latency, LongAdder failureCount) {
+        long startNanos = System.nanoTime();
+        try {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status >= 300 && !(conflictExpected && status == 409)) {
+                failureCount.increment();
+            }
+        } catch (Exception e) {
+            failureCount.increment();
+        }
+        latency.record(System.nanoTime() - startNanos);
+    }
+}
@@ -0,0 +1,104 @@
+package com.incubyte.assessment.benchmark;
+
+import com.incubyte.assessment.model.Book;
+import com.incubyte.assessment.repository.RepositoryType;
+import com.incubyte.assessment.repository.library.CompactInMemoryLibraryRepository;
+import com.incubyte.assessment.repository.library.ConcurrentInMemoryLibraryRepository;
+import com.incubyte.assessment.repository.library.InMemoryLibraryRepository;
+import com.incubyte.assessment.repository.library.JournaledLibraryRepository;
+import com.incubyte.assessment.repository.library.LibraryRepository;
+import com.incubyte.assessment.repository.library.LibraryRepositoryConfiguration;
+import com.incubyte.assessment.repository.library.journal.RecoveryStats;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+/**
+ * Measures the startup time of a journaled in-memory repository loaded with the benchmark catalog, recovering
+ * from the journal alone and from a snapshot followed by a journal tail of book updates.
+ *
+ * <p>Both recoveries start from a copy of the files of the open repository, as a crash would leave them.
+ * Arguments: the catalog size, the number of updates journaled after the snapshot and the in-memory repository
+ * type, e.g. {@code mvn -Pbenchmark compile exec:exec -Dbenchmark.mainClass=com.incubyte.assessment.benchmark.JournalRecoveryRunner -Dbenchmark.args="1000000 100000 CONCURRENT_IN_MEMORY"}.</p>
+ */
+public final class JournalRecoveryRunner {
+
+    private static final int DEFAULT_CATALOG_SIZE = 1_000_000;
+    private static final int DEFAULT_TAIL_UPDATES = 100_000;
+
+    private JournalRecoveryRunner() {
+    }
+
+    public static void main(String[] args) {
+        //The exec profile passes the benchmark arguments as a single argument
+        String[] arguments = String.join(" ", args).trim().split("\\s+");
+        int catalogSize = arguments.length > 0 && !arguments[0].isEmpty() ? Integer.parseInt(arguments[0]) : DEFAULT_CATALOG_SIZE;
+        int tailUpdates = arguments.length > 1 ? Integer.parseInt(arguments[1]) : DEFAULT_TAIL_UPDATES;
+        RepositoryType repositoryType = arguments.length > 2 ? RepositoryType.valueOf(arguments[2]) : RepositoryType.CONCURRENT_IN_MEMORY;
+
+        Path directory = BenchmarkCatalogs.createDirectory();
+        Path journalOnlyDirectory = directory.resolve("journal-only");
+        Path snapshotDirectory = directory.resolve("snapshot-and-tail");
+
+        JournaledLibraryRepository repository = new JournaledLibraryRepository(createDelegate(repositoryType), configurationOf(directory.resolve("journal")));
+        BenchmarkCatalogs.populate(repository, catalogSize);
+        copy(directory.resolve("journal"), journalOnlyDirectory);
+
+        repository.snapshot();
+        for (int update = 0; update < tailUpdates; update++) {
+            repository.computeIfPresent(BenchmarkCatalogs.isbnOf(update % catalogSize), book -> {
+                Book updatedBook = new Book(book);
+                updatedBook.setIsAvailable(!book.getIsAvailable());
+                return updatedBook;
+            });
+        }
+        copy(directory.resolve("journal"), snapshotDirectory);
+        repository.close();
+
+        System.out.printf("%-22s %12s %16s %16s %14s%n", "Recovery", "Books", "Snapshot books", "Replayed records", "Time (ms)");
+        report("Journal only", repositoryType, journalOnlyDirectory);
+        report("Snapshot + tail", repositoryType, snapshotDirectory);
+
+        BenchmarkCatalogs.close(new InMemoryLibraryRepository(), directory);
+    }
+
+    private static LibraryRepository createDelegate(RepositoryType repositoryType) {
+        return switch (repositoryType) {
+            case IN_MEMORY -> new InMemoryLibraryRepository();
+            case CONCURRENT_IN_MEMORY -> new ConcurrentInMemoryLibraryRepository();
+            case COMPACT_IN_MEMORY -> new CompactInMemoryLibraryRepository();
+            default -> throw new IllegalArgumentException("Only the in-memory repositories are journaled: " + repositoryType);
+        };
+    }
+
+    //Writes are acknowledged without waiting for fsync, so that loading the catalog does not dominate the run
+    private static LibraryRepositoryConfiguration configurationOf(Path journalDirectory) {
+        return LibraryRepositoryConfiguration.builder()
+                .journalDirectory(journalDirectory)
+                .journalSnapshotIntervalMillis(0)
+                .fileSystemSyncOnWrite(false)
+                .build();
+    }
+
+    private static void report(String recovery, RepositoryType repositoryType, Path journalDirectory) {
+        JournaledLibraryRepository repository = new JournaledLibraryRepository(createDelegate(repositoryType), configurationOf(journalDirectory));
+        RecoveryStats stats = repository.getRecoveryStats();
+        System.out.printf("%-22s %12d %16d %16d %14d%n", recovery, repository.getAll().size(),
+                stats.snapshotBookCount(), stats.replayedRecordCount(), stats.durationMillis());
+        repository.close();
+    }
+
+    private static void copy(Path source, Path target) {
+        try (Stream<Path> files = Files.list(source)) {
+            Files.createDirectories(target);
+            for (Path file : files.toList()) {
+                Files.copy(file, target.resolve(file.getFileName()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.incubyte.assessment.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.annotations.Mode;
+
+import java.util.Arrays;
+
+/**
+ * Entry point of the benchmark profile, accepting the usual JMH command line options.
+ *
+ * <p>Unless overridden on the command line, every benchmark reports throughput and average time with
+ * the GC profiler (allocation rate per operation), and is run twice: single-threaded against every
+ * repository type, then with one thread per core against the thread-safe repository types only.</p>
+ *
+ * <p>Example: {@code mvn -Pbenchmark compile exec:exec -Dbenchmark.args="LibraryServiceBenchmark -p catalogSize=1000,100000"}</p>
+ */
+public final class LibraryBenchmarkRunner {
+
+    private static final String[] THREAD_SAFE_REPOSITORY_TYPES = {"CONCURRENT_IN_MEMORY", "FILESYSTEM", "DATABASE"};
+
+    private LibraryBenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        //Maven passes all options as a single argument, which is split back into JMH options here
+        String[] jmhArgs = Arrays.stream(args)
+                .flatMap(arg -> Arrays.stream(arg.trim().split("\\s+")))
+                .filter(arg -> !arg.isEmpty())
+                .toArray(String[]::new);
+        CommandLineOptions commandLineOptions = new CommandLineOptions(jmhArgs);
+
+        if (commandLineOptions.getThreads().hasValue()) {
+            new Runner(options(commandLineOptions).build()).run();
+            return;
+        }
+
+        new Runner(options(commandLineOptions).threads(1).build()).run();
+
+        ChainedOptionsBuilder multiThreaded = options(commandLineOptions).threads(Runtime.getRuntime().availableProcessors());
+        if (!commandLineOptions.getParameter("repositoryType").hasValue()) {
+            multiThreaded.param("repositoryType", THREAD_SAFE_REPOSITORY_TYPES);
+        }
+        new Runner(multiThreaded.build()).run();
+    }
+
+    private static ChainedOptionsBuilder options(CommandLineOptions commandLineOptions) {
+        ChainedOptionsBuilder builder = new OptionsBuilder()
+                .parent(commandLineOptions)
+                .addProfiler(GCProfiler.class);
+
+        if (commandLineOptions.getBenchModes().isEmpty()) {
+            builder.mode(Mode.Throughput).mode(Mode.AverageTime);
+        }
+        return builder;
+    }
+}
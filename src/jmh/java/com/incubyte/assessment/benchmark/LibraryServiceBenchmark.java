@@ -0,0 +1,144 @@
+package com.incubyte.assessment.benchmark;
+
+import com.incubyte.assessment.model.BookDto;
+import com.incubyte.assessment.repository.RepositoryType;
+import com.incubyte.assessment.repository.library.LibraryRepository;
+import com.incubyte.assessment.service.LibraryService;
+import com.incubyte.assessment.service.LibraryServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JMH benchmarks of the {@link LibraryService} operations, for every repository type and catalog size.
+ *
+ * <p>Every patron thread works on its own disjoint share of the available books, so borrows never fail
+ * on a book held by another thread and multi-threaded runs measure contention on the repository only.</p>
+ *
+ * <p>Run through {@link LibraryBenchmarkRunner}, which adds the GC profiler and repeats the run with
+ * one thread and with one thread per core.</p>
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LibraryServiceBenchmark {
+
+    @Param({"IN_MEMORY", "CONCURRENT_IN_MEMORY", "COMPACT_IN_MEMORY", "FILESYSTEM", "DATABASE"})
+    public String repositoryType;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int catalogSize;
+
+    private Path directory;
+    private LibraryRepository repository;
+    private LibraryService libraryService;
+
+    private final AtomicInteger patronCounter = new AtomicInteger();
+    private final AtomicLong addedBookCounter = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        directory = BenchmarkCatalogs.createDirectory();
+        repository = BenchmarkCatalogs.createRepository(RepositoryType.valueOf(repositoryType), directory);
+        BenchmarkCatalogs.populate(repository, catalogSize);
+        libraryService = new LibraryServiceImpl(repository);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkCatalogs.close(repository, directory);
+    }
+
+    /**
+     * Per-thread share of the available books of the catalog.
+     */
+    @State(Scope.Thread)
+    public static class PatronState {
+
+        private String[] availableIsbns;
+        private int cursor;
+
+        @Setup(Level.Trial)
+        public void setUp(LibraryServiceBenchmark library, BenchmarkParams params) {
+            int patronIndex = library.patronCounter.getAndIncrement();
+            int patronCount = params.getThreads();
+
+            List<String> isbns = new ArrayList<>();
+            long availableBookIndex = 0;
+            for (long bookNumber = 0; bookNumber < library.catalogSize; bookNumber += BenchmarkCatalogs.AVAILABLE_EVERY) {
+                if (availableBookIndex++ % patronCount == patronIndex) {
+                    isbns.add(BenchmarkCatalogs.isbnOf(bookNumber));
+                }
+            }
+            availableIsbns = isbns.toArray(String[]::new);
+        }
+
+        String nextAvailableIsbn() {
+            String isbn = availableIsbns[cursor];
+            cursor = cursor + 1 == availableIsbns.length ? 0 : cursor + 1;
+            return isbn;
+        }
+    }
+
+    @Benchmark
+    public BookDto addBook() {
+        String isbn = BenchmarkCatalogs.isbnOf(catalogSize + addedBookCounter.incrementAndGet());
+        return libraryService.addBook(new BookDto(isbn, "Added Title", "Added Author", 2020, true));
+    }
+
+    /**
+     * A full checkout cycle; the reported score is per operation, i.e. per borrow or return.
+     */
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public BookDto borrowBookAndReturnBook(PatronState patron) {
+        String isbn = patron.nextAvailableIsbn();
+        libraryService.borrowBook(isbn);
+        return libraryService.returnBook(isbn);
+    }
+
+    /**
+     * Returning a book that is already on the shelf, the read-only path of returnBook.
+     */
+    @Benchmark
+    public BookDto returnAvailableBook(PatronState patron) {
+        return libraryService.returnBook(patron.nextAvailableIsbn());
+    }
+
+    @Benchmark
+    public List<BookDto> viewAvailableBooks() {
+        return libraryService.viewAvailableBooks();
+    }
+
+    @Benchmark
+    public List<BookDto> viewAvailableBooksFirstPage() {
+        return libraryService.viewAvailableBooks(null, 100);
+    }
+
+    /**
+     * A two-word search; the search index is built from the catalog during the first warmup iteration.
+     */
+    @Benchmark
+    public List<BookDto> searchBooks() {
+        return libraryService.searchBooks("author 4242", 20);
+    }
+}
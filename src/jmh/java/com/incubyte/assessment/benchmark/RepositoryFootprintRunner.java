@@ -0,0 +1,52 @@
+package com.incubyte.assessment.benchmark;
+
+import com.incubyte.assessment.repository.RepositoryType;
+import com.incubyte.assessment.repository.library.LibraryRepository;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Measures the heap retained per book by the in-memory repositories, loaded with the benchmark catalog.
+ *
+ * <p>The retained heap is the used heap after a full collection with the repository loaded, minus the
+ * used heap after a full collection before loading it. Pass the catalog size as first argument, e.g.
+ * {@code mvn -Pbenchmark compile exec:exec -Dbenchmark.mainClass=com.incubyte.assessment.benchmark.RepositoryFootprintRunner -Dbenchmark.args=1000000}.</p>
+ */
+public final class RepositoryFootprintRunner {
+
+    private static final int DEFAULT_CATALOG_SIZE = 1_000_000;
+    private static final List<RepositoryType> IN_MEMORY_REPOSITORY_TYPES = List.of(
+            RepositoryType.IN_MEMORY, RepositoryType.CONCURRENT_IN_MEMORY, RepositoryType.COMPACT_IN_MEMORY);
+
+    private RepositoryFootprintRunner() {
+    }
+
+    public static void main(String[] args) {
+        int catalogSize = args.length > 0 && !args[0].isBlank() ? Integer.parseInt(args[0].trim()) : DEFAULT_CATALOG_SIZE;
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        System.out.printf("%-22s %12s %16s %14s%n", "Repository", "Books", "Retained bytes", "Bytes/book");
+        for (RepositoryType repositoryType : IN_MEMORY_REPOSITORY_TYPES) {
+            Path directory = BenchmarkCatalogs.createDirectory();
+
+            long usedBefore = usedHeapAfterGc(memory);
+            LibraryRepository repository = BenchmarkCatalogs.createRepository(repositoryType, directory);
+            BenchmarkCatalogs.populate(repository, catalogSize);
+            long retainedBytes = usedHeapAfterGc(memory) - usedBefore;
+
+            System.out.printf("%-22s %12d %16d %14.1f%n", repositoryType, catalogSize, retainedBytes, (double) retainedBytes / catalogSize);
+            BenchmarkCatalogs.close(repository, directory);
+        }
+    }
+
+    private static long usedHeapAfterGc(MemoryMXBean memory) {
+        //Several collections, so that objects released by finalization or reference processing are gone too
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
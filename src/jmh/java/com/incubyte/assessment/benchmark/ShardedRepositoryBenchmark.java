@@ -0,0 +1,90 @@
+package com.incubyte.assessment.benchmark;
+
+import com.incubyte.assessment.model.Book;
+import com.incubyte.assessment.repository.RepositoryType;
+import com.incubyte.assessment.repository.library.LibraryRepository;
+import com.incubyte.assessment.repository.library.ShardedLibraryRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks of a {@link ShardedLibraryRepository} for one to sixteen shards, for every thread-safe
+ * repository type and catalog size.
+ *
+ * <p>The listing benchmarks measure how the parallel fan-out of scans scales with the number of shards, and
+ * the lookup benchmark the cost of routing a point operation. One shard is the unsharded repository itself,
+ * the baseline of the comparison. Scans only scale up to the number of cores of the host.</p>
+ *
+ * <p>Run through {@link LibraryBenchmarkRunner}, e.g.
+ * {@code mvn -Pbenchmark compile exec:exec -Dbenchmark.args="ShardedRepositoryBenchmark -p catalogSize=1000000"}.</p>
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ShardedRepositoryBenchmark {
+
+    @Param({"CONCURRENT_IN_MEMORY", "FILESYSTEM", "DATABASE"})
+    public String repositoryType;
+
+    @Param({"100000", "1000000"})
+    public int catalogSize;
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int shardCount;
+
+    private Path directory;
+    private LibraryRepository repository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        directory = BenchmarkCatalogs.createDirectory();
+        repository = BenchmarkCatalogs.createRepository(RepositoryType.valueOf(repositoryType), directory, shardCount);
+        BenchmarkCatalogs.populate(repository, catalogSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkCatalogs.close(repository, directory);
+    }
+
+    @Benchmark
+    public List<Book> getAll() {
+        return repository.getAll();
+    }
+
+    @Benchmark
+    public List<Book> getAllAvailable() {
+        return repository.getAllAvailable();
+    }
+
+    @Benchmark
+    public List<Book> getAvailablePage() {
+        return repository.getAvailablePage(null, 20);
+    }
+
+    @Benchmark
+    public List<Book> getByAuthor() {
+        return repository.getByAuthor("Author " + ThreadLocalRandom.current().nextInt(50_000), true);
+    }
+
+    @Benchmark
+    public Book getById() {
+        return repository.getById(BenchmarkCatalogs.isbnOf(ThreadLocalRandom.current().nextInt(catalogSize)));
+    }
+}
@@ -0,0 +1,57 @@
+package com.incubyte.assessment.benchmark;
+
+import com.incubyte.assessment.repository.RepositoryType;
+import com.incubyte.assessment.repository.library.LibraryRepository;
+import com.incubyte.assessment.repository.library.LibraryRepositoryFactory;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time a persistent repository takes to open and to answer its first lookup, for several catalog
+ * sizes, to check that the file system and database repositories start without loading the catalog.
+ *
+ * <p>Every catalog is loaded and the repository closed, then the repository is reopened on the same storage.
+ * Arguments: the repository type followed by the catalog sizes, e.g.
+ * {@code mvn -Pbenchmark compile exec:exec -Dbenchmark.mainClass=com.incubyte.assessment.benchmark.StartupTimeRunner -Dbenchmark.args="FILESYSTEM 10000 100000 1000000"}.</p>
+ */
+public final class StartupTimeRunner {
+
+    private static final int[] DEFAULT_CATALOG_SIZES = {10_000, 100_000, 1_000_000};
+
+    private StartupTimeRunner() {
+    }
+
+    public static void main(String[] args) {
+        //The exec profile passes the benchmark arguments as a single argument
+        String[] arguments = String.join(" ", args).trim().split("\\s+");
+        RepositoryType repositoryType = !arguments[0].isEmpty() ? RepositoryType.valueOf(arguments[0]) : RepositoryType.FILESYSTEM;
+        int[] catalogSizes = arguments.length > 1
+                ? Arrays.stream(arguments, 1, arguments.length).mapToInt(Integer::parseInt).toArray()
+                : DEFAULT_CATALOG_SIZES;
+
+        System.out.printf("%-12s %12s %12s %20s%n", "Repository", "Books", "Open (ms)", "First lookup (ms)");
+        for (int catalogSize : catalogSizes) {
+            report(repositoryType, catalogSize);
+        }
+    }
+
+    private static void report(RepositoryType repositoryType, int catalogSize) {
+        Path directory = BenchmarkCatalogs.createDirectory();
+        LibraryRepository repository = BenchmarkCatalogs.createRepository(repositoryType, directory);
+        BenchmarkCatalogs.populate(repository, catalogSize);
+        LibraryRepositoryFactory.getInstance().clearCache();
+
+        long startNanos = System.nanoTime();
+        repository = BenchmarkCatalogs.createRepository(repositoryType, directory);
+        long openedNanos = System.nanoTime();
+        repository.getById(BenchmarkCatalogs.isbnOf(catalogSize / 2));
+        long firstLookupNanos = System.nanoTime();
+
+        System.out.printf("%-12s %12d %12.1f %20.3f%n", repositoryType, catalogSize,
+                (openedNanos - startNanos) / (double) TimeUnit.MILLISECONDS.toNanos(1),
+                (firstLookupNanos - openedNanos) / (double) TimeUnit.MILLISECONDS.toNanos(1));
+        BenchmarkCatalogs.close(repository, directory);
+    }
+}
@@ -1,16 +1,29 @@
 package com.incubyte.assessment;
 
+import com.incubyte.assessment.event.AsyncLibraryEventSink;
+import com.incubyte.assessment.event.LibraryEvent;
 import com.incubyte.assessment.exception.CustomException;
+import com.incubyte.assessment.importer.BookCatalogImporter;
+import com.incubyte.assessment.metrics.LibraryMetrics;
 import com.incubyte.assessment.model.BookDto;
+import com.incubyte.assessment.model.BookImportResult;
 import com.incubyte.assessment.repository.RepositoryType;
+import com.incubyte.assessment.repository.library.InstrumentedLibraryRepository;
 import com.incubyte.assessment.repository.library.LibraryRepository;
 import com.incubyte.assessment.repository.library.LibraryRepositoryFactory;
+import com.incubyte.assessment.repository.library.MigratingLibraryRepository;
+import com.incubyte.assessment.repository.library.SwitchableLibraryRepository;
+import com.incubyte.assessment.repository.library.migration.MigrationStats;
+import com.incubyte.assessment.service.InstrumentedLibraryService;
 import com.incubyte.assessment.service.LibraryService;
 import com.incubyte.assessment.service.LibraryServiceImpl;
 
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Scanner;
+import java.util.stream.Stream;
 
+import static com.incubyte.assessment.util.AppConstants.DEFAULT_MIGRATION_BATCH_SIZE;
 import static com.incubyte.assessment.util.AppConstants.DEFAULT_REPOSITORY_TYPE;
 
 /**
@@ -18,14 +31,19 @@ import static com.incubyte.assessment.util.AppConstants.DEFAULT_REPOSITORY_TYPE;
  *
  * <p>This class provides an interface to interact with the library system
  * through the terminal. Users can perform various operations such as adding books,
- * borrowing books, returning books, and viewing available books by selecting options
- * from a menu.</p>
+ * borrowing books, returning books, viewing available books, searching books, importing catalog files and viewing
+ * operation statistics by selecting options from a menu.</p>
  *
  * <p>Features:</p>
  * <ul>
  *   <li>Displays a menu of operations for the user.</li>
  *   <li>Processes user inputs to perform the corresponding library actions.</li>
  *   <li>Integrates with the {@link LibraryService} for backend functionality.</li>
+ *   <li>Renders the outcome events of the service, delivered asynchronously by an {@link AsyncLibraryEventSink}.</li>
+ *   <li>Instruments the service and its repository, and dumps the collected {@link LibraryMetrics} on demand.</li>
+ *   <li>Switches repositories by migrating the catalog in the background with a {@link MigratingLibraryRepository},
+ *   the library staying usable throughout. The service is created once and only its {@link SwitchableLibraryRepository}
+ *   is switched, so that its change feed and borrow history survive the switch.</li>
  * </ul>
  *
  * <p>This class demonstrates how to integrate a library system with a CLI-based
@@ -33,15 +51,26 @@ import static com.incubyte.assessment.util.AppConstants.DEFAULT_REPOSITORY_TYPE;
  */
 public class LibraryManagementSystemCLI {
 
+    private static final int SEARCH_RESULT_LIMIT = 20;
+
+    private static final AsyncLibraryEventSink eventSink = new AsyncLibraryEventSink();
+    private static final LibraryMetrics metrics = new LibraryMetrics();
+
+    private static SwitchableLibraryRepository libraryRepository;
     private static LibraryService libraryService;
+    private static volatile RepositoryType currentRepositoryType;
+    private static volatile boolean migrationInProgress;
 
     public static void main(String[] args) {
 
         Scanner scanner = new Scanner(System.in);
 
+        eventSink.subscribe(LibraryManagementSystemCLI::renderEvents);
         initializeLibraryService(DEFAULT_REPOSITORY_TYPE);
 
         while (true) {
+            //Rendering the outcome of the previous operation before prompting again
+            eventSink.flush();
             printMenu();
             System.out.print("Enter your choice: ");
 
@@ -57,9 +86,13 @@ public class LibraryManagementSystemCLI {
                 case 2 -> borrowBook(scanner);
                 case 3 -> returnBook(scanner);
                 case 4 -> viewAvailableBooks();
-                case 5 -> switchRepository(scanner);
-                case 6 -> {
+                case 5 -> searchBooks(scanner);
+                case 6 -> importBooks(scanner);
+                case 7 -> switchRepository(scanner);
+                case 8 -> System.out.print(metrics.export());
+                case 9 -> {
                     System.out.println("Exiting program. Goodbye!");
+                    eventSink.close();
                     scanner.close();
                     return;
                 }
@@ -70,8 +103,10 @@ public class LibraryManagementSystemCLI {
     }
 
     private static void initializeLibraryService(RepositoryType repositoryType) {
-        LibraryRepository libraryRepository = LibraryRepositoryFactory.getInstance().createRepository(repositoryType);
-        libraryService = new LibraryServiceImpl(libraryRepository);
+        libraryRepository = new SwitchableLibraryRepository(LibraryRepositoryFactory.getInstance().createRepository(repositoryType));
+        LibraryRepository instrumentedRepository = new InstrumentedLibraryRepository(libraryRepository, metrics);
+        libraryService = new InstrumentedLibraryService(new LibraryServiceImpl(instrumentedRepository, eventSink), metrics);
+        currentRepositoryType = repositoryType;
         System.out.println("Library initialized with " + repositoryType.name() + " repository.");
     }
 
@@ -81,8 +116,11 @@ public class LibraryManagementSystemCLI {
         System.out.println("2. Borrow Book");
         System.out.println("3. Return Book");
         System.out.println("4. View Available Books");
-        System.out.println("5. Switch Repository");
-        System.out.println("6. Exit Program\n");
+        System.out.println("5. Search Books");
+        System.out.println("6. Import Books From File");
+        System.out.println("7. Switch Repository");
+        System.out.println("8. View Operation Statistics");
+        System.out.println("9. Exit Program\n");
     }
 
     private static void addBook(Scanner scanner) {
@@ -130,9 +168,42 @@ public class LibraryManagementSystemCLI {
     }
 
     private static void viewAvailableBooks() {
-        List<BookDto> books = libraryService.viewAvailableBooks();
-        System.out.println("Total Available Books : " + books.size());
-        books.forEach(LibraryManagementSystemCLI::printBookDetails);
+        //Streaming page by page, so that large catalogs are never fully loaded in memory
+        long[] totalAvailableBooks = {0};
+        try (Stream<BookDto> books = libraryService.streamAvailableBooks()) {
+            books.forEach(book -> {
+                printBookDetails(book);
+                totalAvailableBooks[0]++;
+            });
+        }
+        System.out.println("Total Available Books : " + totalAvailableBooks[0]);
+    }
+
+    private static void searchBooks(Scanner scanner) {
+        System.out.print("Enter title or author words to search: ");
+        String query = scanner.nextLine();
+
+        try {
+            List<BookDto> matchingBooks = libraryService.searchBooks(query, SEARCH_RESULT_LIMIT);
+            matchingBooks.forEach(LibraryManagementSystemCLI::printBookDetails);
+            System.out.println("Matching Books : " + matchingBooks.size());
+        } catch (CustomException e) {
+            System.out.println("Exception Occurred : " + e.getMessage());
+        }
+    }
+
+    private static void importBooks(Scanner scanner) {
+        System.out.print("Enter path of the .csv or .jsonl file to import: ");
+        String filePath = scanner.nextLine();
+
+        try {
+            BookImportResult result = new BookCatalogImporter(libraryService).importFile(Path.of(filePath));
+            System.out.println("Imported Books : " + result.importedCount());
+            System.out.println("Rejected Lines : " + result.rejectedCount());
+            result.errors().forEach(error -> System.out.println("Line " + error.recordNumber() + " : " + error.message()));
+        } catch (CustomException e) {
+            System.out.println("Exception Occurred : " + e.getMessage());
+        }
     }
 
     private static void switchRepository(Scanner scanner) {
@@ -145,12 +216,49 @@ public class LibraryManagementSystemCLI {
         System.out.print("Enter repository type to switch to: ");
         String repositoryTypeInput = scanner.nextLine();
 
+        RepositoryType repositoryType;
         try {
-            RepositoryType repositoryType = RepositoryType.valueOf(repositoryTypeInput.toUpperCase());
-            initializeLibraryService(repositoryType);
+            repositoryType = RepositoryType.valueOf(repositoryTypeInput.toUpperCase());
         } catch (IllegalArgumentException e) {
             System.out.println("Invalid repository type. Please try again.");
+            return;
         }
+
+        if (migrationInProgress) {
+            System.out.println("A repository migration is already in progress. Please try again once it completes.");
+        } else if (repositoryType == currentRepositoryType) {
+            System.out.println("Library is already using " + repositoryType.name() + " repository.");
+        } else {
+            migrateRepository(currentRepositoryType, repositoryType);
+        }
+    }
+
+    //Copies the catalog in the background, the library serving every operation from the source until the cutover
+    private static void migrateRepository(RepositoryType sourceType, RepositoryType targetType) {
+        LibraryRepositoryFactory factory = LibraryRepositoryFactory.getInstance();
+        LibraryRepository source = factory.createRepository(sourceType);
+        LibraryRepository target = factory.createRepository(targetType);
+        MigratingLibraryRepository migratingRepository = new MigratingLibraryRepository(source, target, DEFAULT_MIGRATION_BATCH_SIZE);
+
+        migrationInProgress = true;
+        libraryRepository.switchTo(migratingRepository);
+        System.out.println("Migrating library from " + sourceType.name() + " to " + targetType.name() + " repository in the background.");
+
+        Thread.ofVirtual().name("library-repository-migration").start(() -> {
+            try {
+                MigrationStats stats = migratingRepository.migrate();
+                libraryRepository.switchTo(target);
+                currentRepositoryType = targetType;
+                System.out.println("\nLibrary migrated to " + targetType.name() + " repository: " + stats.copiedBookCount() + " books copied, "
+                        + stats.dualWrittenBookCount() + " books dual-written, in " + stats.durationMillis() + " ms.");
+            } catch (CustomException e) {
+                libraryRepository.switchTo(source);
+                System.out.println("\nLibrary migration to " + targetType.name() + " repository failed, still using "
+                        + sourceType.name() + " repository: " + e.getMessage());
+            } finally {
+                migrationInProgress = false;
+            }
+        });
     }
 
     private static void printBookDetails(BookDto bookDto) {
@@ -167,4 +275,12 @@ public class LibraryManagementSystemCLI {
         System.out.println("Publication Year : " + bookDto.publicationYear());
         System.out.println();
     }
+
+    private static void renderEvents(List<LibraryEvent> events) {
+        StringBuilder messages = new StringBuilder();
+        for (LibraryEvent event : events) {
+            messages.append(event.render()).append(System.lineSeparator());
+        }
+        System.out.print(messages);
+    }
 }
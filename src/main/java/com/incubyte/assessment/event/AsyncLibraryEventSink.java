@@ -0,0 +1,155 @@
+package com.incubyte.assessment.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.incubyte.assessment.util.AppConstants.DEFAULT_EVENT_BATCH_SIZE;
+import static com.incubyte.assessment.util.AppConstants.DEFAULT_EVENT_BUFFER_CAPACITY;
+
+/**
+ * {@link LibraryEventSink} handing events over to a dispatcher thread through a bounded ring buffer.
+ *
+ * <p>Publishers claim a slot with a single compare-and-set and never wait: when the buffer is full,
+ * because listeners cannot keep up, the event is dropped and counted instead of slowing the library
+ * operation down. The dispatcher thread drains the buffer in batches of up to
+ * {@link com.incubyte.assessment.util.AppConstants#DEFAULT_EVENT_BATCH_SIZE} events, and delivers each
+ * batch to every subscribed {@link LibraryEventListener}.</p>
+ */
+public class AsyncLibraryEventSink implements LibraryEventSink {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicReferenceArray<LibraryEvent> ringBuffer;
+    private final int mask;
+    private final int batchSize;
+
+    //Sequence of the next slot to claim, shared by the publishers
+    private final AtomicLong claimSequence = new AtomicLong();
+    //Sequence of the next slot to read, only written by the dispatcher thread
+    private volatile long readSequence;
+    //Sequence up to which events have been handed to the listeners
+    private volatile long deliveredSequence;
+
+    private final LongAdder droppedEventCount = new LongAdder();
+    private final List<LibraryEventListener> listeners = new CopyOnWriteArrayList<>();
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+
+    public AsyncLibraryEventSink() {
+        this(DEFAULT_EVENT_BUFFER_CAPACITY, DEFAULT_EVENT_BATCH_SIZE);
+    }
+
+    /**
+     * @param capacity  The number of events the ring buffer holds, rounded up to a power of two.
+     * @param batchSize The largest number of events delivered to the listeners at once.
+     */
+    public AsyncLibraryEventSink(int capacity, int batchSize) {
+        int slotCount = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.ringBuffer = new AtomicReferenceArray<>(slotCount);
+        this.mask = slotCount - 1;
+        this.batchSize = batchSize;
+
+        this.dispatcher = new Thread(this::dispatchEvents, "library-event-dispatcher");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    /**
+     * Registers a listener receiving every event published from now on.
+     *
+     * @param listener The listener to register.
+     */
+    public void subscribe(LibraryEventListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * @return The number of events dropped because the ring buffer was full.
+     */
+    public long getDroppedEventCount() {
+        return droppedEventCount.sum();
+    }
+
+    @Override
+    public void publish(LibraryEvent event) {
+        long sequence;
+        do {
+            sequence = claimSequence.get();
+            if (!running || sequence - readSequence > mask) {
+                droppedEventCount.increment();
+                return;
+            }
+        } while (!claimSequence.compareAndSet(sequence, sequence + 1));
+
+        ringBuffer.lazySet((int) sequence & mask, event);
+    }
+
+    @Override
+    public void flush() {
+        long targetSequence = claimSequence.get();
+        while (deliveredSequence < targetSequence && dispatcher.isAlive()) {
+            LockSupport.unpark(dispatcher);
+            Thread.onSpinWait();
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(dispatcher);
+
+        try {
+            dispatcher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void dispatchEvents() {
+        List<LibraryEvent> batch = new ArrayList<>(batchSize);
+
+        //Pending events are still delivered after close, until the buffer is empty
+        while (running || readSequence < claimSequence.get()) {
+            long sequence = readSequence;
+            while (batch.size() < batchSize) {
+                int slot = (int) sequence & mask;
+                LibraryEvent event = ringBuffer.get(slot);
+                if (event == null) {
+                    //Either the buffer is empty or the publisher of this slot has not written it yet
+                    break;
+                }
+
+                ringBuffer.lazySet(slot, null);
+                batch.add(event);
+                sequence++;
+            }
+            readSequence = sequence;
+
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+
+            deliver(batch);
+            batch.clear();
+            deliveredSequence = sequence;
+        }
+    }
+
+    private void deliver(List<LibraryEvent> batch) {
+        List<LibraryEvent> events = List.copyOf(batch);
+        for (LibraryEventListener listener : listeners) {
+            try {
+                listener.onEvents(events);
+            } catch (RuntimeException e) {
+                //A failing listener must not stop the delivery to the others, nor kill the dispatcher
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.incubyte.assessment.event;
+
+import com.incubyte.assessment.model.BookDto;
+
+/**
+ * Change of a book made by the library service, delivered to the subscribers of its change feed.
+ *
+ * @param type The kind of change.
+ * @param book The details of the book as they are after the change.
+ */
+public record BookChange(BookChangeType type, BookDto book) {
+}
@@ -0,0 +1,213 @@
+package com.incubyte.assessment.event;
+
+import com.incubyte.assessment.exception.CustomException;
+import com.incubyte.assessment.exception.ErrorCode;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.incubyte.assessment.util.AppConstants.CHANGE_FEED_SUBSCRIBER_OVERFLOW;
+import static com.incubyte.assessment.util.AppConstants.CHANGE_FEED_SUBSCRIBER_OVERFLOW_TEMPLATE;
+import static com.incubyte.assessment.util.AppConstants.DEFAULT_CHANGE_FEED_BUFFER_CAPACITY;
+import static com.incubyte.assessment.util.MessageFormatUtil.formatMessage;
+
+/**
+ * {@link Flow.Publisher} of the {@link BookChange}s made by the library service, so that clients can maintain
+ * their own view of the catalog from the changes instead of polling the available books.
+ *
+ * <p>Every subscriber has its own bounded buffer, and changes are delivered to it on a virtual thread of its own,
+ * in publication order and only as far as it has requested them. Publishing offers the change to every buffer and
+ * never waits: a subscriber whose buffer is full, because it requests or consumes changes too slowly, is
+ * unsubscribed with an {@code onError} signal rather than slowing the library operation down, as a view missing a
+ * change could not be trusted anymore. The subscriber may then subscribe again and reload its view.</p>
+ *
+ * <p>Closing the publisher completes every subscriber once the changes buffered for it have been delivered.</p>
+ */
+public class BookChangePublisher implements Flow.Publisher<BookChange>, AutoCloseable {
+
+    private final int bufferCapacity;
+    private final List<ChangeSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private volatile boolean closed;
+
+    public BookChangePublisher() {
+        this(DEFAULT_CHANGE_FEED_BUFFER_CAPACITY);
+    }
+
+    /**
+     * @param bufferCapacity The number of undelivered changes buffered for every subscriber.
+     */
+    public BookChangePublisher(int bufferCapacity) {
+        this.bufferCapacity = bufferCapacity;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super BookChange> subscriber) {
+        Objects.requireNonNull(subscriber);
+        ChangeSubscription subscription = new ChangeSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+
+        //Registering before checking, so that a concurrent close either sees the subscription or is seen by it
+        subscriptions.add(subscription);
+        if (closed) {
+            subscription.complete();
+        }
+    }
+
+    /**
+     * Offers a change to every subscriber, without waiting for its delivery.
+     *
+     * @param change The change to publish.
+     */
+    public void publish(BookChange change) {
+        for (ChangeSubscription subscription : subscriptions) {
+            subscription.offer(change);
+        }
+    }
+
+    /**
+     * @return Whether any subscriber would receive a published change, so that publishers can skip building it.
+     */
+    public boolean hasSubscribers() {
+        return !subscriptions.isEmpty();
+    }
+
+    /**
+     * @return The number of current subscribers.
+     */
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Completes every subscriber once the changes buffered for it have been delivered.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        subscriptions.forEach(ChangeSubscription::complete);
+    }
+
+    private final class ChangeSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super BookChange> subscriber;
+        private final ArrayBlockingQueue<BookChange> buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        private final AtomicLong demand = new AtomicLong();
+        //Number of delivery requests not yet handled, the request taking it from zero starting the delivery thread
+        private final AtomicInteger pendingDeliveries = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile boolean overflowed;
+        private volatile boolean completing;
+        private volatile IllegalArgumentException invalidRequest;
+        //Only accessed by the delivery thread
+        private boolean terminated;
+
+        private ChangeSubscription(Flow.Subscriber<? super BookChange> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        private void offer(BookChange change) {
+            if (!buffer.offer(change)) {
+                overflowed = true;
+            }
+            scheduleDelivery();
+        }
+
+        private void complete() {
+            completing = true;
+            scheduleDelivery();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("Requested a non-positive number of changes: " + n);
+            } else {
+                demand.accumulateAndGet(n, (requested, added) -> requested + added < 0 ? Long.MAX_VALUE : requested + added);
+            }
+            scheduleDelivery();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+            scheduleDelivery();
+        }
+
+        private void scheduleDelivery() {
+            if (pendingDeliveries.getAndIncrement() == 0) {
+                Thread.ofVirtual().name("library-change-feed").start(this::deliver);
+            }
+        }
+
+        //Delivering again as long as deliveries were requested meanwhile, so that signals are never concurrent
+        private void deliver() {
+            int pending = 1;
+            do {
+                if (!terminated) {
+                    deliverRequested();
+                }
+                pending = pendingDeliveries.addAndGet(-pending);
+            } while (pending != 0);
+        }
+
+        private void deliverRequested() {
+            long requested = demand.get();
+            long delivered = 0;
+            while (true) {
+                if (cancelled) {
+                    terminate(null);
+                    return;
+                }
+                if (overflowed) {
+                    terminate(new CustomException(ErrorCode.CHANGE_FEED_SUBSCRIBER_OVERFLOW, formatMessage(CHANGE_FEED_SUBSCRIBER_OVERFLOW_TEMPLATE, bufferCapacity)));
+                    return;
+                }
+                if (invalidRequest != null) {
+                    terminate(invalidRequest);
+                    return;
+                }
+                if (delivered == requested) {
+                    break;
+                }
+
+                BookChange change = buffer.poll();
+                if (change == null) {
+                    break;
+                }
+                try {
+                    subscriber.onNext(change);
+                } catch (RuntimeException e) {
+                    //A failing subscriber is cancelled, as it is not able to keep its view up to date
+                    terminate(null);
+                    return;
+                }
+                delivered++;
+            }
+
+            if (delivered > 0 && requested != Long.MAX_VALUE) {
+                demand.addAndGet(-delivered);
+            }
+            if (completing && buffer.isEmpty()) {
+                terminated = true;
+                subscriptions.remove(this);
+                subscriber.onComplete();
+            }
+        }
+
+        private void terminate(Throwable error) {
+            terminated = true;
+            cancelled = true;
+            subscriptions.remove(this);
+            buffer.clear();
+            if (error != null) {
+                subscriber.onError(error);
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.incubyte.assessment.event;
+
+/**
+ * Kinds of changes of a book published through a {@link BookChangePublisher}.
+ */
+public enum BookChangeType {
+
+    ADDED,
+    BORROWED,
+    RETURNED
+}
@@ -0,0 +1,20 @@
+package com.incubyte.assessment.event;
+
+/**
+ * Outcome of a library operation, published by the service to a {@link LibraryEventSink}.
+ *
+ * <p>Events only hold their type and raw arguments; the message is formatted by {@link #render()}
+ * when, and if, a listener displays it, rather than inside the business operation.</p>
+ *
+ * @param type      The type of the outcome.
+ * @param arguments The values of the placeholders of the message template of the type.
+ */
+public record LibraryEvent(LibraryEventType type, Object... arguments) {
+
+    /**
+     * @return The message describing this event.
+     */
+    public String render() {
+        return type.getMessageTemplate().render(arguments);
+    }
+}
@@ -0,0 +1,17 @@
+package com.incubyte.assessment.event;
+
+import java.util.List;
+
+/**
+ * Receives the events delivered by an {@link AsyncLibraryEventSink}, in publication order.
+ */
+@FunctionalInterface
+public interface LibraryEventListener {
+
+    /**
+     * Handles a batch of events, called from the dispatcher thread of the sink.
+     *
+     * @param events The events published since the previous batch.
+     */
+    void onEvents(List<LibraryEvent> events);
+}
@@ -0,0 +1,31 @@
+package com.incubyte.assessment.event;
+
+/**
+ * Destination of the {@link LibraryEvent}s published by the library service.
+ *
+ * <p>Publishing is part of every service operation, so implementations must return quickly
+ * and must never block the caller on the delivery of the event.</p>
+ */
+public interface LibraryEventSink extends AutoCloseable {
+
+    /**
+     * Publishes an event.
+     *
+     * @param event The event to publish.
+     */
+    void publish(LibraryEvent event);
+
+    /**
+     * Waits until every event published so far has been delivered.
+     * Sinks delivering events synchronously, or not at all, can rely on this no-op default.
+     */
+    default void flush() {
+    }
+
+    /**
+     * Delivers the pending events and releases the resources of the sink.
+     */
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,40 @@
+package com.incubyte.assessment.event;
+
+import com.incubyte.assessment.util.MessageTemplate;
+
+import static com.incubyte.assessment.util.AppConstants.*;
+
+/**
+ * Outcomes of the library operations reported through a {@link LibraryEventSink},
+ * each carrying the precompiled message template used to render it.
+ */
+public enum LibraryEventType {
+
+    BOOK_ADDED(BOOK_ADDED_SUCCESSFULLY),
+    BOOKS_IMPORTED(BOOKS_IMPORTED_SUCCESSFULLY),
+    BOOK_BORROWED(BOOK_BORROWED_SUCCESSFULLY),
+    BOOK_RETURNED(BOOK_RETURNED_SUCCESSFULLY),
+    BOOKS_BORROWED(BOOKS_BORROWED_SUCCESSFULLY),
+    BOOKS_RETURNED(BOOKS_RETURNED_SUCCESSFULLY),
+    BOOK_BATCH_REJECTED(BOOK_BATCH_NOT_APPLIED),
+    BOOK_FETCHED(BOOK_FETCHED_SUCCESSFULLY),
+    AVAILABLE_BOOKS_FETCHED(FETCHED_AVAILABLE_BOOK_LIST_SUCCESSFULLY),
+    AVAILABLE_BOOK_PAGE_FETCHED(FETCHED_AVAILABLE_BOOK_PAGE_SUCCESSFULLY),
+    BOOKS_SEARCHED(BOOKS_SEARCHED_SUCCESSFULLY),
+    BOOKS_BY_AUTHOR_FETCHED(FETCHED_BOOKS_BY_AUTHOR_SUCCESSFULLY),
+    BOOKS_BY_PUBLICATION_YEAR_FETCHED(FETCHED_BOOKS_BY_PUBLICATION_YEAR_SUCCESSFULLY),
+    MOST_BORROWED_BOOKS_FETCHED(FETCHED_MOST_BORROWED_BOOKS_SUCCESSFULLY),
+    LOAN_STATISTICS_FETCHED(FETCHED_LOAN_STATISTICS_SUCCESSFULLY),
+    BORROW_HISTORY_FETCHED(FETCHED_BORROW_HISTORY_SUCCESSFULLY),
+    NO_BOOKS_AVAILABLE(NO_AVAILABLE_BOOKS);
+
+    private final MessageTemplate messageTemplate;
+
+    LibraryEventType(String messageFormat) {
+        this.messageTemplate = MessageTemplate.compile(messageFormat);
+    }
+
+    public MessageTemplate getMessageTemplate() {
+        return messageTemplate;
+    }
+}
@@ -0,0 +1,23 @@
+package com.incubyte.assessment.event;
+
+/**
+ * {@link LibraryEventSink} discarding every event, for deployments where nobody renders them.
+ * Implements the singleton pattern, as the sink holds no state.
+ */
+public final class NoOpLibraryEventSink implements LibraryEventSink {
+
+    //Eager initialization of the Singleton Instance
+    private static final NoOpLibraryEventSink SINGLETON_INSTANCE = new NoOpLibraryEventSink();
+
+    //Keeping constructor private to avoid class instantiation from outside this class.
+    private NoOpLibraryEventSink() {
+    }
+
+    public static NoOpLibraryEventSink getInstance() {
+        return SINGLETON_INSTANCE;
+    }
+
+    @Override
+    public void publish(LibraryEvent event) {
+    }
+}
@@ -8,10 +8,23 @@ package com.incubyte.assessment.exception;
  * @Usage:
  * This exception is used when a specific error occurs in the application, such as attempting to
  * add a book that already exists or borrowing a book that is unavailable.
- * The exception message provides detailed information about the error.
+ * The exception message provides detailed information about the error, and its {@link ErrorCode}
+ * identifies the error for callers which handle errors by kind, such as metrics and the HTTP server.
  */
 public class CustomException extends RuntimeException {
-    public CustomException(String message) {
+
+    private final ErrorCode errorCode;
+
+    public CustomException(ErrorCode errorCode, String message) {
         super(message);
+        this.errorCode = errorCode;
+    }
+
+    public CustomException(String message) {
+        this(ErrorCode.UNSPECIFIED, message);
+    }
+
+    public ErrorCode getErrorCode() {
+        return errorCode;
     }
 }
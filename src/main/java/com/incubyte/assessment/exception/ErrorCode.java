@@ -0,0 +1,54 @@
+package com.incubyte.assessment.exception;
+
+/**
+ * Stable identifiers of the errors reported through a {@link CustomException}, independent of the wording
+ * of their messages.
+ *
+ * <p>Most codes are named after the {@link com.incubyte.assessment.util.AppConstants} message they are reported
+ * with. Metrics count failures by code, and the HTTP server derives the response status from it.</p>
+ */
+public enum ErrorCode {
+
+    //Library errors
+    BOOK_ALREADY_EXISTS,
+    BOOK_DOES_NOT_EXIST,
+    BOOK_NOT_AVAILABLE,
+    INVALID_ISBN,
+    INVALID_TITLE,
+    INVALID_AUTHOR,
+    INVALID_PUBLICATION_YEAR,
+    INVALID_PUBLICATION_YEAR_RANGE,
+    EMPTY_BOOK_BATCH,
+    INVALID_PAGE_LIMIT,
+    INVALID_SEARCH_QUERY,
+    UNSUPPORTED_IMPORT_FORMAT,
+    IMPORT_FILE_READ_ERROR,
+    CHANGE_FEED_SUBSCRIBER_OVERFLOW,
+
+    //Repository errors
+    REPOSITORY_TYPE_CANNOT_BE_NULL,
+    REPOSITORY_IO_ERROR,
+    REPOSITORY_DIRECTORY_LOCKED,
+    REPOSITORY_INDEX_CAPACITY_EXCEEDED,
+    REPOSITORY_STORAGE_CAPACITY_EXCEEDED,
+    REPOSITORY_FIELD_TOO_LONG,
+    REPOSITORY_CLOSED,
+    REPOSITORY_SNAPSHOT_CORRUPTED,
+    REPOSITORY_DATABASE_ERROR,
+    REPOSITORY_MIGRATION_ALREADY_STARTED,
+    REPOSITORY_MIGRATION_TARGET_CONFLICT,
+    REPOSITORY_MIGRATION_INCOMPLETE,
+
+    //HTTP errors
+    HTTP_RESOURCE_NOT_FOUND,
+    HTTP_METHOD_NOT_ALLOWED,
+    HTTP_INVALID_REQUEST_BODY,
+    HTTP_INVALID_QUERY_PARAMETER,
+    HTTP_INTERNAL_SERVER_ERROR,
+
+    //Programming errors
+    MESSAGE_FORMAT_ARGUMENT_COUNT_MISMATCH,
+
+    //Errors raised without a code
+    UNSPECIFIED
+}
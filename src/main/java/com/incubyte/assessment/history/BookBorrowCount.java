@@ -0,0 +1,11 @@
+package com.incubyte.assessment.history;
+
+/**
+ * Number of times a book was borrowed within the popularity window of a {@link BorrowHistory}.
+ *
+ * @Attributes:
+ * <p>- isbn: The ISBN of the book.
+ * <p>- borrowCount: The number of borrows of the book within the window.
+ */
+public record BookBorrowCount(String isbn, long borrowCount) {
+}
@@ -0,0 +1,268 @@
+package com.incubyte.assessment.history;
+
+import com.incubyte.assessment.event.BookChangeType;
+import com.incubyte.assessment.metrics.HistogramSnapshot;
+import com.incubyte.assessment.metrics.LogLinearHistogram;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.incubyte.assessment.util.AppConstants.DEFAULT_POPULARITY_BUCKET_HOURS;
+import static com.incubyte.assessment.util.AppConstants.DEFAULT_POPULARITY_WINDOW_DAYS;
+
+/**
+ * Append-only log of the borrows and returns of every book, with aggregates maintained as they are recorded,
+ * so that popularity and loan statistics are answered without rescanning the log.
+ *
+ * <p>The log of a book packs every entry into a single {@code long}, holding its time to the second and whether it
+ * is a borrow or a return, so that a book borrowed a thousand times costs about 8 KB. The aggregates are:</p>
+ * <ul>
+ *   <li>the total number of borrows and returns, and the number of borrows of every book;</li>
+ *   <li>the number of borrows of every book within a sliding window, counted in fixed-width buckets, and a ranking
+ *   of the books by that number, so that the most borrowed books are read in O(K) once the buckets which left
+ *   the window have been subtracted;</li>
+ *   <li>a histogram of the durations of the loans, from which the mean and percentiles are read in constant time.</li>
+ * </ul>
+ *
+ * <p>Entries may be recorded out of order by concurrent callers, and are kept in time order within the log of
+ * a book. Borrows older than the window are logged without being ranked.</p>
+ */
+public class BorrowHistory {
+
+    //Entries hold their epoch second shifted left once, the low bit being set for returns
+    private static final long RETURNED_FLAG = 1;
+    private static final int INITIAL_LOG_CAPACITY = 4;
+    private static final Comparator<BookBorrowCount> RANKING_ORDER =
+            Comparator.comparingLong(BookBorrowCount::borrowCount).reversed().thenComparing(BookBorrowCount::isbn);
+
+    private final Map<String, LoanLog> logs = new ConcurrentHashMap<>();
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder returnCount = new LongAdder();
+    private final LogLinearHistogram loanDurationSeconds = new LogLinearHistogram();
+    private final PopularityWindow popularityWindow;
+    private final Clock clock;
+
+    public BorrowHistory() {
+        this(Duration.ofDays(DEFAULT_POPULARITY_WINDOW_DAYS), Duration.ofHours(DEFAULT_POPULARITY_BUCKET_HOURS), Clock.systemDefaultZone());
+    }
+
+    /**
+     * @param popularityWindow The period over which the most borrowed books are ranked, ending now.
+     * @param bucketWidth      The granularity at which borrows leave the window, dividing it evenly.
+     * @param clock            The clock telling when now is, in the time zone of the recorded times.
+     */
+    public BorrowHistory(Duration popularityWindow, Duration bucketWidth, Clock clock) {
+        this.popularityWindow = new PopularityWindow(bucketWidth.toSeconds(), (int) (popularityWindow.toSeconds() / bucketWidth.toSeconds()));
+        this.clock = clock;
+    }
+
+    public Duration getPopularityWindow() {
+        return Duration.ofSeconds(popularityWindow.bucketSeconds * popularityWindow.bucketCount);
+    }
+
+    private static long epochSecondOf(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private long nowEpochSecond() {
+        return epochSecondOf(LocalDateTime.now(clock));
+    }
+
+    /**
+     * Records a borrow of a book.
+     *
+     * @param isbn       The ISBN of the book.
+     * @param borrowedAt The time of the borrow.
+     */
+    public void recordBorrow(String isbn, LocalDateTime borrowedAt) {
+        long epochSecond = epochSecondOf(borrowedAt);
+        logs.computeIfAbsent(isbn, key -> new LoanLog()).append(epochSecond << 1, this);
+        borrowCount.increment();
+        popularityWindow.add(isbn, epochSecond, nowEpochSecond());
+    }
+
+    /**
+     * Records a return of a book, completing its loan if its borrow was recorded.
+     *
+     * @param isbn       The ISBN of the book.
+     * @param returnedAt The time of the return.
+     */
+    public void recordReturn(String isbn, LocalDateTime returnedAt) {
+        logs.computeIfAbsent(isbn, key -> new LoanLog()).append(epochSecondOf(returnedAt) << 1 | RETURNED_FLAG, this);
+        returnCount.increment();
+    }
+
+    private void recordLoan(long borrowEntry, long returnEntry) {
+        loanDurationSeconds.record((returnEntry >> 1) - (borrowEntry >> 1));
+    }
+
+    /**
+     * @param isbn The ISBN of the book.
+     * @return The borrows and returns of the book, oldest first.
+     */
+    public List<BorrowHistoryEntry> getHistory(String isbn) {
+        LoanLog log = logs.get(isbn);
+        if (log == null) {
+            return List.of();
+        }
+
+        long[] entries = log.entries();
+        List<BorrowHistoryEntry> history = new ArrayList<>(entries.length);
+        for (long entry : entries) {
+            BookChangeType type = (entry & RETURNED_FLAG) != 0 ? BookChangeType.RETURNED : BookChangeType.BORROWED;
+            history.add(new BorrowHistoryEntry(type, LocalDateTime.ofEpochSecond(entry >> 1, 0, ZoneOffset.UTC)));
+        }
+        return history;
+    }
+
+    /**
+     * @param isbn The ISBN of the book.
+     * @return The number of borrows of the book ever recorded.
+     */
+    public long getBorrowCount(String isbn) {
+        LoanLog log = logs.get(isbn);
+        return log == null ? 0 : log.borrowCount();
+    }
+
+    /**
+     * @param limit The maximum number of books to return.
+     * @return The books borrowed the most within the popularity window, most borrowed first, ties by ISBN.
+     */
+    public List<BookBorrowCount> getMostBorrowed(int limit) {
+        return popularityWindow.top(limit, nowEpochSecond());
+    }
+
+    /**
+     * @return The number of borrows and returns and the durations of the completed loans recorded so far.
+     */
+    public LoanStats getLoanStats() {
+        HistogramSnapshot durationSeconds = loanDurationSeconds.snapshot();
+        return new LoanStats(borrowCount.sum(), returnCount.sum(), durationSeconds.count(), Duration.ofSeconds(durationSeconds.mean()),
+                Duration.ofSeconds(durationSeconds.p50()), Duration.ofSeconds(durationSeconds.p99()), Duration.ofSeconds(durationSeconds.max()));
+    }
+
+    /**
+     * Packed, time-ordered entries of the log of one book.
+     */
+    private static final class LoanLog {
+
+        private long[] entries = new long[INITIAL_LOG_CAPACITY];
+        private int size;
+        private int borrowCount;
+
+        //Inserting in time order, which is appending unless concurrent callers recorded out of order
+        private synchronized void append(long entry, BorrowHistory history) {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+
+            int position = size;
+            while (position > 0 && entries[position - 1] >> 1 > entry >> 1) {
+                position--;
+            }
+            System.arraycopy(entries, position, entries, position + 1, size - position);
+            entries[position] = entry;
+            size++;
+
+            //A loan completes when a borrow is directly followed by a return
+            boolean returned = (entry & RETURNED_FLAG) != 0;
+            if (!returned) {
+                borrowCount++;
+            }
+            if (returned && position > 0 && (entries[position - 1] & RETURNED_FLAG) == 0) {
+                history.recordLoan(entries[position - 1], entry);
+            } else if (!returned && position + 1 < size && (entries[position + 1] & RETURNED_FLAG) != 0) {
+                history.recordLoan(entry, entries[position + 1]);
+            }
+        }
+
+        private synchronized long[] entries() {
+            return Arrays.copyOf(entries, size);
+        }
+
+        private synchronized int borrowCount() {
+            return borrowCount;
+        }
+    }
+
+    /**
+     * Borrow counts of the books within a sliding window, split into buckets so that the borrows leaving the
+     * window are subtracted a bucket at a time, with the books ranked by their count.
+     */
+    private static final class PopularityWindow {
+
+        private final long bucketSeconds;
+        private final int bucketCount;
+        //Borrow counts per book of every bucket within the window, by bucket index
+        private final NavigableMap<Long, Map<String, Long>> buckets = new TreeMap<>();
+        private final Map<String, Long> windowCounts = new HashMap<>();
+        private final TreeSet<BookBorrowCount> ranking = new TreeSet<>(RANKING_ORDER);
+
+        private PopularityWindow(long bucketSeconds, int bucketCount) {
+            this.bucketSeconds = bucketSeconds;
+            this.bucketCount = bucketCount;
+        }
+
+        private synchronized void add(String isbn, long epochSecond, long nowEpochSecond) {
+            long oldestBucketIndex = expire(nowEpochSecond);
+            long bucketIndex = Math.floorDiv(epochSecond, bucketSeconds);
+            if (bucketIndex < oldestBucketIndex) {
+                return;
+            }
+
+            buckets.computeIfAbsent(bucketIndex, index -> new HashMap<>()).merge(isbn, 1L, Long::sum);
+            updateWindowCount(isbn, 1);
+        }
+
+        private synchronized List<BookBorrowCount> top(int limit, long nowEpochSecond) {
+            expire(nowEpochSecond);
+
+            List<BookBorrowCount> mostBorrowed = new ArrayList<>(Math.min(limit, ranking.size()));
+            Iterator<BookBorrowCount> iterator = ranking.iterator();
+            while (mostBorrowed.size() < limit && iterator.hasNext()) {
+                mostBorrowed.add(iterator.next());
+            }
+            return mostBorrowed;
+        }
+
+        //Subtracts the buckets which left the window, returning the index of the oldest bucket within it
+        private long expire(long nowEpochSecond) {
+            long oldestBucketIndex = Math.floorDiv(nowEpochSecond, bucketSeconds) - bucketCount + 1;
+            Map<Long, Map<String, Long>> expiredBuckets = buckets.headMap(oldestBucketIndex, false);
+            for (Map<String, Long> bucket : expiredBuckets.values()) {
+                bucket.forEach((isbn, count) -> updateWindowCount(isbn, -count));
+            }
+            expiredBuckets.clear();
+            return oldestBucketIndex;
+        }
+
+        private void updateWindowCount(String isbn, long delta) {
+            Long count = windowCounts.get(isbn);
+            if (count != null) {
+                ranking.remove(new BookBorrowCount(isbn, count));
+            }
+
+            long updatedCount = (count == null ? 0 : count) + delta;
+            if (updatedCount > 0) {
+                windowCounts.put(isbn, updatedCount);
+                ranking.add(new BookBorrowCount(isbn, updatedCount));
+            } else {
+                windowCounts.remove(isbn);
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.incubyte.assessment.history;
+
+import com.incubyte.assessment.event.BookChangeType;
+
+import java.time.LocalDateTime;
+
+/**
+ * One borrow or return of a book, as recorded in its {@link BorrowHistory}.
+ *
+ * @Attributes:
+ * <p>- type: {@link BookChangeType#BORROWED} or {@link BookChangeType#RETURNED}.
+ * <p>- at: The time of the borrow or return, to the second.
+ */
+public record BorrowHistoryEntry(BookChangeType type, LocalDateTime at) {
+}
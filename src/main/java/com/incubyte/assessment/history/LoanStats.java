@@ -0,0 +1,17 @@
+package com.incubyte.assessment.history;
+
+import java.time.Duration;
+
+/**
+ * Point-in-time summary of the borrows and loans recorded by a {@link BorrowHistory}.
+ *
+ * @Attributes:
+ * <p>- borrowCount: The number of borrows recorded, of any book.
+ * <p>- returnCount: The number of returns recorded, of any book.
+ * <p>- completedLoanCount: The number of loans whose borrow and return were both recorded.
+ * <p>- meanLoanDuration, medianLoanDuration, p99LoanDuration: The mean, median and 99th percentile duration of the completed loans.
+ * <p>- maxLoanDuration: The longest completed loan.
+ */
+public record LoanStats(long borrowCount, long returnCount, long completedLoanCount, Duration meanLoanDuration,
+                        Duration medianLoanDuration, Duration p99LoanDuration, Duration maxLoanDuration) {
+}
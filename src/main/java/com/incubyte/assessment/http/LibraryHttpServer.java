@@ -0,0 +1,227 @@
+package com.incubyte.assessment.http;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.incubyte.assessment.exception.CustomException;
+import com.incubyte.assessment.exception.ErrorCode;
+import com.incubyte.assessment.model.BookDto;
+import com.incubyte.assessment.repository.RepositoryType;
+import com.incubyte.assessment.repository.library.LibraryRepositoryFactory;
+import com.incubyte.assessment.service.LibraryService;
+import com.incubyte.assessment.service.LibraryServiceImpl;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.incubyte.assessment.util.AppConstants.*;
+import static com.incubyte.assessment.util.MessageFormatUtil.formatMessage;
+
+/**
+ * Embedded HTTP/JSON front end of a shared {@link LibraryService}, built on the JDK {@link HttpServer}.
+ *
+ * <p>Endpoints:</p>
+ * <ul>
+ *   <li>{@code POST /books}: adds the book of the JSON body, answering {@code 201} with the added book.</li>
+ *   <li>{@code GET /books?afterIsbn=&limit=}: lists a page of available books.</li>
+ *   <li>{@code GET /books/{isbn}}: gets a book by its ISBN.</li>
+ *   <li>{@code POST /books/{isbn}/borrow} and {@code POST /books/{isbn}/return}: borrows or returns a book.</li>
+ * </ul>
+ *
+ * <p>Every exchange is handled on its own virtual thread, so a request blocked on the repository only parks a
+ * virtual thread, and the number of concurrent requests is bounded by sockets rather than by a thread pool.
+ * The service is called concurrently and must therefore use a thread-safe repository type.</p>
+ *
+ * <p>Errors are answered with a JSON {@code {"error": "..."}} body: {@code 404} for an unknown book,
+ * {@code 409} for a book that already exists or is not available, {@code 405} with an {@code Allow} header for a
+ * method the resource does not accept, {@code 400} for any other invalid request, including a field too long for
+ * the repository to store, and {@code 500} for a failure of the repository. The status is derived from the {@link ErrorCode} of the error.</p>
+ */
+public class LibraryHttpServer implements AutoCloseable {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String BOOKS_PATH = "/books";
+
+    private final LibraryService libraryService;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private record Response(int status, Object body) {
+    }
+
+    private record ErrorBody(String error) {
+    }
+
+    /**
+     * Binds the server, which only accepts requests once {@link #start()} is called.
+     *
+     * @param libraryService The service shared by every request.
+     * @param address        The address to listen on; port 0 picks a free port.
+     * @param backlog        The number of pending connections queued by the operating system.
+     */
+    public LibraryHttpServer(LibraryService libraryService, InetSocketAddress address, int backlog) {
+        this.libraryService = libraryService;
+        try {
+            this.server = HttpServer.create(address, backlog);
+        } catch (IOException e) {
+            throw new CustomException(ErrorCode.HTTP_INTERNAL_SERVER_ERROR, formatMessage(HTTP_INTERNAL_SERVER_ERROR_TEMPLATE, e.getMessage()));
+        }
+        server.createContext(BOOKS_PATH, this::handle);
+        server.setExecutor(executor);
+    }
+
+    public static void main(String[] args) {
+        int port = Integer.parseInt(System.getProperty("library.http.port", String.valueOf(DEFAULT_HTTP_PORT)));
+        RepositoryType repositoryType = RepositoryType.valueOf(System.getProperty("library.http.repositoryType", DEFAULT_HTTP_REPOSITORY_TYPE.name()));
+
+        LibraryService libraryService = new LibraryServiceImpl(LibraryRepositoryFactory.getInstance().createRepository(repositoryType));
+        LibraryHttpServer server = new LibraryHttpServer(libraryService, new InetSocketAddress(port), DEFAULT_HTTP_BACKLOG);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            LibraryRepositoryFactory.getInstance().clearCache();
+        }));
+
+        server.start();
+        System.out.println("Library HTTP server listening on port " + server.getPort() + " with " + repositoryType.name() + " repository.");
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops accepting requests, waits for the exchanges in progress and stops their virtual threads.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        Response response;
+        try {
+            response = route(exchange);
+        } catch (CustomException e) {
+            response = new Response(statusOf(e), new ErrorBody(e.getMessage()));
+        } catch (RuntimeException e) {
+            response = new Response(500, new ErrorBody(formatMessage(HTTP_INTERNAL_SERVER_ERROR_TEMPLATE, e.getMessage())));
+        }
+
+        byte[] body = OBJECT_MAPPER.writeValueAsBytes(response.body());
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(response.status(), body.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(body);
+        }
+    }
+
+    private Response route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        String resourcePath = path.substring(BOOKS_PATH.length());
+        if (resourcePath.endsWith("/")) {
+            resourcePath = resourcePath.substring(0, resourcePath.length() - 1);
+        }
+        String[] segments = resourcePath.split("/");
+
+        //"/books" and "/books/" split into a single empty segment, "/books/{isbn}" into "" and the ISBN, and so on,
+        //while a path made of slashes only splits into no segment at all
+        if (segments.length == 0 || segments.length == 1 && segments[0].isEmpty()) {
+            return switch (method) {
+                case "GET" -> new Response(200, viewAvailableBooks(exchange));
+                case "POST" -> new Response(201, libraryService.addBook(readBook(exchange.getRequestBody())));
+                default -> throw methodNotAllowed(exchange, "GET, POST");
+            };
+        }
+        if (!segments[0].isEmpty() || segments.length > 3) {
+            throw new CustomException(ErrorCode.HTTP_RESOURCE_NOT_FOUND, formatMessage(HTTP_RESOURCE_NOT_FOUND_TEMPLATE, path));
+        }
+
+        String isbn = segments[1];
+        if (segments.length == 2) {
+            if (!"GET".equals(method)) {
+                throw methodNotAllowed(exchange, "GET");
+            }
+            return new Response(200, libraryService.viewBook(isbn));
+        }
+        if (!"POST".equals(method)) {
+            throw methodNotAllowed(exchange, "POST");
+        }
+        return switch (segments[2]) {
+            case "borrow" -> new Response(200, libraryService.borrowBook(isbn));
+            case "return" -> new Response(200, libraryService.returnBook(isbn));
+            default -> throw new CustomException(ErrorCode.HTTP_RESOURCE_NOT_FOUND, formatMessage(HTTP_RESOURCE_NOT_FOUND_TEMPLATE, path));
+        };
+    }
+
+    private Object viewAvailableBooks(HttpExchange exchange) {
+        Map<String, String> parameters = queryParametersOf(exchange.getRequestURI().getRawQuery());
+        String limit = parameters.getOrDefault("limit", String.valueOf(DEFAULT_PAGE_SIZE));
+        try {
+            return libraryService.viewAvailableBooks(parameters.get("afterIsbn"), Integer.parseInt(limit));
+        } catch (NumberFormatException e) {
+            throw new CustomException(ErrorCode.HTTP_INVALID_QUERY_PARAMETER, formatMessage(HTTP_INVALID_QUERY_PARAMETER_TEMPLATE, limit, "limit"));
+        }
+    }
+
+    private static Map<String, String> queryParametersOf(String rawQuery) {
+        Map<String, String> parameters = new HashMap<>();
+        if (rawQuery == null) {
+            return parameters;
+        }
+
+        for (String parameter : rawQuery.split("&")) {
+            int separatorIndex = parameter.indexOf('=');
+            if (separatorIndex > 0) {
+                parameters.put(URLDecoder.decode(parameter.substring(0, separatorIndex), StandardCharsets.UTF_8),
+                        URLDecoder.decode(parameter.substring(separatorIndex + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return parameters;
+    }
+
+    private static BookDto readBook(InputStream requestBody) throws IOException {
+        try (requestBody) {
+            BookDto book = OBJECT_MAPPER.readValue(requestBody, BookDto.class);
+            if (book == null) {
+                throw new CustomException(ErrorCode.HTTP_INVALID_REQUEST_BODY, formatMessage(HTTP_INVALID_REQUEST_BODY_TEMPLATE, "empty body"));
+            }
+            return book;
+        } catch (JsonProcessingException e) {
+            throw new CustomException(ErrorCode.HTTP_INVALID_REQUEST_BODY, formatMessage(HTTP_INVALID_REQUEST_BODY_TEMPLATE, e.getOriginalMessage()));
+        }
+    }
+
+    //Sets the Allow header of the 405 answer, which is sent with the headers of the exchange
+    private static CustomException methodNotAllowed(HttpExchange exchange, String allowedMethods) {
+        exchange.getResponseHeaders().set("Allow", allowedMethods);
+        return new CustomException(ErrorCode.HTTP_METHOD_NOT_ALLOWED,
+                formatMessage(HTTP_METHOD_NOT_ALLOWED_TEMPLATE, exchange.getRequestMethod(), exchange.getRequestURI().getPath()));
+    }
+
+    private static int statusOf(CustomException e) {
+        return switch (e.getErrorCode()) {
+            case BOOK_DOES_NOT_EXIST, HTTP_RESOURCE_NOT_FOUND -> 404;
+            case BOOK_ALREADY_EXISTS, BOOK_NOT_AVAILABLE -> 409;
+            case HTTP_METHOD_NOT_ALLOWED -> 405;
+            case INVALID_ISBN, INVALID_TITLE, INVALID_AUTHOR, INVALID_PUBLICATION_YEAR, INVALID_PUBLICATION_YEAR_RANGE,
+                 EMPTY_BOOK_BATCH, INVALID_PAGE_LIMIT, INVALID_SEARCH_QUERY, REPOSITORY_FIELD_TOO_LONG, HTTP_INVALID_REQUEST_BODY,
+                 HTTP_INVALID_QUERY_PARAMETER -> 400;
+            default -> 500;
+        };
+    }
+}
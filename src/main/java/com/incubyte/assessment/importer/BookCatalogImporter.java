@@ -0,0 +1,224 @@
+package com.incubyte.assessment.importer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.incubyte.assessment.exception.CustomException;
+import com.incubyte.assessment.exception.ErrorCode;
+import com.incubyte.assessment.model.BookDto;
+import com.incubyte.assessment.model.BookImportError;
+import com.incubyte.assessment.model.BookImportResult;
+import com.incubyte.assessment.service.LibraryService;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static com.incubyte.assessment.util.AppConstants.*;
+import static com.incubyte.assessment.util.MessageFormatUtil.formatMessage;
+
+/**
+ * Loads book catalogs from CSV or JSON Lines files into the library through {@link LibraryService#addBooks(Iterable)}.
+ *
+ * <p>Supported formats:</p>
+ * <ul>
+ *   <li>{@code .csv}: a header line followed by {@code isbn,title,author,publicationYear} lines. Fields may be
+ *   enclosed in double quotes, with {@code ""} standing for a quote; quoted fields cannot span several lines.</li>
+ *   <li>{@code .jsonl}: one {@code {"isbn": ..., "title": ..., "author": ..., "publicationYear": ...}} object per line.</li>
+ * </ul>
+ *
+ * <p>The file is read in chunks of lines. Each chunk is parsed in parallel while the previous chunk is being
+ * inserted, so parsing and insertion overlap. Malformed lines are reported as import errors carrying their
+ * line number, and never abort the import.</p>
+ */
+public class BookCatalogImporter {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final LibraryService libraryService;
+    private final int chunkSize;
+
+    private record ParsedLine(long lineNumber, BookDto bookDto, String error) {
+    }
+
+    public BookCatalogImporter(LibraryService libraryService) {
+        this(libraryService, DEFAULT_IMPORT_BATCH_SIZE);
+    }
+
+    public BookCatalogImporter(LibraryService libraryService, int chunkSize) {
+        this.libraryService = libraryService;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Imports a catalog file, choosing the format from its extension.
+     *
+     * @param file The {@code .csv} or {@code .jsonl} file to import.
+     * @return The number of imported books and the rejected lines.
+     */
+    public BookImportResult importFile(Path file) {
+        String fileName = file.getFileName().toString().toLowerCase();
+        if (fileName.endsWith(".csv")) {
+            return importCsv(file);
+        }
+        if (fileName.endsWith(".jsonl")) {
+            return importJsonLines(file);
+        }
+        throw new CustomException(ErrorCode.UNSUPPORTED_IMPORT_FORMAT, formatMessage(UNSUPPORTED_IMPORT_FORMAT_TEMPLATE, file));
+    }
+
+    public BookImportResult importCsv(Path file) {
+        return importLines(file, true, BookCatalogImporter::parseCsvLine);
+    }
+
+    public BookImportResult importJsonLines(Path file) {
+        return importLines(file, false, BookCatalogImporter::parseJsonLine);
+    }
+
+    private BookImportResult importLines(Path file, boolean skipHeader, Function<String, BookDto> parser) {
+        BookImportResult result = new BookImportResult(0, new ArrayList<>());
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            long lineNumber = 0;
+            if (skipHeader && reader.readLine() != null) {
+                lineNumber++;
+            }
+
+            CompletableFuture<List<ParsedLine>> pendingChunk = null;
+            while (true) {
+                List<String> lines = new ArrayList<>(chunkSize);
+                long firstLineNumber = lineNumber + 1;
+                String line;
+                while (lines.size() < chunkSize && (line = reader.readLine()) != null) {
+                    lines.add(line);
+                }
+                lineNumber += lines.size();
+
+                //Parsing this chunk in the background while the previous one is inserted
+                CompletableFuture<List<ParsedLine>> parsedChunk = lines.isEmpty() ? null
+                        : CompletableFuture.supplyAsync(() -> parseChunk(lines, firstLineNumber, parser));
+                if (pendingChunk != null) {
+                    result = result.merge(insertChunk(pendingChunk.join()));
+                }
+                if (parsedChunk == null) {
+                    break;
+                }
+                pendingChunk = parsedChunk;
+            }
+        } catch (IOException e) {
+            throw new CustomException(ErrorCode.IMPORT_FILE_READ_ERROR, formatMessage(IMPORT_FILE_READ_ERROR_TEMPLATE, e.getMessage()));
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+
+        return result;
+    }
+
+    private List<ParsedLine> parseChunk(List<String> lines, long firstLineNumber, Function<String, BookDto> parser) {
+        return IntStream.range(0, lines.size())
+                .parallel()
+                .filter(i -> !lines.get(i).isBlank())
+                .mapToObj(i -> parseLine(lines.get(i), firstLineNumber + i, parser))
+                .toList();
+    }
+
+    private ParsedLine parseLine(String line, long lineNumber, Function<String, BookDto> parser) {
+        try {
+            return new ParsedLine(lineNumber, parser.apply(line), null);
+        } catch (RuntimeException e) {
+            return new ParsedLine(lineNumber, null, formatMessage(INVALID_IMPORT_RECORD_TEMPLATE, e.getMessage()));
+        }
+    }
+
+    private BookImportResult insertChunk(List<ParsedLine> parsedLines) {
+        List<BookImportError> errors = new ArrayList<>();
+        List<BookDto> bookDtos = new ArrayList<>(parsedLines.size());
+        long[] lineNumbers = new long[parsedLines.size()];
+
+        for (ParsedLine parsedLine : parsedLines) {
+            if (parsedLine.error() != null) {
+                errors.add(new BookImportError(parsedLine.lineNumber(), null, parsedLine.error()));
+            } else {
+                lineNumbers[bookDtos.size()] = parsedLine.lineNumber();
+                bookDtos.add(parsedLine.bookDto());
+            }
+        }
+
+        //The service numbers records within the chunk, which is mapped back to file line numbers
+        BookImportResult chunkResult = libraryService.addBooks(bookDtos);
+        for (BookImportError error : chunkResult.errors()) {
+            errors.add(new BookImportError(lineNumbers[(int) error.recordNumber() - 1], error.isbn(), error.message()));
+        }
+        errors.sort(Comparator.comparingLong(BookImportError::recordNumber));
+
+        return new BookImportResult(chunkResult.importedCount(), errors);
+    }
+
+    static BookDto parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>(4);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+
+        if (quoted || fields.size() != 4) {
+            throw new IllegalArgumentException("expected 4 comma separated fields in '" + line + "'");
+        }
+        return new BookDto(fields.get(0), fields.get(1), fields.get(2), parseYear(fields.get(3)), true);
+    }
+
+    static BookDto parseJsonLine(String line) {
+        JsonNode node;
+        try {
+            node = OBJECT_MAPPER.readTree(line);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("invalid JSON in '" + line + "'");
+        }
+
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("expected a JSON object in '" + line + "'");
+        }
+        return new BookDto(textOf(node, "isbn"), textOf(node, "title"), textOf(node, "author"), parseYear(textOf(node, "publicationYear")), true);
+    }
+
+    private static String textOf(JsonNode node, String fieldName) {
+        JsonNode field = node.get(fieldName);
+        return field == null || field.isNull() ? null : field.asText();
+    }
+
+    private static int parseYear(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid publication year '" + value + "'");
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.incubyte.assessment.metrics;
+
+/**
+ * Point-in-time summary of a {@link LogLinearHistogram}, in the unit of the recorded values.
+ *
+ * @Attributes:
+ * <p>- count: The number of recorded values.
+ * <p>- mean: The mean value.
+ * <p>- p50, p99, p999: The median, 99th and 99.9th percentile values.
+ * <p>- max: The highest recorded value.
+ */
+public record HistogramSnapshot(long count, long mean, long p50, long p99, long p999, long max) {
+}
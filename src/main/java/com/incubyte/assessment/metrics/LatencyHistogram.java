@@ -0,0 +1,30 @@
+package com.incubyte.assessment.metrics;
+
+/**
+ * Lock-free histogram of latencies in nanoseconds, recorded in a {@link LogLinearHistogram}.
+ *
+ * <p>A percentile is reported within about 6% of the true latency, for a fixed footprint whatever the
+ * number of recorded latencies. Recording is a bucket index computation and an atomic increment, so it
+ * can be left on in production.</p>
+ */
+public final class LatencyHistogram {
+
+    private final LogLinearHistogram histogram = new LogLinearHistogram();
+
+    /**
+     * Records one latency.
+     *
+     * @param nanos The latency in nanoseconds; negative values, from a clock going backwards, count as zero.
+     */
+    public void record(long nanos) {
+        histogram.record(nanos);
+    }
+
+    /**
+     * @return The count, mean, percentiles and maximum of the latencies recorded so far.
+     */
+    public LatencySnapshot snapshot() {
+        HistogramSnapshot snapshot = histogram.snapshot();
+        return new LatencySnapshot(snapshot.count(), snapshot.mean(), snapshot.p50(), snapshot.p99(), snapshot.p999(), snapshot.max());
+    }
+}
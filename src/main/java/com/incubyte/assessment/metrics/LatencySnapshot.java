@@ -0,0 +1,13 @@
+package com.incubyte.assessment.metrics;
+
+/**
+ * Point-in-time summary of a {@link LatencyHistogram}.
+ *
+ * @Attributes:
+ * <p>- count: The number of recorded latencies.
+ * <p>- meanNanos: The mean latency, in nanoseconds.
+ * <p>- p50Nanos, p99Nanos, p999Nanos: The median, 99th and 99.9th percentile latencies, in nanoseconds.
+ * <p>- maxNanos: The highest recorded latency, in nanoseconds.
+ */
+public record LatencySnapshot(long count, long meanNanos, long p50Nanos, long p99Nanos, long p999Nanos, long maxNanos) {
+}
@@ -0,0 +1,114 @@
+package com.incubyte.assessment.metrics;
+
+import com.incubyte.assessment.exception.CustomException;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Registry of the {@link OperationMetrics} of the instrumented service and repository operations.
+ *
+ * <p>Service and repository decorators sharing a registry time their calls through
+ * {@link #timeServiceCall} and {@link #timeRepositoryCall}. Repository calls are also counted per thread,
+ * so that each service call is charged with the repository calls it made on its own thread.</p>
+ *
+ * <p>Failures are classified by error type: a {@link CustomException} by the name of its
+ * {@link com.incubyte.assessment.exception.ErrorCode}, such as {@code BOOK_NOT_AVAILABLE}, and any other
+ * exception by its class name.</p>
+ */
+public class LibraryMetrics {
+
+    private final Map<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+    private final ThreadLocal<long[]> repositoryCallsOfThread = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * @param failure An exception thrown by an instrumented operation.
+     * @return The error type the failure is counted under.
+     */
+    public static String errorTypeOf(Throwable failure) {
+        if (failure instanceof CustomException customException) {
+            return customException.getErrorCode().name();
+        }
+        return failure.getClass().getSimpleName();
+    }
+
+    /**
+     * @param operation The name of the operation.
+     * @return The metrics of the operation, created on first use.
+     */
+    public OperationMetrics operation(String operation) {
+        OperationMetrics metrics = operations.get(operation);
+        return metrics != null ? metrics : operations.computeIfAbsent(operation, OperationMetrics::new);
+    }
+
+    /**
+     * Runs and times a service call, charging it with the repository calls made meanwhile on the current thread.
+     */
+    public <T> T timeServiceCall(String operation, Supplier<T> call) {
+        OperationMetrics metrics = operation(operation);
+        long[] repositoryCalls = repositoryCallsOfThread.get();
+        long repositoryCallsBefore = repositoryCalls[0];
+        try {
+            return time(metrics, call);
+        } finally {
+            metrics.recordRepositoryCalls(repositoryCalls[0] - repositoryCallsBefore);
+        }
+    }
+
+    /**
+     * Runs, times and counts a repository call.
+     */
+    public <T> T timeRepositoryCall(String operation, Supplier<T> call) {
+        repositoryCallsOfThread.get()[0]++;
+        return time(operation(operation), call);
+    }
+
+    private static <T> T time(OperationMetrics metrics, Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            metrics.recordSuccess(System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException | Error e) {
+            metrics.recordFailure(System.nanoTime() - start, errorTypeOf(e));
+            throw e;
+        }
+    }
+
+    /**
+     * @return The statistics of every operation called so far, by operation name.
+     */
+    public List<OperationStats> snapshot() {
+        return operations.values().stream()
+                .map(OperationMetrics::snapshot)
+                .sorted(Comparator.comparing(OperationStats::operation))
+                .toList();
+    }
+
+    /**
+     * @return The statistics of every operation as a text table, with latencies in microseconds.
+     */
+    public String export() {
+        StringBuilder table = new StringBuilder(String.format("%-40s %10s %10s %10s %10s %10s %10s %12s%n",
+                "Operation", "Calls", "Failures", "p50 (us)", "p99 (us)", "p999 (us)", "Max (us)", "Repo/Call"));
+
+        for (OperationStats stats : snapshot()) {
+            LatencySnapshot latency = stats.latency();
+            table.append(String.format("%-40s %10d %10d %10.1f %10.1f %10.1f %10.1f %12.2f%n",
+                    stats.operation(), latency.count(), stats.failureCount(), latency.p50Nanos() / 1000.0,
+                    latency.p99Nanos() / 1000.0, latency.p999Nanos() / 1000.0, latency.maxNanos() / 1000.0, stats.repositoryCallsPerCall()));
+            stats.failureCounts().forEach((errorType, count) -> table.append(String.format("    %-36s %21d%n", errorType, count)));
+        }
+        return table.toString();
+    }
+
+    /**
+     * Forgets the statistics of every operation.
+     */
+    public void reset() {
+        operations.clear();
+    }
+}
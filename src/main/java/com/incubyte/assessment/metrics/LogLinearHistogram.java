@@ -0,0 +1,94 @@
+package com.incubyte.assessment.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of non-negative values with log-linear buckets, independent of the unit of the values.
+ *
+ * <p>Values below {@value #LINEAR_BUCKET_COUNT} get a bucket each. Above, every power of two is split into
+ * {@value #SUB_BUCKET_COUNT} buckets of equal width, so a percentile is reported within about 6% of the true
+ * value, for a fixed footprint of {@value #BUCKET_COUNT} counters whatever the number of recorded values.</p>
+ *
+ * <p>Recording is a bucket index computation and an atomic increment, so it can be left on in production.
+ * Snapshots read the counters without stopping recorders, and may therefore miss the values being
+ * recorded meanwhile.</p>
+ */
+public final class LogLinearHistogram {
+
+    private static final int PRECISION_BITS = 5;
+    private static final int LINEAR_BUCKET_COUNT = 1 << PRECISION_BITS;
+    private static final int SUB_BUCKET_COUNT = LINEAR_BUCKET_COUNT >> 1;
+    private static final int BUCKET_COUNT = LINEAR_BUCKET_COUNT + (Long.SIZE - 1 - PRECISION_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray bucketCounts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong maxValue = new AtomicLong();
+
+    /**
+     * Records one value.
+     *
+     * @param value The value; negative values, such as from a clock going backwards, count as zero.
+     */
+    public void record(long value) {
+        long recordedValue = Math.max(0, value);
+        bucketCounts.incrementAndGet(bucketOf(recordedValue));
+        total.add(recordedValue);
+        if (recordedValue > maxValue.get()) {
+            maxValue.accumulateAndGet(recordedValue, Math::max);
+        }
+    }
+
+    /**
+     * @return The count, mean, percentiles and maximum of the values recorded so far, in their unit.
+     */
+    public HistogramSnapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            counts[bucket] = bucketCounts.get(bucket);
+            count += counts[bucket];
+        }
+
+        long max = maxValue.get();
+        if (count == 0) {
+            return new HistogramSnapshot(0, 0, 0, 0, 0, 0);
+        }
+        return new HistogramSnapshot(count, total.sum() / count,
+                percentile(counts, count, 0.5, max), percentile(counts, count, 0.99, max), percentile(counts, count, 0.999, max), max);
+    }
+
+    private static long percentile(long[] counts, long count, double percentile, long max) {
+        long rank = (long) Math.ceil(percentile * count);
+        long cumulativeCount = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            cumulativeCount += counts[bucket];
+            if (cumulativeCount >= rank) {
+                return Math.min(highestValueOf(bucket), max);
+            }
+        }
+        return max;
+    }
+
+    static int bucketOf(long value) {
+        if (value < LINEAR_BUCKET_COUNT) {
+            return (int) value;
+        }
+
+        //The top PRECISION_BITS bits of the value select the sub-bucket within its power of two
+        int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - PRECISION_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+        return LINEAR_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long highestValueOf(int bucket) {
+        if (bucket < LINEAR_BUCKET_COUNT) {
+            return bucket;
+        }
+
+        int shift = (bucket - LINEAR_BUCKET_COUNT) / SUB_BUCKET_COUNT + 1;
+        long subBucket = (bucket - LINEAR_BUCKET_COUNT) % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,45 @@
+package com.incubyte.assessment.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Recorder of the latencies, outcomes and repository calls of one instrumented operation.
+ * Every counter is a {@link LongAdder}, so concurrent callers do not contend on a shared counter.
+ */
+public final class OperationMetrics {
+
+    private final String operation;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder successCount = new LongAdder();
+    private final Map<String, LongAdder> failureCounts = new ConcurrentHashMap<>();
+    private final LongAdder repositoryCallCount = new LongAdder();
+
+    OperationMetrics(String operation) {
+        this.operation = operation;
+    }
+
+    public void recordSuccess(long nanos) {
+        latency.record(nanos);
+        successCount.increment();
+    }
+
+    public void recordFailure(long nanos, String errorType) {
+        latency.record(nanos);
+        failureCounts.computeIfAbsent(errorType, type -> new LongAdder()).increment();
+    }
+
+    public void recordRepositoryCalls(long count) {
+        if (count > 0) {
+            repositoryCallCount.add(count);
+        }
+    }
+
+    public OperationStats snapshot() {
+        Map<String, Long> failures = new TreeMap<>();
+        failureCounts.forEach((errorType, count) -> failures.put(errorType, count.sum()));
+        return new OperationStats(operation, successCount.sum(), failures, repositoryCallCount.sum(), latency.snapshot());
+    }
+}
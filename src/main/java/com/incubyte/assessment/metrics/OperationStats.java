@@ -0,0 +1,29 @@
+package com.incubyte.assessment.metrics;
+
+import java.util.Map;
+
+/**
+ * Point-in-time statistics of one instrumented operation.
+ *
+ * @Attributes:
+ * <p>- operation: The name of the operation, such as {@code service.borrowBook} or {@code repository.getById}.
+ * <p>- successCount: The number of calls that returned normally.
+ * <p>- failureCounts: The number of calls that threw, by error type.
+ * <p>- repositoryCallCount: The number of repository calls made by the calls of a service operation.
+ * <p>- latency: The latencies of every call, successful or not.
+ */
+public record OperationStats(String operation, long successCount, Map<String, Long> failureCounts,
+                             long repositoryCallCount, LatencySnapshot latency) {
+
+    public long failureCount() {
+        return failureCounts.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * @return The mean number of repository calls per call of the operation.
+     */
+    public double repositoryCallsPerCall() {
+        long callCount = successCount + failureCount();
+        return callCount == 0 ? 0 : (double) repositoryCallCount / callCount;
+    }
+}
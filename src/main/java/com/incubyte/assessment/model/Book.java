@@ -41,6 +41,14 @@ public class Book {
         this.isAvailable = true;
     }
 
+    //Copy constructor, used to update a stored book without mutating the shared instance
+    public Book(Book book) {
+        this(book.isbn, book.title, book.author, book.publicationYear);
+        this.isAvailable = book.isAvailable;
+        this.lastBorrowedAt = book.lastBorrowedAt;
+        this.lastReturnedAt = book.lastReturnedAt;
+    }
+
     // Getters
     public String getIsbn() {
         return isbn;
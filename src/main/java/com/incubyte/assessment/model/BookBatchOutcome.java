@@ -0,0 +1,12 @@
+package com.incubyte.assessment.model;
+
+/**
+ * Describes the outcome of a single ISBN of a batch borrow or return.
+ *
+ * @Attributes:
+ * <p>- isbn: The ISBN as requested.
+ * <p>- book: The book after the batch was applied, or null if the batch was rolled back.
+ * <p>- error: The reason the ISBN was rejected or left unchanged, or null if the batch was applied.
+ */
+public record BookBatchOutcome(String isbn, BookDto book, String error) {
+}
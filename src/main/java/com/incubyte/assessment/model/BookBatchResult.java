@@ -0,0 +1,17 @@
+package com.incubyte.assessment.model;
+
+import java.util.List;
+
+/**
+ * Outcome of borrowing or returning a batch of books, which is applied to every book or to none of them.
+ *
+ * @Usage:
+ * Returned by batch borrows and returns so that the books preventing a checkout can be reported individually,
+ * while the books of a rolled back batch are left unchanged.
+ *
+ * @Attributes:
+ * <p>- applied: Whether every book of the batch was borrowed or returned.
+ * <p>- outcomes: The outcome of every requested ISBN, in request order.
+ */
+public record BookBatchResult(boolean applied, List<BookBatchOutcome> outcomes) {
+}
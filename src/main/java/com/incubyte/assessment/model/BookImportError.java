@@ -0,0 +1,12 @@
+package com.incubyte.assessment.model;
+
+/**
+ * Describes a single record rejected during a bulk import of books.
+ *
+ * @Attributes:
+ * <p>- recordNumber: The 1-based position of the record in the imported input (the line number for file imports).
+ * <p>- isbn: The ISBN of the rejected record, or null if it could not be read.
+ * <p>- message: The reason the record was rejected.
+ */
+public record BookImportError(long recordNumber, String isbn, String message) {
+}
@@ -0,0 +1,32 @@
+package com.incubyte.assessment.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import of books into the library.
+ *
+ * @Usage:
+ * Returned by bulk imports so that invalid or duplicate records can be reported individually
+ * without aborting the import of the valid ones.
+ *
+ * @Attributes:
+ * <p>- importedCount: The number of books added to the library.
+ * <p>- errors: The records that were rejected, in input order.
+ */
+public record BookImportResult(long importedCount, List<BookImportError> errors) {
+
+    public long rejectedCount() {
+        return errors.size();
+    }
+
+    /**
+     * Combines this result with the result of a later part of the same import.
+     */
+    public BookImportResult merge(BookImportResult other) {
+        List<BookImportError> mergedErrors = new ArrayList<>(errors.size() + other.errors().size());
+        mergedErrors.addAll(errors);
+        mergedErrors.addAll(other.errors());
+        return new BookImportResult(importedCount + other.importedCount(), mergedErrors);
+    }
+}
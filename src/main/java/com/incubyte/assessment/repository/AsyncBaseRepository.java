@@ -0,0 +1,74 @@
+package com.incubyte.assessment.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of {@link BaseRepository}, whose operations return at once with a future completed
+ * when the underlying I/O is done.
+ *
+ * <p>Callers are never parked on the storage, so that a few threads can keep many operations in flight and
+ * implementations can pipeline them. A failed operation completes its future exceptionally with the exception
+ * the blocking operation would have thrown.</p>
+ *
+ * @param <T> The type of the entity being managed.
+ */
+public interface AsyncBaseRepository<T> extends AutoCloseable {
+
+    /**
+     * Adds an item to the repository.
+     *
+     * @param item The item to add.
+     * @return A future completed once the item is stored.
+     */
+    CompletableFuture<Void> add(T item);
+
+    /**
+     * Adds a batch of items to the repository.
+     *
+     * @param items The items to add.
+     * @return A future completed once every item is stored.
+     */
+    CompletableFuture<Void> addAll(Collection<T> items);
+
+    /**
+     * Retrieves an item by its unique identifier.
+     *
+     * @param id The unique identifier of the item.
+     * @return A future of the item if found, of null otherwise.
+     */
+    CompletableFuture<T> getById(String id);
+
+    /**
+     * Retrieves all items from the repository.
+     *
+     * @return A future of a list of all items.
+     */
+    CompletableFuture<List<T>> getAll();
+
+    /**
+     * Retrieves a page of items using keyset pagination, in ascending identifier order.
+     *
+     * @param afterId The identifier of the last item of the previous page, or null for the first page.
+     * @param limit   The maximum number of items to return.
+     * @return A future of the items following {@code afterId}; fewer than {@code limit} items means this is the last page.
+     */
+    CompletableFuture<List<T>> getPage(String afterId, int limit);
+
+    /**
+     * Checks if an item exists in the repository by its unique identifier.
+     *
+     * @param id The unique identifier of the item.
+     * @return A future of whether the item exists.
+     */
+    CompletableFuture<Boolean> existsById(String id);
+
+    /**
+     * Waits for the operations in progress and releases any resources held by the repository.
+     */
+    @Override
+    default void close() {
+    }
+
+}
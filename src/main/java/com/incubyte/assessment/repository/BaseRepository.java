@@ -1,12 +1,15 @@
 package com.incubyte.assessment.repository;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.function.UnaryOperator;
 
 /**
  * Generic repository interface for managing data operations.
  *
  * @param <T> The type of the entity being managed.
  */
-public interface BaseRepository<T> {
+public interface BaseRepository<T> extends AutoCloseable {
 
     /**
      * Adds an item to the repository.
@@ -15,6 +18,18 @@ public interface BaseRepository<T> {
      */
     void add(T item);
 
+    /**
+     * Adds a batch of items to the repository.
+     *
+     * <p>Implementations amortize their per-write costs (locking, fsync, round trips) over the
+     * whole batch. The default implementation adds the items one by one.</p>
+     *
+     * @param items The items to add.
+     */
+    default void addAll(Collection<T> items) {
+        items.forEach(this::add);
+    }
+
     /**
      * Retrieves an item by its unique identifier.
      *
@@ -30,6 +45,20 @@ public interface BaseRepository<T> {
      */
     List<T> getAll();
 
+    /**
+     * Retrieves a page of items using keyset pagination, in ascending identifier order.
+     *
+     * <p>Pages are read independently, so walking the whole repository page by page never
+     * materializes more than one page at a time. A page holds the items whose identifier follows
+     * {@code afterId}, whether or not an item with that identifier is stored, so that a walk returns
+     * every item stored throughout it exactly once.</p>
+     *
+     * @param afterId The identifier of the last item of the previous page, or null for the first page.
+     * @param limit   The maximum number of items to return.
+     * @return The items following {@code afterId}; fewer than {@code limit} items means this is the last page.
+     */
+    List<T> getPage(String afterId, int limit);
+
     /**
      * Checks if an item exists in the repository by its unique identifier.
      *
@@ -38,4 +67,39 @@ public interface BaseRepository<T> {
      */
     boolean existsById(String id);
 
-}
\ No newline at end of file
+    /**
+     * Replaces the item stored under the given identifier with the result of the remapping function.
+     *
+     * <p>Implementations that can do so apply the function atomically per identifier, so that
+     * concurrent check-then-act updates on the same item cannot interleave. Exceptions thrown by
+     * the function propagate to the caller and leave the item unchanged, and returning the given
+     * item itself performs no write.</p>
+     *
+     * <p>The default implementation is a plain read followed by a write and is not atomic.</p>
+     *
+     * @param id                The unique identifier of the item.
+     * @param remappingFunction The function computing the new item from the current one.
+     * @return The item stored after the update, or null if no item exists for the identifier.
+     */
+    default T computeIfPresent(String id, UnaryOperator<T> remappingFunction) {
+        T item = getById(id);
+        if (item == null) {
+            return null;
+        }
+
+        T updatedItem = remappingFunction.apply(item);
+        if (updatedItem != item) {
+            add(updatedItem);
+        }
+        return updatedItem;
+    }
+
+    /**
+     * Releases any resources (files, connections, background tasks) held by the repository.
+     * Repositories without such resources can rely on this no-op default.
+     */
+    @Override
+    default void close() {
+    }
+
+}
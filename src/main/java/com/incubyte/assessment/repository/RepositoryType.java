@@ -2,6 +2,8 @@ package com.incubyte.assessment.repository;
 
 public enum RepositoryType {
     IN_MEMORY,
+    CONCURRENT_IN_MEMORY,
+    COMPACT_IN_MEMORY,
     DATABASE,
     FILESYSTEM
 }
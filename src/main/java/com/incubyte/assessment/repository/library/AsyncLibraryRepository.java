@@ -0,0 +1,65 @@
+package com.incubyte.assessment.repository.library;
+
+import com.incubyte.assessment.model.Book;
+import com.incubyte.assessment.repository.AsyncBaseRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of {@link LibraryRepository}, extending the generic {@link AsyncBaseRepository} interface.
+ *
+ * <p>Every operation has the semantics of the {@link LibraryRepository} operation of the same name, including its
+ * atomicity guarantees, and only differs in returning a future of its result. Blocking repositories plug in
+ * through {@link AsyncLibraryRepositoryAdapter}.</p>
+ */
+public interface AsyncLibraryRepository extends AsyncBaseRepository<Book> {
+
+    /**
+     * @see LibraryRepository#addIfAbsent(Book)
+     */
+    CompletableFuture<Boolean> addIfAbsent(Book book);
+
+    /**
+     * @see LibraryRepository#addAllIfAbsent(Collection)
+     */
+    CompletableFuture<List<Book>> addAllIfAbsent(Collection<Book> books);
+
+    /**
+     * @see LibraryRepository#getAvailablePage(String, int)
+     */
+    CompletableFuture<List<Book>> getAvailablePage(String afterIsbn, int limit);
+
+    /**
+     * @see LibraryRepository#getByAuthor(String, boolean)
+     */
+    CompletableFuture<List<Book>> getByAuthor(String author, boolean availableOnly);
+
+    /**
+     * @see LibraryRepository#getByPublicationYearRange(int, int, boolean)
+     */
+    CompletableFuture<List<Book>> getByPublicationYearRange(int fromYear, int toYear, boolean availableOnly);
+
+    /**
+     * @see LibraryRepository#borrowIfAvailable(String, LocalDateTime)
+     */
+    CompletableFuture<AvailabilityUpdate> borrowIfAvailable(String isbn, LocalDateTime borrowedAt);
+
+    /**
+     * @see LibraryRepository#returnIfBorrowed(String, LocalDateTime)
+     */
+    CompletableFuture<AvailabilityUpdate> returnIfBorrowed(String isbn, LocalDateTime returnedAt);
+
+    /**
+     * @see LibraryRepository#borrowAllIfAvailable(Collection, LocalDateTime)
+     */
+    CompletableFuture<Map<String, AvailabilityUpdate>> borrowAllIfAvailable(Collection<String> isbns, LocalDateTime borrowedAt);
+
+    /**
+     * @see LibraryRepository#returnAllIfBorrowed(Collection, LocalDateTime)
+     */
+    CompletableFuture<Map<String, AvailabilityUpdate>> returnAllIfBorrowed(Collection<String> isbns, LocalDateTime returnedAt);
+}
@@ -0,0 +1,151 @@
+package com.incubyte.assessment.repository.library;
+
+import com.incubyte.assessment.model.Book;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * {@link AsyncLibraryRepository} running the operations of a blocking {@link LibraryRepository} on an executor,
+ * so that the existing repositories can serve the asynchronous service.
+ *
+ * <p>By default every operation runs on a virtual thread of its own: an operation waiting on a file or a
+ * database connection only parks its virtual thread, and concurrent operations overlap their I/O up to what
+ * the repository itself allows. The repository must therefore be thread safe.</p>
+ */
+public class AsyncLibraryRepositoryAdapter implements AsyncLibraryRepository {
+
+    private final LibraryRepository delegate;
+    private final Executor executor;
+    //Only set when the executor was created by this adapter, which then shuts it down on close
+    private final ExecutorService ownedExecutor;
+
+    /**
+     * Runs every operation on a virtual thread of its own.
+     *
+     * @param delegate The thread-safe repository performing the operations.
+     */
+    public AsyncLibraryRepositoryAdapter(LibraryRepository delegate) {
+        this.delegate = delegate;
+        this.ownedExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        this.executor = ownedExecutor;
+    }
+
+    /**
+     * @param delegate The repository performing the operations, thread safe unless the executor runs one operation at a time.
+     * @param executor The executor running the operations, which is left running on close.
+     */
+    public AsyncLibraryRepositoryAdapter(LibraryRepository delegate, Executor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.ownedExecutor = null;
+    }
+
+    public LibraryRepository getDelegate() {
+        return delegate;
+    }
+
+    private <R> CompletableFuture<R> supply(Supplier<R> operation) {
+        return CompletableFuture.supplyAsync(operation, executor);
+    }
+
+    private CompletableFuture<Void> run(Runnable operation) {
+        return CompletableFuture.runAsync(operation, executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> add(Book book) {
+        return run(() -> delegate.add(book));
+    }
+
+    @Override
+    public CompletableFuture<Void> addAll(Collection<Book> books) {
+        return run(() -> delegate.addAll(books));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> addIfAbsent(Book book) {
+        return supply(() -> delegate.addIfAbsent(book));
+    }
+
+    @Override
+    public CompletableFuture<List<Book>> addAllIfAbsent(Collection<Book> books) {
+        return supply(() -> delegate.addAllIfAbsent(books));
+    }
+
+    @Override
+    public CompletableFuture<Book> getById(String id) {
+        return supply(() -> delegate.getById(id));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> existsById(String id) {
+        return supply(() -> delegate.existsById(id));
+    }
+
+    @Override
+    public CompletableFuture<List<Book>> getAll() {
+        return supply(delegate::getAll);
+    }
+
+    @Override
+    public CompletableFuture<List<Book>> getPage(String afterId, int limit) {
+        return supply(() -> delegate.getPage(afterId, limit));
+    }
+
+    @Override
+    public CompletableFuture<List<Book>> getAvailablePage(String afterIsbn, int limit) {
+        return supply(() -> delegate.getAvailablePage(afterIsbn, limit));
+    }
+
+    @Override
+    public CompletableFuture<List<Book>> getByAuthor(String author, boolean availableOnly) {
+        return supply(() -> delegate.getByAuthor(author, availableOnly));
+    }
+
+    @Override
+    public CompletableFuture<List<Book>> getByPublicationYearRange(int fromYear, int toYear, boolean availableOnly) {
+        return supply(() -> delegate.getByPublicationYearRange(fromYear, toYear, availableOnly));
+    }
+
+    @Override
+    public CompletableFuture<AvailabilityUpdate> borrowIfAvailable(String isbn, LocalDateTime borrowedAt) {
+        return supply(() -> delegate.borrowIfAvailable(isbn, borrowedAt));
+    }
+
+    @Override
+    public CompletableFuture<AvailabilityUpdate> returnIfBorrowed(String isbn, LocalDateTime returnedAt) {
+        return supply(() -> delegate.returnIfBorrowed(isbn, returnedAt));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, AvailabilityUpdate>> borrowAllIfAvailable(Collection<String> isbns, LocalDateTime borrowedAt) {
+        return supply(() -> delegate.borrowAllIfAvailable(isbns, borrowedAt));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, AvailabilityUpdate>> returnAllIfBorrowed(Collection<String> isbns, LocalDateTime returnedAt) {
+        return supply(() -> delegate.returnAllIfBorrowed(isbns, returnedAt));
+    }
+
+    /**
+     * Waits for the operations in progress on the executor created by this adapter, then closes the repository.
+     */
+    @Override
+    public void close() {
+        try {
+            if (ownedExecutor != null) {
+                ownedExecutor.close();
+            }
+        } finally {
+            delegate.close();
+        }
+    }
+}
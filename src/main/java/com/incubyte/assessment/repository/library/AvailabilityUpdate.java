@@ -0,0 +1,95 @@
+package com.incubyte.assessment.repository.library;
+
+import com.incubyte.assessment.model.Book;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Outcome of a conditional availability update, such as {@link LibraryRepository#borrowIfAvailable}.
+ *
+ * @Attributes:
+ * <p>- outcome: Whether the book was updated, does not exist, or was not in the state the update requires.
+ * <p>- book: The book as stored after the update, or as it was found when it was not updated; null if it does not exist.
+ */
+public record AvailabilityUpdate(Outcome outcome, Book book) {
+
+    /**
+     * Distinct outcomes of a conditional availability update.
+     */
+    public enum Outcome {
+        UPDATED,
+        NOT_FOUND,
+        NOT_AVAILABLE,
+        NOT_BORROWED
+    }
+
+    private static final AvailabilityUpdate NOT_FOUND = new AvailabilityUpdate(Outcome.NOT_FOUND, null);
+
+    public static AvailabilityUpdate notFound() {
+        return NOT_FOUND;
+    }
+
+    public boolean isUpdated() {
+        return outcome == Outcome.UPDATED;
+    }
+
+    /**
+     * @return Whether the outcome rolls back the batch it belongs to. Returning a book which is not borrowed
+     * leaves it unchanged without failing, as a single return does.
+     */
+    public boolean isRejected() {
+        return outcome == Outcome.NOT_FOUND || outcome == Outcome.NOT_AVAILABLE;
+    }
+
+    public static boolean anyRejected(Collection<AvailabilityUpdate> updates) {
+        for (AvailabilityUpdate update : updates) {
+            if (update.isRejected()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Decides the borrowing of a book read by a repository, the repository storing the book of an updated outcome.
+     *
+     * @param book       The current book, or null if it does not exist.
+     * @param borrowedAt The time of the borrowing.
+     * @return The outcome, holding a borrowed copy of the book when it was available.
+     */
+    public static AvailabilityUpdate ofBorrow(Book book, LocalDateTime borrowedAt) {
+        if (book == null) {
+            return NOT_FOUND;
+        }
+        if (!book.getIsAvailable()) {
+            return new AvailabilityUpdate(Outcome.NOT_AVAILABLE, book);
+        }
+
+        Book borrowedBook = new Book(book);
+        borrowedBook.setIsAvailable(false);
+        borrowedBook.setLastBorrowedAt(borrowedAt);
+        return new AvailabilityUpdate(Outcome.UPDATED, borrowedBook);
+    }
+
+    /**
+     * Decides the return of a book read by a repository, the repository storing the book of an updated outcome.
+     *
+     * @param book       The current book, or null if it does not exist.
+     * @param returnedAt The time of the return.
+     * @return The outcome, holding a returned copy of the book when it was borrowed.
+     */
+    public static AvailabilityUpdate ofReturn(Book book, LocalDateTime returnedAt) {
+        if (book == null) {
+            return NOT_FOUND;
+        }
+        if (book.getIsAvailable()) {
+            return new AvailabilityUpdate(Outcome.NOT_BORROWED, book);
+        }
+
+        Book returnedBook = new Book(book);
+        returnedBook.setIsAvailable(true);
+        returnedBook.setLastReturnedAt(returnedAt);
+        return new AvailabilityUpdate(Outcome.UPDATED, returnedBook);
+    }
+}
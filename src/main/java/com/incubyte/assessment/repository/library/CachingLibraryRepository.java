@@ -0,0 +1,323 @@
+package com.incubyte.assessment.repository.library;
+
+import com.incubyte.assessment.model.Book;
+import com.incubyte.assessment.repository.library.cache.CacheStats;
+import com.incubyte.assessment.repository.library.cache.FrequencySketch;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Read-through, write-through cache of books by ISBN in front of a slower {@link LibraryRepository},
+ * such as the database or file system repositories.
+ *
+ * <p>{@link #getById} and {@link #existsById} are answered from the cache when possible, and load the book
+ * from the delegate otherwise. Single book writes go to the delegate first and then replace the cached book.
+ * Listing and paging queries always read the delegate.</p>
+ *
+ * <p>The cache holds at most the configured number of books. It evicts in least recently used order, but
+ * only admits a new book in place of the eviction candidate if a {@link FrequencySketch} estimates that the
+ * new book was accessed more often recently, so that a scan of rarely read books cannot flush the popular ones.
+ * A candidate that loses moves the eviction candidate back to the most recently used end.</p>
+ *
+ * <p>With soft values, the cache holds its books through soft references, so that a large cache in front of a
+ * repository which keeps its books out of the heap, such as the file system and database repositories, never
+ * causes an out of memory error: the garbage collector reclaims the least recently used books under memory
+ * pressure, and their entries are dropped on the next write to the cache.</p>
+ *
+ * <p>Loads and writes of the same ISBN are serialized on one of a fixed set of lock stripes, so that a load
+ * racing with a write can never cache the book as it was before the write.</p>
+ */
+public class CachingLibraryRepository extends ForwardingLibraryRepository {
+
+    private final int maximumSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final IsbnLockStripes lockStripes = new IsbnLockStripes();
+    private final boolean softValues;
+    //Access ordered, so that the eldest entry is the least recently used, holding a book or a SoftEntry; guarded by the lock
+    private final LinkedHashMap<String, Object> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReferenceQueue<Book> reclaimedEntries = new ReferenceQueue<>();
+    private final FrequencySketch sketch;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private long evictionCount;
+
+    private static final class SoftEntry extends SoftReference<Book> {
+
+        private final String isbn;
+
+        private SoftEntry(Book book, ReferenceQueue<Book> queue) {
+            super(book, queue);
+            this.isbn = book.getIsbn();
+        }
+    }
+
+    public CachingLibraryRepository(LibraryRepository delegate, int maximumSize) {
+        this(delegate, maximumSize, false);
+    }
+
+    /**
+     * @param delegate    The repository the books are loaded from and written to.
+     * @param maximumSize The largest number of cached books.
+     * @param softValues  Whether the cached books are softly referenced.
+     */
+    public CachingLibraryRepository(LibraryRepository delegate, int maximumSize, boolean softValues) {
+        super(delegate);
+        this.maximumSize = maximumSize;
+        this.softValues = softValues;
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    private static Book bookOf(Object entry) {
+        return entry instanceof SoftEntry softEntry ? softEntry.get() : (Book) entry;
+    }
+
+    //Must be called while holding the lock
+    private void purgeReclaimedEntries() {
+        for (Object reclaimed = reclaimedEntries.poll(); reclaimed != null; reclaimed = reclaimedEntries.poll()) {
+            if (entries.remove(((SoftEntry) reclaimed).isbn, reclaimed)) {
+                evictionCount++;
+            }
+        }
+    }
+
+    private Book lookup(String isbn, boolean recordAccess) {
+        lock.lock();
+        try {
+            if (recordAccess) {
+                sketch.increment(isbn);
+            }
+            return bookOf(entries.get(isbn));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //Must be called while holding the lock stripe of the book
+    private void store(Book book) {
+        lock.lock();
+        try {
+            purgeReclaimedEntries();
+            String isbn = book.getIsbn();
+            Object entry = softValues ? new SoftEntry(book, reclaimedEntries) : book;
+            if (entries.size() < maximumSize || entries.containsKey(isbn)) {
+                entries.put(isbn, entry);
+                return;
+            }
+
+            Iterator<Map.Entry<String, Object>> eldest = entries.entrySet().iterator();
+            if (!eldest.hasNext()) {
+                return;
+            }
+
+            String victimIsbn = eldest.next().getKey();
+            if (sketch.frequency(isbn) > sketch.frequency(victimIsbn)) {
+                eldest.remove();
+                evictionCount++;
+                entries.put(isbn, entry);
+            } else {
+                //The victim proved more popular and gets a second chance, so that the next candidate faces another victim
+                entries.get(victimIsbn);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //Must be called while holding the lock stripe of the book
+    private void invalidate(String isbn) {
+        lock.lock();
+        try {
+            entries.remove(isbn);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Book getById(String id) {
+        Book book = lookup(id, true);
+        if (book != null) {
+            hitCount.increment();
+            return book;
+        }
+
+        missCount.increment();
+        return lockStripes.withStripe(id, () -> {
+            //Another thread may have loaded the book while this one was waiting for the stripe
+            Book loadedBook = lookup(id, false);
+            if (loadedBook == null) {
+                loadedBook = delegate.getById(id);
+                if (loadedBook != null) {
+                    store(loadedBook);
+                }
+            }
+            return loadedBook;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>An ISBN missing from the cache is loaded with {@link #getById}, so that a lookup of the book
+     * following the existence check is a hit.</p>
+     */
+    @Override
+    public boolean existsById(String id) {
+        return getById(id) != null;
+    }
+
+    @Override
+    public void add(Book book) {
+        lockStripes.withStripe(book.getIsbn(), () -> {
+            delegate.add(book);
+            store(book);
+            return null;
+        });
+    }
+
+    @Override
+    public boolean addIfAbsent(Book book) {
+        return lockStripes.withStripe(book.getIsbn(), () -> {
+            boolean added = delegate.addIfAbsent(book);
+            if (added) {
+                store(book);
+            }
+            return added;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The books of the batch are evicted from the cache rather than written through, so that a large
+     * import does not flush the cache.</p>
+     */
+    @Override
+    public void addAll(Collection<Book> books) {
+        delegate.addAll(books);
+        for (Book book : books) {
+            lockStripes.withStripe(book.getIsbn(), () -> {
+                invalidate(book.getIsbn());
+                return null;
+            });
+        }
+    }
+
+    @Override
+    public Book computeIfPresent(String id, UnaryOperator<Book> remappingFunction) {
+        return lockStripes.withStripe(id, () -> {
+            Book updatedBook = delegate.computeIfPresent(id, remappingFunction);
+            if (updatedBook == null) {
+                invalidate(id);
+            } else {
+                store(updatedBook);
+            }
+            return updatedBook;
+        });
+    }
+
+    @Override
+    public AvailabilityUpdate borrowIfAvailable(String isbn, LocalDateTime borrowedAt) {
+        return updateAvailability(isbn, () -> delegate.borrowIfAvailable(isbn, borrowedAt));
+    }
+
+    @Override
+    public AvailabilityUpdate returnIfBorrowed(String isbn, LocalDateTime returnedAt) {
+        return updateAvailability(isbn, () -> delegate.returnIfBorrowed(isbn, returnedAt));
+    }
+
+    //Whatever the outcome, the delegate returned the book as it is now stored
+    private AvailabilityUpdate updateAvailability(String isbn, Supplier<AvailabilityUpdate> update) {
+        return lockStripes.withStripe(isbn, () -> {
+            AvailabilityUpdate availabilityUpdate = update.get();
+            if (availabilityUpdate.book() == null) {
+                invalidate(isbn);
+            } else {
+                store(availabilityUpdate.book());
+            }
+            return availabilityUpdate;
+        });
+    }
+
+    @Override
+    public Map<String, AvailabilityUpdate> borrowAllIfAvailable(Collection<String> isbns, LocalDateTime borrowedAt) {
+        return updateAvailabilityOfAll(isbns, () -> delegate.borrowAllIfAvailable(isbns, borrowedAt));
+    }
+
+    @Override
+    public Map<String, AvailabilityUpdate> returnAllIfBorrowed(Collection<String> isbns, LocalDateTime returnedAt) {
+        return updateAvailabilityOfAll(isbns, () -> delegate.returnAllIfBorrowed(isbns, returnedAt));
+    }
+
+    //The updated books of a rolled back batch were never stored, so they are evicted rather than cached
+    private Map<String, AvailabilityUpdate> updateAvailabilityOfAll(Collection<String> isbns, Supplier<Map<String, AvailabilityUpdate>> update) {
+        return lockStripes.withStripesOf(isbns, () -> {
+            Map<String, AvailabilityUpdate> updates = update.get();
+            boolean rejected = AvailabilityUpdate.anyRejected(updates.values());
+            updates.forEach((isbn, availabilityUpdate) -> {
+                if (availabilityUpdate.book() == null || rejected && availabilityUpdate.isUpdated()) {
+                    invalidate(isbn);
+                } else {
+                    store(availabilityUpdate.book());
+                }
+            });
+            return updates;
+        });
+    }
+
+    /**
+     * @return The hit, miss and eviction counts and the size of the cache, the books reclaimed by the garbage
+     * collector counting as evicted.
+     */
+    public CacheStats stats() {
+        lock.lock();
+        try {
+            purgeReclaimedEntries();
+            return new CacheStats(hitCount.sum(), missCount.sum(), evictionCount, entries.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        invalidateAll();
+        delegate.close();
+    }
+
+    //Clears and enqueues every soft reference, as the garbage collector does under memory pressure
+    void reclaimSoftValues() {
+        lock.lock();
+        try {
+            for (Object entry : entries.values()) {
+                if (entry instanceof SoftEntry softEntry) {
+                    softEntry.enqueue();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Empties the cache, for instance after the underlying storage was changed by another process.
+     */
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package com.incubyte.assessment.repository.library;
+
+import com.incubyte.assessment.model.Book;
+import com.incubyte.assessment.repository.library.compact.LongIntHashMap;
+import com.incubyte.assessment.repository.library.compact.PackedIsbn;
+import com.incubyte.assessment.repository.library.compact.StringArena;
+import com.incubyte.assessment.repository.library.compact.StringDictionary;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+import static com.incubyte.assessment.repository.library.filesystem.BookRecord.fromEpochMillis;
+import static com.incubyte.assessment.repository.library.filesystem.BookRecord.toEpochMillis;
+
+/**
+ * Memory-efficient in-memory implementation of the {@link LibraryRepository} interface, for very large catalogs.
+ * Books are stored column-wise in primitive arrays indexed by row, instead of as one {@link Book} object each:
+ *
+ * <ul>
+ *   <li>ISBNs are packed into a {@code long} by {@link PackedIsbn} and indexed by a {@link LongIntHashMap};
+ *   ISBNs that cannot be packed, such as hyphenated ones, fall back to a string keyed map.</li>
+ *   <li>Titles are UTF-8 encoded into a {@link StringArena}, and each row holds the offset of its title.</li>
+ *   <li>Authors are deduplicated through a {@link StringDictionary}, and each row holds the code of its author.</li>
+ *   <li>Availability is a {@link BitSet} of rows, and timestamps are UTC epoch milliseconds in {@code long[]} columns.</li>
+ * </ul>
+ *
+ * <p>Reads materialize {@link Book} instances on demand, which are detached copies: changes are only
+ * stored through {@link #add(Book)} or {@link #computeIfPresent}. Timestamps are kept to the millisecond.</p>
+ *
+ * <p>Rows are never reordered; paging instead goes through an {@code int[]} of rows sorted by ISBN, into
+ * which the rows appended since the previous paging query are merged when the next one runs.</p>
+ *
+ * <p>Rather than keeping per-book index entries, which would outweigh the rows themselves, author and
+ * publication year queries scan the dense {@code int[]} author code and year columns, after a single
+ * dictionary lookup of the author.</p>
+ *
+ * <p>This repository is not thread-safe; use {@link ConcurrentInMemoryLibraryRepository}
+ * when the library is accessed by concurrent patrons.</p>
+ */
+public class CompactInMemoryLibraryRepository implements LibraryRepository {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int NO_ROW = -1;
+
+    private int rowCount;
+    private long[] packedIsbns = new long[INITIAL_CAPACITY];
+    private int[] titleOffsets = new int[INITIAL_CAPACITY];
+    private int[] authorCodes = new int[INITIAL_CAPACITY];
+    private int[] publicationYears = new int[INITIAL_CAPACITY];
+    private long[] lastBorrowedAtMillis = new long[INITIAL_CAPACITY];
+    private long[] lastReturnedAtMillis = new long[INITIAL_CAPACITY];
+    private final BitSet availableRows = new BitSet();
+
+    //Rows below sortedRowCount, in ISBN order; rows appended since are merged in on the next paging query
+    private int[] rowsByIsbn = new int[0];
+    private int sortedRowCount;
+
+    private final LongIntHashMap rowsByPackedIsbn = new LongIntHashMap(INITIAL_CAPACITY);
+    private final Map<String, Integer> rowsByUnpackedIsbn = new HashMap<>();
+    private final Map<Integer, String> unpackedIsbnsByRow = new HashMap<>();
+
+    private final StringArena titles = new StringArena(INITIAL_CAPACITY * 32);
+    private final StringDictionary authors = new StringDictionary();
+
+    private int rowOf(String isbn) {
+        long packedIsbn = PackedIsbn.pack(isbn);
+        if (packedIsbn != PackedIsbn.NOT_PACKABLE) {
+            return rowsByPackedIsbn.get(packedIsbn);
+        }
+        return rowsByUnpackedIsbn.getOrDefault(isbn, NO_ROW);
+    }
+
+    private String isbnOf(int row) {
+        long packedIsbn = packedIsbns[row];
+        return packedIsbn == PackedIsbn.NOT_PACKABLE ? unpackedIsbnsByRow.get(row) : PackedIsbn.unpack(packedIsbn);
+    }
+
+    private int appendRow(String isbn) {
+        if (rowCount == packedIsbns.length) {
+            int capacity = rowCount + (rowCount >> 1);
+            packedIsbns = Arrays.copyOf(packedIsbns, capacity);
+            titleOffsets = Arrays.copyOf(titleOffsets, capacity);
+            authorCodes = Arrays.copyOf(authorCodes, capacity);
+            publicationYears = Arrays.copyOf(publicationYears, capacity);
+            lastBorrowedAtMillis = Arrays.copyOf(lastBorrowedAtMillis, capacity);
+            lastReturnedAtMillis = Arrays.copyOf(lastReturnedAtMillis, capacity);
+        }
+
+        int row = rowCount++;
+        long packedIsbn = PackedIsbn.pack(isbn);
+        packedIsbns[row] = packedIsbn;
+        titleOffsets[row] = StringArena.NO_STRING;
+        if (packedIsbn != PackedIsbn.NOT_PACKABLE) {
+            rowsByPackedIsbn.put(packedIsbn, row);
+        } else {
+            rowsByUnpackedIsbn.put(isbn, row);
+            unpackedIsbnsByRow.put(row, isbn);
+        }
+        return row;
+    }
+
+    private void writeRow(int row, Book book, String currentTitle) {
+        //Titles are append-only, so an unchanged title is not written again
+        if (titleOffsets[row] == StringArena.NO_STRING || !Objects.equals(currentTitle, book.getTitle())) {
+            titleOffsets[row] = titles.append(book.getTitle());
+        }
+        authorCodes[row] = authors.encode(book.getAuthor());
+        publicationYears[row] = book.getPublicationYear();
+        writeState(row, book);
+    }
+
+    private void writeState(int row, Book book) {
+        availableRows.set(row, Boolean.TRUE.equals(book.getIsAvailable()));
+        lastBorrowedAtMillis[row] = toEpochMillis(book.getLastBorrowedAt());
+        lastReturnedAtMillis[row] = toEpochMillis(book.getLastReturnedAt());
+    }
+
+    private Book readRow(int row) {
+        Book book = new Book(isbnOf(row), titles.get(titleOffsets[row]), authors.decode(authorCodes[row]), publicationYears[row]);
+        book.setIsAvailable(availableRows.get(row));
+        book.setLastBorrowedAt(fromEpochMillis(lastBorrowedAtMillis[row]));
+        book.setLastReturnedAt(fromEpochMillis(lastReturnedAtMillis[row]));
+        return book;
+    }
+
+    @Override
+    public void add(Book book) {
+        int row = rowOf(book.getIsbn());
+        if (row == NO_ROW) {
+            writeRow(appendRow(book.getIsbn()), book, null);
+        } else {
+            writeRow(row, book, titles.get(titleOffsets[row]));
+        }
+    }
+
+    @Override
+    public boolean addIfAbsent(Book book) {
+        if (rowOf(book.getIsbn()) != NO_ROW) {
+            return false;
+        }
+
+        writeRow(appendRow(book.getIsbn()), book, null);
+        return true;
+    }
+
+    @Override
+    public Book getById(String id) {
+        int row = rowOf(id);
+        return row == NO_ROW ? null : readRow(row);
+    }
+
+    @Override
+    public List<Book> getAll() {
+        List<Book> books = new ArrayList<>(rowCount);
+        for (int row = 0; row < rowCount; row++) {
+            books.add(readRow(row));
+        }
+        return books;
+    }
+
+    @Override
+    public List<Book> getPage(String afterId, int limit) {
+        sortRowsByIsbn();
+        int firstPosition = afterId == null ? 0 : positionAfter(afterId);
+        int lastPosition = (int) Math.min(sortedRowCount, (long) firstPosition + limit);
+
+        List<Book> page = new ArrayList<>(Math.max(0, lastPosition - firstPosition));
+        for (int position = firstPosition; position < lastPosition; position++) {
+            page.add(readRow(rowsByIsbn[position]));
+        }
+        return page;
+    }
+
+    @Override
+    public List<Book> getAllAvailable() {
+        List<Book> books = new ArrayList<>(availableRows.cardinality());
+        for (int row = availableRows.nextSetBit(0); row >= 0; row = availableRows.nextSetBit(row + 1)) {
+            books.add(readRow(row));
+        }
+        return books;
+    }
+
+    @Override
+    public List<Book> getAvailablePage(String afterIsbn, int limit) {
+        sortRowsByIsbn();
+        List<Book> books = new ArrayList<>(Math.min(limit, 1024));
+        for (int position = afterIsbn == null ? 0 : positionAfter(afterIsbn); position < sortedRowCount && books.size() < limit; position++) {
+            int row = rowsByIsbn[position];
+            if (availableRows.get(row)) {
+                books.add(readRow(row));
+            }
+        }
+        return books;
+    }
+
+    //Sorts the rows appended since the previous call and merges them into the rows already sorted
+    private void sortRowsByIsbn() {
+        if (sortedRowCount == rowCount) {
+            return;
+        }
+
+        String[] appendedIsbns = new String[rowCount - sortedRowCount];
+        Integer[] appendedRows = new Integer[appendedIsbns.length];
+        for (int i = 0; i < appendedRows.length; i++) {
+            appendedRows[i] = sortedRowCount + i;
+            appendedIsbns[i] = isbnOf(sortedRowCount + i);
+        }
+        Arrays.sort(appendedRows, Comparator.comparing(row -> appendedIsbns[row - sortedRowCount]));
+
+        int[] mergedRows = new int[rowCount];
+        int sortedPosition = 0;
+        int appendedPosition = 0;
+        for (int position = 0; position < mergedRows.length; position++) {
+            boolean takeSorted = appendedPosition == appendedRows.length || (sortedPosition < sortedRowCount
+                    && isbnOf(rowsByIsbn[sortedPosition]).compareTo(appendedIsbns[appendedRows[appendedPosition] - sortedRowCount]) < 0);
+            mergedRows[position] = takeSorted ? rowsByIsbn[sortedPosition++] : appendedRows[appendedPosition++];
+        }
+        rowsByIsbn = mergedRows;
+        sortedRowCount = rowCount;
+    }
+
+    //The position of the first row whose ISBN follows the given one, which need not be stored
+    private int positionAfter(String isbn) {
+        int low = 0;
+        int high = sortedRowCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (isbnOf(rowsByIsbn[middle]).compareTo(isbn) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return rowOf(id) != NO_ROW;
+    }
+
+    @Override
+    public Book computeIfPresent(String id, UnaryOperator<Book> remappingFunction) {
+        int row = rowOf(id);
+        if (row == NO_ROW) {
+            return null;
+        }
+
+        Book book = readRow(row);
+        Book updatedBook = remappingFunction.apply(book);
+        if (updatedBook != book) {
+            writeRow(row, updatedBook, book.getTitle());
+        }
+        return updatedBook;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Only the availability bit and the borrowing time of the row are written, without materializing the book first.</p>
+     */
+    @Override
+    public AvailabilityUpdate borrowIfAvailable(String isbn, LocalDateTime borrowedAt) {
+        int row = rowOf(isbn);
+        if (row == NO_ROW) {
+            return AvailabilityUpdate.notFound();
+        }
+        if (!availableRows.get(row)) {
+            return new AvailabilityUpdate(AvailabilityUpdate.Outcome.NOT_AVAILABLE, readRow(row));
+        }
+
+        availableRows.clear(row);
+        lastBorrowedAtMillis[row] = toEpochMillis(borrowedAt);
+        return new AvailabilityUpdate(AvailabilityUpdate.Outcome.UPDATED, readRow(row));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Only the availability bit and the return time of the row are written, without materializing the book first.</p>
+     */
+    @Override
+    public AvailabilityUpdate returnIfBorrowed(String isbn, LocalDateTime returnedAt) {
+        int row = rowOf(isbn);
+        if (row == NO_ROW) {
+            return AvailabilityUpdate.notFound();
+        }
+        if (availableRows.get(row)) {
+            return new AvailabilityUpdate(AvailabilityUpdate.Outcome.NOT_BORROWED, readRow(row));
+        }
+
+        availableRows.set(row);
+        lastReturnedAtMillis[row] = toEpochMillis(returnedAt);
+        return new AvailabilityUpdate(AvailabilityUpdate.Outcome.UPDATED, readRow(row));
+    }
+
+    @Override
+    public List<Book> getByAuthor(String author, boolean availableOnly) {
+        int authorCode = authors.codeOf(author);
+        List<Book> books = new ArrayList<>();
+        if (authorCode == StringDictionary.NO_CODE) {
+            return books;
+        }
+
+        for (int row = 0; row < rowCount; row++) {
+            if (authorCodes[row] == authorCode && (!availableOnly || availableRows.get(row))) {
+                books.add(readRow(row));
+            }
+        }
+        books.sort(Comparator.comparing(Book::getIsbn));
+        return books;
+    }
+
+    @Override
+    public List<Book> getByPublicationYearRange(int fromYear, int toYear, boolean availableOnly) {
+        List<Book> books = new ArrayList<>();
+        for (int row = 0; row < rowCount; row++) {
+            int publicationYear = publicationYears[row];
+            if (fromYear <= publicationYear && publicationYear <= toYear && (!availableOnly || availableRows.get(row))) {
+                books.add(readRow(row));
+            }
+        }
+        books.sort(PUBLICATION_YEAR_ORDER);
+        return books;
+    }
+}
@@ -0,0 +1,154 @@
+package com.incubyte.assessment.repository.library;
+
+import com.incubyte.assessment.model.Book;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Thread-safe in-memory implementation of the {@link LibraryRepository} interface.
+ * Stores and manages {@link Book} entities using a {@link ConcurrentHashMap}, alongside concurrent
+ * sorted sets of every ISBN and of the ISBNs currently available for borrowing, used for ISBN ordered paging,
+ * and a concurrent {@link SecondaryBookIndex} serving the author and publication year queries.
+ *
+ * <p>Reads are lock-free, and writes only lock the hash bin of the ISBN they touch, so throughput
+ * scales with the number of cores. {@link #computeIfPresent} is atomic per ISBN, which makes a
+ * borrow or a return a single indivisible check-then-act.</p>
+ *
+ * <p>The availability and secondary indexes are updated while the hash bin of the ISBN is locked, so it follows
+ * the order of the writes on each book.</p>
+ *
+ * <p>Stored books are expected to be replaced rather than mutated in place, so that readers
+ * never observe a partially applied update.</p>
+ */
+public class ConcurrentInMemoryLibraryRepository implements LibraryRepository {
+
+    private final ConcurrentHashMap<String, Book> bookStorage = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<String> sortedIsbns = new ConcurrentSkipListSet<>();
+    private final ConcurrentSkipListSet<String> availableIsbns = new ConcurrentSkipListSet<>();
+    private final SecondaryBookIndex secondaryIndex = SecondaryBookIndex.createConcurrent();
+
+    private Book updateAvailabilityIndex(Book book) {
+        if (Boolean.TRUE.equals(book.getIsAvailable())) {
+            availableIsbns.add(book.getIsbn());
+        } else {
+            availableIsbns.remove(book.getIsbn());
+        }
+        return book;
+    }
+
+    private Book updateIndexes(Book previousBook, Book book) {
+        secondaryIndex.update(previousBook, book);
+        return updateAvailabilityIndex(book);
+    }
+
+    @Override
+    public void add(Book book) {
+        bookStorage.compute(book.getIsbn(), (isbn, currentBook) -> {
+            sortedIsbns.add(isbn);
+            return updateIndexes(currentBook, book);
+        });
+    }
+
+    @Override
+    public Book getById(String id) {
+        return bookStorage.get(id);
+    }
+
+    @Override
+    public List<Book> getAll() {
+        return new ArrayList<>(bookStorage.values());
+    }
+
+    @Override
+    public List<Book> getPage(String afterId, int limit) {
+        return readPage(sortedIsbns, afterId, limit, false);
+    }
+
+    @Override
+    public List<Book> getAvailablePage(String afterIsbn, int limit) {
+        return readPage(availableIsbns, afterIsbn, limit, true);
+    }
+
+    private List<Book> readPage(ConcurrentSkipListSet<String> isbns, String afterIsbn, int limit, boolean availableOnly) {
+        List<Book> page = new ArrayList<>(Math.min(limit, 1024));
+        for (String isbn : afterIsbn == null ? isbns : isbns.tailSet(afterIsbn, false)) {
+            if (page.size() == limit) {
+                break;
+            }
+
+            Book book = bookStorage.get(isbn);
+            if (book != null && (!availableOnly || Boolean.TRUE.equals(book.getIsAvailable()))) {
+                page.add(book);
+            }
+        }
+        return page;
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return bookStorage.containsKey(id);
+    }
+
+    @Override
+    public boolean addIfAbsent(Book book) {
+        boolean[] added = new boolean[1];
+        bookStorage.computeIfAbsent(book.getIsbn(), isbn -> {
+            added[0] = true;
+            sortedIsbns.add(isbn);
+            return updateIndexes(null, book);
+        });
+        return added[0];
+    }
+
+    @Override
+    public Book computeIfPresent(String id, UnaryOperator<Book> remappingFunction) {
+        return bookStorage.computeIfPresent(id, (isbn, book) -> updateIndexes(book, remappingFunction.apply(book)));
+    }
+
+    @Override
+    public List<Book> getAllAvailable() {
+        List<Book> availableBooks = new ArrayList<>();
+        for (String isbn : availableIsbns) {
+            Book book = bookStorage.get(isbn);
+            //The index may briefly lag behind a concurrent borrow, so the book itself has the final say
+            if (book != null && Boolean.TRUE.equals(book.getIsAvailable())) {
+                availableBooks.add(book);
+            }
+        }
+        return availableBooks;
+    }
+
+    @Override
+    public List<Book> getByAuthor(String author, boolean availableOnly) {
+        return readIndexedBooks(secondaryIndex.isbnsOfAuthor(author), availableOnly, book -> author.equals(book.getAuthor()));
+    }
+
+    @Override
+    public List<Book> getByPublicationYearRange(int fromYear, int toYear, boolean availableOnly) {
+        List<Book> books = readIndexedBooks(secondaryIndex.isbnsPublishedBetween(fromYear, toYear), availableOnly,
+                book -> fromYear <= book.getPublicationYear() && book.getPublicationYear() <= toYear);
+        //A book moved to another year of the range while the index was read is found twice, and listed once
+        Set<String> listedIsbns = new HashSet<>();
+        return books.stream().filter(book -> listedIsbns.add(book.getIsbn())).sorted(PUBLICATION_YEAR_ORDER).toList();
+    }
+
+    private List<Book> readIndexedBooks(Collection<String> isbns, boolean availableOnly, Predicate<Book> stillMatches) {
+        List<Book> books = new ArrayList<>();
+        for (String isbn : isbns) {
+            Book book = bookStorage.get(isbn);
+            //The indexes may briefly lag behind a concurrent write, so the book itself has the final say
+            if (book != null && stillMatches.test(book) && (!availableOnly || Boolean.TRUE.equals(book.getIsAvailable()))) {
+                books.add(book);
+            }
+        }
+        return books;
+    }
+}
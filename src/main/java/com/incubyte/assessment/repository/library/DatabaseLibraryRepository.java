@@ -1,39 +1,458 @@
 package com.incubyte.assessment.repository.library;
 
+import com.incubyte.assessment.exception.CustomException;
+import com.incubyte.assessment.exception.ErrorCode;
 import com.incubyte.assessment.model.Book;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+import static com.incubyte.assessment.util.AppConstants.REPOSITORY_DATABASE_ERROR;
+import static com.incubyte.assessment.util.AppConstants.REPOSITORY_DATABASE_ERROR_TEMPLATE;
+import static com.incubyte.assessment.util.MessageFormatUtil.formatMessage;
 
 /**
  * Database-based implementation of the {@link LibraryRepository} interface.
- * This class is intended to provide CRUD operations for {@link Book} entities
- * by interacting with a database as the storage medium.
+ * Stores {@link Book} entities in the {@code book} table of an embedded H2 database, reached
+ * through a pool of JDBC connections.
+ *
+ * <p>The table is keyed by ISBN, and a secondary index on {@code (is_available, isbn)} serves the
+ * availability queries and their keyset pagination without scanning borrowed books. Secondary indexes on
+ * {@code (author, isbn)} and {@code (publication_year, isbn)} serve the author and publication year range
+ * queries, already in the order they are returned in.</p>
+ *
+ * <p>Statements are always prepared from the same constant SQL, so that the database reuses their
+ * parsed plans across calls. Bulk writes are sent as JDBC batches of
+ * {@link LibraryRepositoryConfiguration#getDatabaseBatchSize()} rows within a single transaction.</p>
  *
- * <p>Note:</p>
- * This class serves as an example to demonstrate how the library system can be extended
- * without modifying the existing codebase, adhering to the Open/Closed Principle.
- * The methods are placeholders and not fully implemented.
+ * <p>{@link #computeIfPresent} is a compare-and-set: the new state is written by a single UPDATE that only
+ * matches if the row is still in the state that was read, and the update is retried on a concurrent change.
+ * The remapping function may therefore be applied more than once and must be free of side effects.</p>
+ *
+ * <p>{@link #borrowIfAvailable} and {@link #returnIfBorrowed} are a single conditional UPDATE returning the updated row.
+ * Their batch counterparts update every book of the batch with a single statement, in a transaction which
+ * is rolled back if any book is missing or not available.</p>
  */
-
 public class DatabaseLibraryRepository implements LibraryRepository {
 
+    private static final String COLUMNS = "isbn, title, author, publication_year, is_available, last_borrowed_at, last_returned_at";
+
+    private static final String CREATE_TABLE = """
+            CREATE TABLE IF NOT EXISTS book (
+                isbn VARCHAR PRIMARY KEY,
+                title VARCHAR NOT NULL,
+                author VARCHAR NOT NULL,
+                publication_year INT NOT NULL,
+                is_available BOOLEAN NOT NULL,
+                last_borrowed_at TIMESTAMP(9),
+                last_returned_at TIMESTAMP(9)
+            )""";
+    private static final String CREATE_AVAILABILITY_INDEX = "CREATE INDEX IF NOT EXISTS book_availability ON book (is_available, isbn)";
+    private static final String CREATE_AUTHOR_INDEX = "CREATE INDEX IF NOT EXISTS book_author ON book (author, isbn)";
+    private static final String CREATE_PUBLICATION_YEAR_INDEX = "CREATE INDEX IF NOT EXISTS book_publication_year ON book (publication_year, isbn)";
+
+    private static final String UPSERT = "MERGE INTO book (" + COLUMNS + ") KEY (isbn) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_IF_ABSENT = "MERGE INTO book USING (VALUES (?, ?, ?, ?, ?, ?, ?)) AS source (" + COLUMNS + ") "
+            + "ON book.isbn = source.isbn "
+            + "WHEN NOT MATCHED THEN INSERT (" + COLUMNS + ") VALUES (source.isbn, source.title, source.author, "
+            + "source.publication_year, source.is_available, source.last_borrowed_at, source.last_returned_at)";
+    private static final String COMPARE_AND_SET = "UPDATE book SET title = ?, author = ?, publication_year = ?, "
+            + "is_available = ?, last_borrowed_at = ?, last_returned_at = ? "
+            + "WHERE isbn = ? AND title = ? AND author = ? AND publication_year = ? AND is_available = ? "
+            + "AND last_borrowed_at IS NOT DISTINCT FROM ? AND last_returned_at IS NOT DISTINCT FROM ?";
+    //Data change delta tables return the updated row, so a successful conditional update is a single round trip
+    private static final String BORROW_IF_AVAILABLE = "SELECT " + COLUMNS + " FROM FINAL TABLE ("
+            + "UPDATE book SET is_available = FALSE, last_borrowed_at = ? WHERE isbn = ? AND is_available = TRUE)";
+    private static final String RETURN_IF_BORROWED = "SELECT " + COLUMNS + " FROM FINAL TABLE ("
+            + "UPDATE book SET is_available = TRUE, last_returned_at = ? WHERE isbn = ? AND is_available = FALSE)";
+    private static final String BORROW_ALL_IF_AVAILABLE = "SELECT " + COLUMNS + " FROM FINAL TABLE ("
+            + "UPDATE book SET is_available = FALSE, last_borrowed_at = ? WHERE isbn = ANY(?) AND is_available = TRUE)";
+    private static final String RETURN_ALL_IF_BORROWED = "SELECT " + COLUMNS + " FROM FINAL TABLE ("
+            + "UPDATE book SET is_available = TRUE, last_returned_at = ? WHERE isbn = ANY(?) AND is_available = FALSE)";
+    private static final String SELECT_BY_ISBNS = "SELECT " + COLUMNS + " FROM book WHERE isbn = ANY(?)";
+
+    private static final String SELECT_BY_ISBN = "SELECT " + COLUMNS + " FROM book WHERE isbn = ?";
+    private static final String EXISTS_BY_ISBN = "SELECT 1 FROM book WHERE isbn = ?";
+    private static final String SELECT_ALL = "SELECT " + COLUMNS + " FROM book";
+    private static final String SELECT_FIRST_PAGE = "SELECT " + COLUMNS + " FROM book ORDER BY isbn LIMIT ?";
+    private static final String SELECT_PAGE = "SELECT " + COLUMNS + " FROM book WHERE isbn > ? ORDER BY isbn LIMIT ?";
+    private static final String SELECT_ALL_AVAILABLE = "SELECT " + COLUMNS + " FROM book WHERE is_available = TRUE ORDER BY isbn";
+    private static final String SELECT_FIRST_AVAILABLE_PAGE = "SELECT " + COLUMNS + " FROM book WHERE is_available = TRUE ORDER BY isbn LIMIT ?";
+    private static final String SELECT_AVAILABLE_PAGE = "SELECT " + COLUMNS + " FROM book WHERE is_available = TRUE AND isbn > ? ORDER BY isbn LIMIT ?";
+    private static final String SELECT_BY_AUTHOR = "SELECT " + COLUMNS + " FROM book WHERE author = ? ORDER BY isbn";
+    private static final String SELECT_AVAILABLE_BY_AUTHOR = "SELECT " + COLUMNS + " FROM book WHERE author = ? AND is_available = TRUE ORDER BY isbn";
+    private static final String SELECT_BY_PUBLICATION_YEAR_RANGE = "SELECT " + COLUMNS + " FROM book "
+            + "WHERE publication_year BETWEEN ? AND ? ORDER BY publication_year, isbn";
+    private static final String SELECT_AVAILABLE_BY_PUBLICATION_YEAR_RANGE = "SELECT " + COLUMNS + " FROM book "
+            + "WHERE publication_year BETWEEN ? AND ? AND is_available = TRUE ORDER BY publication_year, isbn";
+
+    private final HikariDataSource dataSource;
+    private final int batchSize;
+
+    @FunctionalInterface
+    private interface StatementBinder {
+        void bind(PreparedStatement statement) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface ConnectionCallback<R> {
+        R execute(Connection connection) throws SQLException;
+    }
+
+    /**
+     * Opens the connection pool and creates the schema if the database is empty.
+     *
+     * @param configuration The repository configuration, providing the JDBC URL, credentials and pool size.
+     */
+    public DatabaseLibraryRepository(LibraryRepositoryConfiguration configuration) {
+        HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setJdbcUrl(configuration.getDatabaseUrl());
+        hikariConfig.setUsername(configuration.getDatabaseUsername());
+        hikariConfig.setPassword(configuration.getDatabasePassword());
+        hikariConfig.setMaximumPoolSize(configuration.getDatabaseMaximumPoolSize());
+        hikariConfig.setPoolName("library-database");
+
+        this.batchSize = configuration.getDatabaseBatchSize();
+        try {
+            this.dataSource = new HikariDataSource(hikariConfig);
+        } catch (RuntimeException e) {
+            throw new CustomException(ErrorCode.REPOSITORY_DATABASE_ERROR, formatMessage(REPOSITORY_DATABASE_ERROR_TEMPLATE, e.getMessage()));
+        }
+
+        execute(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_TABLE);
+                statement.execute(CREATE_AVAILABILITY_INDEX);
+                statement.execute(CREATE_AUTHOR_INDEX);
+                statement.execute(CREATE_PUBLICATION_YEAR_INDEX);
+            }
+            return null;
+        });
+    }
+
     @Override
     public void add(Book book) {
+        execute(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(UPSERT)) {
+                bindBook(statement, book);
+                return statement.executeUpdate();
+            }
+        });
+    }
+
+    @Override
+    public void addAll(Collection<Book> books) {
+        executeBatch(UPSERT, books);
+    }
+
+    @Override
+    public boolean addIfAbsent(Book book) {
+        return execute(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_IF_ABSENT)) {
+                bindBook(statement, book);
+                return statement.executeUpdate() == 1;
+            }
+        });
+    }
+
+    @Override
+    public List<Book> addAllIfAbsent(Collection<Book> books) {
+        List<Book> batch = new ArrayList<>(books);
+        int[] updateCounts = executeBatch(INSERT_IF_ABSENT, batch);
+
+        List<Book> rejectedBooks = new ArrayList<>();
+        for (int i = 0; i < updateCounts.length; i++) {
+            if (updateCounts[i] == 0) {
+                rejectedBooks.add(batch.get(i));
+            }
+        }
+        return rejectedBooks;
     }
 
     @Override
     public Book getById(String id) {
-        return null;
+        List<Book> books = query(SELECT_BY_ISBN, statement -> statement.setString(1, id));
+        return books.isEmpty() ? null : books.get(0);
     }
 
     @Override
     public List<Book> getAll() {
-        return null;
+        return query(SELECT_ALL, statement -> {
+        });
+    }
+
+    @Override
+    public List<Book> getPage(String afterIsbn, int limit) {
+        return queryPage(SELECT_FIRST_PAGE, SELECT_PAGE, afterIsbn, limit);
+    }
+
+    @Override
+    public List<Book> getAllAvailable() {
+        return query(SELECT_ALL_AVAILABLE, statement -> {
+        });
+    }
+
+    @Override
+    public List<Book> getAvailablePage(String afterIsbn, int limit) {
+        return queryPage(SELECT_FIRST_AVAILABLE_PAGE, SELECT_AVAILABLE_PAGE, afterIsbn, limit);
+    }
+
+    @Override
+    public List<Book> getByAuthor(String author, boolean availableOnly) {
+        return query(availableOnly ? SELECT_AVAILABLE_BY_AUTHOR : SELECT_BY_AUTHOR, statement -> statement.setString(1, author));
+    }
+
+    @Override
+    public List<Book> getByPublicationYearRange(int fromYear, int toYear, boolean availableOnly) {
+        return query(availableOnly ? SELECT_AVAILABLE_BY_PUBLICATION_YEAR_RANGE : SELECT_BY_PUBLICATION_YEAR_RANGE, statement -> {
+            statement.setInt(1, fromYear);
+            statement.setInt(2, toYear);
+        });
     }
 
     @Override
     public boolean existsById(String id) {
-        return false;
+        return execute(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(EXISTS_BY_ISBN)) {
+                statement.setString(1, id);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    return resultSet.next();
+                }
+            }
+        });
+    }
+
+    @Override
+    public Book computeIfPresent(String id, UnaryOperator<Book> remappingFunction) {
+        return execute(connection -> {
+            while (true) {
+                Book currentBook;
+                try (PreparedStatement statement = connection.prepareStatement(SELECT_BY_ISBN)) {
+                    statement.setString(1, id);
+                    List<Book> books = readBooks(statement);
+                    if (books.isEmpty()) {
+                        return null;
+                    }
+                    currentBook = books.get(0);
+                }
+
+                Book updatedBook = remappingFunction.apply(currentBook);
+                if (updatedBook == currentBook || compareAndSet(connection, currentBook, updatedBook)) {
+                    return updatedBook;
+                }
+            }
+        });
+    }
+
+    @Override
+    public AvailabilityUpdate borrowIfAvailable(String isbn, LocalDateTime borrowedAt) {
+        return updateAvailability(BORROW_IF_AVAILABLE, isbn, borrowedAt, AvailabilityUpdate.Outcome.NOT_AVAILABLE);
+    }
+
+    @Override
+    public AvailabilityUpdate returnIfBorrowed(String isbn, LocalDateTime returnedAt) {
+        return updateAvailability(RETURN_IF_BORROWED, isbn, returnedAt, AvailabilityUpdate.Outcome.NOT_BORROWED);
+    }
+
+    private AvailabilityUpdate updateAvailability(String sql, String isbn, LocalDateTime updatedAt, AvailabilityUpdate.Outcome unchangedOutcome) {
+        return execute(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setObject(1, updatedAt);
+                statement.setString(2, isbn);
+                List<Book> updatedBooks = readBooks(statement);
+                if (!updatedBooks.isEmpty()) {
+                    return new AvailabilityUpdate(AvailabilityUpdate.Outcome.UPDATED, updatedBooks.get(0));
+                }
+            }
+
+            //Only an update that matched no row takes a second round trip, telling a missing book from one in the other state
+            try (PreparedStatement statement = connection.prepareStatement(SELECT_BY_ISBN)) {
+                statement.setString(1, isbn);
+                List<Book> books = readBooks(statement);
+                return books.isEmpty() ? AvailabilityUpdate.notFound() : new AvailabilityUpdate(unchangedOutcome, books.get(0));
+            }
+        });
+    }
+
+    @Override
+    public Map<String, AvailabilityUpdate> borrowAllIfAvailable(Collection<String> isbns, LocalDateTime borrowedAt) {
+        return updateAvailabilityOfAll(BORROW_ALL_IF_AVAILABLE, isbns, borrowedAt, AvailabilityUpdate.Outcome.NOT_AVAILABLE);
+    }
+
+    @Override
+    public Map<String, AvailabilityUpdate> returnAllIfBorrowed(Collection<String> isbns, LocalDateTime returnedAt) {
+        return updateAvailabilityOfAll(RETURN_ALL_IF_BORROWED, isbns, returnedAt, AvailabilityUpdate.Outcome.NOT_BORROWED);
+    }
+
+    private Map<String, AvailabilityUpdate> updateAvailabilityOfAll(String sql, Collection<String> isbns, LocalDateTime updatedAt,
+                                                                  AvailabilityUpdate.Outcome unchangedOutcome) {
+        return execute(connection -> {
+            connection.setAutoCommit(false);
+            try {
+                Map<String, Book> updatedBooks = new HashMap<>();
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    statement.setObject(1, updatedAt);
+                    statement.setObject(2, isbns.toArray(String[]::new));
+                    readBooks(statement).forEach(book -> updatedBooks.put(book.getIsbn(), book));
+                }
+
+                //As for a single update, only a batch with books left unchanged takes a second round trip
+                Map<String, Book> unchangedBooks = new HashMap<>();
+                if (updatedBooks.size() < isbns.size()) {
+                    try (PreparedStatement statement = connection.prepareStatement(SELECT_BY_ISBNS)) {
+                        statement.setObject(1, isbns.stream().filter(isbn -> !updatedBooks.containsKey(isbn)).toArray(String[]::new));
+                        readBooks(statement).forEach(book -> unchangedBooks.put(book.getIsbn(), book));
+                    }
+                }
+
+                Map<String, AvailabilityUpdate> updates = new LinkedHashMap<>();
+                for (String isbn : isbns) {
+                    Book updatedBook = updatedBooks.get(isbn);
+                    Book unchangedBook = unchangedBooks.get(isbn);
+                    updates.put(isbn, updatedBook != null ? new AvailabilityUpdate(AvailabilityUpdate.Outcome.UPDATED, updatedBook)
+                            : unchangedBook != null ? new AvailabilityUpdate(unchangedOutcome, unchangedBook) : AvailabilityUpdate.notFound());
+                }
+
+                if (AvailabilityUpdate.anyRejected(updates.values())) {
+                    connection.rollback();
+                } else {
+                    connection.commit();
+                }
+                return updates;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        });
+    }
+
+    private boolean compareAndSet(Connection connection, Book expectedBook, Book updatedBook) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(COMPARE_AND_SET)) {
+            statement.setString(1, updatedBook.getTitle());
+            statement.setString(2, updatedBook.getAuthor());
+            statement.setInt(3, updatedBook.getPublicationYear());
+            statement.setBoolean(4, Boolean.TRUE.equals(updatedBook.getIsAvailable()));
+            statement.setObject(5, updatedBook.getLastBorrowedAt());
+            statement.setObject(6, updatedBook.getLastReturnedAt());
+            statement.setString(7, expectedBook.getIsbn());
+            statement.setString(8, expectedBook.getTitle());
+            statement.setString(9, expectedBook.getAuthor());
+            statement.setInt(10, expectedBook.getPublicationYear());
+            statement.setBoolean(11, Boolean.TRUE.equals(expectedBook.getIsAvailable()));
+            statement.setObject(12, expectedBook.getLastBorrowedAt());
+            statement.setObject(13, expectedBook.getLastReturnedAt());
+            return statement.executeUpdate() == 1;
+        }
+    }
+
+    /**
+     * Closes every pooled connection; the embedded database is shut down with its last connection.
+     */
+    @Override
+    public void close() {
+        dataSource.close();
+    }
+
+    private int[] executeBatch(String sql, Collection<Book> books) {
+        return execute(connection -> {
+            int[] updateCounts = new int[books.size()];
+            int executedCount = 0;
+
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                int batchedCount = 0;
+                for (Book book : books) {
+                    bindBook(statement, book);
+                    statement.addBatch();
+
+                    if (++batchedCount == batchSize) {
+                        executedCount = copyUpdateCounts(statement.executeBatch(), updateCounts, executedCount);
+                        batchedCount = 0;
+                    }
+                }
+                if (batchedCount > 0) {
+                    copyUpdateCounts(statement.executeBatch(), updateCounts, executedCount);
+                }
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+            return updateCounts;
+        });
+    }
+
+    private static int copyUpdateCounts(int[] batchUpdateCounts, int[] updateCounts, int offset) {
+        System.arraycopy(batchUpdateCounts, 0, updateCounts, offset, batchUpdateCounts.length);
+        return offset + batchUpdateCounts.length;
+    }
+
+    private List<Book> queryPage(String firstPageSql, String pageSql, String afterIsbn, int limit) {
+        if (afterIsbn == null) {
+            return query(firstPageSql, statement -> statement.setInt(1, limit));
+        }
+
+        return query(pageSql, statement -> {
+            statement.setString(1, afterIsbn);
+            statement.setInt(2, limit);
+        });
+    }
+
+    private List<Book> query(String sql, StatementBinder binder) {
+        return execute(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                binder.bind(statement);
+                return readBooks(statement);
+            }
+        });
     }
 
+    private <R> R execute(ConnectionCallback<R> callback) {
+        try (Connection connection = dataSource.getConnection()) {
+            return callback.execute(connection);
+        } catch (SQLException e) {
+            throw new CustomException(ErrorCode.REPOSITORY_DATABASE_ERROR, formatMessage(REPOSITORY_DATABASE_ERROR_TEMPLATE, e.getMessage()));
+        }
+    }
+
+    private static void bindBook(PreparedStatement statement, Book book) throws SQLException {
+        statement.setString(1, book.getIsbn());
+        statement.setString(2, book.getTitle());
+        statement.setString(3, book.getAuthor());
+        statement.setInt(4, book.getPublicationYear());
+        statement.setBoolean(5, Boolean.TRUE.equals(book.getIsAvailable()));
+        statement.setObject(6, book.getLastBorrowedAt());
+        statement.setObject(7, book.getLastReturnedAt());
+    }
+
+    private static List<Book> readBooks(PreparedStatement statement) throws SQLException {
+        List<Book> books = new ArrayList<>();
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                Book book = new Book(resultSet.getString(1), resultSet.getString(2), resultSet.getString(3), resultSet.getInt(4));
+                book.setIsAvailable(resultSet.getBoolean(5));
+                book.setLastBorrowedAt(resultSet.getObject(6, LocalDateTime.class));
+                book.setLastReturnedAt(resultSet.getObject(7, LocalDateTime.class));
+                books.add(book);
+            }
+        }
+        return books;
+    }
 }
@@ -1,37 +1,724 @@
 package com.incubyte.assessment.repository.library;
 
+import com.incubyte.assessment.exception.CustomException;
+import com.incubyte.assessment.exception.ErrorCode;
 import com.incubyte.assessment.model.Book;
+import com.incubyte.assessment.repository.library.filesystem.BookRecord;
+import com.incubyte.assessment.repository.library.filesystem.BookRecordCodec;
+import com.incubyte.assessment.repository.library.filesystem.LogPosition;
+import com.incubyte.assessment.repository.library.filesystem.MappedIsbnIndex;
+import com.incubyte.assessment.repository.library.filesystem.SegmentedRecordLog;
 
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import static com.incubyte.assessment.util.AppConstants.*;
+import static com.incubyte.assessment.util.MessageFormatUtil.formatMessage;
 
 /**
  * File-based implementation of the {@link LibraryRepository} interface.
- * This class is intended to provide CRUD operations for {@link Book} entities
- * by storing and retrieving data from the file system.
+ * Stores {@link Book} entities in an append-only, segmented record log with a memory-mapped ISBN index.
+ *
+ * <p>Storage layout inside the configured directory:</p>
+ * <ul>
+ *   <li>{@code segment-NNNNNNNNNN.log}: the {@link SegmentedRecordLog}. Adding a book appends a full record;
+ *   re-adding a book whose details are unchanged (a borrow or a return) appends a small state record.</li>
+ *   <li>{@code isbn.index}: the {@link MappedIsbnIndex}, mapping every ISBN to its latest full record and
+ *   holding the current availability state, so lookups never scan the log. Sorted sets of the ISBNs of all
+ *   books and of the available ones are derived from it on the first paging or availability query and then
+ *   kept up to date, so that pages follow ISBN order whatever the hash slots of the books. Likewise, a
+ *   {@link SecondaryBookIndex} of ISBNs by author and publication year is built on the first such query.</li>
+ *   <li>{@code repository.lock}: an OS file lock preventing two repository instances from sharing the directory.</li>
+ * </ul>
+ *
+ * <p>Reopening a cleanly closed repository maps the index and replays nothing. After a crash the index is
+ * rebuilt from the log, whose torn tail (if any) is truncated.</p>
  *
- * <p>Note:</p>
- * This class serves as an example to show how the library system can be extended
- * without modifying the existing codebase, adhering to the Open/Closed Principle.
- * The methods are placeholders and not fully implemented.
+ * <p>Writes fsync through group commit, and a background task, started by the first write, compacts sealed
+ * segments whose share of live records has dropped below the configured threshold by re-appending their live
+ * books to the active segment.</p>
  */
 public class FileSystemLibraryRepository implements LibraryRepository {
 
+    private static final String INDEX_FILE = "isbn.index";
+    private static final String LOCK_FILE = "repository.lock";
+
+    private final LibraryRepositoryConfiguration configuration;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final FileChannel lockChannel;
+    private final FileLock directoryLock;
+    private final SegmentedRecordLog log;
+    private final MappedIsbnIndex index;
+    private final ScheduledExecutorService compactor;
+    private volatile boolean closed;
+    //Guarded by the write lock
+    private boolean compactionScheduled;
+
+    //ISBNs of every book and of the available ones, built on first use and kept across index growth; guarded by the lock
+    private NavigableSet<String> sortedIsbns;
+    private NavigableSet<String> availableIsbns;
+    //ISBNs by author and publication year, built on first use and kept across index growth; guarded by the lock
+    private SecondaryBookIndex secondaryIndex;
+
+    private record IndexedRecord(int slot, BookRecord record) {
+    }
+
+    public FileSystemLibraryRepository() {
+        this(LibraryRepositoryConfiguration.defaults());
+    }
+
+    public FileSystemLibraryRepository(LibraryRepositoryConfiguration configuration) {
+        this.configuration = configuration;
+        Path directory = configuration.getFileSystemDirectory();
+
+        try {
+            Files.createDirectories(directory);
+            this.lockChannel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            this.directoryLock = tryLock(lockChannel, directory);
+        } catch (IOException e) {
+            throw new CustomException(ErrorCode.REPOSITORY_IO_ERROR, formatMessage(REPOSITORY_IO_ERROR_TEMPLATE, e.getMessage()));
+        }
+
+        try {
+            this.log = SegmentedRecordLog.open(directory, configuration.getFileSystemMaxSegmentBytes(), configuration.getFileSystemGroupCommitIntervalMillis());
+        } catch (RuntimeException e) {
+            closeAfterFailure(e, lockChannel);
+            throw e;
+        }
+        try {
+            this.index = openIndex(directory.resolve(INDEX_FILE));
+            this.index.markDirty();
+        } catch (RuntimeException e) {
+            closeAfterFailure(e, log, lockChannel);
+            throw e;
+        }
+
+        //The compaction is scheduled by the first write, so that no compaction runs on a partially constructed repository
+        this.compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "library-log-compactor-" + directory.getFileName());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    //Closes what a repository which failed to open had acquired, the lock channel releasing the directory lock with it
+    static void closeAfterFailure(RuntimeException failure, AutoCloseable... resources) {
+        for (AutoCloseable resource : resources) {
+            try {
+                resource.close();
+            } catch (Exception e) {
+                failure.addSuppressed(e);
+            }
+        }
+    }
+
+    private void ensureCompactionScheduled() {
+        long compactionInterval = configuration.getFileSystemCompactionIntervalMillis();
+        if (compactionInterval <= 0 || compactionScheduled || closed) {
+            return;
+        }
+
+        compactionScheduled = true;
+        try {
+            compactor.scheduleWithFixedDelay(this::compact, compactionInterval, compactionInterval, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            //The repository is being closed, leaving nothing to compact
+        }
+    }
+
+    private static FileLock tryLock(FileChannel channel, Path directory) throws IOException {
+        FileLock fileLock;
+        try {
+            fileLock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            fileLock = null;
+        }
+
+        if (fileLock == null) {
+            channel.close();
+            throw new CustomException(ErrorCode.REPOSITORY_DIRECTORY_LOCKED, formatMessage(REPOSITORY_DIRECTORY_LOCKED_TEMPLATE, directory));
+        }
+        return fileLock;
+    }
+
+    private MappedIsbnIndex openIndex(Path indexPath) {
+        MappedIsbnIndex existing = MappedIsbnIndex.openExisting(indexPath);
+        if (existing != null && existing.wasCleanlyClosed()) {
+            log.scan(existing.checkpointSegmentId(), existing.checkpointOffset(), (record, position) -> apply(existing, record, position));
+            return existing;
+        }
+
+        if (existing != null) {
+            existing.close();
+        }
+        MappedIsbnIndex rebuilt = MappedIsbnIndex.create(indexPath, configuration.getFileSystemInitialIndexCapacity());
+        log.scan(log.firstSegmentId(), 0, (record, position) -> apply(rebuilt, record, position));
+        return rebuilt;
+    }
+
+    private void apply(MappedIsbnIndex target, BookRecord record, LogPosition position) {
+        IndexedRecord existing = findRecord(target, record.isbn());
+        if (record.isFull()) {
+            if (existing == null) {
+                target.insert(MappedIsbnIndex.hash(record.isbn()), position, record.available(), record.lastBorrowedAt(), record.lastReturnedAt());
+                return;
+            }
+            target.updateLocation(existing.slot(), position);
+        }
+
+        if (existing != null) {
+            target.updateState(existing.slot(), record.available(), record.lastBorrowedAt(), record.lastReturnedAt());
+        }
+    }
+
+    private IndexedRecord findRecord(MappedIsbnIndex target, String isbn) {
+        long hash = MappedIsbnIndex.hash(isbn);
+        int slot = -1;
+        while ((slot = target.findCandidate(hash, slot)) >= 0) {
+            BookRecord record = log.read(target.segmentId(slot), target.recordOffset(slot), target.recordLength(slot));
+            if (record != null && isbn.equals(record.isbn())) {
+                return new IndexedRecord(slot, record);
+            }
+        }
+        return null;
+    }
+
+    private Book toBook(IndexedRecord indexed) {
+        int slot = indexed.slot();
+        return indexed.record().toBook(index.isAvailable(slot), index.lastBorrowedAt(slot), index.lastReturnedAt(slot));
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new CustomException(ErrorCode.REPOSITORY_CLOSED, formatMessage(REPOSITORY_CLOSED_TEMPLATE));
+        }
+    }
+
+    private void awaitDurable(LogPosition position) {
+        if (configuration.isFileSystemSyncOnWrite()) {
+            log.awaitDurable(position.sequence());
+        }
+    }
+
+    //Must be called while holding the write lock
+    private LogPosition write(Book book, IndexedRecord existing) {
+        BookRecord record = existing != null && existing.record().hasSameDetails(book) ? BookRecord.state(book) : BookRecord.full(book);
+        LogPosition position = log.append(BookRecordCodec.encode(record));
+        ensureCompactionScheduled();
+
+        int slot;
+        if (existing == null) {
+            slot = index.insert(MappedIsbnIndex.hash(book.getIsbn()), position, record.available(), record.lastBorrowedAt(), record.lastReturnedAt());
+        } else {
+            slot = existing.slot();
+            if (record.isFull()) {
+                index.updateLocation(slot, position);
+            }
+            index.updateState(slot, record.available(), record.lastBorrowedAt(), record.lastReturnedAt());
+        }
+
+        if (secondaryIndex != null && record.isFull()) {
+            secondaryIndex.update(existing == null ? null : toBook(existing), book);
+        }
+        if (sortedIsbns != null) {
+            sortedIsbns.add(book.getIsbn());
+            if (record.available()) {
+                availableIsbns.add(book.getIsbn());
+            } else {
+                availableIsbns.remove(book.getIsbn());
+            }
+        }
+        return position;
+    }
+
     @Override
     public void add(Book book) {
+        ensureOpen();
+
+        LogPosition position;
+        lock.writeLock().lock();
+        try {
+            position = write(book, findRecord(index, book.getIsbn()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        //Waiting outside the lock lets concurrent writers share the same fsync
+        awaitDurable(position);
+    }
+
+    @Override
+    public void addAll(Collection<Book> books) {
+        ensureOpen();
+        if (books.isEmpty()) {
+            return;
+        }
+
+        LogPosition lastPosition = null;
+        lock.writeLock().lock();
+        try {
+            for (Book book : books) {
+                lastPosition = write(book, findRecord(index, book.getIsbn()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        //A single group commit covers the whole batch
+        awaitDurable(lastPosition);
+    }
+
+    @Override
+    public List<Book> addAllIfAbsent(Collection<Book> books) {
+        ensureOpen();
+
+        List<Book> rejectedBooks = new ArrayList<>();
+        LogPosition lastPosition = null;
+        lock.writeLock().lock();
+        try {
+            for (Book book : books) {
+                if (findRecord(index, book.getIsbn()) != null) {
+                    rejectedBooks.add(book);
+                } else {
+                    lastPosition = write(book, null);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (lastPosition != null) {
+            awaitDurable(lastPosition);
+        }
+        return rejectedBooks;
+    }
+
+    @Override
+    public boolean addIfAbsent(Book book) {
+        ensureOpen();
+
+        LogPosition position;
+        lock.writeLock().lock();
+        try {
+            if (findRecord(index, book.getIsbn()) != null) {
+                return false;
+            }
+            position = write(book, null);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        awaitDurable(position);
+        return true;
+    }
+
+    @Override
+    public AvailabilityUpdate borrowIfAvailable(String isbn, LocalDateTime borrowedAt) {
+        return updateAvailability(isbn, book -> AvailabilityUpdate.ofBorrow(book, borrowedAt));
+    }
+
+    @Override
+    public AvailabilityUpdate returnIfBorrowed(String isbn, LocalDateTime returnedAt) {
+        return updateAvailability(isbn, book -> AvailabilityUpdate.ofReturn(book, returnedAt));
+    }
+
+    //A single index lookup and, on success, a single state record appended under the write lock
+    private AvailabilityUpdate updateAvailability(String isbn, Function<Book, AvailabilityUpdate> transition) {
+        ensureOpen();
+
+        AvailabilityUpdate update;
+        LogPosition position = null;
+        lock.writeLock().lock();
+        try {
+            IndexedRecord existing = findRecord(index, isbn);
+            update = transition.apply(existing == null ? null : toBook(existing));
+            if (update.isUpdated()) {
+                position = write(update.book(), existing);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (position != null) {
+            awaitDurable(position);
+        }
+        return update;
+    }
+
+    @Override
+    public Map<String, AvailabilityUpdate> borrowAllIfAvailable(Collection<String> isbns, LocalDateTime borrowedAt) {
+        return updateAvailabilityOfAll(isbns, book -> AvailabilityUpdate.ofBorrow(book, borrowedAt));
+    }
+
+    @Override
+    public Map<String, AvailabilityUpdate> returnAllIfBorrowed(Collection<String> isbns, LocalDateTime returnedAt) {
+        return updateAvailabilityOfAll(isbns, book -> AvailabilityUpdate.ofReturn(book, returnedAt));
+    }
+
+    //Every book is checked then written under a single hold of the write lock, and a single group commit covers the batch.
+    //A crash while the state records are appended may still persist part of the batch.
+    private Map<String, AvailabilityUpdate> updateAvailabilityOfAll(Collection<String> isbns, Function<Book, AvailabilityUpdate> transition) {
+        ensureOpen();
+
+        Map<String, AvailabilityUpdate> updates = new LinkedHashMap<>();
+        LogPosition lastPosition = null;
+        lock.writeLock().lock();
+        try {
+            Map<String, IndexedRecord> existingRecords = new HashMap<>();
+            for (String isbn : isbns) {
+                IndexedRecord existing = findRecord(index, isbn);
+                existingRecords.put(isbn, existing);
+                updates.put(isbn, transition.apply(existing == null ? null : toBook(existing)));
+            }
+            if (AvailabilityUpdate.anyRejected(updates.values())) {
+                return updates;
+            }
+
+            for (Map.Entry<String, AvailabilityUpdate> entry : updates.entrySet()) {
+                if (entry.getValue().isUpdated()) {
+                    lastPosition = write(entry.getValue().book(), existingRecords.get(entry.getKey()));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (lastPosition != null) {
+            awaitDurable(lastPosition);
+        }
+        return updates;
+    }
+
+    @Override
+    public Book computeIfPresent(String id, UnaryOperator<Book> remappingFunction) {
+        ensureOpen();
+
+        Book updatedBook;
+        LogPosition position = null;
+        lock.writeLock().lock();
+        try {
+            IndexedRecord existing = findRecord(index, id);
+            if (existing == null) {
+                return null;
+            }
+
+            Book currentBook = toBook(existing);
+            updatedBook = remappingFunction.apply(currentBook);
+            if (updatedBook != currentBook) {
+                position = write(updatedBook, existing);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (position != null) {
+            awaitDurable(position);
+        }
+        return updatedBook;
     }
 
     @Override
     public Book getById(String id) {
-        return null;
+        ensureOpen();
+
+        lock.readLock().lock();
+        try {
+            IndexedRecord indexed = findRecord(index, id);
+            return indexed == null ? null : toBook(indexed);
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     @Override
     public List<Book> getAll() {
-        return null;
+        ensureOpen();
+
+        lock.readLock().lock();
+        try {
+            List<Book> books = new ArrayList<>(index.size());
+            for (int slot = 0; slot < index.capacity(); slot++) {
+                if (index.isOccupied(slot)) {
+                    books.add(readBook(slot));
+                }
+            }
+            return books;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Book> getAllAvailable() {
+        ensureOpen();
+
+        lockForOrderedRead();
+        try {
+            return readBooks(availableIsbns, Integer.MAX_VALUE);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Books are paged from a sorted set of their ISBNs, so that the growth of the index, which rehashes
+     * every slot, does not move the cursor.</p>
+     */
+    @Override
+    public List<Book> getPage(String afterId, int limit) {
+        ensureOpen();
+
+        lockForOrderedRead();
+        try {
+            return readBooks(afterId == null ? sortedIsbns : sortedIsbns.tailSet(afterId, false), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Book> getAvailablePage(String afterIsbn, int limit) {
+        ensureOpen();
+
+        lockForOrderedRead();
+        try {
+            return readBooks(afterIsbn == null ? availableIsbns : availableIsbns.tailSet(afterIsbn, false), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //Acquires the read lock, building the sorted ISBN sets first if needed
+    private void lockForOrderedRead() {
+        lockForDerivedIndexRead(() -> sortedIsbns != null, () -> {
+            NavigableSet<String> isbns = new TreeSet<>();
+            NavigableSet<String> available = new TreeSet<>();
+            for (int slot = 0; slot < index.capacity(); slot++) {
+                if (index.isOccupied(slot)) {
+                    String isbn = log.read(index.segmentId(slot), index.recordOffset(slot), index.recordLength(slot)).isbn();
+                    isbns.add(isbn);
+                    if (index.isAvailable(slot)) {
+                        available.add(isbn);
+                    }
+                }
+            }
+            availableIsbns = available;
+            sortedIsbns = isbns;
+        });
+    }
+
+    //Acquires the read lock, building the secondary index first if needed
+    private void lockForSecondaryIndexRead() {
+        lockForDerivedIndexRead(() -> secondaryIndex != null, () -> {
+            secondaryIndex = SecondaryBookIndex.create();
+            for (int slot = 0; slot < index.capacity(); slot++) {
+                if (index.isOccupied(slot)) {
+                    secondaryIndex.update(null, readBook(slot));
+                }
+            }
+        });
+    }
+
+    private void lockForDerivedIndexRead(BooleanSupplier isBuilt, Runnable build) {
+        lock.readLock().lock();
+        if (isBuilt.getAsBoolean()) {
+            return;
+        }
+        lock.readLock().unlock();
+
+        lock.writeLock().lock();
+        try {
+            if (!isBuilt.getAsBoolean()) {
+                build.run();
+            }
+            //Downgrading to the read lock, so that no writer can slip in between
+            lock.readLock().lock();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //Must be called while holding the lock; the size of a sorted set view is not known without walking it
+    private List<Book> readBooks(Collection<String> isbns, int limit) {
+        List<Book> books = new ArrayList<>(Math.min(limit, 1024));
+        for (String isbn : isbns) {
+            if (books.size() == limit) {
+                break;
+            }
+            books.add(toBook(findRecord(index, isbn)));
+        }
+        return books;
+    }
+
+    @Override
+    public List<Book> getByAuthor(String author, boolean availableOnly) {
+        ensureOpen();
+
+        lockForSecondaryIndexRead();
+        try {
+            return readIndexedBooks(secondaryIndex.isbnsOfAuthor(author), availableOnly);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Book> getByPublicationYearRange(int fromYear, int toYear, boolean availableOnly) {
+        ensureOpen();
+
+        lockForSecondaryIndexRead();
+        try {
+            return readIndexedBooks(secondaryIndex.isbnsPublishedBetween(fromYear, toYear), availableOnly);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //Must be called while holding the lock
+    private List<Book> readIndexedBooks(Collection<String> isbns, boolean availableOnly) {
+        List<Book> books = new ArrayList<>(isbns.size());
+        for (String isbn : isbns) {
+            IndexedRecord indexed = findRecord(index, isbn);
+            if (indexed != null && (!availableOnly || index.isAvailable(indexed.slot()))) {
+                books.add(toBook(indexed));
+            }
+        }
+        return books;
+    }
+
+    private Book readBook(int slot) {
+        BookRecord record = log.read(index.segmentId(slot), index.recordOffset(slot), index.recordLength(slot));
+        return toBook(new IndexedRecord(slot, record));
     }
 
     @Override
     public boolean existsById(String id) {
-        return false;
+        ensureOpen();
+
+        lock.readLock().lock();
+        try {
+            return findRecord(index, id) != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Compacts every sealed segment whose share of live full records is below the configured threshold.
+     */
+    void compact() {
+        if (closed || compactor.isShutdown()) {
+            return;
+        }
+
+        List<Integer> sealedSegmentIds = log.sealedSegmentIds();
+        if (sealedSegmentIds.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, Long> liveBytes = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            for (int slot = 0; slot < index.capacity(); slot++) {
+                if (index.isOccupied(slot)) {
+                    liveBytes.merge(index.segmentId(slot), (long) index.recordLength(slot), Long::sum);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        for (int segmentId : sealedSegmentIds) {
+            long segmentSize = log.segmentSize(segmentId);
+            double liveRatio = segmentSize == 0 ? 0 : (double) liveBytes.getOrDefault(segmentId, 0L) / segmentSize;
+            if (liveRatio < configuration.getFileSystemCompactionLiveRatioThreshold() && !compactor.isShutdown()) {
+                compactSegment(segmentId);
+            }
+        }
+    }
+
+    private void compactSegment(int segmentId) {
+        //Every book mentioned in the segment gets a fresh full record, so that no state record is lost with it
+        Set<String> isbns = new LinkedHashSet<>();
+        log.scanSegment(segmentId, (record, position) -> isbns.add(record.isbn()));
+
+        for (String isbn : isbns) {
+            lock.writeLock().lock();
+            try {
+                IndexedRecord indexed = findRecord(index, isbn);
+                if (indexed != null) {
+                    LogPosition position = log.append(BookRecordCodec.encode(BookRecord.full(toBook(indexed))));
+                    index.updateLocation(indexed.slot(), position);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        log.sync();
+
+        lock.writeLock().lock();
+        try {
+            log.deleteSegment(segmentId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+
+        //Not interrupting the compactor, as an interrupt would close the log's file channels under it
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        lock.writeLock().lock();
+        try {
+            closed = true;
+            long[] endPosition = log.endPosition();
+            log.close();
+            index.markClean((int) endPosition[0], endPosition[1]);
+            index.close();
+
+            directoryLock.release();
+            lockChannel.close();
+        } catch (IOException e) {
+            throw new CustomException(ErrorCode.REPOSITORY_IO_ERROR, formatMessage(REPOSITORY_IO_ERROR_TEMPLATE, e.getMessage()));
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 }
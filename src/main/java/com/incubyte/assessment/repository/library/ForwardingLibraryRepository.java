@@ -0,0 +1,123 @@
+package com.incubyte.assessment.repository.library;
+
+import com.incubyte.assessment.model.Book;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * {@link LibraryRepository} forwarding every call to a delegate repository, including the default methods,
+ * so that the delegate's own implementations are used.
+ *
+ * <p>Decorators extend this class and only override the calls they add behavior to.</p>
+ */
+public abstract class ForwardingLibraryRepository implements LibraryRepository {
+
+    protected final LibraryRepository delegate;
+
+    protected ForwardingLibraryRepository(LibraryRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    public LibraryRepository getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void add(Book book) {
+        delegate.add(book);
+    }
+
+    @Override
+    public void addAll(Collection<Book> books) {
+        delegate.addAll(books);
+    }
+
+    @Override
+    public boolean addIfAbsent(Book book) {
+        return delegate.addIfAbsent(book);
+    }
+
+    @Override
+    public List<Book> addAllIfAbsent(Collection<Book> books) {
+        return delegate.addAllIfAbsent(books);
+    }
+
+    @Override
+    public Book getById(String id) {
+        return delegate.getById(id);
+    }
+
+    @Override
+    public List<Book> getAll() {
+        return delegate.getAll();
+    }
+
+    @Override
+    public List<Book> getPage(String afterId, int limit) {
+        return delegate.getPage(afterId, limit);
+    }
+
+    @Override
+    public List<Book> getAllAvailable() {
+        return delegate.getAllAvailable();
+    }
+
+    @Override
+    public List<Book> getAvailablePage(String afterIsbn, int limit) {
+        return delegate.getAvailablePage(afterIsbn, limit);
+    }
+
+    @Override
+    public List<Book> getByAuthor(String author, boolean availableOnly) {
+        return delegate.getByAuthor(author, availableOnly);
+    }
+
+    @Override
+    public List<Book> getByPublicationYearRange(int fromYear, int toYear, boolean availableOnly) {
+        return delegate.getByPublicationYearRange(fromYear, toYear, availableOnly);
+    }
+
+    @Override
+    public List<String> search(String query, int limit) {
+        return delegate.search(query, limit);
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return delegate.existsById(id);
+    }
+
+    @Override
+    public Book computeIfPresent(String id, UnaryOperator<Book> remappingFunction) {
+        return delegate.computeIfPresent(id, remappingFunction);
+    }
+
+    @Override
+    public AvailabilityUpdate borrowIfAvailable(String isbn, LocalDateTime borrowedAt) {
+        return delegate.borrowIfAvailable(isbn, borrowedAt);
+    }
+
+    @Override
+    public AvailabilityUpdate returnIfBorrowed(String isbn, LocalDateTime returnedAt) {
+        return delegate.returnIfBorrowed(isbn, returnedAt);
+    }
+
+    @Override
+    public Map<String, AvailabilityUpdate> borrowAllIfAvailable(Collection<String> isbns, LocalDateTime borrowedAt) {
+        return delegate.borrowAllIfAvailable(isbns, borrowedAt);
+    }
+
+    @Override
+    public Map<String, AvailabilityUpdate> returnAllIfBorrowed(Collection<String> isbns, LocalDateTime returnedAt) {
+        return delegate.returnAllIfBorrowed(isbns, returnedAt);
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
@@ -3,21 +3,49 @@ package com.incubyte.assessment.repository.library;
 import com.incubyte.assessment.model.Book;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.function.UnaryOperator;
 
 /**
  * In-memory implementation of the {@link LibraryRepository} interface.
- * Stores and manages {@link Book} entities using a {@link HashMap}.
+ * Stores and manages {@link Book} entities using a {@link HashMap}, alongside sorted sets of
+ * every ISBN and of the ISBNs currently available for borrowing, used for ISBN ordered paging,
+ * and a {@link SecondaryBookIndex} serving the author and publication year queries.
+ *
+ * <p>This repository is not thread-safe; use {@link ConcurrentInMemoryLibraryRepository}
+ * when the library is accessed by concurrent patrons.</p>
  */
 public class InMemoryLibraryRepository implements LibraryRepository {
 
     private final Map<String, Book> bookStorage = new HashMap<>();
+    private final NavigableSet<String> sortedIsbns = new TreeSet<>();
+    private final NavigableSet<String> availableIsbns = new TreeSet<>();
+    private final SecondaryBookIndex secondaryIndex = SecondaryBookIndex.create();
+
+    private Book updateAvailabilityIndex(Book book) {
+        if (Boolean.TRUE.equals(book.getIsAvailable())) {
+            availableIsbns.add(book.getIsbn());
+        } else {
+            availableIsbns.remove(book.getIsbn());
+        }
+        return book;
+    }
+
+    private Book updateIndexes(Book previousBook, Book book) {
+        secondaryIndex.update(previousBook, book);
+        return updateAvailabilityIndex(book);
+    }
 
     @Override
     public void add(Book book) {
-        bookStorage.put(book.getIsbn(), book);
+        Book previousBook = bookStorage.put(book.getIsbn(), book);
+        sortedIsbns.add(book.getIsbn());
+        updateIndexes(previousBook, book);
     }
 
     @Override
@@ -30,9 +58,75 @@ public class InMemoryLibraryRepository implements LibraryRepository {
         return new ArrayList<>(bookStorage.values());
     }
 
+    @Override
+    public List<Book> getPage(String afterId, int limit) {
+        return readPage(sortedIsbns, afterId, limit);
+    }
+
+    @Override
+    public List<Book> getAvailablePage(String afterIsbn, int limit) {
+        return readPage(availableIsbns, afterIsbn, limit);
+    }
+
+    private List<Book> readPage(NavigableSet<String> isbns, String afterIsbn, int limit) {
+        List<Book> page = new ArrayList<>(Math.min(limit, isbns.size()));
+        for (String isbn : afterIsbn == null ? isbns : isbns.tailSet(afterIsbn, false)) {
+            if (page.size() == limit) {
+                break;
+            }
+            page.add(bookStorage.get(isbn));
+        }
+        return page;
+    }
+
     @Override
     public boolean existsById(String id) {
         return bookStorage.containsKey(id);
     }
 
+    @Override
+    public boolean addIfAbsent(Book book) {
+        if (bookStorage.putIfAbsent(book.getIsbn(), book) != null) {
+            return false;
+        }
+
+        sortedIsbns.add(book.getIsbn());
+        updateIndexes(null, book);
+        return true;
+    }
+
+    @Override
+    public Book computeIfPresent(String id, UnaryOperator<Book> remappingFunction) {
+        return bookStorage.computeIfPresent(id, (isbn, book) -> updateIndexes(book, remappingFunction.apply(book)));
+    }
+
+    @Override
+    public List<Book> getAllAvailable() {
+        List<Book> availableBooks = new ArrayList<>(availableIsbns.size());
+        for (String isbn : availableIsbns) {
+            availableBooks.add(bookStorage.get(isbn));
+        }
+        return availableBooks;
+    }
+
+    @Override
+    public List<Book> getByAuthor(String author, boolean availableOnly) {
+        return readIndexedBooks(secondaryIndex.isbnsOfAuthor(author), availableOnly);
+    }
+
+    @Override
+    public List<Book> getByPublicationYearRange(int fromYear, int toYear, boolean availableOnly) {
+        return readIndexedBooks(secondaryIndex.isbnsPublishedBetween(fromYear, toYear), availableOnly);
+    }
+
+    private List<Book> readIndexedBooks(Collection<String> isbns, boolean availableOnly) {
+        List<Book> books = new ArrayList<>(isbns.size());
+        for (String isbn : isbns) {
+            if (!availableOnly || availableIsbns.contains(isbn)) {
+                books.add(bookStorage.get(isbn));
+            }
+        }
+        return books;
+    }
+
 }
@@ -0,0 +1,119 @@
+package com.incubyte.assessment.repository.library;
+
+import com.incubyte.assessment.metrics.LibraryMetrics;
+import com.incubyte.assessment.model.Book;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Decorator recording the latency and outcome of every call to a {@link LibraryRepository}
+ * in {@link LibraryMetrics}, under the {@code repository.<method>} operation names.
+ *
+ * <p>The latency of {@link #computeIfPresent} includes the remapping function, and a failure
+ * thrown by the function, such as an unavailable book, is counted as a failure of the call.</p>
+ */
+public class InstrumentedLibraryRepository extends ForwardingLibraryRepository {
+
+    private final LibraryMetrics metrics;
+
+    public InstrumentedLibraryRepository(LibraryRepository delegate, LibraryMetrics metrics) {
+        super(delegate);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void add(Book book) {
+        metrics.timeRepositoryCall("repository.add", () -> {
+            delegate.add(book);
+            return null;
+        });
+    }
+
+    @Override
+    public void addAll(Collection<Book> books) {
+        metrics.timeRepositoryCall("repository.addAll", () -> {
+            delegate.addAll(books);
+            return null;
+        });
+    }
+
+    @Override
+    public boolean addIfAbsent(Book book) {
+        return metrics.timeRepositoryCall("repository.addIfAbsent", () -> delegate.addIfAbsent(book));
+    }
+
+    @Override
+    public List<Book> addAllIfAbsent(Collection<Book> books) {
+        return metrics.timeRepositoryCall("repository.addAllIfAbsent", () -> delegate.addAllIfAbsent(books));
+    }
+
+    @Override
+    public Book getById(String id) {
+        return metrics.timeRepositoryCall("repository.getById", () -> delegate.getById(id));
+    }
+
+    @Override
+    public List<Book> getAll() {
+        return metrics.timeRepositoryCall("repository.getAll", delegate::getAll);
+    }
+
+    @Override
+    public List<Book> getPage(String afterId, int limit) {
+        return metrics.timeRepositoryCall("repository.getPage", () -> delegate.getPage(afterId, limit));
+    }
+
+    @Override
+    public List<Book> getAllAvailable() {
+        return metrics.timeRepositoryCall("repository.getAllAvailable", delegate::getAllAvailable);
+    }
+
+    @Override
+    public List<Book> getAvailablePage(String afterIsbn, int limit) {
+        return metrics.timeRepositoryCall("repository.getAvailablePage", () -> delegate.getAvailablePage(afterIsbn, limit));
+    }
+
+    @Override
+    public List<Book> getByAuthor(String author, boolean availableOnly) {
+        return metrics.timeRepositoryCall("repository.getByAuthor", () -> delegate.getByAuthor(author, availableOnly));
+    }
+
+    @Override
+    public List<Book> getByPublicationYearRange(int fromYear, int toYear, boolean availableOnly) {
+        return metrics.timeRepositoryCall("repository.getByPublicationYearRange",
+                () -> delegate.getByPublicationYearRange(fromYear, toYear, availableOnly));
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return metrics.timeRepositoryCall("repository.existsById", () -> delegate.existsById(id));
+    }
+
+    @Override
+    public Book computeIfPresent(String id, UnaryOperator<Book> remappingFunction) {
+        return metrics.timeRepositoryCall("repository.computeIfPresent", () -> delegate.computeIfPresent(id, remappingFunction));
+    }
+
+    @Override
+    public AvailabilityUpdate borrowIfAvailable(String isbn, LocalDateTime borrowedAt) {
+        return metrics.timeRepositoryCall("repository.borrowIfAvailable", () -> delegate.borrowIfAvailable(isbn, borrowedAt));
+    }
+
+    @Override
+    public AvailabilityUpdate returnIfBorrowed(String isbn, LocalDateTime returnedAt) {
+        return metrics.timeRepositoryCall("repository.returnIfBorrowed", () -> delegate.returnIfBorrowed(isbn, returnedAt));
+    }
+
+    @Override
+    public Map<String, AvailabilityUpdate> borrowAllIfAvailable(Collection<String> isbns, LocalDateTime borrowedAt) {
+        return metrics.timeRepositoryCall("repository.borrowAllIfAvailable", () -> delegate.borrowAllIfAvailable(isbns, borrowedAt));
+    }
+
+    @Override
+    public Map<String, AvailabilityUpdate> returnAllIfBorrowed(Collection<String> isbns, LocalDateTime returnedAt) {
+        return metrics.timeRepositoryCall("repository.returnAllIfBorrowed", () -> delegate.returnAllIfBorrowed(isbns, returnedAt));
+    }
+}
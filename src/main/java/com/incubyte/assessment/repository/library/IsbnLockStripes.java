@@ -0,0 +1,85 @@
+package com.incubyte.assessment.repository.library;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Fixed set of locks, each guarding the books whose ISBN hashes to it, with which the repository decorators
+ * serialize the operations on a book without holding a lock per book.
+ *
+ * <p>The stripes of a batch are locked in ascending index order and unlocked in reverse, so that batches sharing
+ * stripes cannot deadlock with each other, nor with an action holding every stripe.</p>
+ */
+final class IsbnLockStripes {
+
+    private static final int STRIPE_COUNT = 64;
+
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPE_COUNT];
+
+    IsbnLockStripes() {
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    static int stripeIndexOf(String isbn) {
+        int hash = isbn.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPE_COUNT - 1);
+    }
+
+    /**
+     * Runs an action holding the stripe of an ISBN.
+     */
+    <R> R withStripe(String isbn, Supplier<R> action) {
+        ReentrantLock stripe = stripes[stripeIndexOf(isbn)];
+        stripe.lock();
+        try {
+            return action.get();
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    /**
+     * Runs an action holding the stripes of every ISBN of a batch.
+     */
+    <R> R withStripesOf(Collection<String> isbns, Supplier<R> action) {
+        BitSet stripeIndexes = new BitSet(STRIPE_COUNT);
+        for (String isbn : isbns) {
+            stripeIndexes.set(stripeIndexOf(isbn));
+        }
+
+        int lastLockedIndex = -1;
+        try {
+            for (int i = stripeIndexes.nextSetBit(0); i >= 0; i = stripeIndexes.nextSetBit(i + 1)) {
+                stripes[i].lock();
+                lastLockedIndex = i;
+            }
+            return action.get();
+        } finally {
+            for (int i = lastLockedIndex; i >= 0; i = stripeIndexes.previousSetBit(i - 1)) {
+                stripes[i].unlock();
+            }
+        }
+    }
+
+    /**
+     * Runs an action holding every stripe, so that no other action on any ISBN runs meanwhile.
+     */
+    <R> R withAllStripes(Supplier<R> action) {
+        int lockedCount = 0;
+        try {
+            for (ReentrantLock stripe : stripes) {
+                stripe.lock();
+                lockedCount++;
+            }
+            return action.get();
+        } finally {
+            for (int i = lockedCount - 1; i >= 0; i--) {
+                stripes[i].unlock();
+            }
+        }
+    }
+}
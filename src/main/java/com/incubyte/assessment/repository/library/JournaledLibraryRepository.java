@@ -0,0 +1,498 @@
+package com.incubyte.assessment.repository.library;
+
+import com.incubyte.assessment.exception.CustomException;
+import com.incubyte.assessment.exception.ErrorCode;
+import com.incubyte.assessment.model.Book;
+import com.incubyte.assessment.repository.library.filesystem.BookRecord;
+import com.incubyte.assessment.repository.library.filesystem.BookRecordCodec;
+import com.incubyte.assessment.repository.library.filesystem.LogPosition;
+import com.incubyte.assessment.repository.library.filesystem.SegmentedRecordLog;
+import com.incubyte.assessment.repository.library.journal.RecoveryStats;
+import com.incubyte.assessment.repository.library.journal.SnapshotFile;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import static com.incubyte.assessment.util.AppConstants.*;
+import static com.incubyte.assessment.util.MessageFormatUtil.formatMessage;
+
+/**
+ * Persistence for an in-memory {@link LibraryRepository}, which keeps serving every read from memory while
+ * its mutations are journaled to a write-ahead log on disk.
+ *
+ * <p>Every addition is journaled as a full record and every update as a small state record, or a full record
+ * when the details of the book changed, in a {@link SegmentedRecordLog}. A mutation is acknowledged once its
+ * record is durable, the fsyncs of concurrent mutations being shared by group commit.</p>
+ *
+ * <p>At the configured interval from the first mutation, and on close, every book is written to a compact binary {@link SnapshotFile}
+ * tagged with the journal position it was taken at, and the journal segments preceding that position are deleted.
+ * Startup loads the latest snapshot into the delegate and replays the journal from its position. The snapshot
+ * is read from the delegate page by page while mutations go on, which is safe because journal records carry
+ * absolute values and replaying those already included in the snapshot yields the same books. A snapshot that
+ * fails keeps the journal whole, and is counted, with the last failure kept, for monitoring.</p>
+ *
+ * <p>Mutations of the same ISBN are serialized on one of a fixed set of lock stripes, so that the journal order of
+ * the records of a book is the order they were applied in. Every mutation is journaled before it is applied to the
+ * delegate, so that a mutation which failed to be journaled leaves the delegate unchanged. Snapshot pages are read
+ * holding every stripe, so the delegate does not need to support reads concurrent with writes.</p>
+ */
+public class JournaledLibraryRepository extends ForwardingLibraryRepository {
+
+    private static final String LOCK_FILE = "journal.lock";
+    private static final int LOAD_BATCH_SIZE = 10_000;
+
+    private final Path directory;
+    private final boolean syncOnWrite;
+    private final FileChannel lockChannel;
+    private final FileLock directoryLock;
+    private final SegmentedRecordLog journal;
+    private final IsbnLockStripes lockStripes = new IsbnLockStripes();
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private final ScheduledExecutorService snapshotter;
+    private final long snapshotInterval;
+    private final AtomicBoolean snapshotsScheduled = new AtomicBoolean();
+    private final RecoveryStats recoveryStats;
+    private final LongAdder failedSnapshotCount = new LongAdder();
+    private volatile CustomException lastSnapshotFailure;
+    private volatile boolean closed;
+
+    /**
+     * Opens, or creates, the journal of the configured directory and restores the books it holds into the delegate.
+     *
+     * @param delegate      An empty in-memory repository serving the reads.
+     * @param configuration The configuration holding the journal directory and snapshot interval; the journal
+     *                      uses the segment size, group commit interval and sync on write of the file system repository.
+     */
+    public JournaledLibraryRepository(LibraryRepository delegate, LibraryRepositoryConfiguration configuration) {
+        super(delegate);
+        this.directory = configuration.getJournalDirectory();
+        this.syncOnWrite = configuration.isFileSystemSyncOnWrite();
+
+        try {
+            Files.createDirectories(directory);
+            this.lockChannel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            this.directoryLock = tryLock(lockChannel, directory);
+        } catch (IOException e) {
+            throw new CustomException(ErrorCode.REPOSITORY_IO_ERROR, formatMessage(REPOSITORY_IO_ERROR_TEMPLATE, e.getMessage()));
+        }
+
+        try {
+            this.journal = SegmentedRecordLog.open(directory, configuration.getFileSystemMaxSegmentBytes(), configuration.getFileSystemGroupCommitIntervalMillis());
+        } catch (RuntimeException e) {
+            FileSystemLibraryRepository.closeAfterFailure(e, lockChannel);
+            throw e;
+        }
+        try {
+            this.recoveryStats = recover();
+        } catch (RuntimeException e) {
+            FileSystemLibraryRepository.closeAfterFailure(e, journal, lockChannel);
+            throw e;
+        }
+
+        //The snapshots are scheduled by the first journaled mutation, so that no snapshot runs on a partially constructed repository
+        this.snapshotInterval = configuration.getJournalSnapshotIntervalMillis();
+        this.snapshotter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "library-journal-snapshotter-" + directory.getFileName());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private void ensureSnapshotsScheduled() {
+        if (snapshotInterval <= 0 || snapshotsScheduled.get() || !snapshotsScheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            snapshotter.scheduleWithFixedDelay(this::snapshotQuietly, snapshotInterval, snapshotInterval, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            //The repository is being closed, which takes a last snapshot
+        }
+    }
+
+    private static FileLock tryLock(FileChannel channel, Path directory) throws IOException {
+        FileLock fileLock;
+        try {
+            fileLock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            fileLock = null;
+        }
+
+        if (fileLock == null) {
+            channel.close();
+            throw new CustomException(ErrorCode.REPOSITORY_DIRECTORY_LOCKED, formatMessage(REPOSITORY_DIRECTORY_LOCKED_TEMPLATE, directory));
+        }
+        return fileLock;
+    }
+
+    private RecoveryStats recover() {
+        long startNanos = System.nanoTime();
+
+        List<Book> batch = new ArrayList<>(LOAD_BATCH_SIZE);
+        long[] snapshotBookCount = {0};
+        SnapshotFile.Position position = SnapshotFile.read(directory, record -> {
+            batch.add(record.toBook(record.available(), record.lastBorrowedAt(), record.lastReturnedAt()));
+            snapshotBookCount[0]++;
+            if (batch.size() == LOAD_BATCH_SIZE) {
+                delegate.addAll(batch);
+                batch.clear();
+            }
+        });
+        if (!batch.isEmpty()) {
+            delegate.addAll(batch);
+        }
+
+        //The replayed books are applied in one batch, the journal tail being short compared to the snapshot
+        Map<String, Book> replayedBooks = new LinkedHashMap<>();
+        long[] replayedRecordCount = {0};
+        int fromSegmentId = position == null ? journal.firstSegmentId() : position.journalSegmentId();
+        long fromOffset = position == null ? 0 : position.journalOffset();
+        journal.scan(fromSegmentId, fromOffset, (record, logPosition) -> {
+            replay(record, replayedBooks);
+            replayedRecordCount[0]++;
+        });
+        if (!replayedBooks.isEmpty()) {
+            delegate.addAll(replayedBooks.values());
+        }
+
+        return new RecoveryStats(snapshotBookCount[0], replayedRecordCount[0], TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+
+    private void replay(BookRecord record, Map<String, Book> replayedBooks) {
+        if (record.isFull()) {
+            replayedBooks.put(record.isbn(), record.toBook(record.available(), record.lastBorrowedAt(), record.lastReturnedAt()));
+            return;
+        }
+
+        Book book = replayedBooks.get(record.isbn());
+        if (book == null) {
+            Book storedBook = delegate.getById(record.isbn());
+            if (storedBook == null) {
+                return;
+            }
+            book = new Book(storedBook);
+            replayedBooks.put(record.isbn(), book);
+        }
+        book.setIsAvailable(record.available());
+        book.setLastBorrowedAt(BookRecord.fromEpochMillis(record.lastBorrowedAt()));
+        book.setLastReturnedAt(BookRecord.fromEpochMillis(record.lastReturnedAt()));
+    }
+
+    /**
+     * @return The number of books loaded from the snapshot and of journal records replayed on startup, and the time it took.
+     */
+    public RecoveryStats getRecoveryStats() {
+        return recoveryStats;
+    }
+
+    /**
+     * @return The number of snapshots which failed, periodic or not.
+     */
+    public long getFailedSnapshotCount() {
+        return failedSnapshotCount.sum();
+    }
+
+    /**
+     * @return The error of the last snapshot which failed, or null if none has.
+     */
+    public CustomException getLastSnapshotFailure() {
+        return lastSnapshotFailure;
+    }
+
+    private LogPosition append(BookRecord record) {
+        if (closed) {
+            throw new CustomException(ErrorCode.REPOSITORY_CLOSED, formatMessage(REPOSITORY_CLOSED_TEMPLATE));
+        }
+        LogPosition position = journal.append(BookRecordCodec.encode(record));
+        ensureSnapshotsScheduled();
+        return position;
+    }
+
+    //Only the availability state changes when a book is borrowed or returned, which a state record is enough for
+    private LogPosition appendUpdate(Book previousBook, Book book) {
+        boolean sameDetails = Objects.equals(previousBook.getTitle(), book.getTitle())
+                && Objects.equals(previousBook.getAuthor(), book.getAuthor())
+                && previousBook.getPublicationYear() == book.getPublicationYear();
+        return append(sameDetails ? BookRecord.state(book) : BookRecord.full(book));
+    }
+
+    private void awaitDurable(LogPosition position) {
+        if (syncOnWrite && position != null) {
+            journal.awaitDurable(position.sequence());
+        }
+    }
+
+    @Override
+    public void add(Book book) {
+        LogPosition position = lockStripes.withStripe(book.getIsbn(), () -> {
+            LogPosition appended = append(BookRecord.full(book));
+            delegate.add(book);
+            return appended;
+        });
+        awaitDurable(position);
+    }
+
+    @Override
+    public boolean addIfAbsent(Book book) {
+        LogPosition position = lockStripes.withStripe(book.getIsbn(), () -> {
+            if (delegate.existsById(book.getIsbn())) {
+                return null;
+            }
+            LogPosition appended = append(BookRecord.full(book));
+            delegate.add(book);
+            return appended;
+        });
+        awaitDurable(position);
+        return position != null;
+    }
+
+    @Override
+    public void addAll(Collection<Book> books) {
+        LogPosition position = lockStripes.withAllStripes(() -> {
+            LogPosition appended = null;
+            for (Book book : books) {
+                appended = append(BookRecord.full(book));
+            }
+            delegate.addAll(books);
+            return appended;
+        });
+        awaitDurable(position);
+    }
+
+    @Override
+    public List<Book> addAllIfAbsent(Collection<Book> books) {
+        List<Book> rejectedBooks = new ArrayList<>();
+        LogPosition position = lockStripes.withAllStripes(() -> {
+            //Holding every stripe, so no other mutation can add the books between the check and the append
+            Set<String> addedIsbns = new HashSet<>();
+            List<Book> addedBooks = new ArrayList<>(books.size());
+            for (Book book : books) {
+                if (delegate.existsById(book.getIsbn()) || !addedIsbns.add(book.getIsbn())) {
+                    rejectedBooks.add(book);
+                } else {
+                    addedBooks.add(book);
+                }
+            }
+
+            LogPosition appended = null;
+            for (Book book : addedBooks) {
+                appended = append(BookRecord.full(book));
+            }
+            delegate.addAll(addedBooks);
+            return appended;
+        });
+        awaitDurable(position);
+        return rejectedBooks;
+    }
+
+    //The stored book is replaced by the one journaled, the stripe keeping every other mutation of the book out
+    private void apply(Book book) {
+        delegate.computeIfPresent(book.getIsbn(), storedBook -> book);
+    }
+
+    @Override
+    public Book computeIfPresent(String id, UnaryOperator<Book> remappingFunction) {
+        LogPosition[] position = new LogPosition[1];
+        Book updatedBook = lockStripes.withStripe(id, () -> {
+            Book book = delegate.getById(id);
+            if (book == null) {
+                return null;
+            }
+
+            Book remappedBook = remappingFunction.apply(book);
+            if (remappedBook != book) {
+                position[0] = appendUpdate(book, remappedBook);
+                apply(remappedBook);
+            }
+            return remappedBook;
+        });
+        awaitDurable(position[0]);
+        return updatedBook;
+    }
+
+    @Override
+    public AvailabilityUpdate borrowIfAvailable(String isbn, LocalDateTime borrowedAt) {
+        return updateAvailability(isbn, book -> AvailabilityUpdate.ofBorrow(book, borrowedAt));
+    }
+
+    @Override
+    public AvailabilityUpdate returnIfBorrowed(String isbn, LocalDateTime returnedAt) {
+        return updateAvailability(isbn, book -> AvailabilityUpdate.ofReturn(book, returnedAt));
+    }
+
+    //Decided from the stored book and journaled before being applied, so that a failed append leaves the book unchanged
+    private AvailabilityUpdate updateAvailability(String isbn, Function<Book, AvailabilityUpdate> transition) {
+        AvailabilityUpdate[] availabilityUpdate = new AvailabilityUpdate[1];
+        LogPosition position = lockStripes.withStripe(isbn, () -> {
+            availabilityUpdate[0] = transition.apply(delegate.getById(isbn));
+            if (!availabilityUpdate[0].isUpdated()) {
+                return null;
+            }
+
+            LogPosition appended = append(BookRecord.state(availabilityUpdate[0].book()));
+            apply(availabilityUpdate[0].book());
+            return appended;
+        });
+        awaitDurable(position);
+        return availabilityUpdate[0];
+    }
+
+    @Override
+    public Map<String, AvailabilityUpdate> borrowAllIfAvailable(Collection<String> isbns, LocalDateTime borrowedAt) {
+        return updateAvailabilityOfAll(isbns, book -> AvailabilityUpdate.ofBorrow(book, borrowedAt));
+    }
+
+    @Override
+    public Map<String, AvailabilityUpdate> returnAllIfBorrowed(Collection<String> isbns, LocalDateTime returnedAt) {
+        return updateAvailabilityOfAll(isbns, book -> AvailabilityUpdate.ofReturn(book, returnedAt));
+    }
+
+    //The stripes of the batch keep every other mutation of its books out, so the whole batch is decided before any of it is journaled
+    private Map<String, AvailabilityUpdate> updateAvailabilityOfAll(Collection<String> isbns, Function<Book, AvailabilityUpdate> transition) {
+        LogPosition[] lastPosition = new LogPosition[1];
+        Map<String, AvailabilityUpdate> updates = lockStripes.withStripesOf(isbns, () -> {
+            Map<String, AvailabilityUpdate> decidedUpdates = new LinkedHashMap<>();
+            for (String isbn : isbns) {
+                decidedUpdates.put(isbn, transition.apply(delegate.getById(isbn)));
+            }
+            if (AvailabilityUpdate.anyRejected(decidedUpdates.values())) {
+                return decidedUpdates;
+            }
+
+            for (AvailabilityUpdate decidedUpdate : decidedUpdates.values()) {
+                if (decidedUpdate.isUpdated()) {
+                    lastPosition[0] = append(BookRecord.state(decidedUpdate.book()));
+                }
+            }
+            for (AvailabilityUpdate decidedUpdate : decidedUpdates.values()) {
+                if (decidedUpdate.isUpdated()) {
+                    apply(decidedUpdate.book());
+                }
+            }
+            return decidedUpdates;
+        });
+
+        awaitDurable(lastPosition[0]);
+        return updates;
+    }
+
+    /**
+     * Writes every book to a new snapshot and deletes the journal segments it makes obsolete.
+     *
+     * @throws CustomException If the snapshot cannot be written, in which case the journal is kept whole.
+     */
+    public void snapshot() {
+        snapshotLock.lock();
+        try {
+            writeSnapshot();
+        } catch (CustomException e) {
+            failedSnapshotCount.increment();
+            lastSnapshotFailure = e;
+            throw e;
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    private void writeSnapshot() {
+        //Every record before this position has been applied, as records are appended and applied holding a stripe
+        SnapshotFile.Position position = lockStripes.withAllStripes(() -> {
+            long[] endPosition = journal.endPosition();
+            return new SnapshotFile.Position((int) endPosition[0], endPosition[1]);
+        });
+
+        try (SnapshotFile snapshot = SnapshotFile.create(directory, position)) {
+            String afterIsbn = null;
+            List<Book> page;
+            do {
+                String pageAfterIsbn = afterIsbn;
+                page = lockStripes.withAllStripes(() -> delegate.getPage(pageAfterIsbn, LOAD_BATCH_SIZE));
+                for (Book book : page) {
+                    snapshot.append(BookRecord.full(book));
+                }
+                if (!page.isEmpty()) {
+                    afterIsbn = page.get(page.size() - 1).getIsbn();
+                }
+            } while (page.size() == LOAD_BATCH_SIZE);
+
+            //The snapshot may include mutations journaled after its position, which must be durable before it replaces the journal
+            journal.sync();
+            snapshot.commit();
+        }
+
+        for (int segmentId : journal.sealedSegmentIds()) {
+            if (segmentId < position.journalSegmentId()) {
+                journal.deleteSegment(segmentId);
+            }
+        }
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (CustomException e) {
+            //The journal is kept whole, and the next snapshot retries, the failure having been counted
+        }
+    }
+
+    /**
+     * Stops the periodic snapshots, takes a last snapshot so that the next startup has no journal to replay,
+     * and closes the journal and the delegate.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+
+        //Not interrupting a snapshot in progress, as an interrupt would close the file channels under it
+        snapshotter.shutdown();
+        try {
+            snapshotter.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            snapshot();
+        } finally {
+            //Closing the journal and releasing the directory even if the snapshot failed, as the journal holds every mutation
+            try {
+                lockStripes.withAllStripes(() -> {
+                    closed = true;
+                    return null;
+                });
+                journal.close();
+                directoryLock.release();
+                lockChannel.close();
+            } catch (IOException e) {
+                throw new CustomException(ErrorCode.REPOSITORY_IO_ERROR, formatMessage(REPOSITORY_IO_ERROR_TEMPLATE, e.getMessage()));
+            } finally {
+                delegate.close();
+            }
+        }
+    }
+}
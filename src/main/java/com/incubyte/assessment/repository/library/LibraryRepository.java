@@ -2,10 +2,273 @@ package com.incubyte.assessment.repository.library;
 
 import com.incubyte.assessment.model.Book;
 import com.incubyte.assessment.repository.BaseRepository;
+import com.incubyte.assessment.search.BookSearchIndex;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 
 /**
  * Custom repository interface for managing {@link Book} entities.
  * Extends the generic {@link BaseRepository} interface, providing basic CRUD operations.
  */
 public interface LibraryRepository extends BaseRepository<Book> {
+
+    /**
+     * Order of the books returned by {@link #getByPublicationYearRange(int, int, boolean)}.
+     */
+    Comparator<Book> PUBLICATION_YEAR_ORDER = Comparator.comparingInt(Book::getPublicationYear).thenComparing(Book::getIsbn);
+
+    /**
+     * Adds a book unless a book with the same ISBN is already stored.
+     *
+     * <p>Implementations that can do so perform the check and the insert atomically.
+     * The default implementation is a plain existence check followed by an insert.</p>
+     *
+     * @param book The book to add.
+     * @return True if the book was added, false if its ISBN already exists.
+     */
+    default boolean addIfAbsent(Book book) {
+        if (existsById(book.getIsbn())) {
+            return false;
+        }
+
+        add(book);
+        return true;
+    }
+
+    /**
+     * Adds every book of a batch whose ISBN is not already stored.
+     *
+     * <p>Implementations apply the whole batch under a single lock acquisition, fsync or round trip.
+     * The default implementation calls {@link #addIfAbsent(Book)} for each book.</p>
+     *
+     * @param books The books to add, with distinct ISBNs.
+     * @return The books that were not added because their ISBN already exists.
+     */
+    default List<Book> addAllIfAbsent(Collection<Book> books) {
+        List<Book> rejectedBooks = new ArrayList<>();
+        for (Book book : books) {
+            if (!addIfAbsent(book)) {
+                rejectedBooks.add(book);
+            }
+        }
+        return rejectedBooks;
+    }
+
+    /**
+     * Retrieves all books currently available for borrowing.
+     *
+     * <p>Implementations maintain an availability index updated on every write, so that the cost
+     * is proportional to the number of available books rather than to the catalog size.
+     * The default implementation filters {@link #getAll()}.</p>
+     *
+     * @return A list of the available books.
+     */
+    default List<Book> getAllAvailable() {
+        return getAll().stream()
+                .filter(book -> Boolean.TRUE.equals(book.getIsAvailable()))
+                .toList();
+    }
+
+    /**
+     * Retrieves a page of available books using keyset pagination, in ISBN order like {@link #getPage(String, int)}.
+     *
+     * @param afterIsbn The ISBN of the last book of the previous page, or null for the first page.
+     * @param limit     The maximum number of books to return.
+     * @return The available books whose ISBN follows {@code afterIsbn}.
+     */
+    default List<Book> getAvailablePage(String afterIsbn, int limit) {
+        return pageInIsbnOrder(getAllAvailable(), afterIsbn, limit);
+    }
+
+    /**
+     * Retrieves the books of an author, in ISBN order.
+     *
+     * <p>Implementations maintain an author index updated on every write, so that the cost is proportional
+     * to the number of books of the author. The default implementation filters {@link #getAll()}.</p>
+     *
+     * @param author        The exact author name.
+     * @param availableOnly Whether to only return the books currently available for borrowing.
+     * @return The books of the author.
+     */
+    default List<Book> getByAuthor(String author, boolean availableOnly) {
+        return getAll().stream()
+                .filter(book -> Objects.equals(author, book.getAuthor()) && (!availableOnly || Boolean.TRUE.equals(book.getIsAvailable())))
+                .sorted(Comparator.comparing(Book::getIsbn))
+                .toList();
+    }
+
+    /**
+     * Retrieves the books published within a range of years, in publication year then ISBN order.
+     *
+     * <p>Implementations maintain a sorted publication year index updated on every write, so that the cost
+     * is proportional to the number of books within the range. The default implementation filters {@link #getAll()}.</p>
+     *
+     * @param fromYear      The first publication year of the range, inclusive.
+     * @param toYear        The last publication year of the range, inclusive.
+     * @param availableOnly Whether to only return the books currently available for borrowing.
+     * @return The books published within the range, none if {@code fromYear} is after {@code toYear}.
+     */
+    default List<Book> getByPublicationYearRange(int fromYear, int toYear, boolean availableOnly) {
+        return getAll().stream()
+                .filter(book -> fromYear <= book.getPublicationYear() && book.getPublicationYear() <= toYear)
+                .filter(book -> !availableOnly || Boolean.TRUE.equals(book.getIsAvailable()))
+                .sorted(PUBLICATION_YEAR_ORDER)
+                .toList();
+    }
+
+    /**
+     * Finds the books matching every term of a query, best matches first, as ranked by a {@link BookSearchIndex}.
+     *
+     * <p>{@link SearchIndexedLibraryRepository} maintains an index updated on every write. The default
+     * implementation indexes {@link #getAll()} on every call.</p>
+     *
+     * @param query The search query.
+     * @param limit The maximum number of results.
+     * @return The ISBNs of the best matching books, which may no longer exist or match.
+     */
+    default List<String> search(String query, int limit) {
+        BookSearchIndex searchIndex = new BookSearchIndex();
+        searchIndex.addAll(getAll());
+        return searchIndex.search(query, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Books are paged in ISBN order, the identifier of a book. The default implementation sorts {@link #getAll()} and
+     * should be overridden by repositories that can seek to the cursor directly.</p>
+     */
+    @Override
+    default List<Book> getPage(String afterIsbn, int limit) {
+        return pageInIsbnOrder(getAll(), afterIsbn, limit);
+    }
+
+    private static List<Book> pageInIsbnOrder(List<Book> books, String afterIsbn, int limit) {
+        return books.stream()
+                .filter(book -> afterIsbn == null || book.getIsbn().compareTo(afterIsbn) > 0)
+                .sorted(Comparator.comparing(Book::getIsbn))
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Marks a book as borrowed if it is currently available, as a single conditional update.
+     *
+     * <p>Implementations check and update the book atomically, natively and, for remote storage, in a single
+     * round trip on success. The default implementation relies on {@link #computeIfPresent}.</p>
+     *
+     * @param isbn       The ISBN of the book to borrow.
+     * @param borrowedAt The time of the borrowing.
+     * @return The borrowed book, or a distinct outcome if the book does not exist or is not available.
+     */
+    default AvailabilityUpdate borrowIfAvailable(String isbn, LocalDateTime borrowedAt) {
+        return updateAvailability(isbn, book -> AvailabilityUpdate.ofBorrow(book, borrowedAt));
+    }
+
+    /**
+     * Marks a book as returned if it is currently borrowed, as a single conditional update.
+     *
+     * <p>Implementations check and update the book atomically, natively and, for remote storage, in a single
+     * round trip on success. The default implementation relies on {@link #computeIfPresent}.</p>
+     *
+     * @param isbn       The ISBN of the book to return.
+     * @param returnedAt The time of the return.
+     * @return The returned book, or a distinct outcome if the book does not exist or is not borrowed.
+     */
+    default AvailabilityUpdate returnIfBorrowed(String isbn, LocalDateTime returnedAt) {
+        return updateAvailability(isbn, book -> AvailabilityUpdate.ofReturn(book, returnedAt));
+    }
+
+    /**
+     * Borrows every book of a batch if all of them are available, or none of them.
+     *
+     * <p>Implementations apply the batch atomically, in a single transaction or under a single lock. The default
+     * implementation checks every book, then borrows them one at a time with {@link #borrowIfAvailable} and, should a
+     * concurrent update reject one of them in between, restores the books it already borrowed. Concurrent readers of
+     * the default implementation may therefore briefly observe part of a batch which is then rolled back.</p>
+     *
+     * @param isbns      The distinct ISBNs of the books to borrow.
+     * @param borrowedAt The time of the borrowing.
+     * @return The outcome of every ISBN, in iteration order. If any outcome {@link AvailabilityUpdate#isRejected() is rejected},
+     * no book is borrowed and the updated outcomes hold the books as they would have been borrowed.
+     */
+    default Map<String, AvailabilityUpdate> borrowAllIfAvailable(Collection<String> isbns, LocalDateTime borrowedAt) {
+        return updateAvailabilityOfAll(isbns, book -> AvailabilityUpdate.ofBorrow(book, borrowedAt), isbn -> borrowIfAvailable(isbn, borrowedAt));
+    }
+
+    /**
+     * Returns every borrowed book of a batch if all of them exist, or none of them.
+     *
+     * <p>Books of the batch which are not borrowed are left unchanged without rolling the batch back, as for
+     * {@link #returnIfBorrowed}. Implementations apply the batch atomically, the default implementation
+     * as described for {@link #borrowAllIfAvailable}.</p>
+     *
+     * @param isbns      The distinct ISBNs of the books to return.
+     * @param returnedAt The time of the return.
+     * @return The outcome of every ISBN, in iteration order. If any outcome {@link AvailabilityUpdate#isRejected() is rejected},
+     * no book is returned and the updated outcomes hold the books as they would have been returned.
+     */
+    default Map<String, AvailabilityUpdate> returnAllIfBorrowed(Collection<String> isbns, LocalDateTime returnedAt) {
+        return updateAvailabilityOfAll(isbns, book -> AvailabilityUpdate.ofReturn(book, returnedAt), isbn -> returnIfBorrowed(isbn, returnedAt));
+    }
+
+    private Map<String, AvailabilityUpdate> updateAvailabilityOfAll(Collection<String> isbns, Function<Book, AvailabilityUpdate> transition,
+                                                                  Function<String, AvailabilityUpdate> update) {
+        Map<String, Book> previousBooks = new HashMap<>();
+        Map<String, AvailabilityUpdate> updates = new LinkedHashMap<>();
+        for (String isbn : isbns) {
+            Book book = getById(isbn);
+            previousBooks.put(isbn, book);
+            updates.put(isbn, transition.apply(book));
+        }
+        if (AvailabilityUpdate.anyRejected(updates.values())) {
+            return updates;
+        }
+
+        List<AvailabilityUpdate> appliedUpdates = new ArrayList<>();
+        for (Map.Entry<String, AvailabilityUpdate> entry : updates.entrySet()) {
+            if (!entry.getValue().isUpdated()) {
+                continue;
+            }
+
+            AvailabilityUpdate appliedUpdate = update.apply(entry.getKey());
+            entry.setValue(appliedUpdate);
+            if (appliedUpdate.isRejected()) {
+                //Only the books still as this batch left them are restored, a later update of them is kept
+                for (AvailabilityUpdate applied : appliedUpdates) {
+                    String isbn = applied.book().getIsbn();
+                    computeIfPresent(isbn, book -> hasSameAvailability(book, applied.book()) ? previousBooks.get(isbn) : book);
+                }
+                return updates;
+            }
+            if (appliedUpdate.isUpdated()) {
+                appliedUpdates.add(appliedUpdate);
+            }
+        }
+        return updates;
+    }
+
+    private static boolean hasSameAvailability(Book book, Book otherBook) {
+        return Objects.equals(book.getIsAvailable(), otherBook.getIsAvailable())
+                && Objects.equals(book.getLastBorrowedAt(), otherBook.getLastBorrowedAt())
+                && Objects.equals(book.getLastReturnedAt(), otherBook.getLastReturnedAt());
+    }
+
+    private AvailabilityUpdate updateAvailability(String isbn, Function<Book, AvailabilityUpdate> transition) {
+        AvailabilityUpdate[] update = {AvailabilityUpdate.notFound()};
+        computeIfPresent(isbn, book -> {
+            update[0] = transition.apply(book);
+            return update[0].isUpdated() ? update[0].book() : book;
+        });
+        return update[0];
+    }
 }
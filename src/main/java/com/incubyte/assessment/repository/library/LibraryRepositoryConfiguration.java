@@ -0,0 +1,479 @@
+package com.incubyte.assessment.repository.library;
+
+import com.incubyte.assessment.repository.RepositoryType;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static com.incubyte.assessment.util.AppConstants.*;
+
+/**
+ * Immutable set of tuning options used by the {@link LibraryRepositoryFactory} when it creates repositories.
+ *
+ * <p>Defaults are taken from {@link com.incubyte.assessment.util.AppConstants} and can be overridden with
+ * JVM system properties (for example {@code -Dlibrary.filesystem.directory=/data/library}), or programmatically
+ * through the {@link Builder}.</p>
+ */
+public final class LibraryRepositoryConfiguration {
+
+    private final Path fileSystemDirectory;
+    private final long fileSystemMaxSegmentBytes;
+    private final long fileSystemGroupCommitIntervalMillis;
+    private final boolean fileSystemSyncOnWrite;
+    private final long fileSystemCompactionIntervalMillis;
+    private final double fileSystemCompactionLiveRatioThreshold;
+    private final int fileSystemInitialIndexCapacity;
+    private final String databaseUrl;
+    private final String databaseUsername;
+    private final String databasePassword;
+    private final int databaseMaximumPoolSize;
+    private final int databaseBatchSize;
+    private final int cacheMaximumSize;
+    private final Set<RepositoryType> cachedRepositoryTypes;
+    private final boolean cacheSoftValues;
+    private final Path journalDirectory;
+    private final long journalSnapshotIntervalMillis;
+    private final Set<RepositoryType> journaledRepositoryTypes;
+    private final long writeBehindFlushIntervalMillis;
+    private final int writeBehindMaxPendingUpdates;
+    private final Set<RepositoryType> writeBehindRepositoryTypes;
+    private final int shardCount;
+    private final Set<RepositoryType> shardedRepositoryTypes;
+
+    private LibraryRepositoryConfiguration(Builder builder) {
+        this.fileSystemDirectory = builder.fileSystemDirectory;
+        this.fileSystemMaxSegmentBytes = builder.fileSystemMaxSegmentBytes;
+        this.fileSystemGroupCommitIntervalMillis = builder.fileSystemGroupCommitIntervalMillis;
+        this.fileSystemSyncOnWrite = builder.fileSystemSyncOnWrite;
+        this.fileSystemCompactionIntervalMillis = builder.fileSystemCompactionIntervalMillis;
+        this.fileSystemCompactionLiveRatioThreshold = builder.fileSystemCompactionLiveRatioThreshold;
+        this.fileSystemInitialIndexCapacity = builder.fileSystemInitialIndexCapacity;
+        this.databaseUrl = builder.databaseUrl;
+        this.databaseUsername = builder.databaseUsername;
+        this.databasePassword = builder.databasePassword;
+        this.databaseMaximumPoolSize = builder.databaseMaximumPoolSize;
+        this.databaseBatchSize = builder.databaseBatchSize;
+        this.cacheMaximumSize = builder.cacheMaximumSize;
+        this.cachedRepositoryTypes = Set.copyOf(builder.cachedRepositoryTypes);
+        this.cacheSoftValues = builder.cacheSoftValues;
+        this.journalDirectory = builder.journalDirectory;
+        this.journalSnapshotIntervalMillis = builder.journalSnapshotIntervalMillis;
+        this.journaledRepositoryTypes = Set.copyOf(builder.journaledRepositoryTypes);
+        this.writeBehindFlushIntervalMillis = builder.writeBehindFlushIntervalMillis;
+        this.writeBehindMaxPendingUpdates = builder.writeBehindMaxPendingUpdates;
+        this.writeBehindRepositoryTypes = Set.copyOf(builder.writeBehindRepositoryTypes);
+        this.shardCount = builder.shardCount;
+        this.shardedRepositoryTypes = Set.copyOf(builder.shardedRepositoryTypes);
+    }
+
+    /**
+     * Creates a configuration populated from the application defaults and any matching system properties.
+     *
+     * @return The default configuration.
+     */
+    public static LibraryRepositoryConfiguration defaults() {
+        return builder().build();
+    }
+
+    /**
+     * Creates a builder pre-populated with the application defaults and any matching system properties.
+     *
+     * @return A new builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a builder pre-populated with the values of this configuration.
+     *
+     * @return A new builder.
+     */
+    public Builder toBuilder() {
+        return new Builder()
+                .fileSystemDirectory(fileSystemDirectory)
+                .fileSystemMaxSegmentBytes(fileSystemMaxSegmentBytes)
+                .fileSystemGroupCommitIntervalMillis(fileSystemGroupCommitIntervalMillis)
+                .fileSystemSyncOnWrite(fileSystemSyncOnWrite)
+                .fileSystemCompactionIntervalMillis(fileSystemCompactionIntervalMillis)
+                .fileSystemCompactionLiveRatioThreshold(fileSystemCompactionLiveRatioThreshold)
+                .fileSystemInitialIndexCapacity(fileSystemInitialIndexCapacity)
+                .databaseUrl(databaseUrl)
+                .databaseUsername(databaseUsername)
+                .databasePassword(databasePassword)
+                .databaseMaximumPoolSize(databaseMaximumPoolSize)
+                .databaseBatchSize(databaseBatchSize)
+                .cacheMaximumSize(cacheMaximumSize)
+                .cachedRepositoryTypes(cachedRepositoryTypes)
+                .cacheSoftValues(cacheSoftValues)
+                .journalDirectory(journalDirectory)
+                .journalSnapshotIntervalMillis(journalSnapshotIntervalMillis)
+                .journaledRepositoryTypes(journaledRepositoryTypes)
+                .writeBehindFlushIntervalMillis(writeBehindFlushIntervalMillis)
+                .writeBehindMaxPendingUpdates(writeBehindMaxPendingUpdates)
+                .writeBehindRepositoryTypes(writeBehindRepositoryTypes)
+                .shardCount(shardCount)
+                .shardedRepositoryTypes(shardedRepositoryTypes);
+    }
+
+    // Getters
+    public Path getFileSystemDirectory() {
+        return fileSystemDirectory;
+    }
+
+    public long getFileSystemMaxSegmentBytes() {
+        return fileSystemMaxSegmentBytes;
+    }
+
+    public long getFileSystemGroupCommitIntervalMillis() {
+        return fileSystemGroupCommitIntervalMillis;
+    }
+
+    public boolean isFileSystemSyncOnWrite() {
+        return fileSystemSyncOnWrite;
+    }
+
+    public long getFileSystemCompactionIntervalMillis() {
+        return fileSystemCompactionIntervalMillis;
+    }
+
+    public double getFileSystemCompactionLiveRatioThreshold() {
+        return fileSystemCompactionLiveRatioThreshold;
+    }
+
+    public int getFileSystemInitialIndexCapacity() {
+        return fileSystemInitialIndexCapacity;
+    }
+
+    public String getDatabaseUrl() {
+        return databaseUrl;
+    }
+
+    public String getDatabaseUsername() {
+        return databaseUsername;
+    }
+
+    public String getDatabasePassword() {
+        return databasePassword;
+    }
+
+    public int getDatabaseMaximumPoolSize() {
+        return databaseMaximumPoolSize;
+    }
+
+    public int getDatabaseBatchSize() {
+        return databaseBatchSize;
+    }
+
+    public int getCacheMaximumSize() {
+        return cacheMaximumSize;
+    }
+
+    public Set<RepositoryType> getCachedRepositoryTypes() {
+        return cachedRepositoryTypes;
+    }
+
+    public boolean isCacheSoftValues() {
+        return cacheSoftValues;
+    }
+
+    /**
+     * @param type A repository type.
+     * @return Whether repositories of the type are wrapped in a {@link CachingLibraryRepository}.
+     */
+    public boolean isCached(RepositoryType type) {
+        return cacheMaximumSize > 0 && cachedRepositoryTypes.contains(type);
+    }
+
+    public Path getJournalDirectory() {
+        return journalDirectory;
+    }
+
+    public long getJournalSnapshotIntervalMillis() {
+        return journalSnapshotIntervalMillis;
+    }
+
+    public Set<RepositoryType> getJournaledRepositoryTypes() {
+        return journaledRepositoryTypes;
+    }
+
+    /**
+     * @param type A repository type.
+     * @return Whether repositories of the type are wrapped in a {@link JournaledLibraryRepository}.
+     */
+    public boolean isJournaled(RepositoryType type) {
+        return journaledRepositoryTypes.contains(type);
+    }
+
+    public long getWriteBehindFlushIntervalMillis() {
+        return writeBehindFlushIntervalMillis;
+    }
+
+    public int getWriteBehindMaxPendingUpdates() {
+        return writeBehindMaxPendingUpdates;
+    }
+
+    public Set<RepositoryType> getWriteBehindRepositoryTypes() {
+        return writeBehindRepositoryTypes;
+    }
+
+    /**
+     * @param type A repository type.
+     * @return Whether repositories of the type are wrapped in a {@link WriteBehindLibraryRepository}.
+     */
+    public boolean isWriteBehind(RepositoryType type) {
+        return writeBehindFlushIntervalMillis > 0 && writeBehindRepositoryTypes.contains(type);
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public Set<RepositoryType> getShardedRepositoryTypes() {
+        return shardedRepositoryTypes;
+    }
+
+    /**
+     * @param type A repository type.
+     * @return Whether repositories of the type are partitioned across shards by a {@link ShardedLibraryRepository}.
+     */
+    public boolean isSharded(RepositoryType type) {
+        return shardCount > 1 && shardedRepositoryTypes.contains(type);
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty(name, defaultValue);
+    }
+
+    /**
+     * Builder for {@link LibraryRepositoryConfiguration}.
+     */
+    public static final class Builder {
+
+        private Path fileSystemDirectory = Path.of(property("library.filesystem.directory", DEFAULT_FILESYSTEM_DIRECTORY));
+        private long fileSystemMaxSegmentBytes = Long.parseLong(property("library.filesystem.maxSegmentBytes", String.valueOf(DEFAULT_FILESYSTEM_MAX_SEGMENT_BYTES)));
+        private long fileSystemGroupCommitIntervalMillis = Long.parseLong(property("library.filesystem.groupCommitIntervalMillis", String.valueOf(DEFAULT_FILESYSTEM_GROUP_COMMIT_INTERVAL_MILLIS)));
+        private boolean fileSystemSyncOnWrite = Boolean.parseBoolean(property("library.filesystem.syncOnWrite", "true"));
+        private long fileSystemCompactionIntervalMillis = Long.parseLong(property("library.filesystem.compactionIntervalMillis", String.valueOf(DEFAULT_FILESYSTEM_COMPACTION_INTERVAL_MILLIS)));
+        private double fileSystemCompactionLiveRatioThreshold = Double.parseDouble(property("library.filesystem.compactionLiveRatioThreshold", String.valueOf(DEFAULT_FILESYSTEM_COMPACTION_LIVE_RATIO_THRESHOLD)));
+        private int fileSystemInitialIndexCapacity = Integer.parseInt(property("library.filesystem.initialIndexCapacity", String.valueOf(DEFAULT_FILESYSTEM_INITIAL_INDEX_CAPACITY)));
+        private String databaseUrl = property("library.database.url", DEFAULT_DATABASE_URL);
+        private String databaseUsername = property("library.database.username", DEFAULT_DATABASE_USERNAME);
+        private String databasePassword = property("library.database.password", "");
+        private int databaseMaximumPoolSize = Integer.parseInt(property("library.database.maximumPoolSize", String.valueOf(DEFAULT_DATABASE_MAXIMUM_POOL_SIZE)));
+        private int databaseBatchSize = Integer.parseInt(property("library.database.batchSize", String.valueOf(DEFAULT_DATABASE_BATCH_SIZE)));
+        private int cacheMaximumSize = Integer.parseInt(property("library.cache.maximumSize", String.valueOf(DEFAULT_CACHE_MAXIMUM_SIZE)));
+        private Set<RepositoryType> cachedRepositoryTypes = parseRepositoryTypes(property("library.cache.repositoryTypes", DEFAULT_CACHED_REPOSITORY_TYPES));
+        private boolean cacheSoftValues = Boolean.parseBoolean(property("library.cache.softValues", "false"));
+        private Path journalDirectory = Path.of(property("library.journal.directory", DEFAULT_JOURNAL_DIRECTORY));
+        private long journalSnapshotIntervalMillis = Long.parseLong(property("library.journal.snapshotIntervalMillis", String.valueOf(DEFAULT_JOURNAL_SNAPSHOT_INTERVAL_MILLIS)));
+        private Set<RepositoryType> journaledRepositoryTypes = parseRepositoryTypes(property("library.journal.repositoryTypes", DEFAULT_JOURNALED_REPOSITORY_TYPES));
+        private long writeBehindFlushIntervalMillis = Long.parseLong(property("library.writeBehind.flushIntervalMillis", String.valueOf(DEFAULT_WRITE_BEHIND_FLUSH_INTERVAL_MILLIS)));
+        private int writeBehindMaxPendingUpdates = Integer.parseInt(property("library.writeBehind.maxPendingUpdates", String.valueOf(DEFAULT_WRITE_BEHIND_MAX_PENDING_UPDATES)));
+        private Set<RepositoryType> writeBehindRepositoryTypes = parseRepositoryTypes(property("library.writeBehind.repositoryTypes", DEFAULT_WRITE_BEHIND_REPOSITORY_TYPES));
+        private int shardCount = Integer.parseInt(property("library.shard.count", String.valueOf(DEFAULT_SHARD_COUNT)));
+        private Set<RepositoryType> shardedRepositoryTypes = parseRepositoryTypes(property("library.shard.repositoryTypes", DEFAULT_SHARDED_REPOSITORY_TYPES));
+
+        private Builder() {
+        }
+
+        private static Set<RepositoryType> parseRepositoryTypes(String repositoryTypes) {
+            Set<RepositoryType> types = EnumSet.noneOf(RepositoryType.class);
+            Arrays.stream(repositoryTypes.split(","))
+                    .map(String::trim)
+                    .filter(type -> !type.isEmpty())
+                    .forEach(type -> types.add(RepositoryType.valueOf(type.toUpperCase())));
+            return types;
+        }
+
+        /**
+         * @param fileSystemDirectory Directory holding the segment files and the index of the file system repository.
+         */
+        public Builder fileSystemDirectory(Path fileSystemDirectory) {
+            this.fileSystemDirectory = fileSystemDirectory;
+            return this;
+        }
+
+        /**
+         * @param fileSystemMaxSegmentBytes Size after which the active log segment is sealed and a new one is started.
+         */
+        public Builder fileSystemMaxSegmentBytes(long fileSystemMaxSegmentBytes) {
+            this.fileSystemMaxSegmentBytes = fileSystemMaxSegmentBytes;
+            return this;
+        }
+
+        /**
+         * @param fileSystemGroupCommitIntervalMillis Longest time appended records wait before being fsync'ed together.
+         */
+        public Builder fileSystemGroupCommitIntervalMillis(long fileSystemGroupCommitIntervalMillis) {
+            this.fileSystemGroupCommitIntervalMillis = fileSystemGroupCommitIntervalMillis;
+            return this;
+        }
+
+        /**
+         * @param fileSystemSyncOnWrite Whether writes block until their group commit has reached the disk.
+         */
+        public Builder fileSystemSyncOnWrite(boolean fileSystemSyncOnWrite) {
+            this.fileSystemSyncOnWrite = fileSystemSyncOnWrite;
+            return this;
+        }
+
+        /**
+         * @param fileSystemCompactionIntervalMillis Delay between background compaction runs, zero or less disables them.
+         */
+        public Builder fileSystemCompactionIntervalMillis(long fileSystemCompactionIntervalMillis) {
+            this.fileSystemCompactionIntervalMillis = fileSystemCompactionIntervalMillis;
+            return this;
+        }
+
+        /**
+         * @param fileSystemCompactionLiveRatioThreshold Sealed segments whose live data ratio falls below this value are compacted.
+         */
+        public Builder fileSystemCompactionLiveRatioThreshold(double fileSystemCompactionLiveRatioThreshold) {
+            this.fileSystemCompactionLiveRatioThreshold = fileSystemCompactionLiveRatioThreshold;
+            return this;
+        }
+
+        /**
+         * @param fileSystemInitialIndexCapacity Number of slots of a newly created ISBN index, rounded up to a power of two.
+         */
+        public Builder fileSystemInitialIndexCapacity(int fileSystemInitialIndexCapacity) {
+            this.fileSystemInitialIndexCapacity = fileSystemInitialIndexCapacity;
+            return this;
+        }
+
+        /**
+         * @param databaseUrl JDBC URL of the database repository.
+         */
+        public Builder databaseUrl(String databaseUrl) {
+            this.databaseUrl = databaseUrl;
+            return this;
+        }
+
+        /**
+         * @param databaseUsername User name of the database repository connections.
+         */
+        public Builder databaseUsername(String databaseUsername) {
+            this.databaseUsername = databaseUsername;
+            return this;
+        }
+
+        /**
+         * @param databasePassword Password of the database repository connections.
+         */
+        public Builder databasePassword(String databasePassword) {
+            this.databasePassword = databasePassword;
+            return this;
+        }
+
+        /**
+         * @param databaseMaximumPoolSize Largest number of pooled connections of the database repository.
+         */
+        public Builder databaseMaximumPoolSize(int databaseMaximumPoolSize) {
+            this.databaseMaximumPoolSize = databaseMaximumPoolSize;
+            return this;
+        }
+
+        /**
+         * @param databaseBatchSize Number of rows sent in one JDBC batch by the bulk writes of the database repository.
+         */
+        public Builder databaseBatchSize(int databaseBatchSize) {
+            this.databaseBatchSize = databaseBatchSize;
+            return this;
+        }
+
+        /**
+         * @param cacheMaximumSize Largest number of books cached in front of the cached repository types, zero disables the cache.
+         */
+        public Builder cacheMaximumSize(int cacheMaximumSize) {
+            this.cacheMaximumSize = cacheMaximumSize;
+            return this;
+        }
+
+        /**
+         * @param cachedRepositoryTypes Repository types wrapped in a {@link CachingLibraryRepository} when the cache is enabled.
+         */
+        public Builder cachedRepositoryTypes(Set<RepositoryType> cachedRepositoryTypes) {
+            this.cachedRepositoryTypes = cachedRepositoryTypes;
+            return this;
+        }
+
+        /**
+         * @param cacheSoftValues Whether cached books are softly referenced, the garbage collector reclaiming them under memory pressure.
+         */
+        public Builder cacheSoftValues(boolean cacheSoftValues) {
+            this.cacheSoftValues = cacheSoftValues;
+            return this;
+        }
+
+        /**
+         * @param journalDirectory Directory holding the journal segments and the snapshot of the journaled repository.
+         */
+        public Builder journalDirectory(Path journalDirectory) {
+            this.journalDirectory = journalDirectory;
+            return this;
+        }
+
+        /**
+         * @param journalSnapshotIntervalMillis Delay between snapshots of the journaled repository, zero or less only snapshots on close.
+         */
+        public Builder journalSnapshotIntervalMillis(long journalSnapshotIntervalMillis) {
+            this.journalSnapshotIntervalMillis = journalSnapshotIntervalMillis;
+            return this;
+        }
+
+        /**
+         * @param journaledRepositoryTypes In-memory repository types wrapped in a {@link JournaledLibraryRepository}, none by default.
+         */
+        public Builder journaledRepositoryTypes(Set<RepositoryType> journaledRepositoryTypes) {
+            this.journaledRepositoryTypes = journaledRepositoryTypes;
+            return this;
+        }
+
+        /**
+         * @param writeBehindFlushIntervalMillis Longest time a borrow or return waits before being written to the write-behind repository types, zero disables write-behind.
+         */
+        public Builder writeBehindFlushIntervalMillis(long writeBehindFlushIntervalMillis) {
+            this.writeBehindFlushIntervalMillis = writeBehindFlushIntervalMillis;
+            return this;
+        }
+
+        /**
+         * @param writeBehindMaxPendingUpdates Number of pending books from which an update first flushes synchronously, and fails if the flush does.
+         */
+        public Builder writeBehindMaxPendingUpdates(int writeBehindMaxPendingUpdates) {
+            this.writeBehindMaxPendingUpdates = writeBehindMaxPendingUpdates;
+            return this;
+        }
+
+        /**
+         * @param writeBehindRepositoryTypes Repository types wrapped in a {@link WriteBehindLibraryRepository} when write-behind is enabled.
+         */
+        public Builder writeBehindRepositoryTypes(Set<RepositoryType> writeBehindRepositoryTypes) {
+            this.writeBehindRepositoryTypes = writeBehindRepositoryTypes;
+            return this;
+        }
+
+        /**
+         * @param shardCount Number of shards the sharded repository types are partitioned into, one or less disables sharding.
+         */
+        public Builder shardCount(int shardCount) {
+            this.shardCount = shardCount;
+            return this;
+        }
+
+        /**
+         * @param shardedRepositoryTypes Repository types partitioned by a {@link ShardedLibraryRepository} when sharding is enabled.
+         */
+        public Builder shardedRepositoryTypes(Set<RepositoryType> shardedRepositoryTypes) {
+            this.shardedRepositoryTypes = shardedRepositoryTypes;
+            return this;
+        }
+
+        public LibraryRepositoryConfiguration build() {
+            return new LibraryRepositoryConfiguration(this);
+        }
+    }
+}
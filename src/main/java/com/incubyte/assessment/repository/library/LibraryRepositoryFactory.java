@@ -1,18 +1,33 @@
 package com.incubyte.assessment.repository.library;
 
 import com.incubyte.assessment.exception.CustomException;
+import com.incubyte.assessment.exception.ErrorCode;
 import com.incubyte.assessment.model.Book;
 import com.incubyte.assessment.repository.BaseRepositoryFactory;
 import com.incubyte.assessment.repository.RepositoryType;
 
+import java.util.ArrayList;
 import java.util.EnumMap;
+import java.util.List;
 
 import static com.incubyte.assessment.util.AppConstants.REPOSITORY_TYPE_CANNOT_BE_NULL;
+import static com.incubyte.assessment.util.AppConstants.REPOSITORY_TYPE_CANNOT_BE_NULL_TEMPLATE;
 import static com.incubyte.assessment.util.MessageFormatUtil.formatMessage;
 
 /**
  * Factory class for creating and managing library repository instances.
  * Implements the singleton pattern to ensure a single instance of the factory is used.
+ *
+ * <p>Repositories of the types selected by {@link LibraryRepositoryConfiguration#isSharded(RepositoryType)} are
+ * partitioned across several repositories of the type by a {@link ShardedLibraryRepository}, each shard storing
+ * its files in a {@code shard-<index>} subdirectory, or its database under a {@code -shard-<index>} suffixed name.
+ * Repositories, or shards, of the types selected by {@link LibraryRepositoryConfiguration#isJournaled(RepositoryType)}
+ * are wrapped in a {@link JournaledLibraryRepository}. Repositories of the types selected by
+ * {@link LibraryRepositoryConfiguration#isWriteBehind(RepositoryType)}
+ * are wrapped in a {@link WriteBehindLibraryRepository}, and those selected by
+ * {@link LibraryRepositoryConfiguration#isCached(RepositoryType)} in a {@link CachingLibraryRepository} on top.
+ * Every repository is finally wrapped in a {@link SearchIndexedLibraryRepository}, so that the services and callers
+ * sharing a cached repository share its search index.</p>
  */
 public class LibraryRepositoryFactory implements BaseRepositoryFactory<Book> {
 
@@ -21,6 +36,8 @@ public class LibraryRepositoryFactory implements BaseRepositoryFactory<Book> {
 
     private final EnumMap<RepositoryType, LibraryRepository> cache = new EnumMap<>(RepositoryType.class);
 
+    private LibraryRepositoryConfiguration configuration = LibraryRepositoryConfiguration.defaults();
+
     //Keeping constructor private to avoid class instantiation from outside this class.
     private LibraryRepositoryFactory() {
     }
@@ -44,27 +61,89 @@ public class LibraryRepositoryFactory implements BaseRepositoryFactory<Book> {
     @Override
     public LibraryRepository createRepository(RepositoryType type) {
         if (type == null) {
-            throw new CustomException(formatMessage(REPOSITORY_TYPE_CANNOT_BE_NULL));
+            throw new CustomException(ErrorCode.REPOSITORY_TYPE_CANNOT_BE_NULL, formatMessage(REPOSITORY_TYPE_CANNOT_BE_NULL_TEMPLATE));
         }
 
         if (cache.containsKey(type)) {
             return cache.get(type);
         }
 
+        LibraryRepository repository;
+        if (configuration.isSharded(type)) {
+            List<LibraryRepository> shards = new ArrayList<>(configuration.getShardCount());
+            for (int shardIndex = 0; shardIndex < configuration.getShardCount(); shardIndex++) {
+                shards.add(createStorageRepository(type, shardConfiguration(shardIndex)));
+            }
+            repository = new ShardedLibraryRepository(shards);
+        } else {
+            repository = createStorageRepository(type, configuration);
+        }
+        if (configuration.isWriteBehind(type)) {
+            repository = new WriteBehindLibraryRepository(repository, configuration.getWriteBehindFlushIntervalMillis(),
+                    configuration.getWriteBehindMaxPendingUpdates());
+        }
+        if (configuration.isCached(type)) {
+            repository = new CachingLibraryRepository(repository, configuration.getCacheMaximumSize(), configuration.isCacheSoftValues());
+        }
+        repository = new SearchIndexedLibraryRepository(repository);
+
+        cache.put(type, repository);
+        return repository;
+    }
+
+    private static LibraryRepository createStorageRepository(RepositoryType type, LibraryRepositoryConfiguration configuration) {
         LibraryRepository repository = switch (type) {
             case IN_MEMORY -> new InMemoryLibraryRepository();
-            case DATABASE -> new DatabaseLibraryRepository();
-            case FILESYSTEM -> new FileSystemLibraryRepository();
+            case CONCURRENT_IN_MEMORY -> new ConcurrentInMemoryLibraryRepository();
+            case COMPACT_IN_MEMORY -> new CompactInMemoryLibraryRepository();
+            case DATABASE -> new DatabaseLibraryRepository(configuration);
+            case FILESYSTEM -> new FileSystemLibraryRepository(configuration);
         };
-
-        cache.put(type, repository);
+        if (configuration.isJournaled(type)) {
+            repository = new JournaledLibraryRepository(repository, configuration);
+        }
         return repository;
     }
 
+    //Every shard has its own files and database, named after its index
+    private LibraryRepositoryConfiguration shardConfiguration(int shardIndex) {
+        String shardName = "shard-" + shardIndex;
+        String databaseUrl = configuration.getDatabaseUrl();
+        int optionsStart = databaseUrl.indexOf(';');
+        String shardDatabaseUrl = optionsStart < 0 ? databaseUrl + "-" + shardName
+                : databaseUrl.substring(0, optionsStart) + "-" + shardName + databaseUrl.substring(optionsStart);
+
+        return configuration.toBuilder()
+                .fileSystemDirectory(configuration.getFileSystemDirectory().resolve(shardName))
+                .journalDirectory(configuration.getJournalDirectory().resolve(shardName))
+                .databaseUrl(shardDatabaseUrl)
+                .build();
+    }
+
+    /**
+     * Replaces the configuration used for repositories created from now on.
+     * Cached repositories are closed and evicted, so that the new configuration takes effect.
+     *
+     * @param configuration The repository configuration.
+     */
+    public void configure(LibraryRepositoryConfiguration configuration) {
+        this.configuration = configuration;
+        clearCache();
+    }
+
+    /**
+     * @return The configuration used for newly created repositories.
+     */
+    public LibraryRepositoryConfiguration getConfiguration() {
+        return configuration;
+    }
+
     /**
      * Clears the repository cache for fresh repository instances.
+     * Cached repositories are closed, releasing any file or connection they hold.
      */
     public void clearCache() {
+        cache.values().forEach(LibraryRepository::close);
         cache.clear();
     }
 
@@ -0,0 +1,338 @@
+package com.incubyte.assessment.repository.library;
+
+import com.incubyte.assessment.exception.CustomException;
+import com.incubyte.assessment.exception.ErrorCode;
+import com.incubyte.assessment.model.Book;
+import com.incubyte.assessment.repository.library.migration.MigrationStats;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import static com.incubyte.assessment.util.AppConstants.REPOSITORY_MIGRATION_ALREADY_STARTED;
+import static com.incubyte.assessment.util.AppConstants.REPOSITORY_MIGRATION_ALREADY_STARTED_TEMPLATE;
+import static com.incubyte.assessment.util.AppConstants.REPOSITORY_MIGRATION_INCOMPLETE;
+import static com.incubyte.assessment.util.AppConstants.REPOSITORY_MIGRATION_INCOMPLETE_TEMPLATE;
+import static com.incubyte.assessment.util.AppConstants.REPOSITORY_MIGRATION_TARGET_CONFLICT;
+import static com.incubyte.assessment.util.AppConstants.REPOSITORY_MIGRATION_TARGET_CONFLICT_TEMPLATE;
+import static com.incubyte.assessment.util.MessageFormatUtil.formatMessage;
+
+/**
+ * {@link LibraryRepository} migrating the books of a source repository, its delegate, to a target repository
+ * while serving every operation, such as moving an in-memory library to the file system or database repositories.
+ *
+ * <p>Until the migration cuts over, reads are served by the source, and every mutation is applied to the source
+ * and the books it changes are written to the target as well. {@link #migrate()} copies the source page by page,
+ * so that only one batch of books is held in memory, then cuts over: from then on every operation is served by
+ * the target alone, and the source is left as it was at the cutover.</p>
+ *
+ * <p>As repositories cannot delete books, a target holding books that are not in the source, such as a file
+ * system directory left by another library, is refused before anything is copied. As pages follow ISBN order,
+ * the copy walks every book of the source once, and it is checked against the source before the cutover: the
+ * migration fails rather than cut over to a target missing any book of the source.</p>
+ *
+ * <p>Mutations hold one of a fixed set of lock stripes, and the copy of a batch and the cutover hold all of them,
+ * so that a batch copied from the source can never overwrite a newer write of the same book, and no mutation is
+ * half applied when the operations switch to the target. A book whose write to the target fails is copied again
+ * at the cutover.</p>
+ */
+public class MigratingLibraryRepository extends ForwardingLibraryRepository {
+
+    private final LibraryRepository target;
+    private final int batchSize;
+    private final IsbnLockStripes lockStripes = new IsbnLockStripes();
+    private final Set<String> unsyncedIsbns = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final LongAdder copiedCount = new LongAdder();
+    private final LongAdder dualWrittenCount = new LongAdder();
+    private volatile boolean cutOver;
+
+    /**
+     * @param source    The repository serving the operations until the cutover.
+     * @param target    The repository the books are migrated to, serving the operations after the cutover.
+     * @param batchSize The number of books copied at once, during which the mutations wait.
+     */
+    public MigratingLibraryRepository(LibraryRepository source, LibraryRepository target, int batchSize) {
+        super(source);
+        this.target = target;
+        this.batchSize = batchSize;
+    }
+
+    public LibraryRepository getTarget() {
+        return target;
+    }
+
+    /**
+     * @return Whether the operations are served by the target repository.
+     */
+    public boolean isCutOver() {
+        return cutOver;
+    }
+
+    /**
+     * @return The number of books copied from the source so far.
+     */
+    public long getCopiedCount() {
+        return copiedCount.sum();
+    }
+
+    /**
+     * Copies every book of the source to the target in batches, then cuts over to the target.
+     *
+     * <p>Should the copy or the cutover fail, the source keeps serving the operations and the migration can be
+     * started again.</p>
+     *
+     * @return The statistics of the migration.
+     * @throws CustomException If the migration has already been started, or the source or target fails.
+     */
+    public MigrationStats migrate() {
+        if (!started.compareAndSet(false, true)) {
+            throw new CustomException(ErrorCode.REPOSITORY_MIGRATION_ALREADY_STARTED, formatMessage(REPOSITORY_MIGRATION_ALREADY_STARTED_TEMPLATE));
+        }
+
+        long startNanos = System.nanoTime();
+        try {
+            checkTargetHoldsOnlySourceBooks();
+            copyAll();
+            checkTargetHoldsEverySourceBook();
+            cutOver();
+        } catch (RuntimeException e) {
+            started.set(false);
+            throw e;
+        }
+        return new MigrationStats(copiedCount.sum(), dualWrittenCount.sum(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+
+    private void copyAll() {
+        copiedCount.reset();
+        String afterIsbn = null;
+        List<Book> page;
+        do {
+            String pageAfterIsbn = afterIsbn;
+            //Reading and writing the batch with every mutation waiting, as the target write overwrites the books
+            page = lockStripes.withAllStripes(() -> {
+                List<Book> books = delegate.getPage(pageAfterIsbn, batchSize);
+                if (!books.isEmpty()) {
+                    target.addAll(books);
+                }
+                return books;
+            });
+            copiedCount.add(page.size());
+            afterIsbn = page.isEmpty() ? afterIsbn : page.get(page.size() - 1).getIsbn();
+        } while (page.size() == batchSize);
+    }
+
+    //Books are only written to the target after the source, so a target book missing from the source predates the migration
+    private void checkTargetHoldsOnlySourceBooks() {
+        long conflictingCount = 0;
+        List<Book> page = target.getPage(null, batchSize);
+        while (!page.isEmpty()) {
+            conflictingCount += page.stream().filter(book -> !delegate.existsById(book.getIsbn())).count();
+            page = page.size() < batchSize ? List.of() : target.getPage(page.get(page.size() - 1).getIsbn(), batchSize);
+        }
+
+        if (conflictingCount > 0) {
+            throw new CustomException(ErrorCode.REPOSITORY_MIGRATION_TARGET_CONFLICT, formatMessage(REPOSITORY_MIGRATION_TARGET_CONFLICT_TEMPLATE, conflictingCount));
+        }
+    }
+
+    //Checking each batch with its mutations waiting, as a book is written to the source before the target
+    private void checkTargetHoldsEverySourceBook() {
+        long sourceCount = 0;
+        long missingCount = 0;
+        List<Book> page = delegate.getPage(null, batchSize);
+        while (!page.isEmpty()) {
+            List<String> isbns = isbnsOf(page);
+            sourceCount += isbns.size();
+            missingCount += lockStripes.withStripesOf(isbns, () -> isbns.stream()
+                    .filter(isbn -> !unsyncedIsbns.contains(isbn) && !target.existsById(isbn))
+                    .count());
+            page = page.size() < batchSize ? List.of() : delegate.getPage(page.get(page.size() - 1).getIsbn(), batchSize);
+        }
+
+        if (missingCount > 0) {
+            throw new CustomException(ErrorCode.REPOSITORY_MIGRATION_INCOMPLETE,
+                    formatMessage(REPOSITORY_MIGRATION_INCOMPLETE_TEMPLATE, sourceCount - missingCount, sourceCount));
+        }
+    }
+
+    private void cutOver() {
+        lockStripes.withAllStripes(() -> {
+            for (String isbn : unsyncedIsbns) {
+                Book book = delegate.getById(isbn);
+                if (book != null) {
+                    target.add(book);
+                }
+                unsyncedIsbns.remove(isbn);
+            }
+            cutOver = true;
+            return null;
+        });
+    }
+
+    //Applies the mutation to the source and writes the books it changed to the target, or to the target alone once cut over
+    private <R> R dualWrite(Collection<String> isbns, Function<LibraryRepository, R> mutation, Function<R, Collection<Book>> changedBooksOf) {
+        if (cutOver) {
+            return mutation.apply(target);
+        }
+
+        return lockStripes.withStripesOf(isbns, () -> {
+            if (cutOver) {
+                return mutation.apply(target);
+            }
+
+            R result = mutation.apply(delegate);
+            Collection<Book> changedBooks = changedBooksOf.apply(result);
+            if (!changedBooks.isEmpty()) {
+                try {
+                    target.addAll(changedBooks);
+                    dualWrittenCount.add(changedBooks.size());
+                } catch (CustomException e) {
+                    //The source holds the mutation, the cutover copies the books again
+                    changedBooks.forEach(book -> unsyncedIsbns.add(book.getIsbn()));
+                }
+            }
+            return result;
+        });
+    }
+
+    private LibraryRepository active() {
+        return cutOver ? target : delegate;
+    }
+
+    private static List<String> isbnsOf(Collection<Book> books) {
+        return books.stream().map(Book::getIsbn).toList();
+    }
+
+    private static List<Book> updatedBooksOf(Map<String, AvailabilityUpdate> updates) {
+        if (AvailabilityUpdate.anyRejected(updates.values())) {
+            return List.of();
+        }
+        return updates.values().stream().filter(AvailabilityUpdate::isUpdated).map(AvailabilityUpdate::book).toList();
+    }
+
+    @Override
+    public void add(Book book) {
+        dualWrite(List.of(book.getIsbn()), repository -> {
+            repository.add(book);
+            return null;
+        }, result -> List.of(book));
+    }
+
+    @Override
+    public boolean addIfAbsent(Book book) {
+        return dualWrite(List.of(book.getIsbn()), repository -> repository.addIfAbsent(book), added -> added ? List.of(book) : List.of());
+    }
+
+    @Override
+    public void addAll(Collection<Book> books) {
+        dualWrite(isbnsOf(books), repository -> {
+            repository.addAll(books);
+            return null;
+        }, result -> books);
+    }
+
+    @Override
+    public List<Book> addAllIfAbsent(Collection<Book> books) {
+        return dualWrite(isbnsOf(books), repository -> repository.addAllIfAbsent(books), rejectedBooks -> {
+            Set<String> rejectedIsbns = new HashSet<>(isbnsOf(rejectedBooks));
+            return books.stream().filter(book -> !rejectedIsbns.contains(book.getIsbn())).toList();
+        });
+    }
+
+    @Override
+    public Book computeIfPresent(String id, UnaryOperator<Book> remappingFunction) {
+        return dualWrite(List.of(id), repository -> repository.computeIfPresent(id, remappingFunction), book -> book == null ? List.of() : List.of(book));
+    }
+
+    @Override
+    public AvailabilityUpdate borrowIfAvailable(String isbn, LocalDateTime borrowedAt) {
+        return dualWrite(List.of(isbn), repository -> repository.borrowIfAvailable(isbn, borrowedAt), update -> update.isUpdated() ? List.of(update.book()) : List.of());
+    }
+
+    @Override
+    public AvailabilityUpdate returnIfBorrowed(String isbn, LocalDateTime returnedAt) {
+        return dualWrite(List.of(isbn), repository -> repository.returnIfBorrowed(isbn, returnedAt), update -> update.isUpdated() ? List.of(update.book()) : List.of());
+    }
+
+    @Override
+    public Map<String, AvailabilityUpdate> borrowAllIfAvailable(Collection<String> isbns, LocalDateTime borrowedAt) {
+        return dualWrite(isbns, repository -> repository.borrowAllIfAvailable(isbns, borrowedAt), MigratingLibraryRepository::updatedBooksOf);
+    }
+
+    @Override
+    public Map<String, AvailabilityUpdate> returnAllIfBorrowed(Collection<String> isbns, LocalDateTime returnedAt) {
+        return dualWrite(isbns, repository -> repository.returnAllIfBorrowed(isbns, returnedAt), MigratingLibraryRepository::updatedBooksOf);
+    }
+
+    @Override
+    public Book getById(String id) {
+        return active().getById(id);
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return active().existsById(id);
+    }
+
+    @Override
+    public List<Book> getAll() {
+        return active().getAll();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>A walk spanning the cutover continues in the target from the same ISBN, as both page in ISBN order.</p>
+     */
+    @Override
+    public List<Book> getPage(String afterId, int limit) {
+        return active().getPage(afterId, limit);
+    }
+
+    @Override
+    public List<Book> getAllAvailable() {
+        return active().getAllAvailable();
+    }
+
+    @Override
+    public List<Book> getAvailablePage(String afterIsbn, int limit) {
+        return active().getAvailablePage(afterIsbn, limit);
+    }
+
+    @Override
+    public List<Book> getByAuthor(String author, boolean availableOnly) {
+        return active().getByAuthor(author, availableOnly);
+    }
+
+    @Override
+    public List<Book> getByPublicationYearRange(int fromYear, int toYear, boolean availableOnly) {
+        return active().getByPublicationYearRange(fromYear, toYear, availableOnly);
+    }
+
+    @Override
+    public List<String> search(String query, int limit) {
+        return active().search(query, limit);
+    }
+
+    /**
+     * Closes the source and the target.
+     */
+    @Override
+    public void close() {
+        try {
+            delegate.close();
+        } finally {
+            target.close();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.incubyte.assessment.repository.library;
+
+import com.incubyte.assessment.model.Book;
+import com.incubyte.assessment.search.BookSearchIndex;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import static com.incubyte.assessment.util.AppConstants.DEFAULT_PAGE_SIZE;
+
+/**
+ * Decorator maintaining a {@link BookSearchIndex} over the books of a {@link LibraryRepository}, so that every
+ * book added through it is searchable, whichever service or caller added it.
+ *
+ * <p>The books already stored when the first search runs are indexed then, page by page, and every book added
+ * afterwards through this repository is indexed as it is added. Books added to the delegate directly, bypassing
+ * this repository, are only found if they were stored before the first search; {@link LibraryRepositoryFactory}
+ * therefore wraps every repository it creates in one, so that all the callers of a cached repository share its index.</p>
+ *
+ * <p>As the index only grows, a search may return the ISBN of a book whose details changed since it was
+ * indexed, which callers check against the stored book.</p>
+ */
+public class SearchIndexedLibraryRepository extends ForwardingLibraryRepository {
+
+    private final BookSearchIndex searchIndex = new BookSearchIndex();
+    private volatile boolean searchIndexBuilt;
+
+    public SearchIndexedLibraryRepository(LibraryRepository delegate) {
+        super(delegate);
+    }
+
+    private void ensureSearchIndexBuilt() {
+        if (searchIndexBuilt) {
+            return;
+        }
+
+        //Books stored before the first search are indexed once, page by page
+        synchronized (searchIndex) {
+            if (searchIndexBuilt) {
+                return;
+            }
+
+            List<Book> page = delegate.getPage(null, DEFAULT_PAGE_SIZE);
+            while (!page.isEmpty()) {
+                searchIndex.addAll(page);
+                page = page.size() < DEFAULT_PAGE_SIZE ? List.of() : delegate.getPage(page.get(page.size() - 1).getIsbn(), DEFAULT_PAGE_SIZE);
+            }
+            searchIndexBuilt = true;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The books stored before the first search are indexed by it, the index being kept up to date from then on.</p>
+     */
+    @Override
+    public List<String> search(String query, int limit) {
+        ensureSearchIndexBuilt();
+        return searchIndex.search(query, limit);
+    }
+
+    @Override
+    public void add(Book book) {
+        delegate.add(book);
+        searchIndex.add(book);
+    }
+
+    @Override
+    public void addAll(Collection<Book> books) {
+        delegate.addAll(books);
+        searchIndex.addAll(books);
+    }
+
+    @Override
+    public boolean addIfAbsent(Book book) {
+        boolean added = delegate.addIfAbsent(book);
+        if (added) {
+            searchIndex.add(book);
+        }
+        return added;
+    }
+
+    @Override
+    public List<Book> addAllIfAbsent(Collection<Book> books) {
+        List<Book> rejectedBooks = delegate.addAllIfAbsent(books);
+
+        //Rejected books are not indexed, as the stored book with their ISBN has other details
+        if (rejectedBooks.isEmpty()) {
+            searchIndex.addAll(books);
+        } else {
+            Set<Book> rejectedBookSet = Collections.newSetFromMap(new IdentityHashMap<>());
+            rejectedBookSet.addAll(rejectedBooks);
+            searchIndex.addAll(books.stream().filter(book -> !rejectedBookSet.contains(book)).toList());
+        }
+        return rejectedBooks;
+    }
+}
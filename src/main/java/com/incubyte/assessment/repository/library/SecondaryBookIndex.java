@@ -0,0 +1,108 @@
+package com.incubyte.assessment.repository.library;
+
+import com.incubyte.assessment.model.Book;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Supplier;
+
+/**
+ * Secondary indexes of the ISBNs of the stored books, by author in a hash map and by publication year
+ * in a sorted map, so that author lookups and publication year range queries never scan the catalog.
+ * The ISBNs of each author or year are kept sorted, so that results come out in a stable order.
+ *
+ * <p>Repositories keep the indexes up to date on every write with {@link #update(Book, Book)}.
+ * The concurrent variant can be updated and read by concurrent threads, but its entries may briefly
+ * lag behind the books, which readers must therefore check again.</p>
+ */
+final class SecondaryBookIndex {
+
+    private final Map<String, NavigableSet<String>> isbnsByAuthor;
+    private final NavigableMap<Integer, NavigableSet<String>> isbnsByPublicationYear;
+    private final Supplier<NavigableSet<String>> isbnSetFactory;
+
+    private SecondaryBookIndex(Map<String, NavigableSet<String>> isbnsByAuthor,
+                               NavigableMap<Integer, NavigableSet<String>> isbnsByPublicationYear,
+                               Supplier<NavigableSet<String>> isbnSetFactory) {
+        this.isbnsByAuthor = isbnsByAuthor;
+        this.isbnsByPublicationYear = isbnsByPublicationYear;
+        this.isbnSetFactory = isbnSetFactory;
+    }
+
+    /**
+     * @return Indexes for a repository that is not thread-safe, or that guards them with its own lock.
+     */
+    static SecondaryBookIndex create() {
+        return new SecondaryBookIndex(new HashMap<>(), new TreeMap<>(), TreeSet::new);
+    }
+
+    /**
+     * @return Indexes that can be updated and read by concurrent threads.
+     */
+    static SecondaryBookIndex createConcurrent() {
+        return new SecondaryBookIndex(new ConcurrentHashMap<>(), new ConcurrentSkipListMap<>(), ConcurrentSkipListSet::new);
+    }
+
+    /**
+     * Moves a book to the entries of its current author and publication year.
+     *
+     * @param previousBook The book previously stored under the same ISBN, or null for a new book.
+     * @param book         The book now stored.
+     */
+    void update(Book previousBook, Book book) {
+        String isbn = book.getIsbn();
+        if (previousBook != null && !Objects.equals(previousBook.getAuthor(), book.getAuthor())) {
+            //Computed atomically on the concurrent map, so that an emptied set is never reused by another writer
+            isbnsByAuthor.computeIfPresent(previousBook.getAuthor(), (author, isbns) -> isbns.remove(isbn) && isbns.isEmpty() ? null : isbns);
+        }
+        if (previousBook != null && previousBook.getPublicationYear() != book.getPublicationYear()) {
+            //Emptied years are kept, as there are few of them and a sorted map cannot remove them atomically
+            NavigableSet<String> isbns = isbnsByPublicationYear.get(previousBook.getPublicationYear());
+            if (isbns != null) {
+                isbns.remove(isbn);
+            }
+        }
+
+        if (book.getAuthor() != null) {
+            isbnsByAuthor.compute(book.getAuthor(), (author, isbns) -> {
+                NavigableSet<String> authorIsbns = isbns == null ? isbnSetFactory.get() : isbns;
+                authorIsbns.add(isbn);
+                return authorIsbns;
+            });
+        }
+        isbnsByPublicationYear.computeIfAbsent(book.getPublicationYear(), year -> isbnSetFactory.get()).add(isbn);
+    }
+
+    /**
+     * @param author The author to look up.
+     * @return The ISBNs of the books of the author, in ISBN order.
+     */
+    NavigableSet<String> isbnsOfAuthor(String author) {
+        NavigableSet<String> isbns = author == null ? null : isbnsByAuthor.get(author);
+        return isbns == null ? Collections.emptyNavigableSet() : isbns;
+    }
+
+    /**
+     * @param fromYear The first publication year of the range, inclusive.
+     * @param toYear   The last publication year of the range, inclusive.
+     * @return The ISBNs of the books published within the range, in publication year then ISBN order.
+     */
+    List<String> isbnsPublishedBetween(int fromYear, int toYear) {
+        List<String> isbns = new ArrayList<>();
+        if (fromYear <= toYear) {
+            isbnsByPublicationYear.subMap(fromYear, true, toYear, true).values().forEach(isbns::addAll);
+        }
+        return isbns;
+    }
+}
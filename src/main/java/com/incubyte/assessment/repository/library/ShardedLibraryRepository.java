@@ -0,0 +1,273 @@
+package com.incubyte.assessment.repository.library;
+
+import com.incubyte.assessment.exception.CustomException;
+import com.incubyte.assessment.model.Book;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * {@link LibraryRepository} partitioning the books by ISBN hash across a fixed list of underlying repositories,
+ * so that each shard is a separate contention point and a separate unit of scanning.
+ *
+ * <p>Point operations are routed to the shard of their ISBN. Listings and index queries fan out to every shard
+ * in parallel on a dedicated thread pool and merge the results in the order the query defines, and bulk additions
+ * are split by shard and written in parallel. Pages walk the shards one after the other, each in its own iteration
+ * order, the shard of the cursor ISBN telling where to resume.</p>
+ *
+ * <p>A batch borrow or return falling within a single shard is applied by that shard natively. A batch spanning
+ * several shards has no shared transaction, so it follows the default check-then-apply of {@link LibraryRepository},
+ * restoring the books already updated should a concurrent update reject one of them.</p>
+ *
+ * <p>The shard of a book only depends on its ISBN and the number of shards, so persistent shards must always be
+ * reopened with the same number of shards.</p>
+ */
+public class ShardedLibraryRepository implements LibraryRepository {
+
+    private static final Comparator<Book> ISBN_ORDER = Comparator.comparing(Book::getIsbn);
+
+    private final List<LibraryRepository> shards;
+    private final ExecutorService scanner;
+
+    /**
+     * @param shards The underlying repositories, one per shard, which are closed with this repository.
+     */
+    public ShardedLibraryRepository(List<LibraryRepository> shards) {
+        this.shards = List.copyOf(shards);
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.scanner = Executors.newFixedThreadPool(this.shards.size(), runnable -> {
+            Thread thread = new Thread(runnable, "library-shard-scanner-" + threadCounter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @return The underlying repositories, in shard index order.
+     */
+    public List<LibraryRepository> getShards() {
+        return shards;
+    }
+
+    /**
+     * @return The number of shards.
+     */
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    /**
+     * @param isbn An ISBN.
+     * @return The index of the shard storing the book with the ISBN.
+     */
+    public int shardIndexOf(String isbn) {
+        int hash = isbn.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), shards.size());
+    }
+
+    private LibraryRepository shardOf(String isbn) {
+        return shards.get(shardIndexOf(isbn));
+    }
+
+    //Runs the query on every shard in parallel, the last shard being queried by the calling thread
+    private <R> List<R> fanOut(Function<LibraryRepository, R> query) {
+        return fanOutByIndex(shardIndex -> query.apply(shards.get(shardIndex)));
+    }
+
+    private <R> List<R> fanOutByIndex(IntFunction<R> query) {
+        int lastShardIndex = shards.size() - 1;
+        List<CompletableFuture<R>> futures = new ArrayList<>(lastShardIndex);
+        for (int i = 0; i < lastShardIndex; i++) {
+            int shardIndex = i;
+            futures.add(CompletableFuture.supplyAsync(() -> query.apply(shardIndex), scanner));
+        }
+
+        R lastResult = query.apply(lastShardIndex);
+        List<R> results = new ArrayList<>(shards.size());
+        try {
+            for (CompletableFuture<R> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        results.add(lastResult);
+        return results;
+    }
+
+    //Splits the items by shard and applies the operation to every non-empty partition in parallel
+    private <T, R> List<R> fanOut(Collection<T> items, Function<T, String> isbnOf, Function<LibraryRepository, Function<List<T>, R>> operation) {
+        List<List<T>> partitions = new ArrayList<>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (T item : items) {
+            partitions.get(shardIndexOf(isbnOf.apply(item))).add(item);
+        }
+
+        return fanOutByIndex(shardIndex -> {
+            List<T> partition = partitions.get(shardIndex);
+            return partition.isEmpty() ? null : operation.apply(shards.get(shardIndex)).apply(partition);
+        });
+    }
+
+    private static List<Book> concat(List<List<Book>> shardBooks) {
+        List<Book> books = new ArrayList<>(shardBooks.stream().mapToInt(List::size).sum());
+        shardBooks.forEach(books::addAll);
+        return books;
+    }
+
+    //Each shard returns its books in the given order, so sorting their concatenation merges them
+    private static List<Book> merge(List<List<Book>> shardBooks, Comparator<Book> order) {
+        List<Book> books = concat(shardBooks);
+        books.sort(order);
+        return books;
+    }
+
+    //Every shard pages in ISBN order, so the first books of the merged shard pages form the page of the whole repository
+    private List<Book> readPage(String afterIsbn, int limit, boolean availableOnly) {
+        List<Book> books = merge(fanOut(shard -> availableOnly ? shard.getAvailablePage(afterIsbn, limit) : shard.getPage(afterIsbn, limit)), ISBN_ORDER);
+        return books.size() <= limit ? books : new ArrayList<>(books.subList(0, limit));
+    }
+
+    @Override
+    public void add(Book book) {
+        shardOf(book.getIsbn()).add(book);
+    }
+
+    @Override
+    public boolean addIfAbsent(Book book) {
+        return shardOf(book.getIsbn()).addIfAbsent(book);
+    }
+
+    @Override
+    public void addAll(Collection<Book> books) {
+        fanOut(books, Book::getIsbn, shard -> partition -> {
+            shard.addAll(partition);
+            return null;
+        });
+    }
+
+    @Override
+    public List<Book> addAllIfAbsent(Collection<Book> books) {
+        List<Book> rejectedBooks = new ArrayList<>();
+        for (List<Book> shardRejectedBooks : fanOut(books, Book::getIsbn, shard -> shard::addAllIfAbsent)) {
+            if (shardRejectedBooks != null) {
+                rejectedBooks.addAll(shardRejectedBooks);
+            }
+        }
+        return rejectedBooks;
+    }
+
+    @Override
+    public Book getById(String id) {
+        return shardOf(id).getById(id);
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return shardOf(id).existsById(id);
+    }
+
+    @Override
+    public Book computeIfPresent(String id, UnaryOperator<Book> remappingFunction) {
+        return shardOf(id).computeIfPresent(id, remappingFunction);
+    }
+
+    @Override
+    public AvailabilityUpdate borrowIfAvailable(String isbn, LocalDateTime borrowedAt) {
+        return shardOf(isbn).borrowIfAvailable(isbn, borrowedAt);
+    }
+
+    @Override
+    public AvailabilityUpdate returnIfBorrowed(String isbn, LocalDateTime returnedAt) {
+        return shardOf(isbn).returnIfBorrowed(isbn, returnedAt);
+    }
+
+    @Override
+    public Map<String, AvailabilityUpdate> borrowAllIfAvailable(Collection<String> isbns, LocalDateTime borrowedAt) {
+        LibraryRepository shard = singleShardOf(isbns);
+        return shard != null ? shard.borrowAllIfAvailable(isbns, borrowedAt) : LibraryRepository.super.borrowAllIfAvailable(isbns, borrowedAt);
+    }
+
+    @Override
+    public Map<String, AvailabilityUpdate> returnAllIfBorrowed(Collection<String> isbns, LocalDateTime returnedAt) {
+        LibraryRepository shard = singleShardOf(isbns);
+        return shard != null ? shard.returnAllIfBorrowed(isbns, returnedAt) : LibraryRepository.super.returnAllIfBorrowed(isbns, returnedAt);
+    }
+
+    private LibraryRepository singleShardOf(Collection<String> isbns) {
+        int shardIndex = -1;
+        for (String isbn : isbns) {
+            int isbnShardIndex = shardIndexOf(isbn);
+            if (shardIndex != -1 && shardIndex != isbnShardIndex) {
+                return null;
+            }
+            shardIndex = isbnShardIndex;
+        }
+        return shardIndex == -1 ? null : shards.get(shardIndex);
+    }
+
+    @Override
+    public List<Book> getAll() {
+        return concat(fanOut(LibraryRepository::getAll));
+    }
+
+    @Override
+    public List<Book> getAllAvailable() {
+        return concat(fanOut(LibraryRepository::getAllAvailable));
+    }
+
+    @Override
+    public List<Book> getPage(String afterId, int limit) {
+        return readPage(afterId, limit, false);
+    }
+
+    @Override
+    public List<Book> getAvailablePage(String afterIsbn, int limit) {
+        return readPage(afterIsbn, limit, true);
+    }
+
+    @Override
+    public List<Book> getByAuthor(String author, boolean availableOnly) {
+        return merge(fanOut(shard -> shard.getByAuthor(author, availableOnly)), ISBN_ORDER);
+    }
+
+    @Override
+    public List<Book> getByPublicationYearRange(int fromYear, int toYear, boolean availableOnly) {
+        return merge(fanOut(shard -> shard.getByPublicationYearRange(fromYear, toYear, availableOnly)), PUBLICATION_YEAR_ORDER);
+    }
+
+    /**
+     * Stops the scanning threads and closes every shard.
+     */
+    @Override
+    public void close() {
+        scanner.shutdown();
+
+        CustomException failure = null;
+        for (LibraryRepository shard : shards) {
+            try {
+                shard.close();
+            } catch (CustomException e) {
+                failure = failure == null ? e : failure;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
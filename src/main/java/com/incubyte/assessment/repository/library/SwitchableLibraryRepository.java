@@ -0,0 +1,141 @@
+package com.incubyte.assessment.repository.library;
+
+import com.incubyte.assessment.model.Book;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * {@link LibraryRepository} forwarding every call to a repository which can be replaced at any time, so that
+ * the services built on top of it, with their change feed subscribers and borrow history, outlive a switch of
+ * repository. Searches are answered by the current repository, with the index it maintains.
+ *
+ * <p>Every call is forwarded to the repository current when it starts, and a call in progress during a switch
+ * completes on the repository it started on. Switching neither copies the books nor closes the previous
+ * repository; {@link MigratingLibraryRepository} is used to move the catalog first.</p>
+ */
+public class SwitchableLibraryRepository implements LibraryRepository {
+
+    private volatile LibraryRepository current;
+
+    /**
+     * @param initial The repository serving the calls until the first switch.
+     */
+    public SwitchableLibraryRepository(LibraryRepository initial) {
+        this.current = initial;
+    }
+
+    public LibraryRepository getCurrent() {
+        return current;
+    }
+
+    /**
+     * Forwards the calls starting from now on to another repository.
+     *
+     * @param repository The repository serving the calls from now on.
+     * @return The repository which served the calls until now.
+     */
+    public LibraryRepository switchTo(LibraryRepository repository) {
+        LibraryRepository previous = current;
+        current = repository;
+        return previous;
+    }
+
+    @Override
+    public void add(Book book) {
+        current.add(book);
+    }
+
+    @Override
+    public void addAll(Collection<Book> books) {
+        current.addAll(books);
+    }
+
+    @Override
+    public boolean addIfAbsent(Book book) {
+        return current.addIfAbsent(book);
+    }
+
+    @Override
+    public List<Book> addAllIfAbsent(Collection<Book> books) {
+        return current.addAllIfAbsent(books);
+    }
+
+    @Override
+    public Book getById(String id) {
+        return current.getById(id);
+    }
+
+    @Override
+    public List<Book> getAll() {
+        return current.getAll();
+    }
+
+    @Override
+    public List<Book> getPage(String afterId, int limit) {
+        return current.getPage(afterId, limit);
+    }
+
+    @Override
+    public List<Book> getAllAvailable() {
+        return current.getAllAvailable();
+    }
+
+    @Override
+    public List<Book> getAvailablePage(String afterIsbn, int limit) {
+        return current.getAvailablePage(afterIsbn, limit);
+    }
+
+    @Override
+    public List<Book> getByAuthor(String author, boolean availableOnly) {
+        return current.getByAuthor(author, availableOnly);
+    }
+
+    @Override
+    public List<Book> getByPublicationYearRange(int fromYear, int toYear, boolean availableOnly) {
+        return current.getByPublicationYearRange(fromYear, toYear, availableOnly);
+    }
+
+    @Override
+    public List<String> search(String query, int limit) {
+        return current.search(query, limit);
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return current.existsById(id);
+    }
+
+    @Override
+    public Book computeIfPresent(String id, UnaryOperator<Book> remappingFunction) {
+        return current.computeIfPresent(id, remappingFunction);
+    }
+
+    @Override
+    public AvailabilityUpdate borrowIfAvailable(String isbn, LocalDateTime borrowedAt) {
+        return current.borrowIfAvailable(isbn, borrowedAt);
+    }
+
+    @Override
+    public AvailabilityUpdate returnIfBorrowed(String isbn, LocalDateTime returnedAt) {
+        return current.returnIfBorrowed(isbn, returnedAt);
+    }
+
+    @Override
+    public Map<String, AvailabilityUpdate> borrowAllIfAvailable(Collection<String> isbns, LocalDateTime borrowedAt) {
+        return current.borrowAllIfAvailable(isbns, borrowedAt);
+    }
+
+    @Override
+    public Map<String, AvailabilityUpdate> returnAllIfBorrowed(Collection<String> isbns, LocalDateTime returnedAt) {
+        return current.returnAllIfBorrowed(isbns, returnedAt);
+    }
+
+    @Override
+    public void close() {
+        current.close();
+    }
+}
@@ -0,0 +1,471 @@
+package com.incubyte.assessment.repository.library;
+
+import com.incubyte.assessment.exception.CustomException;
+import com.incubyte.assessment.model.Book;
+import com.incubyte.assessment.util.AppConstants;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Write-behind layer in front of a persistent {@link LibraryRepository}, such as the database or file system
+ * repositories, for the updates of existing books made by borrowing and returning them.
+ *
+ * <p>{@link #computeIfPresent}, {@link #borrowIfAvailable}, {@link #returnIfBorrowed} and their batch counterparts
+ * are acknowledged as soon as the updated book is held in memory. Updates of the same ISBN are coalesced, only the latest one being kept,
+ * and the pending books are written to the delegate in a single {@link LibraryRepository#addAll} batch once per
+ * flush interval. The flush interval is therefore
+ * the durability window: a crash loses at most the updates acknowledged since the last flush.
+ * {@link #close()} flushes every pending update before closing the delegate.</p>
+ *
+ * <p>Lookups by ISBN read the pending books first. Additions are written through, and listing and paging queries
+ * overlay the pending books onto the books read from the delegate, holding off the flushes meanwhile, so that every
+ * acknowledged update is visible to every read without a read ever writing to the delegate. A flush that fails
+ * keeps its books pending, and the next flush retries them; the failures are counted, and the last one kept,
+ * for monitoring. Once the configured number of books is pending, an update of another book first flushes
+ * synchronously and fails if that flush fails, so that a delegate which cannot be written to rejects updates
+ * instead of the pending books growing without bound.</p>
+ *
+ * <p>Updates of the same ISBN are serialized on one of a fixed set of lock stripes, and writes to the delegate
+ * hold the write lock of a read-write lock whose read lock the listing queries hold, so that a flush can never
+ * overwrite a newer write of the same book, nor remove a pending book a query has yet to overlay.</p>
+ */
+public class WriteBehindLibraryRepository extends ForwardingLibraryRepository {
+
+    private static final Comparator<Book> ISBN_ORDER = Comparator.comparing(Book::getIsbn);
+
+    private final ConcurrentHashMap<String, Book> pendingBooks = new ConcurrentHashMap<>();
+    private final IsbnLockStripes lockStripes = new IsbnLockStripes();
+    private final ReentrantReadWriteLock delegateLock = new ReentrantReadWriteLock();
+    private final ScheduledExecutorService flusher;
+    private final long flushIntervalMillis;
+    private final AtomicBoolean flushesScheduled = new AtomicBoolean();
+    private final LongAdder updateCount = new LongAdder();
+    private final LongAdder writtenCount = new LongAdder();
+    private final LongAdder failedFlushCount = new LongAdder();
+    private final int maxPendingUpdates;
+    private volatile CustomException lastFlushFailure;
+    private volatile boolean closed;
+
+    /**
+     * @param delegate            The repository the updates are written to.
+     * @param flushIntervalMillis Longest time an acknowledged update waits before being written to the delegate.
+     */
+    public WriteBehindLibraryRepository(LibraryRepository delegate, long flushIntervalMillis) {
+        this(delegate, flushIntervalMillis, AppConstants.DEFAULT_WRITE_BEHIND_MAX_PENDING_UPDATES);
+    }
+
+    /**
+     * @param delegate            The repository the updates are written to.
+     * @param flushIntervalMillis Longest time an acknowledged update waits before being written to the delegate.
+     * @param maxPendingUpdates   Number of pending books from which an update of another book flushes synchronously first.
+     */
+    public WriteBehindLibraryRepository(LibraryRepository delegate, long flushIntervalMillis, int maxPendingUpdates) {
+        super(delegate);
+        this.maxPendingUpdates = maxPendingUpdates;
+
+        this.flushIntervalMillis = flushIntervalMillis;
+
+        //The flushes are scheduled by the first update, so that no flush runs on a partially constructed repository
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "library-write-behind-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private void ensureFlushesScheduled() {
+        if (flushesScheduled.get() || !flushesScheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            //The repository is being closed, which flushes every pending update
+        }
+    }
+
+    private void putPending(String isbn, Book book) {
+        pendingBooks.put(isbn, book);
+        updateCount.increment();
+        ensureFlushesScheduled();
+    }
+
+    /**
+     * Writes every pending update to the delegate in a single batch.
+     *
+     * @throws CustomException If the delegate fails to write the batch, in which case its books stay pending.
+     */
+    public void flush() {
+        delegateLock.writeLock().lock();
+        try {
+            List<Book> batch = new ArrayList<>(pendingBooks.values());
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            try {
+                delegate.addAll(batch);
+            } catch (CustomException e) {
+                failedFlushCount.increment();
+                lastFlushFailure = e;
+                throw e;
+            }
+            writtenCount.add(batch.size());
+            for (Book book : batch) {
+                //Only the flushed version is removed, an update acknowledged in the meantime stays pending
+                pendingBooks.remove(book.getIsbn(), book);
+            }
+        } finally {
+            delegateLock.writeLock().unlock();
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (CustomException e) {
+            //The books stay pending and are retried by the next flush, the failure having been counted
+        }
+    }
+
+    //Flushing synchronously once the bound is reached, so that the update fails rather than piles up when the delegate does
+    private void ensurePendingCapacity(int addedCount) {
+        if (addedCount > 0 && pendingBooks.size() + addedCount > maxPendingUpdates) {
+            flush();
+        }
+    }
+
+    private int newlyPendingCountOf(String isbn) {
+        return pendingBooks.containsKey(isbn) ? 0 : 1;
+    }
+
+    /**
+     * @return The number of acknowledged updates not yet written to the delegate.
+     */
+    public int getPendingUpdateCount() {
+        return pendingBooks.size();
+    }
+
+    /**
+     * @return The number of updates acknowledged so far, coalesced or not.
+     */
+    public long getUpdateCount() {
+        return updateCount.sum();
+    }
+
+    /**
+     * @return The number of books written to the delegate by the flushes so far.
+     */
+    public long getWrittenCount() {
+        return writtenCount.sum();
+    }
+
+    /**
+     * @return The number of flushes which failed to write their batch to the delegate, periodic or not.
+     */
+    public long getFailedFlushCount() {
+        return failedFlushCount.sum();
+    }
+
+    /**
+     * @return The error of the last flush which failed, or null if none has.
+     */
+    public CustomException getLastFlushFailure() {
+        return lastFlushFailure;
+    }
+
+    @Override
+    public Book computeIfPresent(String id, UnaryOperator<Book> remappingFunction) {
+        return lockStripes.withStripe(id, () -> {
+            Book book = getById(id);
+            if (book == null) {
+                return null;
+            }
+
+            Book updatedBook = remappingFunction.apply(book);
+            if (updatedBook != book) {
+                ensurePendingCapacity(newlyPendingCountOf(id));
+                putPending(id, updatedBook);
+            }
+            return updatedBook;
+        });
+    }
+
+    @Override
+    public AvailabilityUpdate borrowIfAvailable(String isbn, LocalDateTime borrowedAt) {
+        return updateAvailability(isbn, book -> AvailabilityUpdate.ofBorrow(book, borrowedAt));
+    }
+
+    @Override
+    public AvailabilityUpdate returnIfBorrowed(String isbn, LocalDateTime returnedAt) {
+        return updateAvailability(isbn, book -> AvailabilityUpdate.ofReturn(book, returnedAt));
+    }
+
+    private AvailabilityUpdate updateAvailability(String isbn, Function<Book, AvailabilityUpdate> transition) {
+        return lockStripes.withStripe(isbn, () -> {
+            AvailabilityUpdate update = transition.apply(getById(isbn));
+            if (update.isUpdated()) {
+                ensurePendingCapacity(newlyPendingCountOf(isbn));
+                putPending(isbn, update.book());
+            }
+            return update;
+        });
+    }
+
+    @Override
+    public Map<String, AvailabilityUpdate> borrowAllIfAvailable(Collection<String> isbns, LocalDateTime borrowedAt) {
+        return updateAvailabilityOfAll(isbns, book -> AvailabilityUpdate.ofBorrow(book, borrowedAt));
+    }
+
+    @Override
+    public Map<String, AvailabilityUpdate> returnAllIfBorrowed(Collection<String> isbns, LocalDateTime returnedAt) {
+        return updateAvailabilityOfAll(isbns, book -> AvailabilityUpdate.ofReturn(book, returnedAt));
+    }
+
+    private Map<String, AvailabilityUpdate> updateAvailabilityOfAll(Collection<String> isbns, Function<Book, AvailabilityUpdate> transition) {
+        return lockStripes.withStripesOf(isbns, () -> {
+            Map<String, AvailabilityUpdate> updates = new LinkedHashMap<>();
+            for (String isbn : isbns) {
+                updates.put(isbn, transition.apply(getById(isbn)));
+            }
+            if (AvailabilityUpdate.anyRejected(updates.values())) {
+                return updates;
+            }
+
+            int newlyPendingCount = 0;
+            for (Map.Entry<String, AvailabilityUpdate> entry : updates.entrySet()) {
+                if (entry.getValue().isUpdated()) {
+                    newlyPendingCount += newlyPendingCountOf(entry.getKey());
+                }
+            }
+            ensurePendingCapacity(newlyPendingCount);
+
+            updates.forEach((isbn, update) -> {
+                if (update.isUpdated()) {
+                    putPending(isbn, update.book());
+                }
+            });
+            return updates;
+        });
+    }
+
+    @Override
+    public Book getById(String id) {
+        Book book = pendingBooks.get(id);
+        return book != null ? book : delegate.getById(id);
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return pendingBooks.containsKey(id) || delegate.existsById(id);
+    }
+
+    @Override
+    public void add(Book book) {
+        writeThrough(book.getIsbn(), () -> {
+            pendingBooks.remove(book.getIsbn());
+            delegate.add(book);
+            return null;
+        });
+    }
+
+    @Override
+    public boolean addIfAbsent(Book book) {
+        return writeThrough(book.getIsbn(), () -> !pendingBooks.containsKey(book.getIsbn()) && delegate.addIfAbsent(book));
+    }
+
+    @Override
+    public void addAll(Collection<Book> books) {
+        writeThroughAll(() -> {
+            delegate.addAll(books);
+            return null;
+        });
+    }
+
+    @Override
+    public List<Book> addAllIfAbsent(Collection<Book> books) {
+        return writeThroughAll(() -> delegate.addAllIfAbsent(books));
+    }
+
+    //Holding the lock stripe of the book, so that no update of it is pending in between, and the write lock, so that no flush can overwrite the write
+    private <R> R writeThrough(String isbn, Supplier<R> write) {
+        return lockStripes.withStripe(isbn, () -> {
+            delegateLock.writeLock().lock();
+            try {
+                return write.get();
+            } finally {
+                delegateLock.writeLock().unlock();
+            }
+        });
+    }
+
+    //Holding every lock stripe in order, and writing the pending updates first, so that the batch is applied after them
+    private <R> R writeThroughAll(Supplier<R> write) {
+        return lockStripes.withAllStripes(() -> {
+            delegateLock.writeLock().lock();
+            try {
+                flush();
+                return write.get();
+            } finally {
+                delegateLock.writeLock().unlock();
+            }
+        });
+    }
+
+    //Holding the read lock, so that the delegate is not written to, nor any pending book removed, while the books are overlaid
+    private List<Book> readOverlaid(Function<Map<String, Book>, List<Book>> query) {
+        delegateLock.readLock().lock();
+        try {
+            return query.apply(new HashMap<>(pendingBooks));
+        } finally {
+            delegateLock.readLock().unlock();
+        }
+    }
+
+    //Replaces the stored books by their pending version, dropping those no longer matching and adding the pending books now matching
+    private static List<Book> overlay(List<Book> storedBooks, Map<String, Book> pending, Predicate<Book> matches, Comparator<Book> order) {
+        if (pending.isEmpty()) {
+            return storedBooks;
+        }
+
+        List<Book> books = new ArrayList<>(storedBooks.size());
+        Set<String> storedIsbns = new HashSet<>();
+        for (Book book : storedBooks) {
+            storedIsbns.add(book.getIsbn());
+            Book pendingBook = pending.get(book.getIsbn());
+            if (pendingBook == null) {
+                books.add(book);
+            } else if (matches.test(pendingBook)) {
+                books.add(pendingBook);
+            }
+        }
+        for (Book pendingBook : pending.values()) {
+            if (!storedIsbns.contains(pendingBook.getIsbn()) && matches.test(pendingBook)) {
+                books.add(pendingBook);
+            }
+        }
+        if (order != null) {
+            books.sort(order);
+        }
+        return books;
+    }
+
+    //Reads the delegate's pages until they hold enough books without a pending update, then merges in the matching pending books up to the last ISBN read
+    private static List<Book> overlayPage(String afterIsbn, int limit, Map<String, Book> pending, BiFunction<String, Integer, List<Book>> pageReader,
+                                          Predicate<Book> matches) {
+        if (pending.isEmpty()) {
+            return pageReader.apply(afterIsbn, limit);
+        }
+
+        List<Book> books = new ArrayList<>(Math.min(limit, 1024));
+        String pageAfterIsbn = afterIsbn;
+        boolean lastPage = false;
+        while (!lastPage && books.size() < limit) {
+            List<Book> page = pageReader.apply(pageAfterIsbn, limit);
+            for (Book book : page) {
+                if (!pending.containsKey(book.getIsbn())) {
+                    books.add(book);
+                }
+            }
+            lastPage = page.size() < limit;
+            pageAfterIsbn = page.isEmpty() ? pageAfterIsbn : page.get(page.size() - 1).getIsbn();
+        }
+
+        String lastIsbn = lastPage ? null : pageAfterIsbn;
+        for (Book pendingBook : pending.values()) {
+            String isbn = pendingBook.getIsbn();
+            if ((afterIsbn == null || isbn.compareTo(afterIsbn) > 0) && (lastIsbn == null || isbn.compareTo(lastIsbn) <= 0)
+                    && matches.test(pendingBook)) {
+                books.add(pendingBook);
+            }
+        }
+        books.sort(ISBN_ORDER);
+        return books.size() <= limit ? books : new ArrayList<>(books.subList(0, limit));
+    }
+
+    private static boolean isAvailable(Book book) {
+        return Boolean.TRUE.equals(book.getIsAvailable());
+    }
+
+    @Override
+    public List<Book> getAll() {
+        return readOverlaid(pending -> overlay(delegate.getAll(), pending, book -> true, null));
+    }
+
+    @Override
+    public List<Book> getPage(String afterId, int limit) {
+        return readOverlaid(pending -> overlayPage(afterId, limit, pending, delegate::getPage, book -> true));
+    }
+
+    @Override
+    public List<Book> getAllAvailable() {
+        return readOverlaid(pending -> overlay(delegate.getAllAvailable(), pending, WriteBehindLibraryRepository::isAvailable, null));
+    }
+
+    @Override
+    public List<Book> getAvailablePage(String afterIsbn, int limit) {
+        return readOverlaid(pending -> overlayPage(afterIsbn, limit, pending, delegate::getAvailablePage, WriteBehindLibraryRepository::isAvailable));
+    }
+
+    @Override
+    public List<Book> getByAuthor(String author, boolean availableOnly) {
+        return readOverlaid(pending -> overlay(delegate.getByAuthor(author, availableOnly), pending,
+                book -> Objects.equals(author, book.getAuthor()) && (!availableOnly || isAvailable(book)), ISBN_ORDER));
+    }
+
+    @Override
+    public List<Book> getByPublicationYearRange(int fromYear, int toYear, boolean availableOnly) {
+        return readOverlaid(pending -> overlay(delegate.getByPublicationYearRange(fromYear, toYear, availableOnly), pending,
+                book -> fromYear <= book.getPublicationYear() && book.getPublicationYear() <= toYear && (!availableOnly || isAvailable(book)),
+                PUBLICATION_YEAR_ORDER));
+    }
+
+    /**
+     * Stops the periodic flushes, writes every pending update to the delegate and closes it.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        //Not interrupting a flush in progress, as an interrupt could close the delegate's file channels under it
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            flush();
+        } finally {
+            delegate.close();
+        }
+    }
+}
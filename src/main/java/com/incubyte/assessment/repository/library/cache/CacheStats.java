@@ -0,0 +1,18 @@
+package com.incubyte.assessment.repository.library.cache;
+
+/**
+ * Point-in-time statistics of a repository cache.
+ *
+ * @Attributes:
+ * <p>- hitCount: The number of lookups answered from the cache.
+ * <p>- missCount: The number of lookups that had to read the underlying repository.
+ * <p>- evictionCount: The number of entries evicted to make room for more frequently accessed ones.
+ * <p>- size: The number of cached books.
+ */
+public record CacheStats(long hitCount, long missCount, long evictionCount, int size) {
+
+    public double hitRate() {
+        long lookupCount = hitCount + missCount;
+        return lookupCount == 0 ? 0 : (double) hitCount / lookupCount;
+    }
+}
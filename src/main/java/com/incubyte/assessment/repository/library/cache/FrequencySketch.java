@@ -0,0 +1,79 @@
+package com.incubyte.assessment.repository.library.cache;
+
+/**
+ * Count-min sketch estimating how often each key was accessed recently, in a fixed amount of memory.
+ *
+ * <p>Each key increments one saturating counter in each of {@value #DEPTH} rows, and its frequency is
+ * the smallest of its counters, so collisions can only overestimate it. Once the number of increments
+ * reaches ten times the cache size, every counter is halved, so that the sketch forgets old popularity
+ * and follows changes in the access pattern.</p>
+ *
+ * <p>This class is not thread-safe; the cache guards it with its own lock.</p>
+ */
+public final class FrequencySketch {
+
+    private static final int DEPTH = 4;
+    private static final int MAX_FREQUENCY = 15;
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+
+    private final byte[] counters;
+    private final int widthMask;
+    private final int sampleSize;
+    private int incrementCount;
+
+    /**
+     * @param maximumSize The number of entries of the cache the sketch serves.
+     */
+    public FrequencySketch(int maximumSize) {
+        //Twice as many counters per row as cached entries, rounded up to a power of two
+        int counterCount = Math.max(16, Math.min(1 << 24, maximumSize) * 2);
+        int width = Integer.highestOneBit(counterCount - 1) << 1;
+        this.counters = new byte[DEPTH * width];
+        this.widthMask = width - 1;
+        this.sampleSize = 10 * Math.max(1, maximumSize);
+    }
+
+    /**
+     * Records one access to a key.
+     */
+    public void increment(Object key) {
+        int hash = key.hashCode();
+        boolean incremented = false;
+        for (int row = 0; row < DEPTH; row++) {
+            int index = indexOf(hash, row);
+            if (counters[index] < MAX_FREQUENCY) {
+                counters[index]++;
+                incremented = true;
+            }
+        }
+
+        if (incremented && ++incrementCount >= sampleSize) {
+            halve();
+        }
+    }
+
+    /**
+     * @return The estimated number of recent accesses to the key, at most {@value #MAX_FREQUENCY}.
+     */
+    public int frequency(Object key) {
+        int hash = key.hashCode();
+        int frequency = MAX_FREQUENCY;
+        for (int row = 0; row < DEPTH; row++) {
+            frequency = Math.min(frequency, counters[indexOf(hash, row)]);
+        }
+        return frequency;
+    }
+
+    private int indexOf(int hash, int row) {
+        long mixed = (hash + SEEDS[row]) * SEEDS[row];
+        mixed ^= mixed >>> 32;
+        return row * (widthMask + 1) + ((int) mixed & widthMask);
+    }
+
+    private void halve() {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] >>= 1;
+        }
+        incrementCount /= 2;
+    }
+}
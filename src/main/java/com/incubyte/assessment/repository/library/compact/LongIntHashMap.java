@@ -0,0 +1,101 @@
+package com.incubyte.assessment.repository.library.compact;
+
+/**
+ * Open-addressing hash map from {@code long} keys to {@code int} values, without boxing.
+ *
+ * <p>Keys are stored in a single {@code long[]} probed linearly, and zero marks an empty slot,
+ * so zero cannot be used as a key. The table doubles once it is more than half full.</p>
+ */
+public final class LongIntHashMap {
+
+    public static final int NO_VALUE = -1;
+
+    private static final long EMPTY_KEY = 0;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    /**
+     * @param expectedSize The number of entries the map should hold before growing.
+     */
+    public LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(8, expectedSize * 2 - 1)) << 1;
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param key A non-zero key.
+     * @return The value mapped to the key, or {@link #NO_VALUE} if there is none.
+     */
+    public int get(long key) {
+        for (int slot = slotOf(key); ; slot = (slot + 1) & mask) {
+            long storedKey = keys[slot];
+            if (storedKey == key) {
+                return values[slot];
+            }
+            if (storedKey == EMPTY_KEY) {
+                return NO_VALUE;
+            }
+        }
+    }
+
+    /**
+     * Maps a key to a value, replacing any previous value.
+     *
+     * @param key   A non-zero key.
+     * @param value The value.
+     */
+    public void put(long key, int value) {
+        if (key == EMPTY_KEY) {
+            throw new IllegalArgumentException("Zero cannot be used as a key");
+        }
+
+        int slot = slotOf(key);
+        while (keys[slot] != EMPTY_KEY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+
+        if (keys[slot] == EMPTY_KEY) {
+            keys[slot] = key;
+            if (++size * 2 > keys.length) {
+                values[slot] = value;
+                grow();
+                return;
+            }
+        }
+        values[slot] = value;
+    }
+
+    private int slotOf(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        mask = keys.length - 1;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY_KEY) {
+                int slot = slotOf(oldKeys[i]);
+                while (keys[slot] != EMPTY_KEY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.incubyte.assessment.repository.library.compact;
+
+/**
+ * Packs numeric ISBNs, such as ISBN-13 or ISBN-10 with an optional {@code X} check digit, into a single {@code long}.
+ *
+ * <p>Layout of a packed ISBN, from the most significant bit:</p>
+ * <ul>
+ *   <li>bit 63: always zero, so that packed ISBNs are positive.</li>
+ *   <li>bits 58-62: the length of the ISBN, which preserves its leading zeros.</li>
+ *   <li>bit 57: set when the ISBN ends with an {@code X} check digit.</li>
+ *   <li>bits 0-56: the numeric value of the digits.</li>
+ * </ul>
+ *
+ * <p>Every packed ISBN is therefore greater than zero and {@link #NOT_PACKABLE}; ISBNs that do not
+ * fit the layout, such as hyphenated ones, are kept as strings by the callers.</p>
+ */
+public final class PackedIsbn {
+
+    public static final long NOT_PACKABLE = -1;
+
+    private static final int MAX_DIGITS = 17;
+    private static final int LENGTH_SHIFT = 58;
+    private static final long CHECK_DIGIT_X_FLAG = 1L << 57;
+    private static final long VALUE_MASK = CHECK_DIGIT_X_FLAG - 1;
+
+    private PackedIsbn() {
+    }
+
+    /**
+     * @param isbn The ISBN to pack.
+     * @return The packed ISBN, or {@link #NOT_PACKABLE} if it is not made of digits with an optional trailing {@code X}.
+     */
+    public static long pack(String isbn) {
+        if (isbn == null || isbn.isEmpty()) {
+            return NOT_PACKABLE;
+        }
+
+        boolean checkDigitX = isbn.charAt(isbn.length() - 1) == 'X';
+        int digitCount = checkDigitX ? isbn.length() - 1 : isbn.length();
+        if (digitCount == 0 || digitCount > MAX_DIGITS) {
+            return NOT_PACKABLE;
+        }
+
+        long value = 0;
+        for (int i = 0; i < digitCount; i++) {
+            char c = isbn.charAt(i);
+            if (c < '0' || c > '9') {
+                return NOT_PACKABLE;
+            }
+            value = value * 10 + (c - '0');
+        }
+
+        return ((long) isbn.length() << LENGTH_SHIFT) | (checkDigitX ? CHECK_DIGIT_X_FLAG : 0) | value;
+    }
+
+    /**
+     * @param packedIsbn An ISBN packed by {@link #pack(String)}.
+     * @return The original ISBN.
+     */
+    public static String unpack(long packedIsbn) {
+        int length = (int) (packedIsbn >>> LENGTH_SHIFT);
+        boolean checkDigitX = (packedIsbn & CHECK_DIGIT_X_FLAG) != 0;
+
+        char[] chars = new char[length];
+        int position = length;
+        if (checkDigitX) {
+            chars[--position] = 'X';
+        }
+
+        long value = packedIsbn & VALUE_MASK;
+        while (position > 0) {
+            chars[--position] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return new String(chars);
+    }
+}
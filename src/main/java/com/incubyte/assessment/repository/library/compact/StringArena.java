@@ -0,0 +1,101 @@
+package com.incubyte.assessment.repository.library.compact;
+
+import com.incubyte.assessment.exception.CustomException;
+import com.incubyte.assessment.exception.ErrorCode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static com.incubyte.assessment.util.AppConstants.REPOSITORY_STORAGE_CAPACITY_EXCEEDED;
+import static com.incubyte.assessment.util.AppConstants.REPOSITORY_STORAGE_CAPACITY_EXCEEDED_TEMPLATE;
+import static com.incubyte.assessment.util.MessageFormatUtil.formatMessage;
+
+/**
+ * Append-only store of strings packed as UTF-8 bytes into a single growing {@code byte[]}.
+ *
+ * <p>Each string is written as a variable-length byte count followed by its bytes, and is
+ * referred to by the {@code int} offset where it starts. This saves the object header, the
+ * fields and the separate array of a {@link String} per stored value.</p>
+ */
+public final class StringArena {
+
+    public static final int NO_STRING = -1;
+
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private byte[] bytes;
+    private int size;
+
+    /**
+     * @param initialCapacity The initial size in bytes of the arena.
+     */
+    public StringArena(int initialCapacity) {
+        this.bytes = new byte[Math.max(16, initialCapacity)];
+    }
+
+    /**
+     * @return The number of bytes used by the arena.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param value The string to append, may be null.
+     * @return The offset of the appended string, or {@link #NO_STRING} for null.
+     */
+    public int append(String value) {
+        if (value == null) {
+            return NO_STRING;
+        }
+
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        ensureCapacity((long) size + 5 + encoded.length);
+
+        int offset = size;
+        int length = encoded.length;
+        while ((length & ~0x7F) != 0) {
+            bytes[size++] = (byte) ((length & 0x7F) | 0x80);
+            length >>>= 7;
+        }
+        bytes[size++] = (byte) length;
+
+        System.arraycopy(encoded, 0, bytes, size, encoded.length);
+        size += encoded.length;
+        return offset;
+    }
+
+    /**
+     * @param offset An offset returned by {@link #append(String)}.
+     * @return The string stored at the offset, or null for {@link #NO_STRING}.
+     */
+    public String get(int offset) {
+        if (offset == NO_STRING) {
+            return null;
+        }
+
+        int position = offset;
+        int length = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = bytes[position++];
+            length |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+
+        return new String(bytes, position, length, StandardCharsets.UTF_8);
+    }
+
+    private void ensureCapacity(long requiredCapacity) {
+        if (requiredCapacity <= bytes.length) {
+            return;
+        }
+        if (requiredCapacity > MAX_CAPACITY) {
+            throw new CustomException(ErrorCode.REPOSITORY_STORAGE_CAPACITY_EXCEEDED, formatMessage(REPOSITORY_STORAGE_CAPACITY_EXCEEDED_TEMPLATE, MAX_CAPACITY));
+        }
+
+        long newCapacity = Math.max(requiredCapacity, bytes.length + (bytes.length >> 1));
+        bytes = Arrays.copyOf(bytes, (int) Math.min(newCapacity, MAX_CAPACITY));
+    }
+}
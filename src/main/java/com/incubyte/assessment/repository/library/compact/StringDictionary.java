@@ -0,0 +1,62 @@
+package com.incubyte.assessment.repository.library.compact;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary encoding of a low-cardinality string column, such as authors.
+ *
+ * <p>Each distinct string is stored once and identified by a dense {@code int} code, so rows
+ * sharing a value only hold its code.</p>
+ */
+public final class StringDictionary {
+
+    public static final int NO_CODE = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    /**
+     * @return The number of distinct strings of the dictionary.
+     */
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * @param value The string to encode, may be null.
+     * @return The code of the string, added to the dictionary if new, or {@link #NO_CODE} for null.
+     */
+    public int encode(String value) {
+        if (value == null) {
+            return NO_CODE;
+        }
+
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+        return code;
+    }
+
+    /**
+     * @param value The string to look up, may be null.
+     * @return The code of the string, or {@link #NO_CODE} if it is null or not in the dictionary.
+     */
+    public int codeOf(String value) {
+        Integer code = value == null ? null : codes.get(value);
+        return code == null ? NO_CODE : code;
+    }
+
+    /**
+     * @param code A code returned by {@link #encode(String)}.
+     * @return The string of the code, or null for {@link #NO_CODE}.
+     */
+    public String decode(int code) {
+        return code == NO_CODE ? null : values.get(code);
+    }
+}
@@ -0,0 +1,68 @@
+package com.incubyte.assessment.repository.library.filesystem;
+
+import com.incubyte.assessment.model.Book;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Objects;
+
+/**
+ * Decoded form of a record stored in the {@link SegmentedRecordLog}.
+ *
+ * <p>A {@link #TYPE_FULL full} record carries every attribute of a {@link Book}, while a
+ * {@link #TYPE_STATE state} record is a small delta carrying only the mutable availability
+ * attributes. For state records the title and author are null and the publication year is zero.</p>
+ *
+ * <p>Timestamps are stored as UTC epoch milliseconds, {@link #NO_TIMESTAMP} standing for null.</p>
+ */
+public record BookRecord(byte type, String isbn, String title, String author, int publicationYear,
+                         boolean available, long lastBorrowedAt, long lastReturnedAt) {
+
+    public static final byte TYPE_FULL = 1;
+    public static final byte TYPE_STATE = 2;
+    public static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    public static BookRecord full(Book book) {
+        return new BookRecord(TYPE_FULL, book.getIsbn(), book.getTitle(), book.getAuthor(), book.getPublicationYear(),
+                Boolean.TRUE.equals(book.getIsAvailable()), toEpochMillis(book.getLastBorrowedAt()), toEpochMillis(book.getLastReturnedAt()));
+    }
+
+    public static BookRecord state(Book book) {
+        return new BookRecord(TYPE_STATE, book.getIsbn(), null, null, 0,
+                Boolean.TRUE.equals(book.getIsAvailable()), toEpochMillis(book.getLastBorrowedAt()), toEpochMillis(book.getLastReturnedAt()));
+    }
+
+    public boolean isFull() {
+        return type == TYPE_FULL;
+    }
+
+    /**
+     * Materializes a {@link Book} from the immutable attributes of this full record and the given state.
+     */
+    public Book toBook(boolean available, long lastBorrowedAt, long lastReturnedAt) {
+        Book book = new Book(isbn, title, author, publicationYear);
+        book.setIsAvailable(available);
+        book.setLastBorrowedAt(fromEpochMillis(lastBorrowedAt));
+        book.setLastReturnedAt(fromEpochMillis(lastReturnedAt));
+        return book;
+    }
+
+    /**
+     * Checks whether the immutable attributes of this full record match the given book.
+     */
+    public boolean hasSameDetails(Book book) {
+        return Objects.equals(isbn, book.getIsbn())
+                && Objects.equals(title, book.getTitle())
+                && Objects.equals(author, book.getAuthor())
+                && publicationYear == book.getPublicationYear();
+    }
+
+    public static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime == null ? NO_TIMESTAMP : dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    public static LocalDateTime fromEpochMillis(long epochMillis) {
+        return epochMillis == NO_TIMESTAMP ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+}
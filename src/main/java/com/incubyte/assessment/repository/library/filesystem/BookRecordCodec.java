@@ -0,0 +1,150 @@
+package com.incubyte.assessment.repository.library.filesystem;
+
+import com.incubyte.assessment.exception.CustomException;
+import com.incubyte.assessment.exception.ErrorCode;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+import static com.incubyte.assessment.util.AppConstants.REPOSITORY_FIELD_TOO_LONG;
+import static com.incubyte.assessment.util.AppConstants.REPOSITORY_FIELD_TOO_LONG_TEMPLATE;
+import static com.incubyte.assessment.util.MessageFormatUtil.formatMessage;
+
+/**
+ * Binary codec for {@link BookRecord}s stored in the {@link SegmentedRecordLog}.
+ *
+ * <p>Every record is framed as {@code [int payloadLength][int crc32c][byte type][payload]} so that
+ * a torn write at the tail of a segment can be detected on recovery. Strings are stored as UTF-8
+ * prefixed by a signed short length, {@code -1} standing for null.</p>
+ */
+public final class BookRecordCodec {
+
+    public static final int HEADER_BYTES = Integer.BYTES + Integer.BYTES + Byte.BYTES;
+
+    private static final int STATE_BYTES = Byte.BYTES + Long.BYTES + Long.BYTES;
+
+    private BookRecordCodec() {
+    }
+
+    public static ByteBuffer encode(BookRecord record) {
+        byte[] isbn = bytesOf(record.isbn());
+        byte[] title = record.isFull() ? bytesOf(record.title()) : null;
+        byte[] author = record.isFull() ? bytesOf(record.author()) : null;
+
+        int payloadLength = stringBytes(isbn) + STATE_BYTES;
+        if (record.isFull()) {
+            payloadLength += stringBytes(title) + stringBytes(author) + Integer.BYTES;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + payloadLength);
+        buffer.putInt(payloadLength);
+        buffer.putInt(0);
+        buffer.put(record.type());
+        putString(buffer, isbn);
+        if (record.isFull()) {
+            putString(buffer, title);
+            putString(buffer, author);
+            buffer.putInt(record.publicationYear());
+        }
+        buffer.put((byte) (record.available() ? 1 : 0));
+        buffer.putLong(record.lastBorrowedAt());
+        buffer.putLong(record.lastReturnedAt());
+
+        buffer.putInt(Integer.BYTES, checksum(buffer.array(), Integer.BYTES + Integer.BYTES, payloadLength + Byte.BYTES));
+        return buffer.flip();
+    }
+
+    /**
+     * Reads the payload length from a record header.
+     *
+     * @return The total length of the record, or -1 if the header cannot describe a valid record.
+     */
+    public static int recordLength(ByteBuffer header) {
+        int payloadLength = header.getInt(header.position());
+        return payloadLength <= 0 ? -1 : HEADER_BYTES + payloadLength;
+    }
+
+    /**
+     * Decodes a complete record.
+     *
+     * @param buffer A buffer positioned at the start of the record and containing all of it.
+     * @return The decoded record, or null if the record is torn or corrupted.
+     */
+    public static BookRecord decode(ByteBuffer buffer) {
+        int start = buffer.position();
+        if (buffer.remaining() < HEADER_BYTES) {
+            return null;
+        }
+
+        int payloadLength = buffer.getInt(start);
+        if (payloadLength <= 0 || buffer.remaining() < HEADER_BYTES + payloadLength) {
+            return null;
+        }
+
+        int crc = buffer.getInt(start + Integer.BYTES);
+        CRC32C crc32c = new CRC32C();
+        crc32c.update(buffer.slice(start + Integer.BYTES + Integer.BYTES, payloadLength + Byte.BYTES));
+        if ((int) crc32c.getValue() != crc) {
+            return null;
+        }
+
+        ByteBuffer payload = buffer.slice(start + Integer.BYTES + Integer.BYTES, payloadLength + Byte.BYTES);
+        byte type = payload.get();
+        String isbn = getString(payload);
+        String title = null;
+        String author = null;
+        int publicationYear = 0;
+        if (type == BookRecord.TYPE_FULL) {
+            title = getString(payload);
+            author = getString(payload);
+            publicationYear = payload.getInt();
+        }
+        boolean available = payload.get() == 1;
+        long lastBorrowedAt = payload.getLong();
+        long lastReturnedAt = payload.getLong();
+
+        return new BookRecord(type, isbn, title, author, publicationYear, available, lastBorrowedAt, lastReturnedAt);
+    }
+
+    private static int checksum(byte[] bytes, int offset, int length) {
+        CRC32C crc32c = new CRC32C();
+        crc32c.update(bytes, offset, length);
+        return (int) crc32c.getValue();
+    }
+
+    private static byte[] bytesOf(String value) {
+        if (value == null) {
+            return null;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new CustomException(ErrorCode.REPOSITORY_FIELD_TOO_LONG, formatMessage(REPOSITORY_FIELD_TOO_LONG_TEMPLATE, value.substring(0, 32) + "..."));
+        }
+        return bytes;
+    }
+
+    private static int stringBytes(byte[] bytes) {
+        return Short.BYTES + (bytes == null ? 0 : bytes.length);
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putShort((short) -1);
+            return;
+        }
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        short length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,12 @@
+package com.incubyte.assessment.repository.library.filesystem;
+
+/**
+ * Location of a single record inside the {@link SegmentedRecordLog}.
+ *
+ * @param segmentId The identifier of the segment holding the record.
+ * @param offset    The byte offset of the record inside the segment.
+ * @param length    The total length of the record in bytes, header included.
+ * @param sequence  The append sequence number, used to track group commit durability.
+ */
+public record LogPosition(int segmentId, long offset, int length, long sequence) {
+}
@@ -0,0 +1,335 @@
+package com.incubyte.assessment.repository.library.filesystem;
+
+import com.incubyte.assessment.exception.CustomException;
+import com.incubyte.assessment.exception.ErrorCode;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import static com.incubyte.assessment.util.AppConstants.REPOSITORY_INDEX_CAPACITY_EXCEEDED;
+import static com.incubyte.assessment.util.AppConstants.REPOSITORY_INDEX_CAPACITY_EXCEEDED_TEMPLATE;
+import static com.incubyte.assessment.util.AppConstants.REPOSITORY_IO_ERROR;
+import static com.incubyte.assessment.util.AppConstants.REPOSITORY_IO_ERROR_TEMPLATE;
+import static com.incubyte.assessment.util.MessageFormatUtil.formatMessage;
+
+/**
+ * Memory-mapped, open-addressing hash table mapping an ISBN to the location of its latest full
+ * record in the {@link SegmentedRecordLog}, together with the current availability state.
+ *
+ * <p>Keeping the mutable state in the index means a lookup costs one probe of the mapped table
+ * plus one positional read of the full record, and applying a borrow or return never has to
+ * read the log. Reopening the repository only maps this file; nothing is parsed.</p>
+ *
+ * <p>Slots store a 64-bit hash of the ISBN rather than the ISBN itself, so callers confirm a
+ * candidate slot by comparing the ISBN of the record it points to. Slots are never removed,
+ * which keeps linear probing free of tombstones.</p>
+ *
+ * <p>Slot layout (48 bytes): {@code long hash, int segmentId, int recordLength, long recordOffset,
+ * long lastBorrowedAt, long lastReturnedAt, byte available}. A segment id of zero marks an empty slot.</p>
+ *
+ * <p>This class is not thread-safe; the owning repository serializes writers and excludes them from readers.</p>
+ */
+public final class MappedIsbnIndex implements AutoCloseable {
+
+    private static final int MAGIC = 0x4C49424B;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final int SLOT_BYTES = 48;
+    private static final double MAX_LOAD_FACTOR = 0.7;
+    private static final int MAX_CAPACITY = Integer.highestOneBit((Integer.MAX_VALUE - HEADER_BYTES) / SLOT_BYTES);
+
+    private static final int HEADER_MAGIC = 0;
+    private static final int HEADER_VERSION = 4;
+    private static final int HEADER_CAPACITY = 8;
+    private static final int HEADER_SIZE = 12;
+    private static final int HEADER_CLEAN_SHUTDOWN = 16;
+    private static final int HEADER_CHECKPOINT_SEGMENT = 20;
+    private static final int HEADER_CHECKPOINT_OFFSET = 24;
+
+    private static final int SLOT_HASH = 0;
+    private static final int SLOT_SEGMENT = 8;
+    private static final int SLOT_LENGTH = 12;
+    private static final int SLOT_OFFSET = 16;
+    private static final int SLOT_LAST_BORROWED = 24;
+    private static final int SLOT_LAST_RETURNED = 32;
+    private static final int SLOT_AVAILABLE = 40;
+
+    private final Path path;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int capacity;
+    private int mask;
+    private int size;
+
+    private MappedIsbnIndex(Path path, FileChannel channel, MappedByteBuffer buffer) {
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = buffer.getInt(HEADER_CAPACITY);
+        this.mask = capacity - 1;
+        this.size = buffer.getInt(HEADER_SIZE);
+    }
+
+    /**
+     * Maps an existing index file.
+     *
+     * @param path The index file.
+     * @return The mapped index, or null if the file is missing or was not written by this class.
+     */
+    public static MappedIsbnIndex openExisting(Path path) {
+        if (!Files.exists(path)) {
+            return null;
+        }
+
+        try {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long fileSize = channel.size();
+            if (fileSize < HEADER_BYTES) {
+                channel.close();
+                return null;
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+            int capacity = buffer.getInt(HEADER_CAPACITY);
+            boolean valid = buffer.getInt(HEADER_MAGIC) == MAGIC
+                    && buffer.getInt(HEADER_VERSION) == VERSION
+                    && Integer.bitCount(capacity) == 1
+                    && fileSize == fileSizeFor(capacity);
+            if (!valid) {
+                channel.close();
+                return null;
+            }
+            return new MappedIsbnIndex(path, channel, buffer);
+        } catch (IOException e) {
+            throw new CustomException(ErrorCode.REPOSITORY_IO_ERROR, formatMessage(REPOSITORY_IO_ERROR_TEMPLATE, e.getMessage()));
+        }
+    }
+
+    /**
+     * Creates a new empty index, replacing any existing file.
+     *
+     * @param path     The index file.
+     * @param capacity The requested number of slots, rounded up to a power of two.
+     * @return The mapped index.
+     */
+    public static MappedIsbnIndex create(Path path, int capacity) {
+        int slots = Math.min(MAX_CAPACITY, Integer.highestOneBit(Math.max(16, capacity - 1) << 1));
+        try {
+            Files.deleteIfExists(path);
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSizeFor(slots));
+            buffer.putInt(HEADER_MAGIC, MAGIC);
+            buffer.putInt(HEADER_VERSION, VERSION);
+            buffer.putInt(HEADER_CAPACITY, slots);
+            buffer.putInt(HEADER_SIZE, 0);
+            buffer.put(HEADER_CLEAN_SHUTDOWN, (byte) 0);
+            return new MappedIsbnIndex(path, channel, buffer);
+        } catch (IOException e) {
+            throw new CustomException(ErrorCode.REPOSITORY_IO_ERROR, formatMessage(REPOSITORY_IO_ERROR_TEMPLATE, e.getMessage()));
+        }
+    }
+
+    private static long fileSizeFor(int capacity) {
+        return HEADER_BYTES + (long) capacity * SLOT_BYTES;
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the UTF-8 bytes of an ISBN, never zero.
+     */
+    public static long hash(String isbn) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : isbn.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash == 0 ? 1 : hash;
+    }
+
+    /**
+     * Returns the first occupied slot, at or after {@code fromSlot} in the probe sequence of
+     * {@code hash}, whose stored hash matches.
+     *
+     * @param hash     The hash of the ISBN.
+     * @param fromSlot The slot to start probing from, or -1 to start at the home slot.
+     * @return A candidate slot, or -1 once an empty slot ends the probe sequence.
+     */
+    public int findCandidate(long hash, int fromSlot) {
+        int slot = fromSlot < 0 ? homeSlot(hash) : (fromSlot + 1) & mask;
+        while (isOccupied(slot)) {
+            if (buffer.getLong(slotOffset(slot) + SLOT_HASH) == hash) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Claims the first empty slot of the probe sequence of {@code hash}. The caller must have
+     * checked that no existing slot holds the same ISBN.
+     *
+     * @return The claimed slot, already initialized with the given values.
+     */
+    public int insert(long hash, LogPosition position, boolean available, long lastBorrowedAt, long lastReturnedAt) {
+        if (size + 1 > capacity * MAX_LOAD_FACTOR) {
+            grow();
+        }
+
+        int slot = homeSlot(hash);
+        while (isOccupied(slot)) {
+            slot = (slot + 1) & mask;
+        }
+
+        buffer.putLong(slotOffset(slot) + SLOT_HASH, hash);
+        updateLocation(slot, position);
+        updateState(slot, available, lastBorrowedAt, lastReturnedAt);
+        size++;
+        buffer.putInt(HEADER_SIZE, size);
+        return slot;
+    }
+
+    public void updateLocation(int slot, LogPosition position) {
+        int base = slotOffset(slot);
+        buffer.putInt(base + SLOT_LENGTH, position.length());
+        buffer.putLong(base + SLOT_OFFSET, position.offset());
+        buffer.putInt(base + SLOT_SEGMENT, position.segmentId());
+    }
+
+    public void updateState(int slot, boolean available, long lastBorrowedAt, long lastReturnedAt) {
+        int base = slotOffset(slot);
+        buffer.putLong(base + SLOT_LAST_BORROWED, lastBorrowedAt);
+        buffer.putLong(base + SLOT_LAST_RETURNED, lastReturnedAt);
+        buffer.put(base + SLOT_AVAILABLE, (byte) (available ? 1 : 0));
+    }
+
+    // Slot accessors
+    public boolean isOccupied(int slot) {
+        return buffer.getInt(slotOffset(slot) + SLOT_SEGMENT) != 0;
+    }
+
+    public int segmentId(int slot) {
+        return buffer.getInt(slotOffset(slot) + SLOT_SEGMENT);
+    }
+
+    public long recordOffset(int slot) {
+        return buffer.getLong(slotOffset(slot) + SLOT_OFFSET);
+    }
+
+    public int recordLength(int slot) {
+        return buffer.getInt(slotOffset(slot) + SLOT_LENGTH);
+    }
+
+    public boolean isAvailable(int slot) {
+        return buffer.get(slotOffset(slot) + SLOT_AVAILABLE) == 1;
+    }
+
+    public long lastBorrowedAt(int slot) {
+        return buffer.getLong(slotOffset(slot) + SLOT_LAST_BORROWED);
+    }
+
+    public long lastReturnedAt(int slot) {
+        return buffer.getLong(slotOffset(slot) + SLOT_LAST_RETURNED);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Durability header
+    public boolean wasCleanlyClosed() {
+        return buffer.get(HEADER_CLEAN_SHUTDOWN) == 1;
+    }
+
+    public int checkpointSegmentId() {
+        return buffer.getInt(HEADER_CHECKPOINT_SEGMENT);
+    }
+
+    public long checkpointOffset() {
+        return buffer.getLong(HEADER_CHECKPOINT_OFFSET);
+    }
+
+    /**
+     * Marks the index as in use, so that a crash before the next {@link #markClean} forces a rebuild.
+     */
+    public void markDirty() {
+        buffer.put(HEADER_CLEAN_SHUTDOWN, (byte) 0);
+        buffer.force();
+    }
+
+    /**
+     * Flushes the mapped table and records that it reflects the log up to the given position.
+     */
+    public void markClean(int checkpointSegmentId, long checkpointOffset) {
+        buffer.putInt(HEADER_CHECKPOINT_SEGMENT, checkpointSegmentId);
+        buffer.putLong(HEADER_CHECKPOINT_OFFSET, checkpointOffset);
+        buffer.force();
+        buffer.put(HEADER_CLEAN_SHUTDOWN, (byte) 1);
+        buffer.force();
+    }
+
+    private void grow() {
+        if (capacity >= MAX_CAPACITY) {
+            throw new CustomException(ErrorCode.REPOSITORY_INDEX_CAPACITY_EXCEEDED, formatMessage(REPOSITORY_INDEX_CAPACITY_EXCEEDED_TEMPLATE, (int) (MAX_CAPACITY * MAX_LOAD_FACTOR)));
+        }
+
+        Path resizedPath = path.resolveSibling(path.getFileName() + ".resize");
+        MappedIsbnIndex resized = create(resizedPath, capacity << 1);
+        for (int slot = 0; slot < capacity; slot++) {
+            if (isOccupied(slot)) {
+                resized.copySlot(this, slot);
+            }
+        }
+        resized.buffer.force();
+
+        try {
+            channel.close();
+            resized.channel.close();
+            Files.move(resizedPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        } catch (IOException e) {
+            throw new CustomException(ErrorCode.REPOSITORY_IO_ERROR, formatMessage(REPOSITORY_IO_ERROR_TEMPLATE, e.getMessage()));
+        }
+        capacity = resized.capacity;
+        mask = capacity - 1;
+    }
+
+    private void copySlot(MappedIsbnIndex source, int sourceSlot) {
+        long hash = source.buffer.getLong(slotOffset(sourceSlot) + SLOT_HASH);
+        int slot = homeSlot(hash);
+        while (isOccupied(slot)) {
+            slot = (slot + 1) & mask;
+        }
+        buffer.put(slotOffset(slot), source.buffer, slotOffset(sourceSlot), SLOT_BYTES);
+        size++;
+        buffer.putInt(HEADER_SIZE, size);
+    }
+
+    private int homeSlot(long hash) {
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static int slotOffset(int slot) {
+        return HEADER_BYTES + slot * SLOT_BYTES;
+    }
+
+    @Override
+    public void close() {
+        try {
+            buffer.force();
+            channel.close();
+        } catch (IOException e) {
+            throw new CustomException(ErrorCode.REPOSITORY_IO_ERROR, formatMessage(REPOSITORY_IO_ERROR_TEMPLATE, e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,434 @@
+package com.incubyte.assessment.repository.library.filesystem;
+
+import com.incubyte.assessment.exception.CustomException;
+import com.incubyte.assessment.exception.ErrorCode;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import static com.incubyte.assessment.util.AppConstants.REPOSITORY_IO_ERROR;
+import static com.incubyte.assessment.util.AppConstants.REPOSITORY_IO_ERROR_TEMPLATE;
+import static com.incubyte.assessment.util.MessageFormatUtil.formatMessage;
+
+/**
+ * Append-only log of {@link BookRecord}s split into numbered segment files.
+ *
+ * <p>Records are only ever appended to the active segment. Once the active segment grows past
+ * the configured size it is fsync'ed, sealed and a new segment is started; sealed segments are
+ * immutable and can only be deleted as a whole by compaction.</p>
+ *
+ * <p>Durability uses group commit: a dedicated flusher thread fsyncs the active segment either
+ * when a writer waits for durability or when the group commit interval elapses, so every writer
+ * whose record was appended before the fsync started is acknowledged by that single fsync.</p>
+ *
+ * <p>Appends are serialized by this class; reads are positional and can run concurrently with appends.</p>
+ */
+public final class SegmentedRecordLog implements AutoCloseable {
+
+    private static final String SEGMENT_FILE_PREFIX = "segment-";
+    private static final String SEGMENT_FILE_SUFFIX = ".log";
+
+    private final Path directory;
+    private final long maxSegmentBytes;
+    private final long groupCommitIntervalMillis;
+    private final ConcurrentSkipListMap<Integer, Segment> segments = new ConcurrentSkipListMap<>();
+
+    //Guarded by 'this'
+    private Segment activeSegment;
+    private long appendSequence;
+
+    private final ReentrantLock commitLock = new ReentrantLock();
+    private final Condition commitRequested = commitLock.newCondition();
+    private final Condition commitCompleted = commitLock.newCondition();
+    private long durableSequence;
+    private int commitWaiters;
+    private IOException commitFailure;
+
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    /**
+     * Visitor notified of every valid record found while scanning the log.
+     */
+    @FunctionalInterface
+    public interface RecordVisitor {
+        void visit(BookRecord record, LogPosition position);
+    }
+
+    private static final class Segment {
+        private final int id;
+        private final Path path;
+        private final FileChannel channel;
+        private volatile long size;
+
+        private Segment(int id, Path path) throws IOException {
+            this.id = id;
+            this.path = path;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.size = channel.size();
+        }
+    }
+
+    private SegmentedRecordLog(Path directory, long maxSegmentBytes, long groupCommitIntervalMillis) throws IOException {
+        this.directory = directory;
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.groupCommitIntervalMillis = Math.max(1, groupCommitIntervalMillis);
+
+        for (Integer segmentId : existingSegmentIds(directory)) {
+            segments.put(segmentId, new Segment(segmentId, segmentPath(segmentId)));
+        }
+        if (segments.isEmpty()) {
+            segments.put(1, new Segment(1, segmentPath(1)));
+        }
+        this.activeSegment = segments.lastEntry().getValue();
+
+        this.flusher = new Thread(this::runFlusher, "library-log-flusher-" + directory.getFileName());
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Opens, or creates, the segmented log stored in the given directory.
+     *
+     * @param directory                 The directory containing the segment files.
+     * @param maxSegmentBytes           The size after which the active segment is sealed.
+     * @param groupCommitIntervalMillis The longest time an appended record waits before being fsync'ed.
+     * @return The opened log.
+     */
+    public static SegmentedRecordLog open(Path directory, long maxSegmentBytes, long groupCommitIntervalMillis) {
+        try {
+            Files.createDirectories(directory);
+            return new SegmentedRecordLog(directory, maxSegmentBytes, groupCommitIntervalMillis);
+        } catch (IOException e) {
+            throw new CustomException(ErrorCode.REPOSITORY_IO_ERROR, formatMessage(REPOSITORY_IO_ERROR_TEMPLATE, e.getMessage()));
+        }
+    }
+
+    /**
+     * Appends an encoded record to the active segment, rolling over to a new segment when needed.
+     *
+     * @param record The encoded record, as produced by {@link BookRecordCodec#encode(BookRecord)}.
+     * @return The position of the appended record.
+     */
+    public synchronized LogPosition append(ByteBuffer record) {
+        int length = record.remaining();
+        try {
+            if (activeSegment.size > 0 && activeSegment.size + length > maxSegmentBytes) {
+                rollOver();
+            }
+
+            long offset = activeSegment.size;
+            long writePosition = offset;
+            while (record.hasRemaining()) {
+                writePosition += activeSegment.channel.write(record, writePosition);
+            }
+            activeSegment.size = writePosition;
+
+            return new LogPosition(activeSegment.id, offset, length, ++appendSequence);
+        } catch (IOException e) {
+            throw new CustomException(ErrorCode.REPOSITORY_IO_ERROR, formatMessage(REPOSITORY_IO_ERROR_TEMPLATE, e.getMessage()));
+        }
+    }
+
+    private void rollOver() throws IOException {
+        activeSegment.channel.force(false);
+
+        int nextSegmentId = activeSegment.id + 1;
+        Segment next = new Segment(nextSegmentId, segmentPath(nextSegmentId));
+        segments.put(nextSegmentId, next);
+        activeSegment = next;
+    }
+
+    /**
+     * Blocks until the record appended with the given sequence number has been fsync'ed,
+     * sharing the fsync with every other record appended in the meantime.
+     *
+     * @param sequence The sequence number returned in {@link LogPosition#sequence()}.
+     */
+    public void awaitDurable(long sequence) {
+        commitLock.lock();
+        try {
+            commitWaiters++;
+            try {
+                while (durableSequence < sequence && commitFailure == null && running) {
+                    commitRequested.signal();
+                    commitCompleted.await();
+                }
+            } finally {
+                commitWaiters--;
+            }
+
+            if (commitFailure != null) {
+                throw new CustomException(ErrorCode.REPOSITORY_IO_ERROR, formatMessage(REPOSITORY_IO_ERROR_TEMPLATE, commitFailure.getMessage()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CustomException(ErrorCode.REPOSITORY_IO_ERROR, formatMessage(REPOSITORY_IO_ERROR_TEMPLATE, "interrupted while waiting for group commit"));
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    private void runFlusher() {
+        while (running) {
+            commitLock.lock();
+            try {
+                if (commitWaiters == 0) {
+                    commitRequested.await(groupCommitIntervalMillis, TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                commitLock.unlock();
+            }
+
+            commit();
+        }
+    }
+
+    private void commit() {
+        long target;
+        Segment segment;
+        synchronized (this) {
+            target = appendSequence;
+            segment = activeSegment;
+        }
+
+        IOException failure = null;
+        if (target > durableSequence) {
+            try {
+                segment.channel.force(false);
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+
+        commitLock.lock();
+        try {
+            if (failure != null) {
+                commitFailure = failure;
+            } else {
+                durableSequence = Math.max(durableSequence, target);
+            }
+            commitCompleted.signalAll();
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    /**
+     * Reads a single record.
+     *
+     * @param segmentId The segment holding the record.
+     * @param offset    The offset of the record inside the segment.
+     * @param length    The total length of the record.
+     * @return The decoded record, or null if it is corrupted.
+     */
+    public BookRecord read(int segmentId, long offset, int length) {
+        Segment segment = segments.get(segmentId);
+        if (segment == null) {
+            throw new CustomException(ErrorCode.REPOSITORY_IO_ERROR, formatMessage(REPOSITORY_IO_ERROR_TEMPLATE, "segment " + segmentId + " does not exist"));
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        try {
+            long readPosition = offset;
+            while (buffer.hasRemaining()) {
+                int read = segment.channel.read(buffer, readPosition);
+                if (read < 0) {
+                    return null;
+                }
+                readPosition += read;
+            }
+        } catch (IOException e) {
+            throw new CustomException(ErrorCode.REPOSITORY_IO_ERROR, formatMessage(REPOSITORY_IO_ERROR_TEMPLATE, e.getMessage()));
+        }
+        return BookRecordCodec.decode(buffer.flip());
+    }
+
+    /**
+     * Scans every segment in order, starting at the given position.
+     *
+     * <p>A torn or corrupted record ends the scan of its segment; when it is found in the active
+     * segment the segment is truncated to the last valid record so that new appends follow it.</p>
+     *
+     * @param fromSegmentId The segment to start from.
+     * @param fromOffset    The offset inside the starting segment.
+     * @param visitor       The visitor notified of every valid record.
+     */
+    public void scan(int fromSegmentId, long fromOffset, RecordVisitor visitor) {
+        for (Segment segment : segments.tailMap(fromSegmentId, true).values()) {
+            scanSegment(segment, segment.id == fromSegmentId ? fromOffset : 0, visitor);
+        }
+    }
+
+    /**
+     * Scans every record of a single segment.
+     *
+     * @param segmentId The segment to scan.
+     * @param visitor   The visitor notified of every valid record.
+     */
+    public void scanSegment(int segmentId, RecordVisitor visitor) {
+        Segment segment = segments.get(segmentId);
+        if (segment != null) {
+            scanSegment(segment, 0, visitor);
+        }
+    }
+
+    private void scanSegment(Segment segment, long fromOffset, RecordVisitor visitor) {
+        try {
+            long size = segment.size;
+            if (fromOffset >= size) {
+                return;
+            }
+
+            MappedByteBuffer mapped = segment.channel.map(FileChannel.MapMode.READ_ONLY, fromOffset, size - fromOffset);
+            long offset = fromOffset;
+            while (mapped.remaining() >= BookRecordCodec.HEADER_BYTES) {
+                int length = BookRecordCodec.recordLength(mapped);
+                BookRecord record = length < 0 || length > mapped.remaining() ? null : BookRecordCodec.decode(mapped);
+                if (record == null) {
+                    break;
+                }
+
+                visitor.visit(record, new LogPosition(segment.id, offset, length, 0));
+                mapped.position(mapped.position() + length);
+                offset += length;
+            }
+
+            if (offset < size) {
+                truncateTornTail(segment, offset);
+            }
+        } catch (IOException e) {
+            throw new CustomException(ErrorCode.REPOSITORY_IO_ERROR, formatMessage(REPOSITORY_IO_ERROR_TEMPLATE, e.getMessage()));
+        }
+    }
+
+    private synchronized void truncateTornTail(Segment segment, long validSize) throws IOException {
+        if (segment == activeSegment) {
+            segment.channel.truncate(validSize);
+            segment.channel.force(true);
+            segment.size = validSize;
+        }
+    }
+
+    /**
+     * @return The identifiers of the sealed segments, oldest first.
+     */
+    public synchronized List<Integer> sealedSegmentIds() {
+        return new ArrayList<>(segments.headMap(activeSegment.id, false).keySet());
+    }
+
+    /**
+     * @return The size in bytes of the given segment, or zero if it does not exist.
+     */
+    public long segmentSize(int segmentId) {
+        Segment segment = segments.get(segmentId);
+        return segment == null ? 0 : segment.size;
+    }
+
+    /**
+     * @return The identifier of the oldest segment.
+     */
+    public int firstSegmentId() {
+        return segments.firstKey();
+    }
+
+    /**
+     * @return The position just after the last appended record, as {@code [segmentId, offset]}.
+     */
+    public synchronized long[] endPosition() {
+        return new long[]{activeSegment.id, activeSegment.size};
+    }
+
+    /**
+     * @return The sequence number of the last appended record.
+     */
+    public synchronized long lastSequence() {
+        return appendSequence;
+    }
+
+    /**
+     * Fsyncs the active segment immediately.
+     */
+    public void sync() {
+        commit();
+        if (commitFailure != null) {
+            throw new CustomException(ErrorCode.REPOSITORY_IO_ERROR, formatMessage(REPOSITORY_IO_ERROR_TEMPLATE, commitFailure.getMessage()));
+        }
+    }
+
+    /**
+     * Deletes a sealed segment. The caller must have moved every live record out of it beforehand.
+     *
+     * @param segmentId The sealed segment to delete.
+     */
+    public synchronized void deleteSegment(int segmentId) {
+        if (segmentId == activeSegment.id) {
+            return;
+        }
+
+        Segment segment = segments.remove(segmentId);
+        if (segment == null) {
+            return;
+        }
+
+        try {
+            segment.channel.close();
+            Files.deleteIfExists(segment.path);
+        } catch (IOException e) {
+            throw new CustomException(ErrorCode.REPOSITORY_IO_ERROR, formatMessage(REPOSITORY_IO_ERROR_TEMPLATE, e.getMessage()));
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        commitLock.lock();
+        try {
+            commitRequested.signalAll();
+            commitCompleted.signalAll();
+        } finally {
+            commitLock.unlock();
+        }
+
+        try {
+            flusher.join();
+            commit();
+            for (Segment segment : segments.values()) {
+                segment.channel.close();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            throw new CustomException(ErrorCode.REPOSITORY_IO_ERROR, formatMessage(REPOSITORY_IO_ERROR_TEMPLATE, e.getMessage()));
+        }
+    }
+
+    private Path segmentPath(int segmentId) {
+        return directory.resolve(String.format("%s%010d%s", SEGMENT_FILE_PREFIX, segmentId, SEGMENT_FILE_SUFFIX));
+    }
+
+    private static List<Integer> existingSegmentIds(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_FILE_PREFIX) && name.endsWith(SEGMENT_FILE_SUFFIX))
+                    .map(name -> Integer.parseInt(name.substring(SEGMENT_FILE_PREFIX.length(), name.length() - SEGMENT_FILE_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.incubyte.assessment.repository.library.journal;
+
+/**
+ * Statistics of the recovery of a journaled repository on startup.
+ *
+ * @Attributes:
+ * <p>- snapshotBookCount: The number of books loaded from the latest snapshot.
+ * <p>- replayedRecordCount: The number of journal records replayed after the snapshot.
+ * <p>- durationMillis: The time taken to load the snapshot and replay the journal.
+ */
+public record RecoveryStats(long snapshotBookCount, long replayedRecordCount, long durationMillis) {
+}
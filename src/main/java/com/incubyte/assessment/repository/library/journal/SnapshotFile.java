@@ -0,0 +1,194 @@
+package com.incubyte.assessment.repository.library.journal;
+
+import com.incubyte.assessment.exception.CustomException;
+import com.incubyte.assessment.exception.ErrorCode;
+import com.incubyte.assessment.repository.library.filesystem.BookRecord;
+import com.incubyte.assessment.repository.library.filesystem.BookRecordCodec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+import static com.incubyte.assessment.util.AppConstants.REPOSITORY_IO_ERROR;
+import static com.incubyte.assessment.util.AppConstants.REPOSITORY_IO_ERROR_TEMPLATE;
+import static com.incubyte.assessment.util.AppConstants.REPOSITORY_SNAPSHOT_CORRUPTED;
+import static com.incubyte.assessment.util.AppConstants.REPOSITORY_SNAPSHOT_CORRUPTED_TEMPLATE;
+import static com.incubyte.assessment.util.MessageFormatUtil.formatMessage;
+
+/**
+ * Compact binary snapshot of every book of a repository, together with the journal position it was taken at.
+ *
+ * <p>The file starts with a {@code [int magic][int journalSegmentId][long journalOffset]} header, followed by one
+ * full {@link BookRecord} per book encoded with the {@link BookRecordCodec}, so every record is checksummed.
+ * A snapshot is written to a temporary file which only replaces the previous snapshot once it is complete
+ * and fsync'ed, so a crash while snapshotting leaves the previous snapshot in place.</p>
+ */
+public final class SnapshotFile implements AutoCloseable {
+
+    public static final String FILE_NAME = "snapshot.bin";
+
+    private static final String TEMPORARY_FILE_NAME = "snapshot.tmp";
+    private static final int MAGIC = 0x4C42534E;
+    private static final int HEADER_BYTES = Integer.BYTES + Integer.BYTES + Long.BYTES;
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private final Path directory;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+    private long bookCount;
+    private boolean committed;
+
+    /**
+     * Journal position a snapshot was taken at: replaying the journal from it restores the state after the snapshot.
+     */
+    public record Position(int journalSegmentId, long journalOffset) {
+    }
+
+    private SnapshotFile(Path directory, Position position) throws IOException {
+        this.directory = directory;
+        this.channel = FileChannel.open(directory.resolve(TEMPORARY_FILE_NAME),
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        buffer.putInt(MAGIC).putInt(position.journalSegmentId()).putLong(position.journalOffset());
+    }
+
+    /**
+     * Starts writing a new snapshot, which only replaces the current one once {@link #commit()} is called.
+     *
+     * @param directory The directory holding the snapshot.
+     * @param position  The journal position the snapshot is taken at.
+     * @return The snapshot being written.
+     */
+    public static SnapshotFile create(Path directory, Position position) {
+        try {
+            return new SnapshotFile(directory, position);
+        } catch (IOException e) {
+            throw new CustomException(ErrorCode.REPOSITORY_IO_ERROR, formatMessage(REPOSITORY_IO_ERROR_TEMPLATE, e.getMessage()));
+        }
+    }
+
+    /**
+     * Appends a full record to the snapshot.
+     */
+    public void append(BookRecord record) {
+        ByteBuffer encoded = BookRecordCodec.encode(record);
+        try {
+            if (buffer.remaining() < encoded.remaining()) {
+                writeBuffer();
+            }
+        } catch (IOException e) {
+            throw new CustomException(ErrorCode.REPOSITORY_IO_ERROR, formatMessage(REPOSITORY_IO_ERROR_TEMPLATE, e.getMessage()));
+        }
+        buffer.put(encoded);
+        bookCount++;
+    }
+
+    /**
+     * @return The number of books appended so far.
+     */
+    public long getBookCount() {
+        return bookCount;
+    }
+
+    /**
+     * Fsyncs the snapshot and atomically replaces the current snapshot with it.
+     */
+    public void commit() {
+        try {
+            writeBuffer();
+            channel.force(true);
+            channel.close();
+            Files.move(directory.resolve(TEMPORARY_FILE_NAME), directory.resolve(FILE_NAME),
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            committed = true;
+        } catch (IOException e) {
+            throw new CustomException(ErrorCode.REPOSITORY_IO_ERROR, formatMessage(REPOSITORY_IO_ERROR_TEMPLATE, e.getMessage()));
+        }
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Discards the snapshot unless it has been committed.
+     */
+    @Override
+    public void close() {
+        if (committed) {
+            return;
+        }
+
+        try {
+            channel.close();
+            Files.deleteIfExists(directory.resolve(TEMPORARY_FILE_NAME));
+        } catch (IOException e) {
+            throw new CustomException(ErrorCode.REPOSITORY_IO_ERROR, formatMessage(REPOSITORY_IO_ERROR_TEMPLATE, e.getMessage()));
+        }
+    }
+
+    /**
+     * Reads the current snapshot of the directory, if any.
+     *
+     * @param directory The directory holding the snapshot.
+     * @param visitor   The visitor notified of every record of the snapshot, in the order they were appended.
+     * @return The journal position the snapshot was taken at, or null if the directory has no snapshot.
+     * @throws CustomException If the snapshot is corrupted.
+     */
+    public static Position read(Path directory, Consumer<BookRecord> visitor) {
+        Path path = directory.resolve(FILE_NAME);
+        if (!Files.exists(path)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES).limit(0);
+            if (!fill(channel, buffer, HEADER_BYTES) || buffer.getInt() != MAGIC) {
+                throw new CustomException(ErrorCode.REPOSITORY_SNAPSHOT_CORRUPTED, formatMessage(REPOSITORY_SNAPSHOT_CORRUPTED_TEMPLATE, path));
+            }
+            Position position = new Position(buffer.getInt(), buffer.getLong());
+
+            while (fill(channel, buffer, BookRecordCodec.HEADER_BYTES)) {
+                int length = BookRecordCodec.recordLength(buffer);
+                BookRecord record = length < 0 || !fill(channel, buffer, length) ? null : BookRecordCodec.decode(buffer);
+                if (record == null) {
+                    throw new CustomException(ErrorCode.REPOSITORY_SNAPSHOT_CORRUPTED, formatMessage(REPOSITORY_SNAPSHOT_CORRUPTED_TEMPLATE, path));
+                }
+
+                visitor.accept(record);
+                buffer.position(buffer.position() + length);
+            }
+
+            if (buffer.hasRemaining()) {
+                throw new CustomException(ErrorCode.REPOSITORY_SNAPSHOT_CORRUPTED, formatMessage(REPOSITORY_SNAPSHOT_CORRUPTED_TEMPLATE, path));
+            }
+            return position;
+        } catch (IOException e) {
+            throw new CustomException(ErrorCode.REPOSITORY_IO_ERROR, formatMessage(REPOSITORY_IO_ERROR_TEMPLATE, e.getMessage()));
+        }
+    }
+
+    //Ensures the buffer holds at least the given number of bytes, refilling it from the channel; false at the end of the file
+    private static boolean fill(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return true;
+        }
+
+        buffer.compact();
+        while (buffer.position() < bytes) {
+            if (channel.read(buffer) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        return buffer.remaining() >= bytes;
+    }
+}
@@ -0,0 +1,12 @@
+package com.incubyte.assessment.repository.library.migration;
+
+/**
+ * Statistics of the migration of a repository to another one.
+ *
+ * @Attributes:
+ * <p>- copiedBookCount: The number of books copied from the source repository, batch by batch.
+ * <p>- dualWrittenBookCount: The number of books written to both repositories by the mutations made during the copy.
+ * <p>- durationMillis: The time taken to copy the books and cut over to the target repository.
+ */
+public record MigrationStats(long copiedBookCount, long dualWrittenBookCount, long durationMillis) {
+}
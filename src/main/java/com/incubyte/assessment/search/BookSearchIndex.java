@@ -0,0 +1,329 @@
+package com.incubyte.assessment.search;
+
+import com.incubyte.assessment.model.Book;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntToDoubleFunction;
+import java.util.regex.Pattern;
+
+/**
+ * In-process inverted index over the title and author terms of books, answering ranked full-text queries.
+ *
+ * <p>Titles and authors are tokenized on non alphanumeric characters, case-folded and stripped of
+ * diacritics. Each book gets a dense document number in indexing order, and each term maps to the
+ * ascending list of the documents containing it, with a weight telling whether the term appears in the
+ * title, the author or both.</p>
+ *
+ * <p>A query matches the books containing all of its terms, the last term also matching as a prefix so
+ * that partially typed words find results. Matches are ranked by the sum, over the query terms, of the
+ * field weight times the inverse document frequency of the term, so rare terms and title hits rank first.</p>
+ *
+ * <p>The index only grows: a book is indexed once per ISBN, and later changes of its title or author
+ * are not reflected. Reads run concurrently, while indexing is exclusive.</p>
+ */
+public class BookSearchIndex {
+
+    private static final byte TITLE_WEIGHT = 2;
+    private static final byte AUTHOR_WEIGHT = 1;
+    private static final int MAX_PREFIX_EXPANSION = 128;
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern TERM_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final NavigableMap<String, Postings> postingsByTerm = new TreeMap<>();
+    private final Map<String, Integer> documentsByIsbn = new HashMap<>();
+    private final List<String> isbnsByDocument = new ArrayList<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Ascending document numbers containing a term, with the field weight of the term in each document.
+     */
+    private static final class Postings {
+
+        private int[] documents = new int[4];
+        private byte[] weights = new byte[4];
+        private int size;
+
+        private void add(int document, byte weight) {
+            //Documents are indexed in increasing order, so a repeated document can only be the last one
+            if (size > 0 && documents[size - 1] == document) {
+                weights[size - 1] |= weight;
+                return;
+            }
+
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            documents[size] = document;
+            weights[size] = weight;
+            size++;
+        }
+
+        private int weightOf(int document) {
+            int position = Arrays.binarySearch(documents, 0, size, document);
+            return position < 0 ? 0 : weights[position];
+        }
+    }
+
+    /**
+     * Splits a text into normalized search terms.
+     *
+     * @param text The text to tokenize, may be null.
+     * @return The lower-case terms of the text, without diacritics, in order of appearance.
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFKD)).replaceAll("").toLowerCase(Locale.ROOT);
+        return Arrays.stream(TERM_SEPARATORS.split(folded))
+                .filter(term -> !term.isEmpty())
+                .toList();
+    }
+
+    /**
+     * @return The number of indexed books.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return isbnsByDocument.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes a book unless its ISBN is already indexed.
+     *
+     * @param book The book to index.
+     * @return True if the book was indexed, false if its ISBN was already indexed.
+     */
+    public boolean add(Book book) {
+        lock.writeLock().lock();
+        try {
+            return index(book);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes a batch of books under a single lock acquisition, skipping already indexed ISBNs.
+     *
+     * @param books The books to index.
+     */
+    public void addAll(Collection<Book> books) {
+        lock.writeLock().lock();
+        try {
+            books.forEach(this::index);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean index(Book book) {
+        int document = isbnsByDocument.size();
+        if (documentsByIsbn.putIfAbsent(book.getIsbn(), document) != null) {
+            return false;
+        }
+
+        isbnsByDocument.add(book.getIsbn());
+        for (String term : tokenize(book.getTitle())) {
+            postingsByTerm.computeIfAbsent(term, key -> new Postings()).add(document, TITLE_WEIGHT);
+        }
+        for (String term : tokenize(book.getAuthor())) {
+            postingsByTerm.computeIfAbsent(term, key -> new Postings()).add(document, AUTHOR_WEIGHT);
+        }
+        return true;
+    }
+
+    /**
+     * Finds the books matching every term of a query, best matches first.
+     *
+     * @param query The search query.
+     * @param limit The maximum number of results.
+     * @return The ISBNs of the best matching books, by decreasing score then indexing order.
+     */
+    public List<String> search(String query, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<List<Postings>> termGroups = new ArrayList<>(terms.size());
+            for (int i = 0; i < terms.size(); i++) {
+                List<Postings> termGroup = i < terms.size() - 1 ? exactTerm(terms.get(i)) : prefixTerms(terms.get(i));
+                if (termGroup.isEmpty()) {
+                    return List.of();
+                }
+                termGroups.add(termGroup);
+            }
+            //Starting from the rarest terms keeps the candidate set as small as possible
+            termGroups.sort(Comparator.comparingLong(BookSearchIndex::documentFrequency));
+
+            return topMatches(termGroups, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Postings> exactTerm(String term) {
+        Postings postings = postingsByTerm.get(term);
+        return postings == null ? List.of() : List.of(postings);
+    }
+
+    private List<Postings> prefixTerms(String prefix) {
+        List<Postings> postings = new ArrayList<>();
+        for (Postings termPostings : postingsByTerm.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            if (postings.size() == MAX_PREFIX_EXPANSION) {
+                break;
+            }
+            postings.add(termPostings);
+        }
+        return postings;
+    }
+
+    private static long documentFrequency(List<Postings> termGroup) {
+        return termGroup.stream().mapToLong(postings -> postings.size).sum();
+    }
+
+    private double inverseDocumentFrequency(Postings postings) {
+        return Math.log(1 + (double) isbnsByDocument.size() / postings.size);
+    }
+
+    /**
+     * Scores of the documents matching a term group, in ascending document order.
+     * A document matching several terms of the group, as a prefix can, gets its best score.
+     */
+    private Matches matchesOf(List<Postings> termGroup) {
+        if (termGroup.size() == 1) {
+            Postings postings = termGroup.get(0);
+            double inverseDocumentFrequency = inverseDocumentFrequency(postings);
+            double[] scores = new double[postings.size];
+            for (int i = 0; i < postings.size; i++) {
+                scores[i] = postings.weights[i] * inverseDocumentFrequency;
+            }
+            return new Matches(Arrays.copyOf(postings.documents, postings.size), scores, postings.size);
+        }
+
+        int[] allDocuments = new int[(int) documentFrequency(termGroup)];
+        int position = 0;
+        for (Postings postings : termGroup) {
+            System.arraycopy(postings.documents, 0, allDocuments, position, postings.size);
+            position += postings.size;
+        }
+        int[] documents = Arrays.stream(allDocuments).sorted().distinct().toArray();
+
+        double[] scores = new double[documents.length];
+        for (Postings postings : termGroup) {
+            double inverseDocumentFrequency = inverseDocumentFrequency(postings);
+            for (int i = 0; i < postings.size; i++) {
+                int index = Arrays.binarySearch(documents, postings.documents[i]);
+                scores[index] = Math.max(scores[index], postings.weights[i] * inverseDocumentFrequency);
+            }
+        }
+        return new Matches(documents, scores, documents.length);
+    }
+
+    private List<String> topMatches(List<List<Postings>> termGroups, int limit) {
+        //Candidates are the matches of the rarest term group, narrowed down by each following group
+        Matches candidates = matchesOf(termGroups.get(0));
+
+        for (List<Postings> termGroup : termGroups.subList(1, termGroups.size())) {
+            if (termGroup.size() == 1) {
+                Postings postings = termGroup.get(0);
+                double inverseDocumentFrequency = inverseDocumentFrequency(postings);
+                candidates.retain(document -> postings.weightOf(document) * inverseDocumentFrequency);
+            } else {
+                Matches groupMatches = matchesOf(termGroup);
+                candidates.retain(groupMatches::scoreOf);
+            }
+        }
+
+        return candidates.top(limit).stream().map(isbnsByDocument::get).toList();
+    }
+
+    /**
+     * Candidate documents of a query with their accumulated scores, in ascending document order.
+     */
+    private static final class Matches {
+
+        private final int[] documents;
+        private final double[] scores;
+        private int size;
+
+        private Matches(int[] documents, double[] scores, int size) {
+            this.documents = documents;
+            this.scores = scores;
+            this.size = size;
+        }
+
+        private double scoreOf(int document) {
+            int index = Arrays.binarySearch(documents, 0, size, document);
+            return index < 0 ? 0 : scores[index];
+        }
+
+        /**
+         * Keeps the candidates scored above zero by the given term group, adding that score to theirs.
+         */
+        private void retain(IntToDoubleFunction termGroupScore) {
+            int retainedCount = 0;
+            for (int i = 0; i < size; i++) {
+                double score = termGroupScore.applyAsDouble(documents[i]);
+                if (score > 0) {
+                    documents[retainedCount] = documents[i];
+                    scores[retainedCount] = scores[i] + score;
+                    retainedCount++;
+                }
+            }
+            size = retainedCount;
+        }
+
+        private boolean ranksBefore(int first, int second) {
+            return scores[first] > scores[second] || (scores[first] == scores[second] && documents[first] < documents[second]);
+        }
+
+        /**
+         * @return The best ranked documents, by decreasing score then ascending document number.
+         */
+        private List<Integer> top(int limit) {
+            //Min-heap of candidate indexes, the weakest on top, only touched by candidates beating it
+            PriorityQueue<Integer> topCandidates = new PriorityQueue<>(Math.max(1, Math.min(limit, size)),
+                    (first, second) -> ranksBefore(first, second) ? 1 : ranksBefore(second, first) ? -1 : 0);
+            int weakest = -1;
+            for (int i = 0; i < size; i++) {
+                if (topCandidates.size() < limit) {
+                    topCandidates.add(i);
+                    weakest = topCandidates.peek();
+                } else if (ranksBefore(i, weakest)) {
+                    topCandidates.poll();
+                    topCandidates.add(i);
+                    weakest = topCandidates.peek();
+                }
+            }
+
+            Integer[] ranking = new Integer[topCandidates.size()];
+            for (int i = ranking.length - 1; i >= 0; i--) {
+                ranking[i] = documents[topCandidates.poll()];
+            }
+            return List.of(ranking);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.incubyte.assessment.service;
+
+import com.incubyte.assessment.event.BookChange;
+import com.incubyte.assessment.model.BookDto;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+/**
+ * Non-blocking counterpart of {@link LibraryService}, whose operations return at once with a future of their result.
+ *
+ * <p>Every operation has the semantics of the {@link LibraryService} operation of the same name. Instead of being
+ * thrown, a {@link com.incubyte.assessment.exception.CustomException} completes the returned future exceptionally,
+ * so that callers handle invalid requests and repository failures in the same place.</p>
+ */
+public interface AsyncLibraryService {
+
+    /**
+     * @see LibraryService#addBook(BookDto)
+     */
+    CompletableFuture<BookDto> addBook(BookDto book);
+
+    /**
+     * @see LibraryService#borrowBook(String)
+     */
+    CompletableFuture<BookDto> borrowBook(String isbn);
+
+    /**
+     * @see LibraryService#returnBook(String)
+     */
+    CompletableFuture<BookDto> returnBook(String isbn);
+
+    /**
+     * @see LibraryService#viewBook(String)
+     */
+    CompletableFuture<BookDto> viewBook(String isbn);
+
+    /**
+     * @see LibraryService#viewAvailableBooks(String, int)
+     */
+    CompletableFuture<List<BookDto>> viewAvailableBooks(String afterIsbn, int limit);
+
+    /**
+     * @see LibraryService#viewBooksByAuthor(String, boolean)
+     */
+    CompletableFuture<List<BookDto>> viewBooksByAuthor(String author, boolean availableOnly);
+
+    /**
+     * @see LibraryService#viewBooksPublishedBetween(int, int, boolean)
+     */
+    CompletableFuture<List<BookDto>> viewBooksPublishedBetween(int fromYear, int toYear, boolean availableOnly);
+
+    /**
+     * @see LibraryService#changeFeed()
+     */
+    Flow.Publisher<BookChange> changeFeed();
+}
@@ -0,0 +1,169 @@
+package com.incubyte.assessment.service;
+
+import com.incubyte.assessment.event.BookChange;
+import com.incubyte.assessment.event.BookChangePublisher;
+import com.incubyte.assessment.event.BookChangeType;
+import com.incubyte.assessment.event.LibraryEvent;
+import com.incubyte.assessment.event.LibraryEventSink;
+import com.incubyte.assessment.event.LibraryEventType;
+import com.incubyte.assessment.event.NoOpLibraryEventSink;
+import com.incubyte.assessment.exception.CustomException;
+import com.incubyte.assessment.exception.ErrorCode;
+import com.incubyte.assessment.history.BorrowHistory;
+import com.incubyte.assessment.model.Book;
+import com.incubyte.assessment.model.BookDto;
+import com.incubyte.assessment.repository.library.AsyncLibraryRepository;
+
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+import static com.incubyte.assessment.util.AppConstants.*;
+import static com.incubyte.assessment.util.MessageFormatUtil.formatMessage;
+
+/**
+ * Implementation of the {@link AsyncLibraryService} interface on top of an {@link AsyncLibraryRepository}.
+ *
+ * <p>Requests are validated on the calling thread, and the rest of every operation is chained onto the future
+ * of its repository call, so that no thread waits on the repository. Outcome events and book changes are
+ * published, and borrows and returns logged in the {@link BorrowHistory}, as {@link LibraryServiceImpl} does, from
+ * the thread completing the repository call. Sharing the publisher and history with a {@link LibraryServiceImpl}
+ * gives both services a single change feed and borrow history.</p>
+ *
+ * <p>Existing blocking repositories are used through
+ * {@link com.incubyte.assessment.repository.library.AsyncLibraryRepositoryAdapter}.</p>
+ */
+public class AsyncLibraryServiceImpl implements AsyncLibraryService {
+
+    private final AsyncLibraryRepository libraryRepository;
+    private final LibraryEventSink eventSink;
+    private final BookChangePublisher changePublisher;
+    private final BorrowHistory borrowHistory;
+
+    //Constructor based dependency injection, discarding the operation outcome events
+    public AsyncLibraryServiceImpl(AsyncLibraryRepository libraryRepository) {
+        this(libraryRepository, NoOpLibraryEventSink.getInstance(), new BookChangePublisher());
+    }
+
+    //Constructor based dependency injection
+    public AsyncLibraryServiceImpl(AsyncLibraryRepository libraryRepository, LibraryEventSink eventSink, BookChangePublisher changePublisher) {
+        this(libraryRepository, eventSink, changePublisher, new BorrowHistory());
+    }
+
+    //Constructor based dependency injection
+    public AsyncLibraryServiceImpl(AsyncLibraryRepository libraryRepository, LibraryEventSink eventSink, BookChangePublisher changePublisher,
+                                   BorrowHistory borrowHistory) {
+        this.libraryRepository = libraryRepository;
+        this.eventSink = eventSink;
+        this.changePublisher = changePublisher;
+        this.borrowHistory = borrowHistory;
+    }
+
+    private static List<BookDto> convertEntitiesToDtos(List<Book> books) {
+        return books.stream()
+                .map(LibraryServiceImpl::convertEntityToDto)
+                .toList();
+    }
+
+    @Override
+    public CompletableFuture<BookDto> addBook(BookDto bookDto) {
+        LibraryServiceImpl.ValidationError validationError = LibraryServiceImpl.validationErrorOf(bookDto, Year.now().getValue());
+        if (validationError != null)
+            return CompletableFuture.failedFuture(validationError.toException());
+
+        Book book = LibraryServiceImpl.convertDtoToEntity(bookDto);
+        return libraryRepository.addIfAbsent(book).thenApply(added -> {
+            if (!added)
+                throw new CustomException(ErrorCode.BOOK_ALREADY_EXISTS, formatMessage(BOOK_ALREADY_EXISTS_TEMPLATE, book.getIsbn()));
+
+            eventSink.publish(new LibraryEvent(LibraryEventType.BOOK_ADDED, book.getIsbn()));
+            BookDto addedBook = LibraryServiceImpl.convertEntityToDto(book);
+            changePublisher.publish(new BookChange(BookChangeType.ADDED, addedBook));
+            return addedBook;
+        });
+    }
+
+    @Override
+    public CompletableFuture<BookDto> borrowBook(String isbn) {
+        //The check and the update are a single conditional update of the repository
+        return libraryRepository.borrowIfAvailable(isbn, LocalDateTime.now()).thenApply(update -> {
+            Book book = switch (update.outcome()) {
+                case UPDATED -> update.book();
+                case NOT_FOUND -> throw new CustomException(ErrorCode.BOOK_DOES_NOT_EXIST, formatMessage(BOOK_DOES_NOT_EXIST_TEMPLATE, isbn));
+                case NOT_AVAILABLE, NOT_BORROWED -> throw new CustomException(ErrorCode.BOOK_NOT_AVAILABLE, formatMessage(BOOK_NOT_AVAILABLE_TEMPLATE, isbn));
+            };
+
+            eventSink.publish(new LibraryEvent(LibraryEventType.BOOK_BORROWED, book.getIsbn()));
+            return LibraryServiceImpl.recordAvailabilityChange(BookChangeType.BORROWED, book, borrowHistory, changePublisher);
+        });
+    }
+
+    @Override
+    public CompletableFuture<BookDto> returnBook(String isbn) {
+        //Returning a book which is not borrowed leaves it unchanged, as it is already back in the library
+        return libraryRepository.returnIfBorrowed(isbn, LocalDateTime.now()).thenApply(update -> {
+            if (update.book() == null)
+                throw new CustomException(ErrorCode.BOOK_DOES_NOT_EXIST, formatMessage(BOOK_DOES_NOT_EXIST_TEMPLATE, isbn));
+
+            eventSink.publish(new LibraryEvent(LibraryEventType.BOOK_RETURNED, isbn));
+            //A book which was not borrowed is unchanged, so its return is neither a change of the catalog nor a loan
+            return update.isUpdated()
+                    ? LibraryServiceImpl.recordAvailabilityChange(BookChangeType.RETURNED, update.book(), borrowHistory, changePublisher)
+                    : LibraryServiceImpl.convertEntityToDto(update.book());
+        });
+    }
+
+    @Override
+    public CompletableFuture<BookDto> viewBook(String isbn) {
+        return libraryRepository.getById(isbn).thenApply(book -> {
+            if (book == null)
+                throw new CustomException(ErrorCode.BOOK_DOES_NOT_EXIST, formatMessage(BOOK_DOES_NOT_EXIST_TEMPLATE, isbn));
+
+            eventSink.publish(new LibraryEvent(LibraryEventType.BOOK_FETCHED, book.getIsbn()));
+            return LibraryServiceImpl.convertEntityToDto(book);
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<BookDto>> viewAvailableBooks(String afterIsbn, int limit) {
+        if (limit <= 0)
+            return CompletableFuture.failedFuture(new CustomException(ErrorCode.INVALID_PAGE_LIMIT, INVALID_PAGE_LIMIT));
+
+        return libraryRepository.getAvailablePage(afterIsbn, limit).thenApply(page -> {
+            List<BookDto> availableBookPage = convertEntitiesToDtos(page);
+            eventSink.publish(new LibraryEvent(LibraryEventType.AVAILABLE_BOOK_PAGE_FETCHED, availableBookPage.size()));
+            return availableBookPage;
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<BookDto>> viewBooksByAuthor(String author, boolean availableOnly) {
+        if (author == null || author.isEmpty())
+            return CompletableFuture.failedFuture(new CustomException(ErrorCode.INVALID_AUTHOR, INVALID_AUTHOR));
+
+        return libraryRepository.getByAuthor(author, availableOnly).thenApply(found -> {
+            List<BookDto> books = convertEntitiesToDtos(found);
+            eventSink.publish(new LibraryEvent(LibraryEventType.BOOKS_BY_AUTHOR_FETCHED, books.size(), author));
+            return books;
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<BookDto>> viewBooksPublishedBetween(int fromYear, int toYear, boolean availableOnly) {
+        if (fromYear <= 0 || toYear < fromYear)
+            return CompletableFuture.failedFuture(new CustomException(ErrorCode.INVALID_PUBLICATION_YEAR_RANGE, formatMessage(INVALID_PUBLICATION_YEAR_RANGE_TEMPLATE, fromYear, toYear)));
+
+        return libraryRepository.getByPublicationYearRange(fromYear, toYear, availableOnly).thenApply(found -> {
+            List<BookDto> books = convertEntitiesToDtos(found);
+            eventSink.publish(new LibraryEvent(LibraryEventType.BOOKS_BY_PUBLICATION_YEAR_FETCHED, books.size(), fromYear, toYear));
+            return books;
+        });
+    }
+
+    @Override
+    public Flow.Publisher<BookChange> changeFeed() {
+        return changePublisher;
+    }
+}
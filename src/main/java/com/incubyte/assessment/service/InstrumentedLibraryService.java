@@ -0,0 +1,119 @@
+package com.incubyte.assessment.service;
+
+import com.incubyte.assessment.event.BookChange;
+import com.incubyte.assessment.history.BookBorrowCount;
+import com.incubyte.assessment.history.BorrowHistoryEntry;
+import com.incubyte.assessment.history.LoanStats;
+import com.incubyte.assessment.metrics.LibraryMetrics;
+import com.incubyte.assessment.model.BookBatchResult;
+import com.incubyte.assessment.model.BookDto;
+import com.incubyte.assessment.model.BookImportResult;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.stream.Stream;
+
+/**
+ * Decorator recording the latency, outcome and repository calls of every call to a {@link LibraryService}
+ * in {@link LibraryMetrics}, under the {@code service.<method>} operation names.
+ *
+ * <p>Repository calls are only counted if the repository of the delegate service is an
+ * {@link com.incubyte.assessment.repository.library.InstrumentedLibraryRepository} sharing the same metrics.
+ * As {@link #streamAvailableBooks()} fetches its pages lazily, only the creation of the stream is timed.</p>
+ */
+public class InstrumentedLibraryService implements LibraryService {
+
+    private final LibraryService delegate;
+    private final LibraryMetrics metrics;
+
+    public InstrumentedLibraryService(LibraryService delegate, LibraryMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public BookDto addBook(BookDto book) {
+        return metrics.timeServiceCall("service.addBook", () -> delegate.addBook(book));
+    }
+
+    @Override
+    public BookImportResult addBooks(Iterable<BookDto> books) {
+        return metrics.timeServiceCall("service.addBooks", () -> delegate.addBooks(books));
+    }
+
+    @Override
+    public BookDto borrowBook(String isbn) {
+        return metrics.timeServiceCall("service.borrowBook", () -> delegate.borrowBook(isbn));
+    }
+
+    @Override
+    public BookDto returnBook(String isbn) {
+        return metrics.timeServiceCall("service.returnBook", () -> delegate.returnBook(isbn));
+    }
+
+    @Override
+    public BookBatchResult borrowBooks(Collection<String> isbns) {
+        return metrics.timeServiceCall("service.borrowBooks", () -> delegate.borrowBooks(isbns));
+    }
+
+    @Override
+    public BookBatchResult returnBooks(Collection<String> isbns) {
+        return metrics.timeServiceCall("service.returnBooks", () -> delegate.returnBooks(isbns));
+    }
+
+    @Override
+    public BookDto viewBook(String isbn) {
+        return metrics.timeServiceCall("service.viewBook", () -> delegate.viewBook(isbn));
+    }
+
+    @Override
+    public List<BookDto> viewAvailableBooks() {
+        return metrics.timeServiceCall("service.viewAvailableBooks", () -> delegate.viewAvailableBooks());
+    }
+
+    @Override
+    public List<BookDto> viewAvailableBooks(String afterIsbn, int limit) {
+        return metrics.timeServiceCall("service.viewAvailableBookPage", () -> delegate.viewAvailableBooks(afterIsbn, limit));
+    }
+
+    @Override
+    public Stream<BookDto> streamAvailableBooks() {
+        return metrics.timeServiceCall("service.streamAvailableBooks", delegate::streamAvailableBooks);
+    }
+
+    @Override
+    public Flow.Publisher<BookChange> changeFeed() {
+        return delegate.changeFeed();
+    }
+
+    @Override
+    public List<BookBorrowCount> viewMostBorrowedBooks(int limit) {
+        return metrics.timeServiceCall("service.viewMostBorrowedBooks", () -> delegate.viewMostBorrowedBooks(limit));
+    }
+
+    @Override
+    public LoanStats viewLoanStatistics() {
+        return metrics.timeServiceCall("service.viewLoanStatistics", delegate::viewLoanStatistics);
+    }
+
+    @Override
+    public List<BorrowHistoryEntry> viewBorrowHistory(String isbn) {
+        return metrics.timeServiceCall("service.viewBorrowHistory", () -> delegate.viewBorrowHistory(isbn));
+    }
+
+    @Override
+    public List<BookDto> searchBooks(String query, int limit) {
+        return metrics.timeServiceCall("service.searchBooks", () -> delegate.searchBooks(query, limit));
+    }
+
+    @Override
+    public List<BookDto> viewBooksByAuthor(String author, boolean availableOnly) {
+        return metrics.timeServiceCall("service.viewBooksByAuthor", () -> delegate.viewBooksByAuthor(author, availableOnly));
+    }
+
+    @Override
+    public List<BookDto> viewBooksPublishedBetween(int fromYear, int toYear, boolean availableOnly) {
+        return metrics.timeServiceCall("service.viewBooksPublishedBetween", () -> delegate.viewBooksPublishedBetween(fromYear, toYear, availableOnly));
+    }
+}
@@ -1,8 +1,17 @@
 package com.incubyte.assessment.service;
 
+import com.incubyte.assessment.event.BookChange;
+import com.incubyte.assessment.history.BookBorrowCount;
+import com.incubyte.assessment.history.BorrowHistoryEntry;
+import com.incubyte.assessment.history.LoanStats;
+import com.incubyte.assessment.model.BookBatchResult;
 import com.incubyte.assessment.model.BookDto;
+import com.incubyte.assessment.model.BookImportResult;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.stream.Stream;
 
 /**
  * Interface for Library Service operations.
@@ -18,6 +27,18 @@ public interface LibraryService {
      */
     BookDto addBook(BookDto book);
 
+    /**
+     * Adds many books to the library in batches.
+     *
+     * <p>The books are consumed lazily, one batch at a time, so the input may be a stream over a
+     * file of any size. Invalid records, records repeating an ISBN of the same batch and records whose
+     * ISBN already exists are reported individually, while every other record is imported.</p>
+     *
+     * @param books The book details to add.
+     * @return The number of imported books and the rejected records.
+     */
+    BookImportResult addBooks(Iterable<BookDto> books);
+
     /**
      * Borrows a book from the library by its ISBN.
      *
@@ -34,11 +55,119 @@ public interface LibraryService {
      */
     BookDto returnBook(String isbn);
 
+    /**
+     * Borrows every book of a batch from the library, or none of them.
+     *
+     * <p>The ISBNs are validated in a single pass and the books are borrowed in a single repository batch,
+     * which is rolled back if any ISBN is invalid or repeated, or any book does not exist or is not available.</p>
+     *
+     * @param isbns The ISBNs of the books to borrow.
+     * @return Whether the books were borrowed, with the borrowed book or the reason of the rollback for every ISBN.
+     */
+    BookBatchResult borrowBooks(Collection<String> isbns);
+
+    /**
+     * Returns every book of a batch to the library, or none of them.
+     *
+     * <p>As with {@link #returnBook(String)}, books which are not borrowed are left unchanged. The batch is
+     * rolled back if any ISBN is invalid or repeated, or any book does not exist.</p>
+     *
+     * @param isbns The ISBNs of the books to return.
+     * @return Whether the books were returned, with the returned book or the reason of the rollback for every ISBN.
+     */
+    BookBatchResult returnBooks(Collection<String> isbns);
+
+    /**
+     * Retrieves a book of the library by its ISBN, whether it is available or not.
+     *
+     * @param isbn The ISBN of the book.
+     * @return The details of the book.
+     */
+    BookDto viewBook(String isbn);
+
     /**
      * Retrieves a list of all available books in the library.
      *
      * @return A list of available books.
      */
     List<BookDto> viewAvailableBooks();
-}
 
+    /**
+     * Retrieves one page of available books using keyset pagination.
+     *
+     * @param afterIsbn The ISBN of the last book of the previous page, or null for the first page.
+     * @param limit     The maximum number of books in the page.
+     * @return A page of available books; fewer than {@code limit} books means this is the last page.
+     */
+    List<BookDto> viewAvailableBooks(String afterIsbn, int limit);
+
+    /**
+     * Streams all available books, fetching them lazily from the repository one page at a time.
+     *
+     * @return A lazy stream of available books.
+     */
+    Stream<BookDto> streamAvailableBooks();
+
+    /**
+     * Returns the feed of the books added, borrowed and returned through this service, each with its resulting state,
+     * so that clients can keep their view of the catalog up to date without polling the available books.
+     *
+     * <p>Every subscriber receives the changes made after it subscribed, in order and as far as it requested them.
+     * Publishing never waits for a subscriber: one falling too far behind is unsubscribed with an error.</p>
+     *
+     * @return The publisher of the book changes.
+     */
+    Flow.Publisher<BookChange> changeFeed();
+
+    /**
+     * Retrieves the books borrowed the most within the popularity window, such as the last 30 days.
+     *
+     * @param limit The maximum number of books to return.
+     * @return The ISBNs and borrow counts of the most borrowed books, most borrowed first.
+     */
+    List<BookBorrowCount> viewMostBorrowedBooks(int limit);
+
+    /**
+     * Retrieves the number of borrows and returns and the durations of the loans made through this service.
+     *
+     * @return The loan statistics.
+     */
+    LoanStats viewLoanStatistics();
+
+    /**
+     * Retrieves every borrow and return of a book made through this service.
+     *
+     * @param isbn The ISBN of the book.
+     * @return The borrows and returns of the book, oldest first.
+     */
+    List<BorrowHistoryEntry> viewBorrowHistory(String isbn);
+
+    /**
+     * Searches the books whose title and author contain every word of the query, ignoring case and accents.
+     * The last word of the query also matches as the beginning of a word.
+     *
+     * @param query The words to search for.
+     * @param limit The maximum number of books to return.
+     * @return The matching books, best matches first.
+     */
+    List<BookDto> searchBooks(String query, int limit);
+
+    /**
+     * Retrieves the books of an author, in ISBN order.
+     *
+     * @param author        The exact author name.
+     * @param availableOnly Whether to only return the books currently available for borrowing.
+     * @return The books of the author.
+     */
+    List<BookDto> viewBooksByAuthor(String author, boolean availableOnly);
+
+    /**
+     * Retrieves the books published within a range of years, in publication year then ISBN order.
+     *
+     * @param fromYear      The first publication year of the range, inclusive.
+     * @param toYear        The last publication year of the range, inclusive.
+     * @param availableOnly Whether to only return the books currently available for borrowing.
+     * @return The books published within the range.
+     */
+    List<BookDto> viewBooksPublishedBetween(int fromYear, int toYear, boolean availableOnly);
+}
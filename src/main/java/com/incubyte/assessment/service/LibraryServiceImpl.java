@@ -1,19 +1,52 @@
 package com.incubyte.assessment.service;
 
+import com.incubyte.assessment.event.BookChange;
+import com.incubyte.assessment.event.BookChangePublisher;
+import com.incubyte.assessment.event.BookChangeType;
+import com.incubyte.assessment.event.LibraryEvent;
+import com.incubyte.assessment.event.LibraryEventSink;
+import com.incubyte.assessment.event.LibraryEventType;
+import com.incubyte.assessment.event.NoOpLibraryEventSink;
 import com.incubyte.assessment.exception.CustomException;
+import com.incubyte.assessment.exception.ErrorCode;
+import com.incubyte.assessment.history.BookBorrowCount;
+import com.incubyte.assessment.history.BorrowHistory;
+import com.incubyte.assessment.history.BorrowHistoryEntry;
+import com.incubyte.assessment.history.LoanStats;
 import com.incubyte.assessment.model.Book;
+import com.incubyte.assessment.model.BookBatchOutcome;
+import com.incubyte.assessment.model.BookBatchResult;
 import com.incubyte.assessment.model.BookDto;
+import com.incubyte.assessment.model.BookImportError;
+import com.incubyte.assessment.model.BookImportResult;
+import com.incubyte.assessment.repository.library.AvailabilityUpdate;
 import com.incubyte.assessment.repository.library.LibraryRepository;
 import com.incubyte.assessment.repository.library.LibraryRepositoryFactory;
 import com.incubyte.assessment.util.AppConstants;
 
 import java.time.LocalDateTime;
+import java.time.Year;
 import java.util.ArrayList;
-import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Flow;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static com.incubyte.assessment.util.AppConstants.*;
-import static com.incubyte.assessment.util.MessageFormatUtil.displayMessage;
 import static com.incubyte.assessment.util.MessageFormatUtil.formatMessage;
 
 /**
@@ -29,6 +62,11 @@ import static com.incubyte.assessment.util.MessageFormatUtil.formatMessage;
  * <ul>
  *   <li>{@link LibraryRepository}: For CRUD operations on books.</li>
  *   <li>{@link LibraryRepositoryFactory}: For creating and managing repository instances.</li>
+ *   <li>{@link LibraryEventSink}: For reporting the outcome of each operation without blocking on its display.</li>
+ *   <li>{@link BookChangePublisher}: For publishing the books added, borrowed and returned through this service
+ *   to the subscribers of its change feed.</li>
+ *   <li>{@link BorrowHistory}: For logging every borrow and return made through this service, and answering
+ *   popularity and loan statistics from its incrementally maintained aggregates.</li>
  *   <li>{@link Book} and {@link BookDto}: Domain and data transfer objects for books.</li>
  *   <li>{@link AppConstants} and utility classes for reusable constants and formatting.</li>
  * </ul>
@@ -36,45 +74,83 @@ import static com.incubyte.assessment.util.MessageFormatUtil.formatMessage;
 public class LibraryServiceImpl implements LibraryService {
 
     private final LibraryRepository libraryRepository;
+    private final LibraryEventSink eventSink;
+    private final BookChangePublisher changePublisher;
+    private final BorrowHistory borrowHistory;
 
-    //Constructor based dependency injection
+    //Constructor based dependency injection, discarding the operation outcome events
     public LibraryServiceImpl(LibraryRepository libraryRepository) {
+        this(libraryRepository, NoOpLibraryEventSink.getInstance());
+    }
+
+    //Constructor based dependency injection, with a change feed of its own
+    public LibraryServiceImpl(LibraryRepository libraryRepository, LibraryEventSink eventSink) {
+        this(libraryRepository, eventSink, new BookChangePublisher());
+    }
+
+    //Constructor based dependency injection, with a borrow history of its own
+    public LibraryServiceImpl(LibraryRepository libraryRepository, LibraryEventSink eventSink, BookChangePublisher changePublisher) {
+        this(libraryRepository, eventSink, changePublisher, new BorrowHistory());
+    }
+
+    //Constructor based dependency injection
+    public LibraryServiceImpl(LibraryRepository libraryRepository, LibraryEventSink eventSink, BookChangePublisher changePublisher,
+                              BorrowHistory borrowHistory) {
         this.libraryRepository = libraryRepository;
+        this.eventSink = eventSink;
+        this.changePublisher = changePublisher;
+        this.borrowHistory = borrowHistory;
     }
 
-    private Book convertDtoToEntity(BookDto bookDto) {
+    static Book convertDtoToEntity(BookDto bookDto) {
         return new Book(bookDto.isbn(), bookDto.title(), bookDto.author(), bookDto.publicationYear());
     }
 
-    private BookDto convertEntityToDto(Book book) {
+    static BookDto convertEntityToDto(Book book) {
         return new BookDto(book.getIsbn(), book.getTitle(), book.getAuthor(), book.getPublicationYear(), book.getIsAvailable());
     }
 
-    private void validateIfBookAlreadyExists(String isbn) {
-        if (libraryRepository.existsById(isbn))
-            throw new CustomException(String.format(BOOK_ALREADY_EXISTS, isbn));
+    private void validateIfBookWasAdded(boolean added, String isbn) {
+        if (!added)
+            throw new CustomException(ErrorCode.BOOK_ALREADY_EXISTS, formatMessage(BOOK_ALREADY_EXISTS_TEMPLATE, isbn));
     }
 
-    private void validateIfBookDoesNotExist(String isbn) {
-        if (!libraryRepository.existsById(isbn)) {
-            throw new CustomException(formatMessage(AppConstants.BOOK_DOES_NOT_EXIST, isbn));
+    private Book validateIfBookExists(Book book, String isbn) {
+        if (book == null) {
+            throw new CustomException(ErrorCode.BOOK_DOES_NOT_EXIST, formatMessage(AppConstants.BOOK_DOES_NOT_EXIST_TEMPLATE, isbn));
         }
+
+        return book;
     }
 
-    private void validateAddBookRequest(BookDto bookDto) {
+    //The error code and message of the first validation rule broken by a book
+    record ValidationError(ErrorCode errorCode, String message) {
+
+        CustomException toException() {
+            return new CustomException(errorCode, message);
+        }
+    }
+
+    static ValidationError validationErrorOf(BookDto bookDto, int currentYear) {
         if (bookDto.isbn() == null || bookDto.isbn().isEmpty())
-            throw new CustomException(INVALID_ISBN);
+            return new ValidationError(ErrorCode.INVALID_ISBN, INVALID_ISBN);
 
         if (bookDto.title() == null || bookDto.title().isEmpty())
-            throw new CustomException(INVALID_TITLE);
+            return new ValidationError(ErrorCode.INVALID_TITLE, INVALID_TITLE);
 
         if (bookDto.author() == null || bookDto.author().isEmpty())
-            throw new CustomException(INVALID_AUTHOR);
+            return new ValidationError(ErrorCode.INVALID_AUTHOR, INVALID_AUTHOR);
+
+        if (bookDto.publicationYear() <= 0 || currentYear < bookDto.publicationYear())
+            return new ValidationError(ErrorCode.INVALID_PUBLICATION_YEAR, INVALID_PUBLICATION_YEAR);
 
-        if (bookDto.publicationYear() <= 0 || Calendar.getInstance().get(Calendar.YEAR) < bookDto.publicationYear())
-            throw new CustomException(INVALID_PUBLICATION_YEAR);
+        return null;
+    }
 
-        validateIfBookAlreadyExists(bookDto.isbn());
+    private void validateAddBookRequest(BookDto bookDto) {
+        ValidationError validationError = validationErrorOf(bookDto, Year.now().getValue());
+        if (validationError != null)
+            throw validationError.toException();
     }
 
     @Override
@@ -83,81 +159,347 @@ public class LibraryServiceImpl implements LibraryService {
         validateAddBookRequest(bookDto);
 
         Book book = convertDtoToEntity(bookDto);
-        libraryRepository.add(book);
+        validateIfBookWasAdded(libraryRepository.addIfAbsent(book), book.getIsbn());
 
-        displayMessage(BOOK_ADDED_SUCCESSFULLY, book.getIsbn());
-        return convertEntityToDto(book);
+        eventSink.publish(new LibraryEvent(LibraryEventType.BOOK_ADDED, book.getIsbn()));
+        BookDto addedBook = convertEntityToDto(book);
+        changePublisher.publish(new BookChange(BookChangeType.ADDED, addedBook));
+        return addedBook;
+    }
+
+    @Override
+    public BookImportResult addBooks(Iterable<BookDto> bookDtos) {
+        int currentYear = Year.now().getValue();
+        List<BookImportError> errors = new ArrayList<>();
+        long importedCount = 0;
+        long recordNumber = 0;
+
+        List<Book> batch = new ArrayList<>(DEFAULT_IMPORT_BATCH_SIZE);
+        Map<String, Long> batchRecordNumbers = new HashMap<>();
+
+        for (BookDto bookDto : bookDtos) {
+            recordNumber++;
+
+            String isbn = bookDto == null ? null : bookDto.isbn();
+            String validationError = bookDto == null ? formatMessage(INVALID_IMPORT_RECORD_TEMPLATE, "null") : messageOf(validationErrorOf(bookDto, currentYear));
+            if (validationError == null && batchRecordNumbers.putIfAbsent(isbn, recordNumber) != null) {
+                validationError = formatMessage(DUPLICATE_ISBN_IN_IMPORT_TEMPLATE, isbn);
+            }
+
+            if (validationError != null) {
+                errors.add(new BookImportError(recordNumber, isbn, validationError));
+                continue;
+            }
+
+            batch.add(convertDtoToEntity(bookDto));
+            if (batch.size() == DEFAULT_IMPORT_BATCH_SIZE) {
+                importedCount += insertImportBatch(batch, batchRecordNumbers, errors);
+            }
+        }
+        importedCount += insertImportBatch(batch, batchRecordNumbers, errors);
+
+        errors.sort(Comparator.comparingLong(BookImportError::recordNumber));
+        eventSink.publish(new LibraryEvent(LibraryEventType.BOOKS_IMPORTED, importedCount, errors.size()));
+        return new BookImportResult(importedCount, errors);
     }
 
-    private Book validateIsBookAvailable(String isbn) {
-        validateIfBookDoesNotExist(isbn);
+    private static String messageOf(ValidationError validationError) {
+        return validationError == null ? null : validationError.message();
+    }
 
-        Book book = libraryRepository.getById(isbn);
-        if (!book.getIsAvailable()) {
-            throw new CustomException(formatMessage(AppConstants.BOOK_NOT_AVAILABLE, isbn));
+    private long insertImportBatch(List<Book> batch, Map<String, Long> batchRecordNumbers, List<BookImportError> errors) {
+        List<Book> rejectedBooks = batch.isEmpty() ? List.of() : libraryRepository.addAllIfAbsent(batch);
+        for (Book rejectedBook : rejectedBooks) {
+            String isbn = rejectedBook.getIsbn();
+            errors.add(new BookImportError(batchRecordNumbers.get(isbn), isbn, formatMessage(BOOK_ALREADY_EXISTS_TEMPLATE, isbn)));
         }
 
-        return book;
+        //Rejected books are not published, as the stored book with their ISBN has other details
+        List<Book> insertedBooks = batch;
+        if (!rejectedBooks.isEmpty()) {
+            Set<Book> rejectedBookSet = Collections.newSetFromMap(new IdentityHashMap<>());
+            rejectedBookSet.addAll(rejectedBooks);
+            insertedBooks = batch.stream().filter(book -> !rejectedBookSet.contains(book)).toList();
+        }
+        if (changePublisher.hasSubscribers()) {
+            insertedBooks.forEach(book -> changePublisher.publish(new BookChange(BookChangeType.ADDED, convertEntityToDto(book))));
+        }
+
+        long insertedCount = batch.size() - rejectedBooks.size();
+        batch.clear();
+        batchRecordNumbers.clear();
+        return insertedCount;
     }
 
     private Book performBorrowProcedureOnBook(String isbn) {
-        Book book = validateIsBookAvailable(isbn);
-        book.setIsAvailable(false);
-        book.setLastBorrowedAt(LocalDateTime.now());
-
-        libraryRepository.add(book);
-        return book;
+        //The check and the update are a single conditional update of the repository
+        AvailabilityUpdate update = libraryRepository.borrowIfAvailable(isbn, LocalDateTime.now());
+
+        return switch (update.outcome()) {
+            case UPDATED -> update.book();
+            case NOT_FOUND -> throw new CustomException(ErrorCode.BOOK_DOES_NOT_EXIST, formatMessage(AppConstants.BOOK_DOES_NOT_EXIST_TEMPLATE, isbn));
+            case NOT_AVAILABLE, NOT_BORROWED -> throw new CustomException(ErrorCode.BOOK_NOT_AVAILABLE, formatMessage(AppConstants.BOOK_NOT_AVAILABLE_TEMPLATE, isbn));
+        };
     }
 
     @Override
     public BookDto borrowBook(String isbn) {
         Book book = performBorrowProcedureOnBook(isbn);
-        displayMessage(AppConstants.BOOK_BORROWED_SUCCESSFULLY, book.getIsbn());
+        eventSink.publish(new LibraryEvent(LibraryEventType.BOOK_BORROWED, book.getIsbn()));
 
-        return convertEntityToDto(book);
+        return recordAvailabilityChange(BookChangeType.BORROWED, book, borrowHistory, changePublisher);
+    }
+
+    private AvailabilityUpdate performReturnProcedureOnBook(String isbn) {
+        //Returning a book which is not borrowed leaves it unchanged, as it is already back in the library
+        AvailabilityUpdate update = libraryRepository.returnIfBorrowed(isbn, LocalDateTime.now());
+        validateIfBookExists(update.book(), isbn);
+
+        return update;
     }
 
-    private Book performReturnProcedureOnBook(String isbn) {
-        validateIfBookDoesNotExist(isbn);
+    @Override
+    public BookDto returnBook(String isbn) {
+        AvailabilityUpdate update = performReturnProcedureOnBook(isbn);
+        eventSink.publish(new LibraryEvent(LibraryEventType.BOOK_RETURNED, isbn));
+
+        //A book which was not borrowed is unchanged, so its return is neither a change of the catalog nor a loan
+        return update.isUpdated() ? recordAvailabilityChange(BookChangeType.RETURNED, update.book(), borrowHistory, changePublisher) : convertEntityToDto(update.book());
+    }
 
-        Book book = libraryRepository.getById(isbn);
-        if (book.getIsAvailable()) {
-            return book;
+    //Logs the borrow or return in the borrow history and publishes it to the change feed, for both services
+    static BookDto recordAvailabilityChange(BookChangeType type, Book book, BorrowHistory borrowHistory, BookChangePublisher changePublisher) {
+        if (type == BookChangeType.BORROWED) {
+            borrowHistory.recordBorrow(book.getIsbn(), book.getLastBorrowedAt());
+        } else {
+            borrowHistory.recordReturn(book.getIsbn(), book.getLastReturnedAt());
         }
 
-        book.setIsAvailable(true);
-        book.setLastReturnedAt(LocalDateTime.now());
+        BookDto bookDto = convertEntityToDto(book);
+        changePublisher.publish(new BookChange(type, bookDto));
+        return bookDto;
+    }
 
-        libraryRepository.add(book);
-        return book;
+    @Override
+    public BookBatchResult borrowBooks(Collection<String> isbns) {
+        return performBatchProcedureOnBooks(isbns, libraryRepository::borrowAllIfAvailable, LibraryEventType.BOOKS_BORROWED, BookChangeType.BORROWED);
     }
 
     @Override
-    public BookDto returnBook(String isbn) {
-        Book book = performReturnProcedureOnBook(isbn);
-        displayMessage(AppConstants.BOOK_RETURNED_SUCCESSFULLY, book.getIsbn());
+    public BookBatchResult returnBooks(Collection<String> isbns) {
+        return performBatchProcedureOnBooks(isbns, libraryRepository::returnAllIfBorrowed, LibraryEventType.BOOKS_RETURNED, BookChangeType.RETURNED);
+    }
 
-        return convertEntityToDto(book);
+    private BookBatchResult performBatchProcedureOnBooks(Collection<String> isbns,
+                                                        BiFunction<Collection<String>, LocalDateTime, Map<String, AvailabilityUpdate>> batchUpdate,
+                                                        LibraryEventType appliedEventType,
+                                                        BookChangeType appliedChangeType) {
+        if (isbns == null || isbns.isEmpty())
+            throw new CustomException(ErrorCode.EMPTY_BOOK_BATCH, EMPTY_BOOK_BATCH);
+
+        //The whole batch is validated in one pass, and an invalid batch never reaches the repository
+        List<String> requestedIsbns = new ArrayList<>(isbns);
+        String[] errors = new String[requestedIsbns.size()];
+        Set<String> batchIsbns = new LinkedHashSet<>();
+        boolean valid = true;
+        for (int i = 0; i < errors.length; i++) {
+            String isbn = requestedIsbns.get(i);
+            if (isbn == null || isbn.isEmpty()) {
+                errors[i] = INVALID_ISBN;
+            } else if (!batchIsbns.add(isbn)) {
+                errors[i] = formatMessage(DUPLICATE_ISBN_IN_BATCH_TEMPLATE, isbn);
+            }
+            valid &= errors[i] == null;
+        }
+
+        Map<String, AvailabilityUpdate> updates = valid ? batchUpdate.apply(batchIsbns, LocalDateTime.now()) : Map.of();
+        boolean applied = valid && !AvailabilityUpdate.anyRejected(updates.values());
+
+        List<BookBatchOutcome> outcomes = new ArrayList<>(errors.length);
+        int rejectedCount = 0;
+        for (int i = 0; i < errors.length; i++) {
+            String isbn = requestedIsbns.get(i);
+            AvailabilityUpdate update = errors[i] == null ? updates.get(isbn) : null;
+            if (errors[i] != null || update != null && update.isRejected()) {
+                rejectedCount++;
+            }
+            String error = applied ? null : errors[i] != null ? errors[i] : rejectionErrorOf(update, isbn);
+            //Books returned without being borrowed are unchanged, and are neither logged nor published
+            BookDto book = !applied ? null
+                    : update.isUpdated() ? recordAvailabilityChange(appliedChangeType, update.book(), borrowHistory, changePublisher) : convertEntityToDto(update.book());
+            outcomes.add(new BookBatchOutcome(isbn, book, error));
+        }
+
+        eventSink.publish(applied ? new LibraryEvent(appliedEventType, outcomes.size())
+                : new LibraryEvent(LibraryEventType.BOOK_BATCH_REJECTED, rejectedCount, outcomes.size()));
+        return new BookBatchResult(applied, outcomes);
     }
 
-    private List<BookDto> fetchAvailableBookListUsingFilter(List<Book> bookList) {
-        return new ArrayList<>(bookList).stream()
-                .map(this::convertEntityToDto)
-                .filter(BookDto::isAvailable)
-                .toList();
+    private static String rejectionErrorOf(AvailabilityUpdate update, String isbn) {
+        if (update == null || !update.isRejected()) {
+            return formatMessage(BOOK_BATCH_ROLLED_BACK_TEMPLATE, isbn);
+        }
+
+        return update.outcome() == AvailabilityUpdate.Outcome.NOT_FOUND
+                ? formatMessage(BOOK_DOES_NOT_EXIST_TEMPLATE, isbn)
+                : formatMessage(BOOK_NOT_AVAILABLE_TEMPLATE, isbn);
+    }
+
+    @Override
+    public BookDto viewBook(String isbn) {
+        Book book = validateIfBookExists(libraryRepository.getById(isbn), isbn);
+        eventSink.publish(new LibraryEvent(LibraryEventType.BOOK_FETCHED, book.getIsbn()));
+
+        return convertEntityToDto(book);
     }
 
     @Override
     public List<BookDto> viewAvailableBooks() {
-        List<Book> bookList = libraryRepository.getAll();
+        List<Book> availableBookList = libraryRepository.getAllAvailable();
 
-        if (bookList.isEmpty()) {
-            displayMessage(NO_AVAILABLE_BOOKS);
+        if (availableBookList.isEmpty()) {
+            eventSink.publish(new LibraryEvent(LibraryEventType.NO_BOOKS_AVAILABLE));
             return new ArrayList<>();
         }
 
-        displayMessage(FETCHED_AVAILABLE_BOOK_LIST_SUCCESSFULLY);
-        return fetchAvailableBookListUsingFilter(bookList);
+        eventSink.publish(new LibraryEvent(LibraryEventType.AVAILABLE_BOOKS_FETCHED));
+        return availableBookList.stream()
+                .map(LibraryServiceImpl::convertEntityToDto)
+                .toList();
+    }
+
+    private void validatePageLimit(int limit) {
+        if (limit <= 0)
+            throw new CustomException(ErrorCode.INVALID_PAGE_LIMIT, INVALID_PAGE_LIMIT);
+    }
+
+    @Override
+    public List<BookDto> viewAvailableBooks(String afterIsbn, int limit) {
+        validatePageLimit(limit);
+
+        List<BookDto> availableBookPage = libraryRepository.getAvailablePage(afterIsbn, limit).stream()
+                .map(LibraryServiceImpl::convertEntityToDto)
+                .toList();
+
+        eventSink.publish(new LibraryEvent(LibraryEventType.AVAILABLE_BOOK_PAGE_FETCHED, availableBookPage.size()));
+        return availableBookPage;
+    }
+
+    private void validateSearchRequest(String query, int limit) {
+        if (query == null || query.isBlank())
+            throw new CustomException(ErrorCode.INVALID_SEARCH_QUERY, INVALID_SEARCH_QUERY);
+
+        validatePageLimit(limit);
+    }
+
+    @Override
+    public List<BookDto> searchBooks(String query, int limit) {
+        validateSearchRequest(query, limit);
+
+        List<BookDto> matchingBooks = libraryRepository.search(query, limit).stream()
+                .map(libraryRepository::getById)
+                .filter(Objects::nonNull)
+                .map(LibraryServiceImpl::convertEntityToDto)
+                .toList();
+
+        eventSink.publish(new LibraryEvent(LibraryEventType.BOOKS_SEARCHED, query, matchingBooks.size()));
+        return matchingBooks;
+    }
+
+    @Override
+    public List<BookDto> viewBooksByAuthor(String author, boolean availableOnly) {
+        if (author == null || author.isEmpty())
+            throw new CustomException(ErrorCode.INVALID_AUTHOR, INVALID_AUTHOR);
+
+        List<BookDto> books = libraryRepository.getByAuthor(author, availableOnly).stream()
+                .map(LibraryServiceImpl::convertEntityToDto)
+                .toList();
+
+        eventSink.publish(new LibraryEvent(LibraryEventType.BOOKS_BY_AUTHOR_FETCHED, books.size(), author));
+        return books;
+    }
+
+    @Override
+    public List<BookDto> viewBooksPublishedBetween(int fromYear, int toYear, boolean availableOnly) {
+        if (fromYear <= 0 || toYear < fromYear)
+            throw new CustomException(ErrorCode.INVALID_PUBLICATION_YEAR_RANGE, formatMessage(INVALID_PUBLICATION_YEAR_RANGE_TEMPLATE, fromYear, toYear));
+
+        List<BookDto> books = libraryRepository.getByPublicationYearRange(fromYear, toYear, availableOnly).stream()
+                .map(LibraryServiceImpl::convertEntityToDto)
+                .toList();
+
+        eventSink.publish(new LibraryEvent(LibraryEventType.BOOKS_BY_PUBLICATION_YEAR_FETCHED, books.size(), fromYear, toYear));
+        return books;
+    }
+
+    @Override
+    public Flow.Publisher<BookChange> changeFeed() {
+        return changePublisher;
+    }
+
+    @Override
+    public List<BookBorrowCount> viewMostBorrowedBooks(int limit) {
+        validatePageLimit(limit);
+
+        List<BookBorrowCount> mostBorrowedBooks = borrowHistory.getMostBorrowed(limit);
+        eventSink.publish(new LibraryEvent(LibraryEventType.MOST_BORROWED_BOOKS_FETCHED, mostBorrowedBooks.size(),
+                borrowHistory.getPopularityWindow().toDays()));
+        return mostBorrowedBooks;
+    }
+
+    @Override
+    public LoanStats viewLoanStatistics() {
+        LoanStats loanStats = borrowHistory.getLoanStats();
+        eventSink.publish(new LibraryEvent(LibraryEventType.LOAN_STATISTICS_FETCHED, loanStats.borrowCount()));
+        return loanStats;
+    }
+
+    @Override
+    public List<BorrowHistoryEntry> viewBorrowHistory(String isbn) {
+        validateIfBookExists(libraryRepository.getById(isbn), isbn);
+
+        List<BorrowHistoryEntry> history = borrowHistory.getHistory(isbn);
+        eventSink.publish(new LibraryEvent(LibraryEventType.BORROW_HISTORY_FETCHED, history.size(), isbn));
+        return history;
+    }
+
+    @Override
+    public Stream<BookDto> streamAvailableBooks() {
+        return StreamSupport.stream(new AvailableBookPageSpliterator(DEFAULT_PAGE_SIZE), false);
+    }
+
+    /**
+     * Spliterator walking the available books page by page, so that at most one page is held in memory.
+     */
+    private final class AvailableBookPageSpliterator extends Spliterators.AbstractSpliterator<BookDto> {
+
+        private final int pageSize;
+        private Iterator<Book> currentPage = Collections.emptyIterator();
+        private String lastIsbn;
+        private boolean lastPageFetched;
+
+        private AvailableBookPageSpliterator(int pageSize) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.pageSize = pageSize;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super BookDto> action) {
+            if (!currentPage.hasNext() && !lastPageFetched) {
+                List<Book> page = libraryRepository.getAvailablePage(lastIsbn, pageSize);
+                lastPageFetched = page.size() < pageSize;
+                currentPage = page.iterator();
+            }
+
+            if (!currentPage.hasNext()) {
+                return false;
+            }
+
+            Book book = currentPage.next();
+            lastIsbn = book.getIsbn();
+            action.accept(convertEntityToDto(book));
+            return true;
+        }
     }
 
 }
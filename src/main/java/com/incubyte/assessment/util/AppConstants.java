@@ -7,30 +7,149 @@ import com.incubyte.assessment.repository.RepositoryType;
  * This class provides commonly used message templates and error messages to ensure consistency
  * across the application. It avoids hardcoding values throughout the codebase, making it easier to
  * manage and update messages.
+ * The messages formatted with arguments are compiled once, into the {@link MessageTemplate} declared beside each one.
  */
 public class AppConstants {
 
     public static final String BOOK_MESSAGE_PREFIX = "Book with ISBN %s";
     public static final RepositoryType DEFAULT_REPOSITORY_TYPE = RepositoryType.IN_MEMORY;
+    public static final int DEFAULT_PAGE_SIZE = 1000;
+    public static final int DEFAULT_IMPORT_BATCH_SIZE = 10_000;
+    public static final int DEFAULT_EVENT_BUFFER_CAPACITY = 8192;
+    public static final int DEFAULT_EVENT_BATCH_SIZE = 256;
+    public static final int DEFAULT_CHANGE_FEED_BUFFER_CAPACITY = 1024;
+
+    //File System Repository Defaults
+    public static final String DEFAULT_FILESYSTEM_DIRECTORY = System.getProperty("java.io.tmpdir") + "/library-management-system/filesystem";
+    public static final long DEFAULT_FILESYSTEM_MAX_SEGMENT_BYTES = 64L * 1024 * 1024;
+    public static final long DEFAULT_FILESYSTEM_GROUP_COMMIT_INTERVAL_MILLIS = 5;
+    public static final long DEFAULT_FILESYSTEM_COMPACTION_INTERVAL_MILLIS = 60_000;
+    public static final double DEFAULT_FILESYSTEM_COMPACTION_LIVE_RATIO_THRESHOLD = 0.5;
+    public static final int DEFAULT_FILESYSTEM_INITIAL_INDEX_CAPACITY = 1 << 16;
+
+    //Database Repository Defaults
+    public static final String DEFAULT_DATABASE_URL = "jdbc:h2:" + System.getProperty("java.io.tmpdir") + "/library-management-system/database/library";
+    public static final String DEFAULT_DATABASE_USERNAME = "sa";
+    public static final int DEFAULT_DATABASE_MAXIMUM_POOL_SIZE = 10;
+    public static final int DEFAULT_DATABASE_BATCH_SIZE = 1000;
+
+    //HTTP Server Defaults, the repository type being thread-safe as requests are served concurrently
+    public static final int DEFAULT_HTTP_PORT = 8080;
+    public static final int DEFAULT_HTTP_BACKLOG = 4096;
+    public static final RepositoryType DEFAULT_HTTP_REPOSITORY_TYPE = RepositoryType.CONCURRENT_IN_MEMORY;
+
+    //Repository Cache Defaults, the cache being disabled unless a maximum size is configured
+    public static final int DEFAULT_CACHE_MAXIMUM_SIZE = 0;
+    public static final String DEFAULT_CACHED_REPOSITORY_TYPES = "DATABASE,FILESYSTEM";
+
+    //Journal Defaults, the in-memory repositories being journaled only when listed
+    public static final String DEFAULT_JOURNAL_DIRECTORY = System.getProperty("java.io.tmpdir") + "/library-management-system/journal";
+    public static final long DEFAULT_JOURNAL_SNAPSHOT_INTERVAL_MILLIS = 300_000;
+    public static final String DEFAULT_JOURNALED_REPOSITORY_TYPES = "";
+
+    //Write-Behind Defaults, updates being written synchronously unless a flush interval is configured
+    public static final long DEFAULT_WRITE_BEHIND_FLUSH_INTERVAL_MILLIS = 0;
+    public static final int DEFAULT_WRITE_BEHIND_MAX_PENDING_UPDATES = 100_000;
+    public static final String DEFAULT_WRITE_BEHIND_REPOSITORY_TYPES = "DATABASE,FILESYSTEM";
+
+    //Sharding Configuration Constants
+    public static final int DEFAULT_SHARD_COUNT = 1;
+    public static final String DEFAULT_SHARDED_REPOSITORY_TYPES = "CONCURRENT_IN_MEMORY,FILESYSTEM,DATABASE";
+
+    //Migration Defaults, every batch of books being copied while the mutations of the source wait
+    public static final int DEFAULT_MIGRATION_BATCH_SIZE = 1_000;
+
+    //Borrow History Defaults, the most borrowed books being ranked over the last 30 days, an hour leaving the window at a time
+    public static final int DEFAULT_POPULARITY_WINDOW_DAYS = 30;
+    public static final int DEFAULT_POPULARITY_BUCKET_HOURS = 1;
 
     //Common Error Constants
     public final static String MESSAGE_FORMAT_ARGUMENT_COUNT_MISMATCH = "Mismatch between placeholders and arguments. Expected %s arguments but got %s";
     public final static String REPOSITORY_TYPE_CANNOT_BE_NULL = "RepositoryType cannot be null";
+    public final static MessageTemplate REPOSITORY_TYPE_CANNOT_BE_NULL_TEMPLATE = MessageTemplate.compile(REPOSITORY_TYPE_CANNOT_BE_NULL);
+    public final static String REPOSITORY_IO_ERROR = "Repository storage operation failed: %s";
+    public final static MessageTemplate REPOSITORY_IO_ERROR_TEMPLATE = MessageTemplate.compile(REPOSITORY_IO_ERROR);
+    public final static String REPOSITORY_DIRECTORY_LOCKED = "Repository directory %s is already in use by another repository instance.";
+    public final static MessageTemplate REPOSITORY_DIRECTORY_LOCKED_TEMPLATE = MessageTemplate.compile(REPOSITORY_DIRECTORY_LOCKED);
+    public final static String REPOSITORY_INDEX_CAPACITY_EXCEEDED = "Repository index cannot grow beyond %s entries.";
+    public final static MessageTemplate REPOSITORY_INDEX_CAPACITY_EXCEEDED_TEMPLATE = MessageTemplate.compile(REPOSITORY_INDEX_CAPACITY_EXCEEDED);
+    public final static String REPOSITORY_STORAGE_CAPACITY_EXCEEDED = "Repository storage cannot grow beyond %s bytes.";
+    public final static MessageTemplate REPOSITORY_STORAGE_CAPACITY_EXCEEDED_TEMPLATE = MessageTemplate.compile(REPOSITORY_STORAGE_CAPACITY_EXCEEDED);
+    public final static String REPOSITORY_FIELD_TOO_LONG = "Field value is too long to be stored: %s";
+    public final static MessageTemplate REPOSITORY_FIELD_TOO_LONG_TEMPLATE = MessageTemplate.compile(REPOSITORY_FIELD_TOO_LONG);
+    public final static String REPOSITORY_CLOSED = "Repository has been closed.";
+    public final static MessageTemplate REPOSITORY_CLOSED_TEMPLATE = MessageTemplate.compile(REPOSITORY_CLOSED);
+    public final static String REPOSITORY_SNAPSHOT_CORRUPTED = "Repository snapshot %s is corrupted.";
+    public final static MessageTemplate REPOSITORY_SNAPSHOT_CORRUPTED_TEMPLATE = MessageTemplate.compile(REPOSITORY_SNAPSHOT_CORRUPTED);
+    public final static String REPOSITORY_DATABASE_ERROR = "Repository database operation failed: %s";
+    public final static MessageTemplate REPOSITORY_DATABASE_ERROR_TEMPLATE = MessageTemplate.compile(REPOSITORY_DATABASE_ERROR);
+    public final static String REPOSITORY_MIGRATION_ALREADY_STARTED = "Repository migration has already been started.";
+    public final static MessageTemplate REPOSITORY_MIGRATION_ALREADY_STARTED_TEMPLATE = MessageTemplate.compile(REPOSITORY_MIGRATION_ALREADY_STARTED);
+    public final static String REPOSITORY_MIGRATION_TARGET_CONFLICT = "Repository migration target holds %s books that are not in the source.";
+    public final static MessageTemplate REPOSITORY_MIGRATION_TARGET_CONFLICT_TEMPLATE = MessageTemplate.compile(REPOSITORY_MIGRATION_TARGET_CONFLICT);
+    public final static String REPOSITORY_MIGRATION_INCOMPLETE = "Repository migration copied %s of the %s books of the source.";
+    public final static MessageTemplate REPOSITORY_MIGRATION_INCOMPLETE_TEMPLATE = MessageTemplate.compile(REPOSITORY_MIGRATION_INCOMPLETE);
 
     //Library Management Success Constants
     public final static String BOOK_ADDED_SUCCESSFULLY = BOOK_MESSAGE_PREFIX + " has been added successfully to the library.";
     public final static String BOOK_BORROWED_SUCCESSFULLY = BOOK_MESSAGE_PREFIX + " has been borrowed successfully from the library.";
     public final static String BOOK_RETURNED_SUCCESSFULLY = BOOK_MESSAGE_PREFIX + " has been returned successfully to the library.";
+    public final static String BOOK_FETCHED_SUCCESSFULLY = BOOK_MESSAGE_PREFIX + " has been fetched successfully from the library.";
     public final static String FETCHED_AVAILABLE_BOOK_LIST_SUCCESSFULLY = "The list of available books in the library has been fetched successfully.";
+    public final static String BOOKS_IMPORTED_SUCCESSFULLY = "%s books have been imported into the library, %s records were rejected.";
+    public final static String FETCHED_AVAILABLE_BOOK_PAGE_SUCCESSFULLY = "A page of %s available books in the library has been fetched successfully.";
+    public final static String BOOKS_SEARCHED_SUCCESSFULLY = "The search for '%s' has found %s books in the library.";
+    public final static String FETCHED_BOOKS_BY_AUTHOR_SUCCESSFULLY = "%s books by %s have been fetched successfully from the library.";
+    public final static String FETCHED_BOOKS_BY_PUBLICATION_YEAR_SUCCESSFULLY = "%s books published from %s to %s have been fetched successfully from the library.";
+    public final static String BOOKS_BORROWED_SUCCESSFULLY = "%s books have been borrowed successfully from the library.";
+    public final static String BOOKS_RETURNED_SUCCESSFULLY = "%s books have been returned successfully to the library.";
+    public final static String FETCHED_MOST_BORROWED_BOOKS_SUCCESSFULLY = "The %s most borrowed books of the last %s days have been fetched successfully.";
+    public final static String FETCHED_LOAN_STATISTICS_SUCCESSFULLY = "The loan statistics of %s borrows have been fetched successfully.";
+    public final static String FETCHED_BORROW_HISTORY_SUCCESSFULLY = "The borrow history of %s entries of the book with ISBN %s has been fetched successfully.";
 
     //Library Management Error Constants
     public final static String BOOK_ALREADY_EXISTS = BOOK_MESSAGE_PREFIX + " already exists in the library.";
+    public final static MessageTemplate BOOK_ALREADY_EXISTS_TEMPLATE = MessageTemplate.compile(BOOK_ALREADY_EXISTS);
     public final static String BOOK_DOES_NOT_EXIST = BOOK_MESSAGE_PREFIX + " does not exist in the library.";
+    public final static MessageTemplate BOOK_DOES_NOT_EXIST_TEMPLATE = MessageTemplate.compile(BOOK_DOES_NOT_EXIST);
     public final static String BOOK_NOT_AVAILABLE = BOOK_MESSAGE_PREFIX + " has been already borrowed and not available in the library.";
+    public final static MessageTemplate BOOK_NOT_AVAILABLE_TEMPLATE = MessageTemplate.compile(BOOK_NOT_AVAILABLE);
     public final static String NO_AVAILABLE_BOOKS = "There are no available books in the library at this moment, please check again later.";
     public final static String INVALID_ISBN = "ISBN cannot be null or empty.";
     public final static String INVALID_TITLE = "Title cannot be null or empty.";
     public final static String INVALID_AUTHOR = "Author cannot be null or empty.";
     public final static String INVALID_PUBLICATION_YEAR = "Invalid publication year.";
+    public final static String INVALID_PUBLICATION_YEAR_RANGE = "Invalid publication year range from %s to %s.";
+    public final static MessageTemplate INVALID_PUBLICATION_YEAR_RANGE_TEMPLATE = MessageTemplate.compile(INVALID_PUBLICATION_YEAR_RANGE);
+    public final static String DUPLICATE_ISBN_IN_IMPORT = BOOK_MESSAGE_PREFIX + " appears more than once in the import.";
+    public final static MessageTemplate DUPLICATE_ISBN_IN_IMPORT_TEMPLATE = MessageTemplate.compile(DUPLICATE_ISBN_IN_IMPORT);
+    public final static String DUPLICATE_ISBN_IN_BATCH = BOOK_MESSAGE_PREFIX + " appears more than once in the batch.";
+    public final static MessageTemplate DUPLICATE_ISBN_IN_BATCH_TEMPLATE = MessageTemplate.compile(DUPLICATE_ISBN_IN_BATCH);
+    public final static String BOOK_BATCH_ROLLED_BACK = BOOK_MESSAGE_PREFIX + " has been left unchanged as other books of the batch were rejected.";
+    public final static MessageTemplate BOOK_BATCH_ROLLED_BACK_TEMPLATE = MessageTemplate.compile(BOOK_BATCH_ROLLED_BACK);
+    public final static String BOOK_BATCH_NOT_APPLIED = "%s of the %s books of the batch were rejected, no book has been borrowed or returned.";
+    public final static String EMPTY_BOOK_BATCH = "Batch of ISBNs cannot be null or empty.";
+    public final static String INVALID_IMPORT_RECORD = "Malformed import record: %s";
+    public final static MessageTemplate INVALID_IMPORT_RECORD_TEMPLATE = MessageTemplate.compile(INVALID_IMPORT_RECORD);
+    public final static String UNSUPPORTED_IMPORT_FORMAT = "Unsupported import file %s, expected a .csv or .jsonl file.";
+    public final static MessageTemplate UNSUPPORTED_IMPORT_FORMAT_TEMPLATE = MessageTemplate.compile(UNSUPPORTED_IMPORT_FORMAT);
+    public final static String IMPORT_FILE_READ_ERROR = "Import file could not be read: %s";
+    public final static MessageTemplate IMPORT_FILE_READ_ERROR_TEMPLATE = MessageTemplate.compile(IMPORT_FILE_READ_ERROR);
+    public final static String INVALID_PAGE_LIMIT = "Page limit must be greater than zero.";
+    public final static String INVALID_SEARCH_QUERY = "Search query cannot be null or empty.";
+    public final static String CHANGE_FEED_SUBSCRIBER_OVERFLOW = "Change feed subscriber fell more than %s changes behind and has been unsubscribed.";
+    public final static MessageTemplate CHANGE_FEED_SUBSCRIBER_OVERFLOW_TEMPLATE = MessageTemplate.compile(CHANGE_FEED_SUBSCRIBER_OVERFLOW);
+
+    //HTTP Server Error Constants
+    public final static String HTTP_RESOURCE_NOT_FOUND = "No resource found at %s.";
+    public final static MessageTemplate HTTP_RESOURCE_NOT_FOUND_TEMPLATE = MessageTemplate.compile(HTTP_RESOURCE_NOT_FOUND);
+    public final static String HTTP_METHOD_NOT_ALLOWED = "Method %s is not allowed on %s.";
+    public final static MessageTemplate HTTP_METHOD_NOT_ALLOWED_TEMPLATE = MessageTemplate.compile(HTTP_METHOD_NOT_ALLOWED);
+    public final static String HTTP_INVALID_REQUEST_BODY = "Request body is not a valid book: %s";
+    public final static MessageTemplate HTTP_INVALID_REQUEST_BODY_TEMPLATE = MessageTemplate.compile(HTTP_INVALID_REQUEST_BODY);
+    public final static String HTTP_INVALID_QUERY_PARAMETER = "Invalid value %s of query parameter %s.";
+    public final static MessageTemplate HTTP_INVALID_QUERY_PARAMETER_TEMPLATE = MessageTemplate.compile(HTTP_INVALID_QUERY_PARAMETER);
+    public final static String HTTP_INTERNAL_SERVER_ERROR = "The request could not be processed: %s";
+    public final static MessageTemplate HTTP_INTERNAL_SERVER_ERROR_TEMPLATE = MessageTemplate.compile(HTTP_INTERNAL_SERVER_ERROR);
 
 }
@@ -21,15 +21,22 @@ public class MessageFormatUtil {
      * This method is used to generate a formatted string with dynamic content,
      * ensuring that the number of placeholders in the format string matches
      * the number of arguments provided. If there is a mismatch, a CustomException is thrown.
+     * The format is compiled on every call; the {@link AppConstants} messages are formatted through their templates instead.
      */
     public static String formatMessage(String format, Object... args) {
-        int placeholderCount = format.split("%s", -1).length - 1;
-
-        if (placeholderCount != args.length) {
-            throw new CustomException(formatMessage(AppConstants.MESSAGE_FORMAT_ARGUMENT_COUNT_MISMATCH, placeholderCount, args.length));
-        }
+        return MessageTemplate.compile(format).render(args);
+    }
 
-        return String.format(format, args);
+    /**
+     * Formats a message from its compiled template by replacing placeholders (%s) with the provided arguments.
+     *
+     * @param template The compiled template, one of the {@link AppConstants} message templates.
+     * @param args The arguments to replace the placeholders in the template.
+     * @return The formatted message as a String.
+     * @throws CustomException If the number of arguments does not match the number of placeholders.
+     */
+    public static String formatMessage(MessageTemplate template, Object... args) {
+        return template.render(args);
     }
 
     /**
@@ -0,0 +1,89 @@
+package com.incubyte.assessment.util;
+
+import com.incubyte.assessment.exception.CustomException;
+import com.incubyte.assessment.exception.ErrorCode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Message format compiled once into its literal segments, for the {@code %s} placeholders of the
+ * {@link AppConstants} messages.
+ *
+ * <p>The placeholders are located and counted when the template is compiled, so rendering only
+ * checks the argument count and appends the segments and arguments into a builder sized for the
+ * literal segments. Only {@code %s} is a placeholder; any other character is copied as is.</p>
+ */
+public final class MessageTemplate {
+
+    private static final String PLACEHOLDER = "%s";
+    private static final int ESTIMATED_ARGUMENT_LENGTH = 16;
+
+    private static final MessageTemplate ARGUMENT_COUNT_MISMATCH = compile(AppConstants.MESSAGE_FORMAT_ARGUMENT_COUNT_MISMATCH);
+
+    private final String format;
+    private final String[] literals;
+    private final int literalLength;
+
+    private MessageTemplate(String format, String[] literals, int literalLength) {
+        this.format = format;
+        this.literals = literals;
+        this.literalLength = literalLength;
+    }
+
+    /**
+     * Compiles a message format.
+     *
+     * @param format The format string containing placeholders (%s).
+     * @return The compiled template.
+     */
+    public static MessageTemplate compile(String format) {
+        List<String> literals = new ArrayList<>();
+        int start = 0;
+        int placeholderIndex;
+        while ((placeholderIndex = format.indexOf(PLACEHOLDER, start)) >= 0) {
+            literals.add(format.substring(start, placeholderIndex));
+            start = placeholderIndex + PLACEHOLDER.length();
+        }
+        literals.add(format.substring(start));
+
+        int literalLength = format.length() - (literals.size() - 1) * PLACEHOLDER.length();
+        return new MessageTemplate(format, literals.toArray(String[]::new), literalLength);
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public int getPlaceholderCount() {
+        return literals.length - 1;
+    }
+
+    /**
+     * Renders the message, replacing each placeholder with the string value of the matching argument.
+     *
+     * @param args The arguments to replace the placeholders with.
+     * @return The rendered message.
+     * @throws CustomException If the number of arguments does not match the number of placeholders.
+     */
+    public String render(Object... args) {
+        if (args.length != getPlaceholderCount()) {
+            throw new CustomException(ErrorCode.MESSAGE_FORMAT_ARGUMENT_COUNT_MISMATCH, ARGUMENT_COUNT_MISMATCH.render(getPlaceholderCount(), args.length));
+        }
+        if (args.length == 0) {
+            return format;
+        }
+
+        StringBuilder builder = new StringBuilder(literalLength + args.length * ESTIMATED_ARGUMENT_LENGTH);
+        builder.append(literals[0]);
+        for (int i = 0; i < args.length; i++) {
+            builder.append(args[i]).append(literals[i + 1]);
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public String toString() {
+        return format;
+    }
+}
@@ -0,0 +1,109 @@
+package com.incubyte.assessment.event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.incubyte.assessment.util.AppConstants.BOOK_ADDED_SUCCESSFULLY;
+import static com.incubyte.assessment.util.MessageFormatUtil.formatMessage;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link AsyncLibraryEventSink} class.
+ *
+ * <p>This test class verifies that published events reach every listener in publication order,
+ * that concurrent publishers lose no event, and that events are dropped rather than blocking
+ * publishers once the ring buffer is full.</p>
+ */
+public class AsyncLibraryEventSinkTest {
+
+    private AsyncLibraryEventSink eventSink;
+
+    @AfterEach
+    void tearDown() {
+        //Applying test post-conditions
+        eventSink.close();
+    }
+
+    @Test
+    void testPublish_DeliversEventsInOrder() {
+        //Applying test pre-conditions
+        eventSink = new AsyncLibraryEventSink(16, 4);
+        List<String> messages = Collections.synchronizedList(new ArrayList<>());
+        eventSink.subscribe(events -> events.forEach(event -> messages.add(event.render())));
+
+        //Performing test operation
+        for (int i = 0; i < 10; i++) {
+            eventSink.publish(new LibraryEvent(LibraryEventType.BOOK_ADDED, "isbn-" + i));
+        }
+        eventSink.flush();
+
+        //Asserting test outcomes
+        assertEquals(10, messages.size());
+        assertEquals(formatMessage(BOOK_ADDED_SUCCESSFULLY, "isbn-0"), messages.get(0));
+        assertEquals(formatMessage(BOOK_ADDED_SUCCESSFULLY, "isbn-9"), messages.get(9));
+        assertEquals(0, eventSink.getDroppedEventCount());
+    }
+
+    @Test
+    void testPublish_ConcurrentPublishersLoseNoEvent() throws Exception {
+        //Applying test pre-conditions
+        eventSink = new AsyncLibraryEventSink(1 << 16, 256);
+        List<LibraryEvent> receivedEvents = Collections.synchronizedList(new ArrayList<>());
+        eventSink.subscribe(receivedEvents::addAll);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        //Performing test operation
+        List<Future<?>> futures = new ArrayList<>();
+        for (int publisher = 0; publisher < 4; publisher++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    eventSink.publish(new LibraryEvent(LibraryEventType.BOOK_BORROWED, "isbn-" + i));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        eventSink.close();
+
+        //Asserting test outcomes
+        assertEquals(20_000, receivedEvents.size());
+    }
+
+    @Test
+    void testPublish_DropsEventsWhenBufferIsFull() throws Exception {
+        //Applying test pre-conditions
+        eventSink = new AsyncLibraryEventSink(4, 1);
+        CountDownLatch listenerBlocked = new CountDownLatch(1);
+        CountDownLatch releaseListener = new CountDownLatch(1);
+        eventSink.subscribe(events -> {
+            listenerBlocked.countDown();
+            try {
+                releaseListener.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        eventSink.publish(new LibraryEvent(LibraryEventType.NO_BOOKS_AVAILABLE));
+        assertTrue(listenerBlocked.await(10, TimeUnit.SECONDS));
+
+        //Performing test operation
+        for (int i = 0; i < 10; i++) {
+            eventSink.publish(new LibraryEvent(LibraryEventType.NO_BOOKS_AVAILABLE));
+        }
+        releaseListener.countDown();
+
+        //Asserting test outcomes
+        assertEquals(6, eventSink.getDroppedEventCount());
+    }
+}
@@ -0,0 +1,202 @@
+package com.incubyte.assessment.event;
+
+import com.incubyte.assessment.exception.CustomException;
+import com.incubyte.assessment.model.BookDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static com.incubyte.assessment.util.AppConstants.CHANGE_FEED_SUBSCRIBER_OVERFLOW;
+import static com.incubyte.assessment.util.MessageFormatUtil.formatMessage;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link BookChangePublisher} class.
+ *
+ * <p>This test class verifies that changes are delivered in publication order and only as far as they were
+ * requested, that a subscriber falling too far behind is unsubscribed with an error instead of blocking the
+ * publisher, and that cancelling and closing end the delivery.</p>
+ */
+public class BookChangePublisherTest {
+
+    private BookChangePublisher publisher;
+
+    private static BookChange changeOf(int i) {
+        return new BookChange(BookChangeType.BORROWED, new BookDto(String.valueOf(1000 + i), "Title " + i, "Author", 2020, false));
+    }
+
+    @AfterEach
+    void tearDown() {
+        //Applying test post-conditions
+        publisher.close();
+    }
+
+    @Test
+    void testPublish_DeliversRequestedChangesInOrder() throws InterruptedException {
+        //Initializing variables and objects required for the test.
+        publisher = new BookChangePublisher(16);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+
+        //Applying test pre-conditions
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(3);
+
+        //Performing test operation
+        for (int i = 0; i < 5; i++) {
+            publisher.publish(changeOf(i));
+        }
+        List<BookChange> requestedChanges = subscriber.take(3);
+        BookChange unrequestedChange = subscriber.changes.poll(100, TimeUnit.MILLISECONDS);
+        subscriber.subscription.request(2);
+        List<BookChange> laterChanges = subscriber.take(2);
+
+        //Asserting test outcomes
+        assertEquals(List.of(changeOf(0), changeOf(1), changeOf(2)), requestedChanges);
+        assertNull(unrequestedChange, "Changes should only be delivered as far as they were requested");
+        assertEquals(List.of(changeOf(3), changeOf(4)), laterChanges);
+    }
+
+    @Test
+    void testPublish_SlowSubscriberIsUnsubscribedWithAnError() throws InterruptedException {
+        //Initializing variables and objects required for the test.
+        publisher = new BookChangePublisher(4);
+        RecordingSubscriber slowSubscriber = new RecordingSubscriber();
+        RecordingSubscriber fastSubscriber = new RecordingSubscriber();
+
+        //Applying test pre-conditions
+        publisher.subscribe(slowSubscriber);
+        publisher.subscribe(fastSubscriber);
+        fastSubscriber.subscription.request(Long.MAX_VALUE);
+
+        //Performing test operation
+        for (int i = 0; i < 4; i++) {
+            publisher.publish(changeOf(i));
+        }
+        List<BookChange> fastChanges = new ArrayList<>(fastSubscriber.take(4));
+        publisher.publish(changeOf(4));
+        fastChanges.addAll(fastSubscriber.take(1));
+
+        //Asserting test outcomes
+        assertTrue(slowSubscriber.terminated.await(5, TimeUnit.SECONDS));
+        assertInstanceOf(CustomException.class, slowSubscriber.error);
+        assertEquals(formatMessage(CHANGE_FEED_SUBSCRIBER_OVERFLOW, 4), slowSubscriber.error.getMessage());
+        assertEquals(5, fastChanges.size());
+        assertEquals(1, publisher.getSubscriberCount());
+    }
+
+    @Test
+    void testCancel_StopsTheDelivery() throws InterruptedException {
+        //Initializing variables and objects required for the test.
+        publisher = new BookChangePublisher(16);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+
+        //Applying test pre-conditions
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+        publisher.publish(changeOf(0));
+        subscriber.take(1);
+
+        //Performing test operation
+        subscriber.subscription.cancel();
+        publisher.publish(changeOf(1));
+
+        //Asserting test outcomes
+        assertNull(subscriber.changes.poll(100, TimeUnit.MILLISECONDS));
+        assertFalse(publisher.hasSubscribers());
+    }
+
+    @Test
+    void testClose_CompletesSubscribersOnceBufferedChangesAreDelivered() throws InterruptedException {
+        //Initializing variables and objects required for the test.
+        publisher = new BookChangePublisher(16);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        RecordingSubscriber lateSubscriber = new RecordingSubscriber();
+
+        //Applying test pre-conditions
+        publisher.subscribe(subscriber);
+        publisher.publish(changeOf(0));
+        publisher.publish(changeOf(1));
+
+        //Performing test operation
+        publisher.close();
+        boolean completedBeforeRequest = subscriber.terminated.await(100, TimeUnit.MILLISECONDS);
+        subscriber.subscription.request(2);
+        publisher.subscribe(lateSubscriber);
+
+        //Asserting test outcomes
+        assertFalse(completedBeforeRequest, "Buffered changes should be delivered before completing");
+        assertEquals(List.of(changeOf(0), changeOf(1)), subscriber.take(2));
+        assertTrue(subscriber.terminated.await(5, TimeUnit.SECONDS));
+        assertTrue(subscriber.completed);
+        assertTrue(lateSubscriber.terminated.await(5, TimeUnit.SECONDS));
+        assertTrue(lateSubscriber.completed);
+    }
+
+    @Test
+    void testRequest_NonPositiveCountIsAnError() throws InterruptedException {
+        //Initializing variables and objects required for the test.
+        publisher = new BookChangePublisher(16);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+
+        //Applying test pre-conditions
+        publisher.subscribe(subscriber);
+
+        //Performing test operation
+        subscriber.subscription.request(0);
+
+        //Asserting test outcomes
+        assertTrue(subscriber.terminated.await(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, subscriber.error);
+        assertFalse(publisher.hasSubscribers());
+    }
+
+    /**
+     * Subscriber recording the changes it receives, requesting none by itself.
+     */
+    static final class RecordingSubscriber implements Flow.Subscriber<BookChange> {
+
+        final LinkedBlockingQueue<BookChange> changes = new LinkedBlockingQueue<>();
+        final CountDownLatch terminated = new CountDownLatch(1);
+        volatile Flow.Subscription subscription;
+        volatile Throwable error;
+        volatile boolean completed;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(BookChange change) {
+            changes.add(change);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            terminated.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            terminated.countDown();
+        }
+
+        List<BookChange> take(int count) throws InterruptedException {
+            List<BookChange> taken = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                BookChange change = changes.poll(5, TimeUnit.SECONDS);
+                assertNotNull(change, "Expected change " + i + " was not delivered");
+                taken.add(change);
+            }
+            return taken;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.incubyte.assessment.history;
+
+import com.incubyte.assessment.event.BookChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link BorrowHistory} class.
+ *
+ * <p>This test class verifies that the log of a book keeps its borrows and returns in time order, even when
+ * recorded out of order, that the most borrowed books are ranked over the sliding window only, and that the
+ * loan durations are aggregated as loans complete.</p>
+ */
+public class BorrowHistoryTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    private MutableClock clock;
+    private BorrowHistory borrowHistory;
+
+    @BeforeEach
+    void setUp() {
+        //Initializing variables and objects required for the test.
+        clock = new MutableClock(START);
+        borrowHistory = new BorrowHistory(Duration.ofDays(7), Duration.ofDays(1), clock);
+    }
+
+    @Test
+    void testHistoryIsKeptInTimeOrder() {
+        //Performing test operation
+        borrowHistory.recordBorrow("1000", START);
+        borrowHistory.recordReturn("1000", START.plusDays(3));
+        borrowHistory.recordReturn("1000", START.plusDays(5));
+        borrowHistory.recordBorrow("1000", START.plusDays(4));
+
+        //Asserting test outcomes
+        assertEquals(List.of(new BorrowHistoryEntry(BookChangeType.BORROWED, START),
+                new BorrowHistoryEntry(BookChangeType.RETURNED, START.plusDays(3)),
+                new BorrowHistoryEntry(BookChangeType.BORROWED, START.plusDays(4)),
+                new BorrowHistoryEntry(BookChangeType.RETURNED, START.plusDays(5))), borrowHistory.getHistory("1000"));
+        assertEquals(2, borrowHistory.getBorrowCount("1000"));
+        assertTrue(borrowHistory.getHistory("2000").isEmpty());
+    }
+
+    @Test
+    void testMostBorrowedBooksAreRankedOverTheWindow() {
+        //Applying test pre-conditions
+        for (int i = 0; i < 3; i++) {
+            borrowHistory.recordBorrow("1000", START);
+        }
+        clock.set(START.plusDays(3));
+        for (int i = 0; i < 2; i++) {
+            borrowHistory.recordBorrow("2000", START.plusDays(3));
+            borrowHistory.recordBorrow("3000", START.plusDays(3));
+        }
+        borrowHistory.recordBorrow("4000", START.plusDays(3));
+        borrowHistory.recordBorrow("4000", START.minusDays(10));
+
+        //Performing test operation
+        List<BookBorrowCount> mostBorrowed = borrowHistory.getMostBorrowed(3);
+        clock.set(START.plusDays(7));
+        List<BookBorrowCount> mostBorrowedAfterAWeek = borrowHistory.getMostBorrowed(10);
+
+        //Asserting test outcomes
+        assertEquals(List.of(new BookBorrowCount("1000", 3), new BookBorrowCount("2000", 2), new BookBorrowCount("3000", 2)), mostBorrowed);
+        assertEquals(List.of(new BookBorrowCount("2000", 2), new BookBorrowCount("3000", 2), new BookBorrowCount("4000", 1)), mostBorrowedAfterAWeek);
+        assertEquals(3, borrowHistory.getBorrowCount("1000"), "Borrows leaving the window should stay in the log");
+        assertEquals(2, borrowHistory.getBorrowCount("4000"));
+    }
+
+    @Test
+    void testLoanStatisticsAggregateCompletedLoans() {
+        //Applying test pre-conditions
+        borrowHistory.recordBorrow("1000", START);
+        borrowHistory.recordReturn("1000", START.plusDays(2));
+        borrowHistory.recordBorrow("2000", START);
+        borrowHistory.recordReturn("2000", START.plusDays(4));
+        borrowHistory.recordBorrow("3000", START);
+        borrowHistory.recordReturn("4000", START);
+
+        //Performing test operation
+        LoanStats loanStats = borrowHistory.getLoanStats();
+
+        //Asserting test outcomes
+        assertEquals(3, loanStats.borrowCount());
+        assertEquals(3, loanStats.returnCount());
+        assertEquals(2, loanStats.completedLoanCount());
+        assertEquals(Duration.ofDays(3), loanStats.meanLoanDuration());
+        assertEquals(Duration.ofDays(4), loanStats.maxLoanDuration());
+        //The histogram reports percentiles within about 6% of the true duration
+        assertEquals(2, loanStats.medianLoanDuration().toHours() / 24.0, 0.15);
+    }
+
+    /**
+     * Clock whose time is set by the test.
+     */
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(LocalDateTime time) {
+            set(time);
+        }
+
+        private void set(LocalDateTime time) {
+            instant = time.toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
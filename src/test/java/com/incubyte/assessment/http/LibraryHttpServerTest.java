@@ -0,0 +1,196 @@
+package com.incubyte.assessment.http;
+
+import com.incubyte.assessment.repository.library.ConcurrentInMemoryLibraryRepository;
+import com.incubyte.assessment.repository.library.FileSystemLibraryRepository;
+import com.incubyte.assessment.repository.library.LibraryRepositoryConfiguration;
+import com.incubyte.assessment.service.LibraryServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link LibraryHttpServer} class.
+ *
+ * <p>This test class verifies the endpoints of the server, the status codes of library errors and the
+ * {@code Allow} header of 405 answers, and that many concurrent clients are served.</p>
+ */
+public class LibraryHttpServerTest {
+
+    private static final String BOOK_JSON = "{\"isbn\":\"%s\",\"title\":\"Test Book\",\"author\":\"Author Name\",\"publicationYear\":2020}";
+
+    @TempDir
+    Path directory;
+
+    private LibraryHttpServer server;
+    private HttpClient client;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() {
+        //Initializing variables and objects required for the test.
+
+        server = new LibraryHttpServer(new LibraryServiceImpl(new ConcurrentInMemoryLibraryRepository()),
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        server.start();
+        client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        baseUrl = "http://localhost:" + server.getPort() + "/books";
+    }
+
+    @AfterEach
+    void tearDown() {
+        //Applying test post-conditions
+
+        client.close();
+        server.close();
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void testEndpoints() throws Exception {
+        //Performing test operation
+        HttpResponse<String> added = send("POST", "", BOOK_JSON.formatted("12345"));
+        HttpResponse<String> borrowed = send("POST", "/12345/borrow", null);
+        HttpResponse<String> fetched = send("GET", "/12345", null);
+        HttpResponse<String> availableWhileBorrowed = send("GET", "?limit=10", null);
+        HttpResponse<String> returned = send("POST", "/12345/return", null);
+        HttpResponse<String> available = send("GET", "?afterIsbn=1&limit=10", null);
+
+        //Asserting test outcomes
+        assertEquals(201, added.statusCode());
+        assertTrue(added.body().contains("\"isAvailable\":true"));
+        assertEquals(200, borrowed.statusCode());
+        assertTrue(borrowed.body().contains("\"isAvailable\":false"));
+        assertEquals(200, fetched.statusCode());
+        assertTrue(fetched.body().contains("\"isAvailable\":false"));
+        assertEquals("[]", availableWhileBorrowed.body());
+        assertEquals(200, returned.statusCode());
+        assertTrue(available.body().contains("\"isbn\":\"12345\""));
+    }
+
+    @Test
+    void testErrors_MappedToStatusCodes() throws Exception {
+        //Applying test pre-conditions
+        send("POST", "", BOOK_JSON.formatted("12345"));
+        send("POST", "/12345/borrow", null);
+
+        //Performing test operation
+        HttpResponse<String> missing = send("GET", "/6789", null);
+        HttpResponse<String> duplicate = send("POST", "", BOOK_JSON.formatted("12345"));
+        HttpResponse<String> notAvailable = send("POST", "/12345/borrow", null);
+        HttpResponse<String> invalidBook = send("POST", "", BOOK_JSON.formatted(""));
+        HttpResponse<String> malformedBody = send("POST", "", "{\"isbn\":");
+        HttpResponse<String> invalidLimit = send("GET", "?limit=ten", null);
+        HttpResponse<String> unknownAction = send("POST", "/12345/renew", null);
+        HttpResponse<String> wrongMethod = send("DELETE", "/12345", null);
+        HttpResponse<String> wrongCollectionMethod = send("PUT", "", null);
+        HttpResponse<String> wrongActionMethod = send("GET", "/12345/borrow", null);
+
+        //Asserting test outcomes
+        assertEquals(404, missing.statusCode());
+        assertTrue(missing.body().contains("\"error\":\"Book with ISBN 6789 does not exist in the library.\""));
+        assertEquals(409, duplicate.statusCode());
+        assertEquals(409, notAvailable.statusCode());
+        assertEquals(400, invalidBook.statusCode());
+        assertEquals(400, malformedBody.statusCode());
+        assertEquals(400, invalidLimit.statusCode());
+        assertEquals(404, unknownAction.statusCode());
+        assertEquals(405, wrongMethod.statusCode());
+        assertEquals("GET", wrongMethod.headers().firstValue("Allow").orElseThrow());
+        assertEquals(405, wrongCollectionMethod.statusCode());
+        assertEquals("GET, POST", wrongCollectionMethod.headers().firstValue("Allow").orElseThrow());
+        assertEquals(405, wrongActionMethod.statusCode());
+        assertEquals("POST", wrongActionMethod.headers().firstValue("Allow").orElseThrow());
+    }
+
+    @Test
+    void testErrors_FieldTooLongToStoreIsBadRequest() throws Exception {
+        //Initializing variables and objects required for the test.
+        LibraryRepositoryConfiguration configuration = LibraryRepositoryConfiguration.builder()
+                .fileSystemDirectory(directory)
+                .fileSystemCompactionIntervalMillis(0)
+                .build();
+        FileSystemLibraryRepository repository = new FileSystemLibraryRepository(configuration);
+        String tooLongTitle = "T".repeat(Short.MAX_VALUE + 1);
+
+        //Applying test pre-conditions
+        server.close();
+        server = new LibraryHttpServer(new LibraryServiceImpl(repository), new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        server.start();
+        baseUrl = "http://localhost:" + server.getPort() + "/books";
+
+        //Performing test operation
+        HttpResponse<String> tooLong = send("POST", "", BOOK_JSON.replace("Test Book", tooLongTitle).formatted("12345"));
+
+        //Asserting test outcomes
+        assertEquals(400, tooLong.statusCode());
+        assertTrue(tooLong.body().contains("too long"));
+
+        //Applying test post-conditions
+        repository.close();
+    }
+
+    @Test
+    void testTrailingSlashes() throws Exception {
+        //Applying test pre-conditions
+        send("POST", "/", BOOK_JSON.formatted("12345"));
+
+        //Performing test operation
+        HttpResponse<String> collection = send("GET", "/", null);
+        HttpResponse<String> slashesOnly = send("GET", "///", null);
+        HttpResponse<String> book = send("GET", "/12345/", null);
+        HttpResponse<String> borrowed = send("POST", "/12345/borrow/", null);
+
+        //Asserting test outcomes
+        assertEquals(200, collection.statusCode());
+        assertTrue(collection.body().contains("\"isbn\":\"12345\""));
+        assertEquals(200, slashesOnly.statusCode());
+        assertEquals(200, book.statusCode());
+        assertEquals(200, borrowed.statusCode());
+    }
+
+    @Test
+    void testConcurrentClients() throws Exception {
+        //Initializing variables and objects required for the test.
+        int clientCount = 1000;
+        List<Future<Integer>> statuses = new ArrayList<>();
+
+        //Performing test operation
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clientCount; i++) {
+                String isbn = String.valueOf(10000 + i);
+                statuses.add(clients.submit(() -> {
+                    send("POST", "", BOOK_JSON.formatted(isbn));
+                    return send("POST", "/" + isbn + "/borrow", null).statusCode();
+                }));
+            }
+        }
+
+        //Asserting test outcomes
+        for (Future<Integer> status : statuses) {
+            assertEquals(200, status.get());
+        }
+        assertEquals("[]", send("GET", "", null).body());
+    }
+}
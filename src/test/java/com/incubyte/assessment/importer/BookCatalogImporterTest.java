@@ -0,0 +1,87 @@
+package com.incubyte.assessment.importer;
+
+import com.incubyte.assessment.exception.CustomException;
+import com.incubyte.assessment.model.BookImportResult;
+import com.incubyte.assessment.repository.library.ConcurrentInMemoryLibraryRepository;
+import com.incubyte.assessment.repository.library.LibraryRepository;
+import com.incubyte.assessment.service.LibraryServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link BookCatalogImporter} class.
+ *
+ * <p>This test class verifies that CSV and JSON Lines catalogs spanning several chunks are imported,
+ * and that malformed lines are reported with their line number without aborting the import.</p>
+ */
+public class BookCatalogImporterTest {
+
+    @TempDir
+    Path directory;
+
+    private LibraryRepository libraryRepository;
+    private BookCatalogImporter importer;
+
+    @BeforeEach
+    void setUp() {
+        //Initializing variables and objects required for the test.
+
+        libraryRepository = new ConcurrentInMemoryLibraryRepository();
+        importer = new BookCatalogImporter(new LibraryServiceImpl(libraryRepository), 100);
+    }
+
+    @Test
+    void testImportCsv_SeveralChunksWithQuotedFields() throws Exception {
+        //Applying test pre-conditions
+        List<String> lines = new ArrayList<>();
+        lines.add("isbn,title,author,publicationYear");
+        for (int i = 0; i < 250; i++) {
+            lines.add("isbn-" + i + ",\"Title, Part " + i + "\",\"Author \"\"" + i + "\"\"\"," + (1900 + i % 100));
+        }
+        Path file = Files.write(directory.resolve("catalog.csv"), lines);
+
+        //Performing test operation
+        BookImportResult result = importer.importFile(file);
+
+        //Asserting test outcomes
+        assertEquals(250, result.importedCount());
+        assertTrue(result.errors().isEmpty());
+        assertEquals("Title, Part 7", libraryRepository.getById("isbn-7").getTitle());
+        assertEquals("Author \"7\"", libraryRepository.getById("isbn-7").getAuthor());
+    }
+
+    @Test
+    void testImportJsonLines_ReportsMalformedLines() throws Exception {
+        //Applying test pre-conditions
+        Path file = Files.write(directory.resolve("catalog.jsonl"), List.of(
+                "{\"isbn\": \"12345\", \"title\": \"Test Book\", \"author\": \"Author Name\", \"publicationYear\": 2020}",
+                "{\"isbn\": \"6789\", \"title\": \"Broken",
+                "",
+                "{\"isbn\": \"6790\", \"title\": \"Another Book\", \"author\": \"Author Name\", \"publicationYear\": \"unknown\"}",
+                "{\"isbn\": \"12345\", \"title\": \"Test Book\", \"author\": \"Author Name\", \"publicationYear\": 2020}"));
+
+        //Performing test operation
+        BookImportResult result = importer.importFile(file);
+
+        //Asserting test outcomes
+        assertEquals(1, result.importedCount());
+        assertEquals(List.of(2L, 4L, 5L), result.errors().stream().map(error -> error.recordNumber()).toList());
+    }
+
+    @Test
+    void testImportFile_UnsupportedExtension() {
+        //Performing test operation
+        CustomException exception = assertThrows(CustomException.class, () -> importer.importFile(directory.resolve("catalog.xml")));
+
+        //Asserting test outcomes
+        assertTrue(exception.getMessage().startsWith("Unsupported import file"));
+    }
+}
@@ -0,0 +1,37 @@
+package com.incubyte.assessment.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link LatencyHistogram} class.
+ *
+ * <p>This test class verifies that percentiles of latencies are reported in nanoseconds within
+ * the precision of the buckets.</p>
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    void testSnapshot_Percentiles() {
+        //Initializing variables and objects required for the test.
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        //Applying test pre-conditions
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        histogram.record(-5);
+
+        //Performing test operation
+        LatencySnapshot snapshot = histogram.snapshot();
+
+        //Asserting test outcomes
+        assertEquals(1001, snapshot.count());
+        assertEquals(1_000_000, snapshot.maxNanos());
+        assertEquals(500_000, snapshot.p50Nanos(), 500_000 * 0.07);
+        assertEquals(990_000, snapshot.p99Nanos(), 990_000 * 0.07);
+        assertTrue(snapshot.p999Nanos() <= snapshot.maxNanos());
+        assertEquals(0, new LatencyHistogram().snapshot().count());
+    }
+}
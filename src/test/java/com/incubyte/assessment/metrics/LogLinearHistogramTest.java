@@ -0,0 +1,47 @@
+package com.incubyte.assessment.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link LogLinearHistogram} class.
+ *
+ * <p>This test class verifies that every value falls into a bucket whose range contains it,
+ * and that the snapshot reports the values in the unit they were recorded in.</p>
+ */
+public class LogLinearHistogramTest {
+
+    @Test
+    void testBucketOf_RangeContainsValue() {
+        //Performing test operation
+        long[] values = {0, 1, 31, 32, 33, 63, 64, 1000, 123_456_789, Long.MAX_VALUE};
+
+        //Asserting test outcomes
+        for (long value : values) {
+            int bucket = LogLinearHistogram.bucketOf(value);
+            assertTrue(LogLinearHistogram.highestValueOf(bucket) >= value);
+            assertTrue(bucket == 0 || LogLinearHistogram.highestValueOf(bucket - 1) < value);
+        }
+    }
+
+    @Test
+    void testSnapshot_InTheUnitOfTheValues() {
+        //Initializing variables and objects required for the test.
+        LogLinearHistogram histogram = new LogLinearHistogram();
+
+        //Applying test pre-conditions
+        histogram.record(86_400);
+        histogram.record(3 * 86_400);
+
+        //Performing test operation
+        HistogramSnapshot snapshot = histogram.snapshot();
+
+        //Asserting test outcomes
+        assertEquals(2, snapshot.count());
+        assertEquals(2 * 86_400, snapshot.mean());
+        assertEquals(86_400, snapshot.p50(), 86_400 * 0.07);
+        assertEquals(3 * 86_400, snapshot.max());
+        assertEquals(new HistogramSnapshot(0, 0, 0, 0, 0, 0), new LogLinearHistogram().snapshot());
+    }
+}
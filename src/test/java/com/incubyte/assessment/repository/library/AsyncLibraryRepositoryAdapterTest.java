@@ -0,0 +1,111 @@
+package com.incubyte.assessment.repository.library;
+
+import com.incubyte.assessment.exception.CustomException;
+import com.incubyte.assessment.model.Book;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link AsyncLibraryRepositoryAdapter} class.
+ *
+ * <p>This test class verifies that the operations of the blocking repository complete the returned futures,
+ * that they fail them with the exception thrown by the repository, that the caller is not blocked while the
+ * repository waits and that concurrent operations overlap.</p>
+ */
+public class AsyncLibraryRepositoryAdapterTest {
+
+    private static final LocalDateTime BORROWED_AT = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+    private AsyncLibraryRepositoryAdapter repository;
+
+    @AfterEach
+    void tearDown() {
+        //Applying test post-conditions
+        repository.close();
+    }
+
+    @Test
+    void testOperationsCompleteWithTheRepositoryResults() {
+        //Initializing variables and objects required for the test.
+        repository = new AsyncLibraryRepositoryAdapter(new ConcurrentInMemoryLibraryRepository());
+        Book book = new Book("12345", "Test Book", "Author Name", 2020);
+
+        //Performing test operation
+        boolean added = repository.addIfAbsent(book).join();
+        boolean addedAgain = repository.addIfAbsent(book).join();
+        AvailabilityUpdate borrowed = repository.borrowIfAvailable("12345", BORROWED_AT).join();
+        AvailabilityUpdate borrowedAgain = repository.borrowIfAvailable("12345", BORROWED_AT).join();
+
+        //Asserting test outcomes
+        assertTrue(added);
+        assertFalse(addedAgain);
+        assertTrue(borrowed.isUpdated());
+        assertEquals(AvailabilityUpdate.Outcome.NOT_AVAILABLE, borrowedAgain.outcome());
+        assertFalse(repository.getById("12345").join().getIsAvailable());
+        assertTrue(repository.getAvailablePage(null, 10).join().isEmpty());
+        assertEquals(1, repository.getByAuthor("Author Name", false).join().size());
+    }
+
+    @Test
+    void testRepositoryFailureCompletesTheFutureExceptionally() {
+        //Initializing variables and objects required for the test.
+        repository = new AsyncLibraryRepositoryAdapter(new ForwardingLibraryRepository(new ConcurrentInMemoryLibraryRepository()) {
+            @Override
+            public Book getById(String id) {
+                throw new CustomException("Storage unavailable");
+            }
+        });
+
+        //Performing test operation
+        CompletionException exception = assertThrows(CompletionException.class, () -> repository.getById("12345").join());
+
+        //Asserting test outcomes
+        assertInstanceOf(CustomException.class, exception.getCause());
+        assertEquals("Storage unavailable", exception.getCause().getMessage());
+    }
+
+    @Test
+    void testBlockedOperationsDoNotBlockTheCallerAndOverlap() throws InterruptedException {
+        //Initializing variables and objects required for the test.
+        int operationCount = 100;
+        CountDownLatch allStarted = new CountDownLatch(operationCount);
+        CountDownLatch release = new CountDownLatch(1);
+        repository = new AsyncLibraryRepositoryAdapter(new ForwardingLibraryRepository(new ConcurrentInMemoryLibraryRepository()) {
+            @Override
+            public boolean existsById(String id) {
+                //Simulating a repository waiting on its storage
+                allStarted.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.existsById(id);
+            }
+        });
+
+        //Performing test operation
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < operationCount; i++) {
+            futures.add(repository.existsById(String.valueOf(i)));
+        }
+        boolean overlapped = allStarted.await(5, TimeUnit.SECONDS);
+        boolean completedBeforeRelease = futures.stream().anyMatch(CompletableFuture::isDone);
+        release.countDown();
+
+        //Asserting test outcomes
+        assertTrue(overlapped, "Every operation should be waiting on the repository at the same time");
+        assertFalse(completedBeforeRelease);
+        futures.forEach(future -> assertFalse(future.join()));
+    }
+}
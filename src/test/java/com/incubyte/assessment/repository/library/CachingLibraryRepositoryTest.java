@@ -0,0 +1,152 @@
+package com.incubyte.assessment.repository.library;
+
+import com.incubyte.assessment.model.Book;
+import com.incubyte.assessment.repository.library.cache.CacheStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link CachingLibraryRepository} class.
+ *
+ * <p>This test class verifies that lookups are answered from the cache after the first load,
+ * that writes reach both the delegate and the cache, that frequently read books survive
+ * a scan of books read only once, and that softly referenced books reclaimed by the garbage collector
+ * are loaded again.</p>
+ */
+public class CachingLibraryRepositoryTest {
+
+    private InMemoryLibraryRepository delegate;
+    private CachingLibraryRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        //Initializing variables and objects required for the test.
+
+        delegate = new InMemoryLibraryRepository();
+        repository = new CachingLibraryRepository(delegate, 10);
+    }
+
+    @Test
+    void testGetById_ReadThrough() {
+        //Applying test pre-conditions
+        delegate.add(new Book("12345", "Test Book", "Author Name", 2020));
+
+        //Performing test operation
+        boolean exists = repository.existsById("12345");
+        Book book = repository.getById("12345");
+
+        //Asserting test outcomes
+        CacheStats stats = repository.stats();
+        assertTrue(exists);
+        assertEquals("Test Book", book.getTitle());
+        assertEquals(1, stats.hitCount());
+        assertEquals(1, stats.missCount());
+        assertEquals(0.5, stats.hitRate());
+        assertNull(repository.getById("6789"));
+        assertEquals(1, repository.stats().size());
+    }
+
+    @Test
+    void testWrites_ReachDelegateAndCache() {
+        //Applying test pre-conditions
+        repository.add(new Book("12345", "Test Book", "Author Name", 2020));
+
+        //Performing test operation
+        repository.computeIfPresent("12345", book -> {
+            Book borrowedBook = new Book(book);
+            borrowedBook.setIsAvailable(false);
+            return borrowedBook;
+        });
+        boolean availableAfterBorrow = repository.getById("12345").getIsAvailable();
+        repository.addAll(List.of(new Book("12345", "New Title", "Author Name", 2020)));
+
+        //Asserting test outcomes
+        assertFalse(availableAfterBorrow);
+        assertEquals("New Title", delegate.getById("12345").getTitle());
+        assertEquals("New Title", repository.getById("12345").getTitle());
+        assertFalse(repository.addIfAbsent(new Book("12345", "Other Title", "Other Author", 2000)));
+        assertEquals(1, repository.stats().hitCount());
+        assertEquals(1, repository.stats().missCount());
+    }
+
+    @Test
+    void testConditionalUpdates_StoreResultingBook() {
+        //Applying test pre-conditions
+        repository.add(new Book("12345", "Test Book", "Author Name", 2020));
+
+        //Performing test operation
+        AvailabilityUpdate borrowed = repository.borrowIfAvailable("12345", LocalDateTime.of(2024, 1, 15, 10, 30));
+        AvailabilityUpdate borrowedAgain = repository.borrowIfAvailable("12345", LocalDateTime.of(2024, 1, 16, 10, 30));
+        boolean availableAfterBorrow = repository.getById("12345").getIsAvailable();
+
+        //Asserting test outcomes
+        assertTrue(borrowed.isUpdated());
+        assertEquals(AvailabilityUpdate.Outcome.NOT_AVAILABLE, borrowedAgain.outcome());
+        assertFalse(availableAfterBorrow);
+        assertFalse(delegate.getById("12345").getIsAvailable());
+        assertEquals(1, repository.stats().hitCount());
+        assertEquals(AvailabilityUpdate.Outcome.NOT_FOUND, repository.returnIfBorrowed("6789", LocalDateTime.now()).outcome());
+    }
+
+    @Test
+    void testEviction_KeepsFrequentlyReadBooks() {
+        //Applying test pre-conditions
+        for (int i = 0; i < 1000; i++) {
+            delegate.add(new Book(String.valueOf(i), "Title " + i, "Author", 2000));
+        }
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 5; i++) {
+                repository.getById(String.valueOf(i));
+            }
+        }
+
+        //Performing test operation
+        for (int i = 100; i < 150; i++) {
+            repository.getById(String.valueOf(i));
+        }
+        long missCountAfterScan = repository.stats().missCount();
+        for (int i = 0; i < 5; i++) {
+            repository.getById(String.valueOf(i));
+        }
+        long missCountAfterHotReads = repository.stats().missCount();
+        for (int read = 0; read < 8; read++) {
+            repository.getById("500");
+        }
+
+        //Asserting test outcomes
+        assertEquals(missCountAfterScan, missCountAfterHotReads);
+        assertEquals(10, repository.stats().size());
+        assertTrue(repository.stats().evictionCount() > 0);
+        assertTrue(repository.stats().missCount() < missCountAfterHotReads + 8);
+    }
+
+    @Test
+    void testSoftValues_ReclaimedBooksAreLoadedAgain() {
+        //Initializing variables and objects required for the test.
+        CachingLibraryRepository softRepository = new CachingLibraryRepository(delegate, 10, true);
+
+        //Applying test pre-conditions
+        softRepository.add(new Book("12345", "Test Book", "Author Name", 2020));
+        softRepository.add(new Book("6789", "Other Book", "Author Name", 2021));
+        boolean cachedBeforeReclaim = softRepository.getById("12345") != null;
+
+        //Performing test operation
+        softRepository.reclaimSoftValues();
+        Book reloadedBook = softRepository.getById("12345");
+
+        //Asserting test outcomes
+        CacheStats stats = softRepository.stats();
+        assertTrue(cachedBeforeReclaim);
+        assertEquals("Test Book", reloadedBook.getTitle());
+        assertEquals(1, stats.hitCount());
+        assertEquals(1, stats.missCount());
+        assertEquals(2, stats.evictionCount(), "Both reclaimed books should count as evicted");
+        assertEquals(1, stats.size());
+        assertTrue(softRepository.getById("12345") == reloadedBook);
+    }
+}
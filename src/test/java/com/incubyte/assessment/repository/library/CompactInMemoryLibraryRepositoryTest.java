@@ -0,0 +1,150 @@
+package com.incubyte.assessment.repository.library;
+
+import com.incubyte.assessment.model.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link CompactInMemoryLibraryRepository} class.
+ *
+ * <p>This test class verifies that books read back from the columnar store match the stored ones,
+ * whether their ISBN can be packed into a long or not, that updates only touch the changed columns,
+ * and that paging and the availability bitset walk every book once.</p>
+ */
+public class CompactInMemoryLibraryRepositoryTest {
+
+    private CompactInMemoryLibraryRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        //Initializing variables and objects required for the test.
+
+        repository = new CompactInMemoryLibraryRepository();
+    }
+
+    @Test
+    void testAddAndGetById_PackedAndUnpackedIsbns() {
+        //Applying test pre-conditions
+        List<String> isbns = List.of("9780306406157", "0306406152", "030640615X", "000123", "978-0-306-40615-7", "isbn-1", "123456789012345678");
+
+        //Performing test operation
+        for (String isbn : isbns) {
+            repository.add(new Book(isbn, "Title of " + isbn, "Shared Author", 2001));
+        }
+
+        //Asserting test outcomes
+        for (String isbn : isbns) {
+            Book storedBook = repository.getById(isbn);
+            assertEquals(isbn, storedBook.getIsbn());
+            assertEquals("Title of " + isbn, storedBook.getTitle());
+            assertEquals("Shared Author", storedBook.getAuthor());
+            assertEquals(2001, storedBook.getPublicationYear());
+            assertTrue(storedBook.getIsAvailable());
+        }
+        assertFalse(repository.existsById("123"));
+        assertFalse(repository.existsById("0306406152X"));
+        assertNull(repository.getById("978-0-306-40615-8"));
+    }
+
+    @Test
+    void testComputeIfPresent_UpdatesStateAndDetails() {
+        //Applying test pre-conditions
+        repository.add(new Book("9780306406157", "Old Title", "Author Name", 2020));
+        LocalDateTime borrowedAt = LocalDateTime.of(2024, 1, 2, 3, 4, 5, 6_000_000);
+
+        //Performing test operation
+        repository.computeIfPresent("9780306406157", book -> {
+            Book borrowedBook = new Book(book);
+            borrowedBook.setIsAvailable(false);
+            borrowedBook.setLastBorrowedAt(borrowedAt);
+            return borrowedBook;
+        });
+        repository.add(new Book("9780306406157", "New Title", "Author Name", 2020));
+
+        //Asserting test outcomes
+        Book storedBook = repository.getById("9780306406157");
+        assertEquals("New Title", storedBook.getTitle());
+        assertTrue(storedBook.getIsAvailable());
+        assertNull(storedBook.getLastBorrowedAt());
+        assertNull(repository.computeIfPresent("123", book -> book));
+    }
+
+    @Test
+    void testComputeIfPresent_KeepsBorrowTimestamp() {
+        //Applying test pre-conditions
+        repository.add(new Book("9780306406157", "Test Book", "Author Name", 2020));
+        LocalDateTime borrowedAt = LocalDateTime.of(2024, 1, 2, 3, 4, 5, 6_000_000);
+
+        //Performing test operation
+        Book borrowedBook = repository.computeIfPresent("9780306406157", book -> {
+            Book updatedBook = new Book(book);
+            updatedBook.setIsAvailable(false);
+            updatedBook.setLastBorrowedAt(borrowedAt);
+            return updatedBook;
+        });
+
+        //Asserting test outcomes
+        Book storedBook = repository.getById("9780306406157");
+        assertFalse(borrowedBook.getIsAvailable());
+        assertFalse(storedBook.getIsAvailable());
+        assertEquals(borrowedAt, storedBook.getLastBorrowedAt());
+        assertTrue(repository.getAllAvailable().isEmpty());
+    }
+
+    @Test
+    void testPaging_WalksEveryBookOnce() {
+        //Applying test pre-conditions
+        for (int i = 0; i < 3000; i++) {
+            Book book = new Book(String.valueOf(9780000000000L + i), "Title " + i, "Author " + i % 7, 2000);
+            book.setIsAvailable(i % 3 == 0);
+            repository.add(book);
+        }
+        Set<String> visitedIsbns = new HashSet<>();
+        Set<String> visitedAvailableIsbns = new HashSet<>();
+
+        //Performing test operation
+        List<Book> page = repository.getPage(null, 128);
+        while (!page.isEmpty()) {
+            page.forEach(book -> assertTrue(visitedIsbns.add(book.getIsbn())));
+            page = repository.getPage(page.get(page.size() - 1).getIsbn(), 128);
+        }
+        List<Book> availablePage = repository.getAvailablePage(null, 128);
+        while (!availablePage.isEmpty()) {
+            availablePage.forEach(book -> assertTrue(book.getIsAvailable() && visitedAvailableIsbns.add(book.getIsbn())));
+            availablePage = repository.getAvailablePage(availablePage.get(availablePage.size() - 1).getIsbn(), 128);
+        }
+
+        //Asserting test outcomes
+        assertEquals(3000, visitedIsbns.size());
+        assertEquals(1000, visitedAvailableIsbns.size());
+        assertEquals(1000, repository.getAllAvailable().size());
+        assertEquals(3000, repository.getAll().size());
+        assertTrue(repository.getPage("unknown-isbn", 10).isEmpty());
+        assertFalse(repository.addIfAbsent(new Book("9780000000042", "Other", "Other", 2000)));
+    }
+
+    @Test
+    void testPaging_FollowsIsbnOrderWhateverTheInsertionOrder() {
+        //Applying test pre-conditions
+        repository.add(new Book("9780000000003", "Title", "Author", 2000));
+        repository.add(new Book("978-0-00-000000-1", "Title", "Author", 2000));
+        List<Book> firstPage = repository.getPage(null, 1);
+
+        //Performing test operation
+        repository.add(new Book("9780000000001", "Title", "Author", 2000));
+        repository.add(new Book("9780000000002", "Title", "Author", 2000));
+        List<Book> nextPage = repository.getPage(firstPage.get(0).getIsbn(), 10);
+
+        //Asserting test outcomes
+        assertEquals("978-0-00-000000-1", firstPage.get(0).getIsbn());
+        assertEquals(List.of("9780000000001", "9780000000002", "9780000000003"), nextPage.stream().map(Book::getIsbn).toList());
+        assertEquals(List.of("9780000000003"), repository.getAvailablePage("9780000000002-unknown", 10).stream().map(Book::getIsbn).toList());
+    }
+}
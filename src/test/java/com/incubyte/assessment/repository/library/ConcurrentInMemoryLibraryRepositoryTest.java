@@ -0,0 +1,129 @@
+package com.incubyte.assessment.repository.library;
+
+import com.incubyte.assessment.exception.CustomException;
+import com.incubyte.assessment.model.BookDto;
+import com.incubyte.assessment.service.LibraryServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ConcurrentInMemoryLibraryRepository} class.
+ *
+ * <p>This test class verifies that concurrent patrons going through the {@link LibraryServiceImpl}
+ * cannot borrow the same book twice or add the same ISBN twice, and that concurrent writes on
+ * different books are never lost.</p>
+ */
+public class ConcurrentInMemoryLibraryRepositoryTest {
+
+    private static final int THREAD_COUNT = 16;
+
+    private ConcurrentInMemoryLibraryRepository repository;
+    private LibraryServiceImpl libraryService;
+
+    @BeforeEach
+    void setUp() {
+        //Initializing variables and objects required for the test.
+
+        repository = new ConcurrentInMemoryLibraryRepository();
+        libraryService = new LibraryServiceImpl(repository);
+    }
+
+    @Test
+    void testConcurrentBorrow_OnlyOnePatronSucceeds() throws Exception {
+        //Applying test pre-conditions
+        libraryService.addBook(new BookDto("12345", "Test Book", "Author Name", 2020, true));
+        AtomicInteger successfulBorrows = new AtomicInteger();
+
+        //Performing test operation
+        runConcurrently(threadIndex -> {
+            try {
+                libraryService.borrowBook("12345");
+                successfulBorrows.incrementAndGet();
+            } catch (CustomException ignored) {
+                //Expected for every patron but one
+            }
+        });
+
+        //Asserting test outcomes
+        assertEquals(1, successfulBorrows.get());
+        assertFalse(repository.getById("12345").getIsAvailable());
+    }
+
+    @Test
+    void testConcurrentAdd_SameIsbnAddedOnce() throws Exception {
+        //Applying test pre-conditions
+        AtomicInteger successfulAdds = new AtomicInteger();
+
+        //Performing test operation
+        runConcurrently(threadIndex -> {
+            try {
+                libraryService.addBook(new BookDto("12345", "Test Book " + threadIndex, "Author Name", 2020, true));
+                successfulAdds.incrementAndGet();
+            } catch (CustomException ignored) {
+                //Expected for every patron but one
+            }
+        });
+
+        //Asserting test outcomes
+        assertEquals(1, successfulAdds.get());
+        assertEquals(1, repository.getAll().size());
+    }
+
+    @Test
+    void testConcurrentBorrowAndReturn_DifferentBooks() throws Exception {
+        //Applying test pre-conditions
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            libraryService.addBook(new BookDto("isbn-" + i, "Title " + i, "Author " + i, 2020, true));
+        }
+
+        //Performing test operation
+        runConcurrently(threadIndex -> {
+            for (int cycle = 0; cycle < 1000; cycle++) {
+                libraryService.borrowBook("isbn-" + threadIndex);
+                libraryService.returnBook("isbn-" + threadIndex);
+            }
+            libraryService.borrowBook("isbn-" + threadIndex);
+        });
+
+        //Asserting test outcomes
+        assertEquals(THREAD_COUNT, repository.getAll().size());
+        assertTrue(repository.getAll().stream().noneMatch(book -> book.getIsAvailable()));
+    }
+
+    private void runConcurrently(ThreadTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            int threadIndex = i;
+            futures.add(executor.submit(() -> {
+                startSignal.await();
+                task.run(threadIndex);
+                return null;
+            }));
+        }
+
+        startSignal.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask {
+        void run(int threadIndex);
+    }
+}
@@ -0,0 +1,181 @@
+package com.incubyte.assessment.repository.library;
+
+import com.incubyte.assessment.exception.CustomException;
+import com.incubyte.assessment.model.Book;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link DatabaseLibraryRepository} class.
+ *
+ * <p>This test class verifies that books are stored in and read back from the embedded database,
+ * that batched and conditional inserts report rejected ISBNs, that paging follows the ISBN order,
+ * and that concurrent compare-and-set updates never lose a borrow.</p>
+ */
+public class DatabaseLibraryRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    private LibraryRepositoryConfiguration configuration;
+    private DatabaseLibraryRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        //Initializing variables and objects required for the test.
+
+        configuration = LibraryRepositoryConfiguration.builder()
+                .databaseUrl("jdbc:h2:" + directory.resolve("library"))
+                .databaseBatchSize(16)
+                .build();
+        repository = new DatabaseLibraryRepository(configuration);
+    }
+
+    @AfterEach
+    void tearDown() {
+        //Applying test post-conditions
+        repository.close();
+    }
+
+    @Test
+    void testAddAndGetById() {
+        //Applying test pre-conditions
+        Book book = new Book("12345", "Test Book", "Author Name", 2020);
+
+        //Performing test operation
+        repository.add(book);
+        Book storedBook = repository.getById("12345");
+
+        //Asserting test outcomes
+        assertTrue(repository.existsById("12345"));
+        assertFalse(repository.existsById("6789"));
+        assertNull(repository.getById("6789"));
+        assertEquals("Test Book", storedBook.getTitle());
+        assertEquals("Author Name", storedBook.getAuthor());
+        assertEquals(2020, storedBook.getPublicationYear());
+        assertTrue(storedBook.getIsAvailable());
+    }
+
+    @Test
+    void testBorrowStateSurvivesReopen() {
+        //Applying test pre-conditions
+        repository.add(new Book("12345", "Test Book", "Author Name", 2020));
+        LocalDateTime borrowedAt = LocalDateTime.of(2024, 1, 2, 3, 4, 5, 123_456_789);
+
+        //Performing test operation
+        repository.computeIfPresent("12345", book -> {
+            Book borrowedBook = new Book(book);
+            borrowedBook.setIsAvailable(false);
+            borrowedBook.setLastBorrowedAt(borrowedAt);
+            return borrowedBook;
+        });
+        repository.close();
+        repository = new DatabaseLibraryRepository(configuration);
+        Book storedBook = repository.getById("12345");
+
+        //Asserting test outcomes
+        assertFalse(storedBook.getIsAvailable());
+        assertEquals(borrowedAt, storedBook.getLastBorrowedAt());
+        assertNull(storedBook.getLastReturnedAt());
+        assertNull(repository.computeIfPresent("6789", book -> book));
+    }
+
+    @Test
+    void testAddAllIfAbsent_ReturnsRejectedBooks() {
+        //Applying test pre-conditions
+        repository.add(new Book("isbn-7", "Existing Title", "Existing Author", 2000));
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            books.add(new Book("isbn-" + i, "Title " + i, "Author " + i, 2000));
+        }
+
+        //Performing test operation
+        List<Book> rejectedBooks = repository.addAllIfAbsent(books);
+
+        //Asserting test outcomes
+        assertEquals(1, rejectedBooks.size());
+        assertEquals("isbn-7", rejectedBooks.get(0).getIsbn());
+        assertEquals("Existing Title", repository.getById("isbn-7").getTitle());
+        assertEquals(50, repository.getAll().size());
+        assertFalse(repository.addIfAbsent(new Book("isbn-8", "Other Title", "Other Author", 2000)));
+        assertTrue(repository.addIfAbsent(new Book("isbn-50", "Title 50", "Author 50", 2000)));
+    }
+
+    @Test
+    void testAvailablePages_FollowIsbnOrder() {
+        //Applying test pre-conditions
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Book book = new Book(String.format("isbn-%03d", i), "Title " + i, "Author " + i, 2000);
+            book.setIsAvailable(i % 2 == 0);
+            books.add(book);
+        }
+        repository.addAll(books);
+
+        //Performing test operation
+        List<Book> firstPage = repository.getAvailablePage(null, 10);
+        List<Book> secondPage = repository.getAvailablePage(firstPage.get(9).getIsbn(), 10);
+
+        //Asserting test outcomes
+        assertEquals(50, repository.getAllAvailable().size());
+        assertEquals("isbn-000", firstPage.get(0).getIsbn());
+        assertEquals("isbn-018", firstPage.get(9).getIsbn());
+        assertEquals("isbn-020", secondPage.get(0).getIsbn());
+        assertEquals("isbn-051", repository.getPage("isbn-050", 1).get(0).getIsbn());
+    }
+
+    @Test
+    void testComputeIfPresent_OnlyOneConcurrentBorrowSucceeds() throws Exception {
+        //Applying test pre-conditions
+        repository.add(new Book("12345", "Test Book", "Author Name", 2020));
+        int patrons = 8;
+        AtomicInteger successfulBorrows = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(patrons);
+
+        //Performing test operation
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < patrons; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    repository.computeIfPresent("12345", book -> {
+                        if (!book.getIsAvailable()) {
+                            throw new CustomException("Not available");
+                        }
+                        Book borrowedBook = new Book(book);
+                        borrowedBook.setIsAvailable(false);
+                        return borrowedBook;
+                    });
+                    successfulBorrows.incrementAndGet();
+                } catch (CustomException ignored) {
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        //Asserting test outcomes
+        assertEquals(1, successfulBorrows.get());
+        assertFalse(repository.getById("12345").getIsAvailable());
+    }
+}
@@ -0,0 +1,249 @@
+package com.incubyte.assessment.repository.library;
+
+import com.incubyte.assessment.exception.CustomException;
+import com.incubyte.assessment.exception.ErrorCode;
+import com.incubyte.assessment.model.Book;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link FileSystemLibraryRepository} class.
+ *
+ * <p>This test class verifies that books are durably stored in the segmented record log,
+ * that borrow and return state survives a reopen, that the ISBN index grows and rebuilds
+ * correctly, that compaction preserves every live book, and that a repository failing to open releases its
+ * directory.</p>
+ */
+public class FileSystemLibraryRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    private LibraryRepositoryConfiguration configuration;
+    private FileSystemLibraryRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        //Initializing variables and objects required for the test.
+
+        configuration = LibraryRepositoryConfiguration.builder()
+                .fileSystemDirectory(directory)
+                .fileSystemMaxSegmentBytes(4096)
+                .fileSystemCompactionIntervalMillis(0)
+                .fileSystemInitialIndexCapacity(16)
+                .build();
+        repository = new FileSystemLibraryRepository(configuration);
+    }
+
+    @AfterEach
+    void tearDown() {
+        //Applying test post-conditions
+        repository.close();
+    }
+
+    private void reopen() {
+        repository.close();
+        repository = new FileSystemLibraryRepository(configuration);
+    }
+
+    @Test
+    void testAddAndGetById() {
+        //Applying test pre-conditions
+        Book book = new Book("12345", "Test Book", "Author Name", 2020);
+
+        //Performing test operation
+        repository.add(book);
+        Book storedBook = repository.getById("12345");
+
+        //Asserting test outcomes
+        assertTrue(repository.existsById("12345"));
+        assertFalse(repository.existsById("6789"));
+        assertNull(repository.getById("6789"));
+        assertEquals("Test Book", storedBook.getTitle());
+        assertEquals("Author Name", storedBook.getAuthor());
+        assertEquals(2020, storedBook.getPublicationYear());
+        assertTrue(storedBook.getIsAvailable());
+    }
+
+    @Test
+    void testBorrowStateSurvivesReopen() {
+        //Applying test pre-conditions
+        Book book = new Book("12345", "Test Book", "Author Name", 2020);
+        repository.add(book);
+        LocalDateTime borrowedAt = LocalDateTime.of(2024, 1, 2, 3, 4, 5);
+        book.setIsAvailable(false);
+        book.setLastBorrowedAt(borrowedAt);
+        repository.add(book);
+
+        //Performing test operation
+        reopen();
+        Book storedBook = repository.getById("12345");
+
+        //Asserting test outcomes
+        assertFalse(storedBook.getIsAvailable());
+        assertEquals(borrowedAt, storedBook.getLastBorrowedAt());
+        assertNull(storedBook.getLastReturnedAt());
+        assertEquals(1, repository.getAll().size());
+    }
+
+    @Test
+    void testIndexGrowsAndIsRebuiltWhenMissing() throws Exception {
+        //Applying test pre-conditions
+        for (int i = 0; i < 500; i++) {
+            repository.add(new Book("isbn-" + i, "Title " + i, "Author " + i, 2000));
+        }
+        repository.close();
+        Files.delete(directory.resolve("isbn.index"));
+
+        //Performing test operation
+        repository = new FileSystemLibraryRepository(configuration);
+
+        //Asserting test outcomes
+        assertEquals(500, repository.getAll().size());
+        assertEquals("Title 321", repository.getById("isbn-321").getTitle());
+    }
+
+    @Test
+    void testCompactionKeepsLiveBooksAndDeletesSegments() throws Exception {
+        //Applying test pre-conditions
+        for (int i = 0; i < 100; i++) {
+            Book book = new Book("isbn-" + i, "Title " + i, "Author " + i, 2000);
+            repository.add(book);
+            for (int cycle = 0; cycle < 3; cycle++) {
+                book.setIsAvailable(!book.getIsAvailable());
+                repository.add(book);
+            }
+        }
+        long segmentsBefore = countSegments();
+
+        //Performing test operation
+        repository.compact();
+        reopen();
+
+        //Asserting test outcomes
+        assertTrue(countSegments() < segmentsBefore, "Sealed segments should have been compacted away");
+        assertEquals(100, repository.getAll().size());
+        assertFalse(repository.getById("isbn-42").getIsAvailable());
+        assertEquals("Title 43", repository.getById("isbn-43").getTitle());
+    }
+
+    @Test
+    void testGetAllAvailable_TracksBorrowsAndIndexGrowth() {
+        //Applying test pre-conditions
+        repository.add(new Book("isbn-0", "Title 0", "Author 0", 2000));
+        assertEquals(1, repository.getAllAvailable().size());
+
+        for (int i = 1; i < 100; i++) {
+            Book book = new Book("isbn-" + i, "Title " + i, "Author " + i, 2000);
+            book.setIsAvailable(i % 10 != 0);
+            repository.add(book);
+        }
+
+        //Performing test operation
+        repository.computeIfPresent("isbn-5", book -> {
+            Book borrowedBook = new Book(book);
+            borrowedBook.setIsAvailable(false);
+            return borrowedBook;
+        });
+
+        //Asserting test outcomes
+        assertEquals(90, repository.getAllAvailable().size());
+        assertTrue(repository.getAllAvailable().stream().allMatch(Book::getIsAvailable));
+    }
+
+    @Test
+    void testGetPage_WalksEveryBookOnce() {
+        //Applying test pre-conditions
+        for (int i = 0; i < 250; i++) {
+            repository.add(new Book("isbn-" + i, "Title " + i, "Author " + i, 2000));
+        }
+        Set<String> visitedIsbns = new HashSet<>();
+
+        //Performing test operation
+        List<Book> page = repository.getPage(null, 40);
+        while (!page.isEmpty()) {
+            page.forEach(book -> assertTrue(visitedIsbns.add(book.getIsbn())));
+            page = repository.getPage(page.get(page.size() - 1).getIsbn(), 40);
+        }
+
+        //Asserting test outcomes
+        assertEquals(250, visitedIsbns.size());
+        assertEquals(List.of("isbn-1"), repository.getPage("isbn-0-unknown", 1).stream().map(Book::getIsbn).toList());
+        assertTrue(repository.getPage("unknown-isbn", 40).isEmpty());
+    }
+
+    @Test
+    void testGetPage_CursorIsStableAcrossIndexGrowth() {
+        //Applying test pre-conditions
+        for (int i = 0; i < 40; i++) {
+            repository.add(new Book(String.format("isbn-%03d", i), "Title " + i, "Author " + i, 2000));
+        }
+        Set<String> visitedIsbns = new HashSet<>();
+
+        //Performing test operation
+        List<Book> page = repository.getPage(null, 10);
+        page.forEach(book -> visitedIsbns.add(book.getIsbn()));
+        for (int i = 40; i < 240; i++) {
+            repository.add(new Book(String.format("isbn-%03d", i), "Title " + i, "Author " + i, 2000));
+        }
+        page = repository.getPage(page.get(page.size() - 1).getIsbn(), 10);
+        while (!page.isEmpty()) {
+            page.forEach(book -> assertTrue(visitedIsbns.add(book.getIsbn())));
+            page = repository.getPage(page.get(page.size() - 1).getIsbn(), 10);
+        }
+
+        //Asserting test outcomes
+        assertEquals(240, visitedIsbns.size());
+        for (int i = 0; i < 40; i++) {
+            assertTrue(visitedIsbns.contains(String.format("isbn-%03d", i)));
+        }
+    }
+
+    @Test
+    void testDirectoryCannotBeSharedByTwoRepositories() {
+        //Performing test operation
+        CustomException exception = assertThrows(CustomException.class, () -> new FileSystemLibraryRepository(configuration));
+
+        //Asserting test outcomes
+        assertTrue(exception.getMessage().contains("already in use"));
+    }
+
+    @Test
+    void testDirectoryIsReleasedWhenOpeningFails() throws Exception {
+        //Applying test pre-conditions
+        repository.add(new Book("isbn-1", "Title", "Author", 2001));
+        repository.close();
+        Path indexPath = directory.resolve("isbn.index");
+        Files.delete(indexPath);
+        Files.createDirectory(indexPath);
+        Files.createFile(indexPath.resolve("unreadable"));
+
+        //Performing test operation
+        CustomException exception = assertThrows(CustomException.class, () -> new FileSystemLibraryRepository(configuration));
+        Files.delete(indexPath.resolve("unreadable"));
+        Files.delete(indexPath);
+        repository = new FileSystemLibraryRepository(configuration);
+
+        //Asserting test outcomes
+        assertEquals(ErrorCode.REPOSITORY_IO_ERROR, exception.getErrorCode());
+        assertNotNull(repository.getById("isbn-1"));
+    }
+
+    private long countSegments() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".log")).count();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.incubyte.assessment.repository.library;
+
+import com.incubyte.assessment.exception.CustomException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link IsbnLockStripes} class.
+ *
+ * <p>This test class verifies that an action holding the stripes of a batch excludes the actions on the same
+ * ISBNs until it completes, that an action holding every stripe excludes all of them, and that the stripes are
+ * released when an action fails.</p>
+ */
+public class IsbnLockStripesTest {
+
+    private final IsbnLockStripes lockStripes = new IsbnLockStripes();
+
+    //Runs an action on the stripe of an ISBN in another thread, returning whether it completed within the timeout
+    private boolean completesPromptly(String isbn) throws Exception {
+        CompletableFuture<Boolean> completed = CompletableFuture.supplyAsync(() -> lockStripes.withStripe(isbn, () -> true));
+        try {
+            return completed.get(100, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    @Test
+    void testWithStripesOf_ExcludesActionsOnTheSameIsbns() throws Exception {
+        //Initializing variables and objects required for the test.
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        //Applying test pre-conditions
+        Thread holder = Thread.ofVirtual().start(() -> lockStripes.withStripesOf(List.of("100001", "100002", "100001"), () -> {
+            held.countDown();
+            awaitQuietly(release);
+            return null;
+        }));
+        held.await();
+
+        //Performing test operation
+        boolean completedWhileHeld = completesPromptly("100002");
+        release.countDown();
+        holder.join();
+
+        //Asserting test outcomes
+        assertFalse(completedWhileHeld);
+        assertTrue(completesPromptly("100002"));
+    }
+
+    @Test
+    void testWithAllStripes_ExcludesActionsOnEveryIsbn() throws Exception {
+        //Initializing variables and objects required for the test.
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        //Applying test pre-conditions
+        Thread holder = Thread.ofVirtual().start(() -> lockStripes.withAllStripes(() -> {
+            held.countDown();
+            awaitQuietly(release);
+            return null;
+        }));
+        held.await();
+
+        //Performing test operation
+        boolean completedWhileHeld = completesPromptly("any-isbn");
+        release.countDown();
+        holder.join();
+
+        //Asserting test outcomes
+        assertFalse(completedWhileHeld);
+        assertTrue(completesPromptly("any-isbn"));
+    }
+
+    @Test
+    void testStripesAreReleasedWhenTheActionFails() throws Exception {
+        //Performing test operation
+        assertThrows(CustomException.class, () -> lockStripes.withStripesOf(List.of("100001", "100002"), () -> {
+            throw new CustomException("Action failed");
+        }));
+        assertThrows(CustomException.class, () -> lockStripes.withAllStripes(() -> {
+            throw new CustomException("Action failed");
+        }));
+
+        //Asserting test outcomes
+        assertTrue(completesPromptly("100001"));
+        assertTrue(completesPromptly("100002"));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.incubyte.assessment.repository.library;
+
+import com.incubyte.assessment.exception.CustomException;
+import com.incubyte.assessment.exception.ErrorCode;
+import com.incubyte.assessment.model.Book;
+import com.incubyte.assessment.repository.library.journal.RecoveryStats;
+import com.incubyte.assessment.util.AppConstants;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static com.incubyte.assessment.util.MessageFormatUtil.formatMessage;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link JournaledLibraryRepository} class.
+ *
+ * <p>This test class verifies that the books of a journaled in-memory repository are restored on startup,
+ * by replaying the journal after a crash, by loading the latest snapshot followed by the journal tail,
+ * and from the snapshot taken on a clean shutdown, that a mutation failing to be journaled leaves the delegate
+ * unchanged, that failed snapshots are counted, and that the directory is released when recovery or the last
+ * snapshot fails.</p>
+ */
+public class JournaledLibraryRepositoryTest {
+
+    @TempDir
+    private Path directory;
+
+    @TempDir
+    private Path crashDirectory;
+
+    private static LibraryRepositoryConfiguration configurationOf(Path journalDirectory) {
+        return LibraryRepositoryConfiguration.builder()
+                .journalDirectory(journalDirectory)
+                .journalSnapshotIntervalMillis(0)
+                .build();
+    }
+
+    private static Book borrow(Book book) {
+        Book borrowedBook = new Book(book);
+        borrowedBook.setIsAvailable(false);
+        borrowedBook.setLastBorrowedAt(LocalDateTime.of(2024, 1, 15, 10, 30));
+        return borrowedBook;
+    }
+
+    //Copying the files of an open repository leaves them as a crash would, without the last snapshot
+    private void crash() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.copy(file, crashDirectory.resolve(file.getFileName()));
+            }
+        }
+    }
+
+    @Test
+    void testRecovery_ReplaysJournalAfterCrash() throws IOException {
+        //Applying test pre-conditions
+        JournaledLibraryRepository repository = new JournaledLibraryRepository(new ConcurrentInMemoryLibraryRepository(), configurationOf(directory));
+        repository.add(new Book("12345", "Test Book", "Author Name", 2020));
+        repository.addIfAbsent(new Book("6789", "Other Book", "Other Author", 2021));
+        repository.computeIfPresent("12345", JournaledLibraryRepositoryTest::borrow);
+        crash();
+        repository.close();
+
+        //Performing test operation
+        JournaledLibraryRepository recoveredRepository = new JournaledLibraryRepository(new ConcurrentInMemoryLibraryRepository(), configurationOf(crashDirectory));
+
+        //Asserting test outcomes
+        RecoveryStats stats = recoveredRepository.getRecoveryStats();
+        assertEquals(0, stats.snapshotBookCount());
+        assertEquals(3, stats.replayedRecordCount());
+        assertFalse(recoveredRepository.getById("12345").getIsAvailable());
+        assertEquals(LocalDateTime.of(2024, 1, 15, 10, 30), recoveredRepository.getById("12345").getLastBorrowedAt());
+        assertEquals("Other Book", recoveredRepository.getById("6789").getTitle());
+
+        //Applying test post-conditions
+        recoveredRepository.close();
+    }
+
+    @Test
+    void testRecovery_LoadsSnapshotThenJournalTail() throws IOException {
+        //Initializing variables and objects required for the test.
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < 25_000; i++) {
+            books.add(new Book(String.valueOf(100_000 + i), "Title " + i, "Author " + (i % 100), 1900 + i % 120));
+        }
+
+        //Applying test pre-conditions
+        JournaledLibraryRepository repository = new JournaledLibraryRepository(new InMemoryLibraryRepository(), configurationOf(directory));
+        repository.addAll(books);
+        repository.snapshot();
+        repository.computeIfPresent("100000", JournaledLibraryRepositoryTest::borrow);
+        repository.computeIfPresent("124999", JournaledLibraryRepositoryTest::borrow);
+        repository.add(new Book("12345", "Test Book", "Author Name", 2020));
+        crash();
+        repository.close();
+
+        //Performing test operation
+        JournaledLibraryRepository recoveredRepository = new JournaledLibraryRepository(new InMemoryLibraryRepository(), configurationOf(crashDirectory));
+
+        //Asserting test outcomes
+        RecoveryStats stats = recoveredRepository.getRecoveryStats();
+        assertEquals(25_000, stats.snapshotBookCount());
+        assertEquals(3, stats.replayedRecordCount());
+        assertEquals(25_001, recoveredRepository.getAll().size());
+        assertFalse(recoveredRepository.getById("100000").getIsAvailable());
+        assertFalse(recoveredRepository.getById("124999").getIsAvailable());
+        assertTrue(recoveredRepository.getById("100001").getIsAvailable());
+        assertEquals("Title 1", recoveredRepository.getById("100001").getTitle());
+
+        //Applying test post-conditions
+        recoveredRepository.close();
+    }
+
+    @Test
+    void testClose_SnapshotsEveryBook() {
+        //Applying test pre-conditions
+        JournaledLibraryRepository repository = new JournaledLibraryRepository(new CompactInMemoryLibraryRepository(), configurationOf(directory));
+        repository.addAll(List.of(new Book("12345", "Test Book", "Author Name", 2020),
+                new Book("6789", "Other Book", "Other Author", 2021)));
+        repository.computeIfPresent("6789", JournaledLibraryRepositoryTest::borrow);
+        repository.close();
+
+        //Performing test operation
+        JournaledLibraryRepository reopenedRepository = new JournaledLibraryRepository(new CompactInMemoryLibraryRepository(), configurationOf(directory));
+
+        //Asserting test outcomes
+        RecoveryStats stats = reopenedRepository.getRecoveryStats();
+        assertEquals(2, stats.snapshotBookCount());
+        assertEquals(0, stats.replayedRecordCount());
+        assertEquals(List.of("12345"), reopenedRepository.getAllAvailable().stream().map(Book::getIsbn).toList());
+        assertEquals(LocalDateTime.of(2024, 1, 15, 10, 30), reopenedRepository.getById("6789").getLastBorrowedAt());
+
+        //Applying test post-conditions
+        reopenedRepository.close();
+    }
+
+    @Test
+    void testMutations_FailingToBeJournaledLeaveTheDelegateUnchanged() {
+        //Initializing variables and objects required for the test.
+        LibraryRepository delegate = new InMemoryLibraryRepository();
+        JournaledLibraryRepository repository = new JournaledLibraryRepository(delegate, configurationOf(directory));
+        LocalDateTime borrowedAt = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+        //Applying test pre-conditions
+        repository.addAll(List.of(new Book("12345", "Test Book", "Author Name", 2020),
+                new Book("6789", "Other Book", "Other Author", 2021)));
+        repository.close();
+
+        //Performing test operation
+        CustomException borrowException = assertThrows(CustomException.class, () -> repository.borrowIfAvailable("12345", borrowedAt));
+        CustomException batchException = assertThrows(CustomException.class, () -> repository.borrowAllIfAvailable(List.of("12345", "6789"), borrowedAt));
+        CustomException computeException = assertThrows(CustomException.class, () -> repository.computeIfPresent("6789", JournaledLibraryRepositoryTest::borrow));
+        CustomException addException = assertThrows(CustomException.class, () -> repository.addAllIfAbsent(List.of(new Book("24680", "New Book", "New Author", 2022))));
+
+        //Asserting test outcomes
+        assertEquals(ErrorCode.REPOSITORY_CLOSED, borrowException.getErrorCode());
+        assertEquals(ErrorCode.REPOSITORY_CLOSED, batchException.getErrorCode());
+        assertEquals(ErrorCode.REPOSITORY_CLOSED, computeException.getErrorCode());
+        assertEquals(ErrorCode.REPOSITORY_CLOSED, addException.getErrorCode());
+        assertTrue(delegate.getById("12345").getIsAvailable());
+        assertTrue(delegate.getById("6789").getIsAvailable());
+        assertNull(delegate.getById("24680"));
+    }
+
+    @Test
+    void testSnapshot_FailuresAreCounted() {
+        //Initializing variables and objects required for the test.
+        AtomicBoolean delegateFailing = new AtomicBoolean();
+        LibraryRepository failingDelegate = new InMemoryLibraryRepository() {
+            @Override
+            public List<Book> getPage(String afterIsbn, int limit) {
+                if (delegateFailing.get()) {
+                    throw new CustomException(ErrorCode.REPOSITORY_IO_ERROR, formatMessage(AppConstants.REPOSITORY_IO_ERROR, "read failed"));
+                }
+                return super.getPage(afterIsbn, limit);
+            }
+        };
+        JournaledLibraryRepository repository = new JournaledLibraryRepository(failingDelegate, configurationOf(directory));
+
+        //Applying test pre-conditions
+        repository.add(new Book("12345", "Test Book", "Author Name", 2020));
+        delegateFailing.set(true);
+
+        //Performing test operation
+        CustomException exception = assertThrows(CustomException.class, repository::snapshot);
+        delegateFailing.set(false);
+        repository.snapshot();
+
+        //Asserting test outcomes
+        assertEquals(1, repository.getFailedSnapshotCount());
+        assertSame(exception, repository.getLastSnapshotFailure());
+
+        //Applying test post-conditions
+        repository.close();
+    }
+
+    @Test
+    void testRecovery_FailureReleasesTheDirectory() {
+        //Initializing variables and objects required for the test.
+        LibraryRepository failingDelegate = new InMemoryLibraryRepository() {
+            @Override
+            public void addAll(Collection<Book> books) {
+                throw new CustomException(ErrorCode.REPOSITORY_IO_ERROR, formatMessage(AppConstants.REPOSITORY_IO_ERROR, "write failed"));
+            }
+        };
+
+        //Applying test pre-conditions
+        JournaledLibraryRepository repository = new JournaledLibraryRepository(new InMemoryLibraryRepository(), configurationOf(directory));
+        repository.add(new Book("12345", "Test Book", "Author Name", 2020));
+        repository.close();
+
+        //Performing test operation
+        CustomException exception = assertThrows(CustomException.class, () -> new JournaledLibraryRepository(failingDelegate, configurationOf(directory)));
+        JournaledLibraryRepository reopenedRepository = new JournaledLibraryRepository(new InMemoryLibraryRepository(), configurationOf(directory));
+
+        //Asserting test outcomes
+        assertEquals(ErrorCode.REPOSITORY_IO_ERROR, exception.getErrorCode());
+        assertNotNull(reopenedRepository.getById("12345"));
+
+        //Applying test post-conditions
+        reopenedRepository.close();
+    }
+
+    @Test
+    void testClose_FailingSnapshotStillReleasesTheDirectory() {
+        //Initializing variables and objects required for the test.
+        AtomicBoolean delegateFailing = new AtomicBoolean();
+        LibraryRepository failingDelegate = new InMemoryLibraryRepository() {
+            @Override
+            public List<Book> getPage(String afterIsbn, int limit) {
+                if (delegateFailing.get()) {
+                    throw new CustomException(ErrorCode.REPOSITORY_IO_ERROR, formatMessage(AppConstants.REPOSITORY_IO_ERROR, "read failed"));
+                }
+                return super.getPage(afterIsbn, limit);
+            }
+        };
+        JournaledLibraryRepository repository = new JournaledLibraryRepository(failingDelegate, configurationOf(directory));
+
+        //Applying test pre-conditions
+        repository.add(new Book("12345", "Test Book", "Author Name", 2020));
+        delegateFailing.set(true);
+
+        //Performing test operation
+        assertThrows(CustomException.class, repository::close);
+        JournaledLibraryRepository reopenedRepository = new JournaledLibraryRepository(new InMemoryLibraryRepository(), configurationOf(directory));
+
+        //Asserting test outcomes
+        assertEquals(1, reopenedRepository.getRecoveryStats().replayedRecordCount());
+        assertNotNull(reopenedRepository.getById("12345"));
+
+        //Applying test post-conditions
+        reopenedRepository.close();
+    }
+}
@@ -0,0 +1,177 @@
+package com.incubyte.assessment.repository.library;
+
+import com.incubyte.assessment.model.Book;
+import com.incubyte.assessment.repository.RepositoryType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the conditional borrow and return operations of every {@link LibraryRepository} implementation.
+ *
+ * <p>This test class verifies that every repository type updates a book only when its availability allows it,
+ * reports a distinct outcome for unknown books and for books in the wrong state, and stores the update.
+ * It also verifies that a batch is applied to every book, or to none of them when any book is rejected.</p>
+ */
+public class LibraryRepositoryAvailabilityUpdateTest {
+
+    private static final LocalDateTime BORROWED_AT = LocalDateTime.of(2024, 1, 15, 10, 30);
+    private static final LocalDateTime RETURNED_AT = LocalDateTime.of(2024, 2, 1, 9, 0);
+
+    @TempDir
+    Path directory;
+
+    private LibraryRepository repository;
+
+    private LibraryRepository createRepository(RepositoryType repositoryType) {
+        LibraryRepositoryConfiguration configuration = LibraryRepositoryConfiguration.builder()
+                .fileSystemDirectory(directory.resolve("filesystem"))
+                .fileSystemCompactionIntervalMillis(0)
+                .databaseUrl("jdbc:h2:" + directory.resolve("database"))
+                .build();
+
+        return switch (repositoryType) {
+            case IN_MEMORY -> new InMemoryLibraryRepository();
+            case CONCURRENT_IN_MEMORY -> new ConcurrentInMemoryLibraryRepository();
+            case COMPACT_IN_MEMORY -> new CompactInMemoryLibraryRepository();
+            case DATABASE -> new DatabaseLibraryRepository(configuration);
+            case FILESYSTEM -> new FileSystemLibraryRepository(configuration);
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        //Applying test post-conditions
+        repository.close();
+    }
+
+    @ParameterizedTest
+    @EnumSource(RepositoryType.class)
+    void testBorrowIfAvailable(RepositoryType repositoryType) {
+        //Initializing variables and objects required for the test.
+        repository = createRepository(repositoryType);
+
+        //Applying test pre-conditions
+        repository.add(new Book("12345", "Test Book", "Author Name", 2020));
+
+        //Performing test operation
+        AvailabilityUpdate borrowed = repository.borrowIfAvailable("12345", BORROWED_AT);
+        AvailabilityUpdate borrowedAgain = repository.borrowIfAvailable("12345", BORROWED_AT.plusDays(1));
+        AvailabilityUpdate unknown = repository.borrowIfAvailable("6789", BORROWED_AT);
+
+        //Asserting test outcomes
+        assertEquals(AvailabilityUpdate.Outcome.UPDATED, borrowed.outcome());
+        assertFalse(borrowed.book().getIsAvailable());
+        assertEquals(BORROWED_AT, borrowed.book().getLastBorrowedAt());
+        assertEquals("Test Book", borrowed.book().getTitle());
+
+        assertEquals(AvailabilityUpdate.Outcome.NOT_AVAILABLE, borrowedAgain.outcome());
+        assertEquals(BORROWED_AT, borrowedAgain.book().getLastBorrowedAt());
+
+        assertEquals(AvailabilityUpdate.Outcome.NOT_FOUND, unknown.outcome());
+        assertNull(unknown.book());
+
+        Book storedBook = repository.getById("12345");
+        assertFalse(storedBook.getIsAvailable());
+        assertEquals(BORROWED_AT, storedBook.getLastBorrowedAt());
+        assertTrue(repository.getAllAvailable().isEmpty());
+    }
+
+    @ParameterizedTest
+    @EnumSource(RepositoryType.class)
+    void testReturnIfBorrowed(RepositoryType repositoryType) {
+        //Initializing variables and objects required for the test.
+        repository = createRepository(repositoryType);
+
+        //Applying test pre-conditions
+        repository.add(new Book("12345", "Test Book", "Author Name", 2020));
+        repository.borrowIfAvailable("12345", BORROWED_AT);
+
+        //Performing test operation
+        AvailabilityUpdate returned = repository.returnIfBorrowed("12345", RETURNED_AT);
+        AvailabilityUpdate returnedAgain = repository.returnIfBorrowed("12345", RETURNED_AT.plusDays(1));
+        AvailabilityUpdate unknown = repository.returnIfBorrowed("6789", RETURNED_AT);
+
+        //Asserting test outcomes
+        assertEquals(AvailabilityUpdate.Outcome.UPDATED, returned.outcome());
+        assertTrue(returned.book().getIsAvailable());
+        assertEquals(BORROWED_AT, returned.book().getLastBorrowedAt());
+        assertEquals(RETURNED_AT, returned.book().getLastReturnedAt());
+
+        assertEquals(AvailabilityUpdate.Outcome.NOT_BORROWED, returnedAgain.outcome());
+        assertEquals(RETURNED_AT, returnedAgain.book().getLastReturnedAt());
+
+        assertEquals(AvailabilityUpdate.Outcome.NOT_FOUND, unknown.outcome());
+        assertNull(unknown.book());
+
+        Book storedBook = repository.getById("12345");
+        assertTrue(storedBook.getIsAvailable());
+        assertEquals(RETURNED_AT, storedBook.getLastReturnedAt());
+    }
+
+    @ParameterizedTest
+    @EnumSource(RepositoryType.class)
+    void testBorrowAllIfAvailable(RepositoryType repositoryType) {
+        //Initializing variables and objects required for the test.
+        repository = createRepository(repositoryType);
+
+        //Applying test pre-conditions
+        repository.addAll(List.of(new Book("100", "First Book", "Author Name", 2020),
+                new Book("200", "Second Book", "Author Name", 2021),
+                new Book("300", "Third Book", "Author Name", 2022)));
+        repository.borrowIfAvailable("300", BORROWED_AT);
+
+        //Performing test operation
+        Map<String, AvailabilityUpdate> rolledBack = repository.borrowAllIfAvailable(List.of("100", "300", "200"), BORROWED_AT.plusDays(1));
+        Map<String, AvailabilityUpdate> borrowed = repository.borrowAllIfAvailable(List.of("200", "100"), BORROWED_AT.plusDays(2));
+
+        //Asserting test outcomes
+        assertEquals(List.of("100", "300", "200"), List.copyOf(rolledBack.keySet()));
+        assertEquals(AvailabilityUpdate.Outcome.NOT_AVAILABLE, rolledBack.get("300").outcome());
+        assertTrue(AvailabilityUpdate.anyRejected(rolledBack.values()));
+
+        assertFalse(AvailabilityUpdate.anyRejected(borrowed.values()));
+        assertTrue(borrowed.get("100").isUpdated());
+        assertTrue(borrowed.get("200").isUpdated());
+        assertEquals(BORROWED_AT.plusDays(2), repository.getById("100").getLastBorrowedAt());
+        assertEquals(BORROWED_AT.plusDays(2), repository.getById("200").getLastBorrowedAt());
+        assertEquals(BORROWED_AT, repository.getById("300").getLastBorrowedAt());
+        assertTrue(repository.getAllAvailable().isEmpty());
+    }
+
+    @ParameterizedTest
+    @EnumSource(RepositoryType.class)
+    void testReturnAllIfBorrowed(RepositoryType repositoryType) {
+        //Initializing variables and objects required for the test.
+        repository = createRepository(repositoryType);
+
+        //Applying test pre-conditions
+        repository.addAll(List.of(new Book("100", "First Book", "Author Name", 2020),
+                new Book("200", "Second Book", "Author Name", 2021)));
+        repository.borrowIfAvailable("100", BORROWED_AT);
+
+        //Performing test operation
+        Map<String, AvailabilityUpdate> rolledBack = repository.returnAllIfBorrowed(List.of("100", "6789"), RETURNED_AT);
+        boolean availableAfterRollback = repository.getById("100").getIsAvailable();
+        Map<String, AvailabilityUpdate> returned = repository.returnAllIfBorrowed(List.of("100", "200"), RETURNED_AT);
+
+        //Asserting test outcomes
+        assertFalse(availableAfterRollback);
+        assertEquals(AvailabilityUpdate.Outcome.NOT_FOUND, rolledBack.get("6789").outcome());
+
+        assertFalse(AvailabilityUpdate.anyRejected(returned.values()));
+        assertTrue(returned.get("100").isUpdated());
+        assertEquals(AvailabilityUpdate.Outcome.NOT_BORROWED, returned.get("200").outcome());
+        assertEquals(RETURNED_AT, repository.getById("100").getLastReturnedAt());
+        assertNull(repository.getById("200").getLastReturnedAt());
+        assertEquals(2, repository.getAllAvailable().size());
+    }
+}
@@ -6,6 +6,8 @@ import com.incubyte.assessment.util.AppConstants;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -26,6 +28,11 @@ public class LibraryRepositoryFactoryTest {
         repositoryFactory = LibraryRepositoryFactory.getInstance();
     }
 
+    private static LibraryRepository unwrapSearchIndex(LibraryRepository repository) {
+        assertInstanceOf(SearchIndexedLibraryRepository.class, repository);
+        return ((SearchIndexedLibraryRepository) repository).getDelegate();
+    }
+
     @Test
     void testSingletonInstance() {
         //Performing test operation
@@ -42,7 +49,27 @@ public class LibraryRepositoryFactoryTest {
 
         //Asserting test outcomes
         assertNotNull(repository);
-        assertInstanceOf(InMemoryLibraryRepository.class, repository, "Repository should be an instance of InMemoryLibraryRepository");
+        assertInstanceOf(InMemoryLibraryRepository.class, unwrapSearchIndex(repository), "Repository should be an instance of InMemoryLibraryRepository");
+    }
+
+    @Test
+    void testCreateRepository_WithConcurrentInMemoryType() {
+        //Performing test operation
+        LibraryRepository repository = repositoryFactory.createRepository(RepositoryType.CONCURRENT_IN_MEMORY);
+
+        //Asserting test outcomes
+        assertNotNull(repository);
+        assertInstanceOf(ConcurrentInMemoryLibraryRepository.class, unwrapSearchIndex(repository), "Repository should be an instance of ConcurrentInMemoryLibraryRepository");
+    }
+
+    @Test
+    void testCreateRepository_WithCompactInMemoryType() {
+        //Performing test operation
+        LibraryRepository repository = repositoryFactory.createRepository(RepositoryType.COMPACT_IN_MEMORY);
+
+        //Asserting test outcomes
+        assertNotNull(repository);
+        assertInstanceOf(CompactInMemoryLibraryRepository.class, unwrapSearchIndex(repository), "Repository should be an instance of CompactInMemoryLibraryRepository");
     }
 
     @Test
@@ -52,7 +79,7 @@ public class LibraryRepositoryFactoryTest {
 
         //Asserting test outcomes
         assertNotNull(repository);
-        assertInstanceOf(DatabaseLibraryRepository.class, repository, "Repository should be an instance of DatabaseLibraryRepository");
+        assertInstanceOf(DatabaseLibraryRepository.class, unwrapSearchIndex(repository), "Repository should be an instance of DatabaseLibraryRepository");
     }
 
     @Test
@@ -62,7 +89,7 @@ public class LibraryRepositoryFactoryTest {
 
         //Asserting test outcomes
         assertNotNull(repository);
-        assertInstanceOf(FileSystemLibraryRepository.class, repository, "Repository should be an instance of FileSystemLibraryRepository");
+        assertInstanceOf(FileSystemLibraryRepository.class, unwrapSearchIndex(repository), "Repository should be an instance of FileSystemLibraryRepository");
     }
 
     @Test
@@ -109,4 +136,95 @@ public class LibraryRepositoryFactoryTest {
         //Asserting test outcomes
         assertSame(firstRepository, secondRepository, "Same repository should be returned for the same type due to caching");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCreateRepository_WrappedInCacheWhenConfigured() {
+        //Applying test pre-conditions
+        LibraryRepositoryConfiguration defaultConfiguration = repositoryFactory.getConfiguration();
+        repositoryFactory.configure(defaultConfiguration.toBuilder()
+                .cacheMaximumSize(100)
+                .cachedRepositoryTypes(Set.of(RepositoryType.CONCURRENT_IN_MEMORY))
+                .build());
+
+        //Performing test operation
+        LibraryRepository cachedRepository = repositoryFactory.createRepository(RepositoryType.CONCURRENT_IN_MEMORY);
+        LibraryRepository uncachedRepository = repositoryFactory.createRepository(RepositoryType.IN_MEMORY);
+
+        //Asserting test outcomes
+        assertInstanceOf(CachingLibraryRepository.class, unwrapSearchIndex(cachedRepository));
+        assertInstanceOf(ConcurrentInMemoryLibraryRepository.class, ((CachingLibraryRepository) unwrapSearchIndex(cachedRepository)).getDelegate());
+        assertInstanceOf(InMemoryLibraryRepository.class, unwrapSearchIndex(uncachedRepository));
+
+        //Applying test post-conditions
+        repositoryFactory.configure(defaultConfiguration);
+    }
+
+    @Test
+    void testCreateRepository_WrappedInWriteBehindUnderCacheWhenConfigured() {
+        //Applying test pre-conditions
+        LibraryRepositoryConfiguration defaultConfiguration = repositoryFactory.getConfiguration();
+        repositoryFactory.configure(defaultConfiguration.toBuilder()
+                .cacheMaximumSize(100)
+                .cachedRepositoryTypes(Set.of(RepositoryType.CONCURRENT_IN_MEMORY))
+                .writeBehindFlushIntervalMillis(1000)
+                .writeBehindRepositoryTypes(Set.of(RepositoryType.CONCURRENT_IN_MEMORY))
+                .build());
+
+        //Performing test operation
+        LibraryRepository repository = repositoryFactory.createRepository(RepositoryType.CONCURRENT_IN_MEMORY);
+
+        //Asserting test outcomes
+        assertInstanceOf(CachingLibraryRepository.class, unwrapSearchIndex(repository));
+        LibraryRepository writeBehindRepository = ((CachingLibraryRepository) unwrapSearchIndex(repository)).getDelegate();
+        assertInstanceOf(WriteBehindLibraryRepository.class, writeBehindRepository);
+        assertInstanceOf(ConcurrentInMemoryLibraryRepository.class, ((WriteBehindLibraryRepository) writeBehindRepository).getDelegate());
+
+        //Applying test post-conditions
+        repositoryFactory.configure(defaultConfiguration);
+    }
+
+    @Test
+    void testCreateRepository_ShardedUnderWriteBehindWhenConfigured() {
+        //Applying test pre-conditions
+        LibraryRepositoryConfiguration defaultConfiguration = repositoryFactory.getConfiguration();
+        repositoryFactory.configure(defaultConfiguration.toBuilder()
+                .shardCount(4)
+                .shardedRepositoryTypes(Set.of(RepositoryType.CONCURRENT_IN_MEMORY))
+                .writeBehindFlushIntervalMillis(1000)
+                .writeBehindRepositoryTypes(Set.of(RepositoryType.CONCURRENT_IN_MEMORY))
+                .build());
+
+        //Performing test operation
+        LibraryRepository repository = repositoryFactory.createRepository(RepositoryType.CONCURRENT_IN_MEMORY);
+
+        //Asserting test outcomes
+        assertInstanceOf(WriteBehindLibraryRepository.class, unwrapSearchIndex(repository));
+        LibraryRepository shardedRepository = ((WriteBehindLibraryRepository) unwrapSearchIndex(repository)).getDelegate();
+        assertInstanceOf(ShardedLibraryRepository.class, shardedRepository);
+        assertEquals(4, ((ShardedLibraryRepository) shardedRepository).getShardCount());
+        ((ShardedLibraryRepository) shardedRepository).getShards()
+                .forEach(shard -> assertInstanceOf(ConcurrentInMemoryLibraryRepository.class, shard));
+
+        //Applying test post-conditions
+        repositoryFactory.configure(defaultConfiguration);
+    }
+
+    @Test
+    void testCreateRepository_NotShardedWithSingleShard() {
+        //Applying test pre-conditions
+        LibraryRepositoryConfiguration defaultConfiguration = repositoryFactory.getConfiguration();
+        repositoryFactory.configure(defaultConfiguration.toBuilder()
+                .shardCount(1)
+                .shardedRepositoryTypes(Set.of(RepositoryType.CONCURRENT_IN_MEMORY))
+                .build());
+
+        //Performing test operation
+        LibraryRepository repository = repositoryFactory.createRepository(RepositoryType.CONCURRENT_IN_MEMORY);
+
+        //Asserting test outcomes
+        assertInstanceOf(ConcurrentInMemoryLibraryRepository.class, unwrapSearchIndex(repository));
+
+        //Applying test post-conditions
+        repositoryFactory.configure(defaultConfiguration);
+    }
+}
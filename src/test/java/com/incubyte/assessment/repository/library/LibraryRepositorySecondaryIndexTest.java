@@ -0,0 +1,109 @@
+package com.incubyte.assessment.repository.library;
+
+import com.incubyte.assessment.model.Book;
+import com.incubyte.assessment.repository.RepositoryType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the author and publication year queries of every {@link LibraryRepository} implementation.
+ *
+ * <p>This test class verifies that every repository type returns the same books in the same order,
+ * that availability filtering applies, and that the indexes follow books whose author or publication
+ * year changes.</p>
+ */
+public class LibraryRepositorySecondaryIndexTest {
+
+    @TempDir
+    Path directory;
+
+    private LibraryRepository repository;
+
+    private LibraryRepository createRepository(RepositoryType repositoryType) {
+        LibraryRepositoryConfiguration configuration = LibraryRepositoryConfiguration.builder()
+                .fileSystemDirectory(directory.resolve("filesystem"))
+                .fileSystemCompactionIntervalMillis(0)
+                .databaseUrl("jdbc:h2:" + directory.resolve("database"))
+                .build();
+
+        return switch (repositoryType) {
+            case IN_MEMORY -> new InMemoryLibraryRepository();
+            case CONCURRENT_IN_MEMORY -> new ConcurrentInMemoryLibraryRepository();
+            case COMPACT_IN_MEMORY -> new CompactInMemoryLibraryRepository();
+            case DATABASE -> new DatabaseLibraryRepository(configuration);
+            case FILESYSTEM -> new FileSystemLibraryRepository(configuration);
+        };
+    }
+
+    private static List<String> isbnsOf(List<Book> books) {
+        return books.stream().map(Book::getIsbn).toList();
+    }
+
+    @AfterEach
+    void tearDown() {
+        //Applying test post-conditions
+        repository.close();
+    }
+
+    @ParameterizedTest
+    @EnumSource(RepositoryType.class)
+    void testGetByAuthorAndPublicationYearRange(RepositoryType repositoryType) {
+        //Initializing variables and objects required for the test.
+        repository = createRepository(repositoryType);
+
+        //Applying test pre-conditions
+        repository.add(new Book("300", "The Return of the King", "J.R.R. Tolkien", 1955));
+        repository.add(new Book("100", "The Hobbit", "J.R.R. Tolkien", 1937));
+        repository.add(new Book("200", "The Fellowship of the Ring", "J.R.R. Tolkien", 1954));
+        repository.add(new Book("400", "Dune", "Frank Herbert", 1965));
+        repository.addAllIfAbsent(List.of(new Book("500", "Foundation", "Isaac Asimov", 1951), new Book("150", "I, Robot", "Isaac Asimov", 1950)));
+        repository.computeIfPresent("200", book -> {
+            Book borrowedBook = new Book(book);
+            borrowedBook.setIsAvailable(false);
+            return borrowedBook;
+        });
+
+        //Performing test operation
+        List<Book> tolkienBooks = repository.getByAuthor("J.R.R. Tolkien", false);
+        List<Book> availableTolkienBooks = repository.getByAuthor("J.R.R. Tolkien", true);
+        List<Book> fiftiesBooks = repository.getByPublicationYearRange(1950, 1959, false);
+        List<Book> availableFiftiesBooks = repository.getByPublicationYearRange(1950, 1959, true);
+
+        //Asserting test outcomes
+        assertEquals(List.of("100", "200", "300"), isbnsOf(tolkienBooks));
+        assertEquals(List.of("100", "300"), isbnsOf(availableTolkienBooks));
+        assertEquals(List.of("150", "500", "200", "300"), isbnsOf(fiftiesBooks));
+        assertEquals(List.of("150", "500", "300"), isbnsOf(availableFiftiesBooks));
+        assertTrue(repository.getByAuthor("Unknown Author", false).isEmpty());
+        assertTrue(repository.getByPublicationYearRange(1959, 1950, false).isEmpty());
+    }
+
+    @ParameterizedTest
+    @EnumSource(RepositoryType.class)
+    void testGetByAuthorAndPublicationYearRange_FollowUpdatedBooks(RepositoryType repositoryType) {
+        //Initializing variables and objects required for the test.
+        repository = createRepository(repositoryType);
+
+        //Applying test pre-conditions
+        repository.add(new Book("100", "Foundation", "Isaac Asimov", 1951));
+        repository.add(new Book("200", "I, Robot", "Isaac Asimov", 1950));
+        repository.getByAuthor("Isaac Asimov", false);
+
+        //Performing test operation
+        repository.add(new Book("100", "Foundation", "Asimov, Isaac", 1942));
+        repository.add(new Book("300", "The Caves of Steel", "Isaac Asimov", 1954));
+
+        //Asserting test outcomes
+        assertEquals(List.of("200", "300"), isbnsOf(repository.getByAuthor("Isaac Asimov", false)));
+        assertEquals(List.of("100"), isbnsOf(repository.getByAuthor("Asimov, Isaac", false)));
+        assertEquals(List.of("100", "200"), isbnsOf(repository.getByPublicationYearRange(1940, 1950, false)));
+        assertEquals(1942, repository.getByPublicationYearRange(1942, 1942, false).get(0).getPublicationYear());
+    }
+}
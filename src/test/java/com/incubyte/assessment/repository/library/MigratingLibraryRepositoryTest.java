@@ -0,0 +1,272 @@
+package com.incubyte.assessment.repository.library;
+
+import com.incubyte.assessment.exception.CustomException;
+import com.incubyte.assessment.model.Book;
+import com.incubyte.assessment.repository.library.migration.MigrationStats;
+import com.incubyte.assessment.util.AppConstants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.incubyte.assessment.util.MessageFormatUtil.formatMessage;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link MigratingLibraryRepository} class.
+ *
+ * <p>This test class verifies that every book is copied to the target batch by batch, that mutations made
+ * before the cutover reach both repositories, including while the copy runs, that the operations switch to the
+ * target at the cutover, that a failed write to the target neither fails the mutation nor loses it, and that
+ * a target holding other books or missing some of the source is never cut over to.</p>
+ */
+public class MigratingLibraryRepositoryTest {
+
+    private static final LocalDateTime BORROWED_AT = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+    @TempDir
+    Path directory;
+
+    private MigratingLibraryRepository repository;
+
+    private static List<Book> createBooks(int count) {
+        List<Book> books = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            books.add(new Book(String.valueOf(100_000 + i), "Title " + i, "Author " + i % 10, 1950 + i % 70));
+        }
+        return books;
+    }
+
+    private static void assertSameBooks(LibraryRepository expected, LibraryRepository actual) {
+        List<Book> expectedBooks = expected.getAll();
+        assertEquals(expectedBooks.size(), actual.getAll().size());
+        for (Book book : expectedBooks) {
+            Book actualBook = actual.getById(book.getIsbn());
+            assertNotNull(actualBook, book.getIsbn());
+            assertEquals(book.getIsAvailable(), actualBook.getIsAvailable(), book.getIsbn());
+            assertEquals(book.getLastBorrowedAt(), actualBook.getLastBorrowedAt(), book.getIsbn());
+            assertEquals(book.getLastReturnedAt(), actualBook.getLastReturnedAt(), book.getIsbn());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        //Applying test post-conditions
+        repository.close();
+    }
+
+    @Test
+    void testMigrateCopiesEveryBookAndCutsOver() {
+        //Initializing variables and objects required for the test.
+        LibraryRepository source = new InMemoryLibraryRepository();
+        LibraryRepository target = new FileSystemLibraryRepository(LibraryRepositoryConfiguration.builder()
+                .fileSystemDirectory(directory.resolve("filesystem"))
+                .fileSystemCompactionIntervalMillis(0)
+                .build());
+        repository = new MigratingLibraryRepository(source, target, 1_000);
+
+        //Applying test pre-conditions
+        source.addAll(createBooks(2_500));
+        source.borrowIfAvailable("100042", BORROWED_AT);
+
+        //Performing test operation
+        MigrationStats stats = repository.migrate();
+        repository.borrowIfAvailable("100043", BORROWED_AT);
+
+        //Asserting test outcomes
+        assertEquals(2_500, stats.copiedBookCount());
+        assertEquals(0, stats.dualWrittenBookCount());
+        assertTrue(repository.isCutOver());
+        assertFalse(target.getById("100042").getIsAvailable());
+        assertFalse(repository.getById("100043").getIsAvailable());
+        assertFalse(target.getById("100043").getIsAvailable());
+        assertTrue(source.getById("100043").getIsAvailable(), "The source should be left as it was at the cutover");
+        assertEquals(2_498, repository.getAllAvailable().size());
+    }
+
+    @Test
+    void testMutationsBeforeCutoverAreDualWritten() {
+        //Initializing variables and objects required for the test.
+        LibraryRepository source = new ConcurrentInMemoryLibraryRepository();
+        LibraryRepository target = new ConcurrentInMemoryLibraryRepository();
+        repository = new MigratingLibraryRepository(source, target, 1_000);
+
+        //Applying test pre-conditions
+        source.addAll(createBooks(10));
+
+        //Performing test operation
+        repository.add(new Book("200000", "Added Book", "Author Name", 2020));
+        repository.borrowIfAvailable("100001", BORROWED_AT);
+        repository.borrowAllIfAvailable(List.of("100002", "100003"), BORROWED_AT);
+        List<Book> rejectedBooks = repository.addAllIfAbsent(List.of(new Book("100004", "Duplicate Book", "Author Name", 2020),
+                new Book("200001", "Imported Book", "Author Name", 2021)));
+
+        //Asserting test outcomes
+        assertFalse(repository.isCutOver());
+        assertEquals(List.of("100004"), rejectedBooks.stream().map(Book::getIsbn).toList());
+        assertEquals(List.of("100001", "100002", "100003", "200000", "200001"), target.getAll().stream().map(Book::getIsbn).sorted().toList());
+        assertFalse(target.getById("100002").getIsAvailable());
+        assertEquals(BORROWED_AT, target.getById("100001").getLastBorrowedAt());
+        assertEquals(12, repository.getAll().size(), "Reads should be served by the source until the cutover");
+    }
+
+    @Test
+    void testMutationsDuringCopyAreMigrated() throws InterruptedException {
+        //Initializing variables and objects required for the test.
+        LibraryRepository source = new ConcurrentInMemoryLibraryRepository();
+        LibraryRepository target = new ConcurrentInMemoryLibraryRepository();
+        repository = new MigratingLibraryRepository(source, target, 100);
+        List<Book> books = createBooks(5_000);
+        AtomicBoolean migrated = new AtomicBoolean();
+
+        //Applying test pre-conditions
+        source.addAll(books);
+        Thread patron = Thread.ofPlatform().start(() -> {
+            for (int i = 0; !migrated.get() || i < 1_000; i++) {
+                String isbn = books.get((i * 7919) % books.size()).getIsbn();
+                if (repository.borrowIfAvailable(isbn, BORROWED_AT.plusMinutes(i)).isRejected()) {
+                    repository.returnIfBorrowed(isbn, BORROWED_AT.plusMinutes(i));
+                }
+                repository.addIfAbsent(new Book(String.valueOf(300_000 + i), "Added Book " + i, "Author Name", 2020));
+            }
+        });
+
+        //Performing test operation
+        repository.migrate();
+        migrated.set(true);
+        patron.join();
+
+        //Asserting test outcomes
+        assertTrue(repository.isCutOver());
+        assertTrue(repository.getAll().size() > 5_000);
+        for (Book book : source.getAll()) {
+            assertNotNull(target.getById(book.getIsbn()), book.getIsbn());
+        }
+    }
+
+    @Test
+    void testFailedDualWriteKeepsTheMutation() {
+        //Initializing variables and objects required for the test.
+        AtomicBoolean failing = new AtomicBoolean(true);
+        LibraryRepository source = new ConcurrentInMemoryLibraryRepository();
+        LibraryRepository target = new ForwardingLibraryRepository(new ConcurrentInMemoryLibraryRepository()) {
+            @Override
+            public void addAll(Collection<Book> books) {
+                if (failing.get()) {
+                    throw new CustomException("Target unavailable");
+                }
+                super.addAll(books);
+            }
+        };
+        repository = new MigratingLibraryRepository(source, target, 1_000);
+
+        //Applying test pre-conditions
+        source.addAll(createBooks(10));
+        AvailabilityUpdate borrowed = repository.borrowIfAvailable("100005", BORROWED_AT);
+        failing.set(false);
+
+        //Performing test operation
+        repository.migrate();
+
+        //Asserting test outcomes
+        assertTrue(borrowed.isUpdated());
+        assertFalse(target.getById("100005").getIsAvailable());
+        assertSameBooks(source, target);
+    }
+
+    @Test
+    void testMigrateFailureKeepsServingFromSource() {
+        //Initializing variables and objects required for the test.
+        AtomicBoolean failing = new AtomicBoolean(true);
+        LibraryRepository source = new ConcurrentInMemoryLibraryRepository();
+        LibraryRepository target = new ForwardingLibraryRepository(new ConcurrentInMemoryLibraryRepository()) {
+            @Override
+            public void addAll(Collection<Book> books) {
+                if (failing.get()) {
+                    throw new CustomException("Target unavailable");
+                }
+                super.addAll(books);
+            }
+        };
+        repository = new MigratingLibraryRepository(source, target, 1_000);
+
+        //Applying test pre-conditions
+        source.addAll(createBooks(10));
+
+        //Performing test operation
+        assertThrows(CustomException.class, () -> repository.migrate());
+        boolean cutOverAfterFailure = repository.isCutOver();
+        failing.set(false);
+        MigrationStats stats = repository.migrate();
+
+        //Asserting test outcomes
+        assertFalse(cutOverAfterFailure);
+        assertEquals(10, stats.copiedBookCount());
+        assertSameBooks(source, target);
+    }
+
+    @Test
+    void testMigrateTwiceThrows() {
+        //Initializing variables and objects required for the test.
+        repository = new MigratingLibraryRepository(new ConcurrentInMemoryLibraryRepository(), new ConcurrentInMemoryLibraryRepository(), 1_000);
+
+        //Applying test pre-conditions
+        repository.migrate();
+
+        //Performing test operation
+        CustomException exception = assertThrows(CustomException.class, () -> repository.migrate());
+
+        //Asserting test outcomes
+        assertEquals(AppConstants.REPOSITORY_MIGRATION_ALREADY_STARTED, exception.getMessage());
+    }
+
+    @Test
+    void testMigrateRefusesTargetHoldingBooksMissingFromSource() {
+        //Initializing variables and objects required for the test.
+        LibraryRepository source = new ConcurrentInMemoryLibraryRepository();
+        LibraryRepository target = new ConcurrentInMemoryLibraryRepository();
+        repository = new MigratingLibraryRepository(source, target, 4);
+
+        //Applying test pre-conditions
+        source.addAll(createBooks(10));
+        target.addAll(createBooks(12));
+
+        //Performing test operation
+        CustomException exception = assertThrows(CustomException.class, () -> repository.migrate());
+
+        //Asserting test outcomes
+        assertEquals(formatMessage(AppConstants.REPOSITORY_MIGRATION_TARGET_CONFLICT, 2), exception.getMessage());
+        assertFalse(repository.isCutOver());
+        assertEquals(0, repository.getCopiedCount());
+    }
+
+    @Test
+    void testMigrateDoesNotCutOverToTargetMissingSourceBooks() {
+        //Initializing variables and objects required for the test.
+        LibraryRepository source = new ConcurrentInMemoryLibraryRepository();
+        LibraryRepository target = new ForwardingLibraryRepository(new ConcurrentInMemoryLibraryRepository()) {
+            @Override
+            public void addAll(Collection<Book> books) {
+                super.addAll(books.stream().filter(book -> !book.getIsbn().equals("100003")).toList());
+            }
+        };
+        repository = new MigratingLibraryRepository(source, target, 4);
+
+        //Applying test pre-conditions
+        source.addAll(createBooks(10));
+
+        //Performing test operation
+        CustomException exception = assertThrows(CustomException.class, () -> repository.migrate());
+
+        //Asserting test outcomes
+        assertEquals(formatMessage(AppConstants.REPOSITORY_MIGRATION_INCOMPLETE, 9, 10), exception.getMessage());
+        assertFalse(repository.isCutOver());
+        assertSame(source.getById("100003"), repository.getById("100003"));
+    }
+}
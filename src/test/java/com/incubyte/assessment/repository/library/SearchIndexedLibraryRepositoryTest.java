@@ -0,0 +1,66 @@
+package com.incubyte.assessment.repository.library;
+
+import com.incubyte.assessment.model.Book;
+import com.incubyte.assessment.model.BookDto;
+import com.incubyte.assessment.repository.RepositoryType;
+import com.incubyte.assessment.service.LibraryServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link SearchIndexedLibraryRepository} class.
+ *
+ * <p>This test class verifies that the books stored before the first search and those added through the
+ * repository afterwards are both found, that rejected books are not indexed, and that services built on the
+ * same factory repository share its index.</p>
+ */
+public class SearchIndexedLibraryRepositoryTest {
+
+    @Test
+    void testSearch_FindsBooksStoredBeforeAndAddedAfterTheFirstSearch() {
+        //Initializing variables and objects required for the test.
+        LibraryRepository delegate = new InMemoryLibraryRepository();
+        SearchIndexedLibraryRepository repository = new SearchIndexedLibraryRepository(delegate);
+
+        //Applying test pre-conditions
+        delegate.add(new Book("100001", "Dune", "Frank Herbert", 1965));
+
+        //Performing test operation
+        List<String> storedBeforeSearch = repository.search("dune", 10);
+        repository.add(new Book("100002", "Dune Messiah", "Frank Herbert", 1969));
+        List<Book> rejectedBooks = repository.addAllIfAbsent(List.of(new Book("100002", "Children of Dune", "Frank Herbert", 1976),
+                new Book("100003", "God Emperor of Dune", "Frank Herbert", 1981)));
+
+        //Asserting test outcomes
+        assertEquals(List.of("100001"), storedBeforeSearch);
+        assertEquals(1, rejectedBooks.size());
+        assertEquals(List.of("100002"), repository.search("messiah", 10));
+        assertEquals(List.of("100003"), repository.search("emperor", 10));
+        assertTrue(repository.search("children", 10).isEmpty());
+    }
+
+    @Test
+    void testSearch_SharedByServicesOnTheSameFactoryRepository() {
+        //Initializing variables and objects required for the test.
+        LibraryRepositoryFactory repositoryFactory = LibraryRepositoryFactory.getInstance();
+        repositoryFactory.clearCache();
+        LibraryServiceImpl searchingService = new LibraryServiceImpl(repositoryFactory.createRepository(RepositoryType.CONCURRENT_IN_MEMORY));
+        LibraryServiceImpl writingService = new LibraryServiceImpl(repositoryFactory.createRepository(RepositoryType.CONCURRENT_IN_MEMORY));
+
+        //Applying test pre-conditions
+        searchingService.searchBooks("dune", 10);
+
+        //Performing test operation
+        writingService.addBook(new BookDto("100001", "Dune", "Frank Herbert", 1965, true));
+        repositoryFactory.createRepository(RepositoryType.CONCURRENT_IN_MEMORY).addIfAbsent(new Book("100002", "Dune Messiah", "Frank Herbert", 1969));
+
+        //Asserting test outcomes
+        assertEquals(List.of("100001", "100002"), searchingService.searchBooks("dune", 10).stream().map(BookDto::isbn).toList());
+
+        //Applying test post-conditions
+        repositoryFactory.clearCache();
+    }
+}
@@ -0,0 +1,229 @@
+package com.incubyte.assessment.repository.library;
+
+import com.incubyte.assessment.model.Book;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ShardedLibraryRepository} class.
+ *
+ * <p>This test class verifies that books are stored in the shard of their ISBN, that listings merge the books
+ * of every shard in the order of the query, that pages walk every book exactly once whatever the order the shards
+ * page in, and that batch borrows are applied to every book or to none of them, whether the batch falls within
+ * one shard or spans several.</p>
+ */
+public class ShardedLibraryRepositoryTest {
+
+    private static final int SHARD_COUNT = 4;
+    private static final LocalDateTime BORROWED_AT = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+    @TempDir
+    Path directory;
+
+    private ShardedLibraryRepository repository;
+
+    private static ShardedLibraryRepository createInMemoryRepository() {
+        List<LibraryRepository> shards = new ArrayList<>();
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            shards.add(new ConcurrentInMemoryLibraryRepository());
+        }
+        return new ShardedLibraryRepository(shards);
+    }
+
+    private ShardedLibraryRepository createFileSystemRepository() {
+        List<LibraryRepository> shards = new ArrayList<>();
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            shards.add(new FileSystemLibraryRepository(LibraryRepositoryConfiguration.builder()
+                    .fileSystemDirectory(directory.resolve("shard-" + i))
+                    .fileSystemCompactionIntervalMillis(0)
+                    .build()));
+        }
+        return new ShardedLibraryRepository(shards);
+    }
+
+    private static List<Book> createBooks(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> {
+                    Book book = new Book(String.valueOf(1000 + i), "Title " + i, "Author " + i % 3, 2000 + i % 7);
+                    book.setIsAvailable(i % 2 == 0);
+                    return book;
+                })
+                .toList();
+    }
+
+    private static List<String> isbnsOf(List<Book> books) {
+        return books.stream().map(Book::getIsbn).toList();
+    }
+
+    @AfterEach
+    void tearDown() {
+        //Applying test post-conditions
+        if (repository != null) {
+            repository.close();
+        }
+    }
+
+    @Test
+    void testBooksAreRoutedToTheShardOfTheirIsbn() {
+        //Initializing variables and objects required for the test.
+        repository = createInMemoryRepository();
+        List<Book> books = createBooks(100);
+
+        //Performing test operation
+        repository.addAll(books.subList(0, 50));
+        books.subList(50, 100).forEach(repository::add);
+
+        //Asserting test outcomes
+        for (int shardIndex = 0; shardIndex < SHARD_COUNT; shardIndex++) {
+            List<Book> shardBooks = repository.getShards().get(shardIndex).getAll();
+            assertFalse(shardBooks.isEmpty(), "Every shard should store part of the books");
+            for (Book book : shardBooks) {
+                assertEquals(shardIndex, repository.shardIndexOf(book.getIsbn()));
+            }
+        }
+        assertEquals(100, repository.getAll().size());
+        assertEquals(50, repository.getAllAvailable().size());
+        assertEquals("Title 42", repository.getById("1042").getTitle());
+        assertTrue(repository.existsById("1099"));
+        assertFalse(repository.existsById("2000"));
+    }
+
+    @Test
+    void testQueriesAreMergedAcrossShards() {
+        //Initializing variables and objects required for the test.
+        repository = createInMemoryRepository();
+        List<Book> books = createBooks(30);
+
+        //Applying test pre-conditions
+        repository.addAll(books);
+
+        //Performing test operation
+        List<Book> byAuthor = repository.getByAuthor("Author 1", true);
+        List<Book> byPublicationYear = repository.getByPublicationYearRange(2002, 2003, false);
+
+        //Asserting test outcomes
+        assertEquals(isbnsOf(books.stream().filter(book -> book.getAuthor().equals("Author 1") && book.getIsAvailable()).toList()), isbnsOf(byAuthor));
+        assertEquals(isbnsOf(books.stream()
+                .filter(book -> book.getPublicationYear() >= 2002 && book.getPublicationYear() <= 2003)
+                .sorted(LibraryRepository.PUBLICATION_YEAR_ORDER)
+                .toList()), isbnsOf(byPublicationYear));
+    }
+
+    @Test
+    void testPagesWalkEveryShard() {
+        //Initializing variables and objects required for the test.
+        repository = createFileSystemRepository();
+        List<Book> books = createBooks(30);
+
+        //Applying test pre-conditions
+        repository.addAll(books);
+
+        //Performing test operation
+        List<Book> pagedBooks = readAllPages(false);
+        List<Book> pagedAvailableBooks = readAllPages(true);
+
+        //Asserting test outcomes
+        assertEquals(isbnsOf(books), isbnsOf(pagedBooks).stream().sorted().toList());
+        assertEquals(isbnsOf(books.stream().filter(Book::getIsAvailable).toList()), isbnsOf(pagedAvailableBooks).stream().sorted().toList());
+    }
+
+    private List<Book> readAllPages(boolean availableOnly) {
+        List<Book> books = new ArrayList<>();
+        String afterIsbn = null;
+        List<Book> page;
+        do {
+            page = availableOnly ? repository.getAvailablePage(afterIsbn, 4) : repository.getPage(afterIsbn, 4);
+            books.addAll(page);
+            afterIsbn = page.isEmpty() ? afterIsbn : page.get(page.size() - 1).getIsbn();
+        } while (page.size() == 4);
+        return books;
+    }
+
+    @Test
+    void testAddAllIfAbsentReportsRejectedBooksOfEveryShard() {
+        //Initializing variables and objects required for the test.
+        repository = createInMemoryRepository();
+        List<Book> books = createBooks(20);
+
+        //Applying test pre-conditions
+        repository.addAll(books.subList(0, 10));
+
+        //Performing test operation
+        List<Book> rejectedBooks = repository.addAllIfAbsent(books);
+
+        //Asserting test outcomes
+        assertEquals(isbnsOf(books.subList(0, 10)), isbnsOf(rejectedBooks).stream().sorted().toList());
+        assertEquals(20, repository.getAll().size());
+    }
+
+    @Test
+    void testBorrowAllIfAvailableWithinAndAcrossShards() {
+        //Initializing variables and objects required for the test.
+        repository = createInMemoryRepository();
+        List<Book> books = createBooks(40).stream().map(Book::new).peek(book -> book.setIsAvailable(true)).toList();
+        String isbn = books.get(0).getIsbn();
+        List<String> sameShardIsbns = isbnsOf(books).stream()
+                .filter(otherIsbn -> repository.shardIndexOf(otherIsbn) == repository.shardIndexOf(isbn))
+                .limit(2)
+                .toList();
+        String otherShardIsbn = isbnsOf(books).stream()
+                .filter(otherIsbn -> repository.shardIndexOf(otherIsbn) != repository.shardIndexOf(isbn))
+                .findFirst()
+                .orElseThrow();
+        String borrowedIsbn = isbnsOf(books).stream()
+                .filter(otherIsbn -> repository.shardIndexOf(otherIsbn) != repository.shardIndexOf(isbn) && !otherIsbn.equals(otherShardIsbn))
+                .findFirst()
+                .orElseThrow();
+
+        //Applying test pre-conditions
+        repository.addAll(books);
+        repository.borrowIfAvailable(borrowedIsbn, BORROWED_AT);
+
+        //Performing test operation
+        Map<String, AvailabilityUpdate> sameShard = repository.borrowAllIfAvailable(sameShardIsbns, BORROWED_AT);
+        Map<String, AvailabilityUpdate> rolledBack = repository.borrowAllIfAvailable(List.of(otherShardIsbn, borrowedIsbn), BORROWED_AT);
+        boolean availableAfterRollback = repository.getById(otherShardIsbn).getIsAvailable();
+        Map<String, AvailabilityUpdate> acrossShards = repository.borrowAllIfAvailable(List.of(otherShardIsbn, "9999"), BORROWED_AT);
+
+        //Asserting test outcomes
+        assertEquals(2, sameShardIsbns.size());
+        assertFalse(AvailabilityUpdate.anyRejected(sameShard.values()));
+        sameShardIsbns.forEach(sameShardIsbn -> assertFalse(repository.getById(sameShardIsbn).getIsAvailable()));
+
+        assertEquals(AvailabilityUpdate.Outcome.NOT_AVAILABLE, rolledBack.get(borrowedIsbn).outcome());
+        assertTrue(availableAfterRollback);
+
+        assertEquals(AvailabilityUpdate.Outcome.NOT_FOUND, acrossShards.get("9999").outcome());
+        assertTrue(repository.getById(otherShardIsbn).getIsAvailable());
+    }
+
+    @Test
+    void testShardsArePersistedAndReopened() {
+        //Initializing variables and objects required for the test.
+        repository = createFileSystemRepository();
+        List<Book> books = createBooks(20);
+
+        //Applying test pre-conditions
+        repository.addAll(books);
+        repository.borrowIfAvailable("1000", BORROWED_AT);
+        repository.close();
+
+        //Performing test operation
+        repository = createFileSystemRepository();
+
+        //Asserting test outcomes
+        assertEquals(isbnsOf(books), isbnsOf(repository.getAll()).stream().sorted().toList());
+        assertFalse(repository.getById("1000").getIsAvailable());
+        assertEquals(BORROWED_AT, repository.getById("1000").getLastBorrowedAt());
+    }
+}
@@ -0,0 +1,59 @@
+package com.incubyte.assessment.repository.library;
+
+import com.incubyte.assessment.model.Book;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link SwitchableLibraryRepository} class.
+ *
+ * <p>This test class verifies that every call is forwarded to the current repository, and that a switch
+ * redirects the following calls without copying or closing the previous repository.</p>
+ */
+public class SwitchableLibraryRepositoryTest {
+
+    private static final LocalDateTime BORROWED_AT = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+    @Test
+    void testCallsAreForwardedToTheCurrentRepository() {
+        //Initializing variables and objects required for the test.
+        LibraryRepository initial = new InMemoryLibraryRepository();
+        SwitchableLibraryRepository repository = new SwitchableLibraryRepository(initial);
+
+        //Performing test operation
+        repository.add(new Book("100001", "Title", "Author", 2001));
+        AvailabilityUpdate update = repository.borrowIfAvailable("100001", BORROWED_AT);
+
+        //Asserting test outcomes
+        assertTrue(update.isUpdated());
+        assertSame(initial, repository.getCurrent());
+        assertFalse(initial.getById("100001").getIsAvailable());
+        assertEquals(1, repository.getAll().size());
+    }
+
+    @Test
+    void testSwitchToRedirectsTheFollowingCalls() {
+        //Initializing variables and objects required for the test.
+        LibraryRepository initial = new InMemoryLibraryRepository();
+        LibraryRepository replacement = new ConcurrentInMemoryLibraryRepository();
+        SwitchableLibraryRepository repository = new SwitchableLibraryRepository(initial);
+
+        //Applying test pre-conditions
+        repository.add(new Book("100001", "Title", "Author", 2001));
+
+        //Performing test operation
+        LibraryRepository previous = repository.switchTo(replacement);
+        repository.add(new Book("100002", "Title", "Author", 2002));
+
+        //Asserting test outcomes
+        assertSame(initial, previous);
+        assertSame(replacement, repository.getCurrent());
+        assertNull(repository.getById("100001"));
+        assertNotNull(initial.getById("100001"));
+        assertNull(initial.getById("100002"));
+        assertNotNull(replacement.getById("100002"));
+    }
+}
@@ -0,0 +1,198 @@
+package com.incubyte.assessment.repository.library;
+
+import com.incubyte.assessment.exception.CustomException;
+import com.incubyte.assessment.exception.ErrorCode;
+import com.incubyte.assessment.model.Book;
+import com.incubyte.assessment.util.AppConstants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.UnaryOperator;
+
+import static com.incubyte.assessment.util.MessageFormatUtil.formatMessage;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link WriteBehindLibraryRepository} class.
+ *
+ * <p>This test class verifies that updates are acknowledged before reaching the delegate, that updates
+ * of the same book are coalesced into one write, that every read sees the pending updates without flushing them, and that
+ * pending updates are flushed periodically and on close, and that failed flushes are counted and bound the
+ * number of pending updates.</p>
+ */
+public class WriteBehindLibraryRepositoryTest {
+
+    private InMemoryLibraryRepository delegate;
+    private WriteBehindLibraryRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        //Initializing variables and objects required for the test.
+
+        delegate = new InMemoryLibraryRepository();
+        //A flush interval long enough for the periodic flush never to run during a test
+        repository = new WriteBehindLibraryRepository(delegate, 3_600_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        //Applying test post-conditions
+
+        repository.close();
+    }
+
+    private static UnaryOperator<Book> availability(boolean isAvailable) {
+        return book -> {
+            Book updatedBook = new Book(book);
+            updatedBook.setIsAvailable(isAvailable);
+            return updatedBook;
+        };
+    }
+
+    @Test
+    void testComputeIfPresent_CoalescedUntilFlush() {
+        //Applying test pre-conditions
+        repository.add(new Book("12345", "Test Book", "Author Name", 2020));
+
+        //Performing test operation
+        repository.computeIfPresent("12345", availability(false));
+        repository.computeIfPresent("12345", availability(true));
+        repository.computeIfPresent("12345", availability(false));
+        boolean delegateAvailableBeforeFlush = delegate.getById("12345").getIsAvailable();
+        int pendingBeforeFlush = repository.getPendingUpdateCount();
+        repository.flush();
+
+        //Asserting test outcomes
+        assertTrue(delegateAvailableBeforeFlush);
+        assertEquals(1, pendingBeforeFlush);
+        assertEquals(3, repository.getUpdateCount());
+        assertEquals(1, repository.getWrittenCount());
+        assertEquals(0, repository.getPendingUpdateCount());
+        assertFalse(delegate.getById("12345").getIsAvailable());
+        assertNull(repository.computeIfPresent("6789", availability(false)));
+    }
+
+    @Test
+    void testReads_SeePendingUpdates() {
+        //Applying test pre-conditions
+        repository.addAll(List.of(new Book("12345", "Test Book", "Author Name", 2020),
+                new Book("6789", "Other Book", "Author Name", 2021)));
+
+        //Performing test operation
+        repository.computeIfPresent("12345", availability(false));
+
+        //Asserting test outcomes
+        assertFalse(repository.getById("12345").getIsAvailable());
+        assertTrue(repository.existsById("12345"));
+        assertFalse(repository.addIfAbsent(new Book("12345", "Other Title", "Other Author", 2000)));
+        assertEquals(List.of("6789"), repository.getAllAvailable().stream().map(Book::getIsbn).toList());
+        assertEquals(1, repository.getPendingUpdateCount());
+    }
+
+    @Test
+    void testListingAndPaging_OverlayPendingUpdatesWithoutFlushing() {
+        //Applying test pre-conditions
+        for (int i = 0; i < 10; i++) {
+            Book book = new Book(String.valueOf(100_000 + i), "Title " + i, "Author " + i % 2, 2000 + i);
+            book.setIsAvailable(i % 2 == 0);
+            repository.add(book);
+        }
+
+        //Performing test operation
+        repository.returnIfBorrowed("100001", LocalDateTime.of(2024, 1, 15, 10, 30));
+        repository.borrowIfAvailable("100002", LocalDateTime.of(2024, 1, 15, 10, 30));
+        List<Book> firstAvailablePage = repository.getAvailablePage(null, 2);
+        List<Book> nextAvailablePage = repository.getAvailablePage(firstAvailablePage.get(1).getIsbn(), 10);
+        List<Book> page = repository.getPage("100000", 2);
+
+        //Asserting test outcomes
+        assertEquals(List.of("100000", "100001"), firstAvailablePage.stream().map(Book::getIsbn).toList());
+        assertEquals(List.of("100004", "100006", "100008"), nextAvailablePage.stream().map(Book::getIsbn).toList());
+        assertEquals(List.of("100001", "100002"), page.stream().map(Book::getIsbn).toList());
+        assertFalse(page.get(1).getIsAvailable());
+        assertEquals(10, repository.getAll().size());
+        assertEquals(5, repository.getAllAvailable().size());
+        assertEquals(List.of("100001", "100003", "100005", "100007", "100009"),
+                repository.getByAuthor("Author 1", false).stream().map(Book::getIsbn).toList());
+        assertEquals(List.of("100001"), repository.getByAuthor("Author 1", true).stream().map(Book::getIsbn).toList());
+        assertEquals(List.of("100001"), repository.getByPublicationYearRange(2001, 2002, true).stream().map(Book::getIsbn).toList());
+        assertEquals(2, repository.getPendingUpdateCount());
+        assertFalse(delegate.getById("100001").getIsAvailable());
+    }
+
+    @Test
+    void testFlush_PeriodicallyAndOnClose() throws InterruptedException {
+        //Initializing variables and objects required for the test.
+        InMemoryLibraryRepository periodicDelegate = new InMemoryLibraryRepository();
+        WriteBehindLibraryRepository periodicRepository = new WriteBehindLibraryRepository(periodicDelegate, 10);
+
+        //Applying test pre-conditions
+        periodicRepository.add(new Book("12345", "Test Book", "Author Name", 2020));
+        repository.add(new Book("12345", "Test Book", "Author Name", 2020));
+
+        //Performing test operation
+        periodicRepository.computeIfPresent("12345", availability(false));
+        repository.computeIfPresent("12345", availability(false));
+        for (int wait = 0; wait < 500 && periodicRepository.getPendingUpdateCount() > 0; wait++) {
+            Thread.sleep(10);
+        }
+        repository.close();
+
+        //Asserting test outcomes
+        assertFalse(periodicDelegate.getById("12345").getIsAvailable());
+        assertFalse(delegate.getById("12345").getIsAvailable());
+
+        //Applying test post-conditions
+        periodicRepository.close();
+    }
+
+    @Test
+    void testFlushFailures_CountedAndBoundingThePendingUpdates() {
+        //Initializing variables and objects required for the test.
+        AtomicBoolean delegateFailing = new AtomicBoolean();
+        InMemoryLibraryRepository failingDelegate = new InMemoryLibraryRepository() {
+            @Override
+            public void addAll(Collection<Book> books) {
+                if (delegateFailing.get()) {
+                    throw new CustomException(ErrorCode.REPOSITORY_IO_ERROR, formatMessage(AppConstants.REPOSITORY_IO_ERROR, "disk full"));
+                }
+                super.addAll(books);
+            }
+        };
+        WriteBehindLibraryRepository boundedRepository = new WriteBehindLibraryRepository(failingDelegate, 3_600_000, 2);
+        LocalDateTime borrowedAt = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+        //Applying test pre-conditions
+        for (String isbn : List.of("1", "2", "3")) {
+            boundedRepository.add(new Book(isbn, "Title " + isbn, "Author Name", 2020));
+        }
+        delegateFailing.set(true);
+
+        //Performing test operation
+        boundedRepository.borrowIfAvailable("1", borrowedAt);
+        boundedRepository.borrowIfAvailable("2", borrowedAt);
+        AvailabilityUpdate repeatedUpdate = boundedRepository.returnIfBorrowed("2", borrowedAt);
+        CustomException exception = assertThrows(CustomException.class, () -> boundedRepository.borrowIfAvailable("3", borrowedAt));
+        boolean rejectedBookAvailable = boundedRepository.getById("3").getIsAvailable();
+        delegateFailing.set(false);
+        AvailabilityUpdate retriedUpdate = boundedRepository.borrowIfAvailable("3", borrowedAt);
+
+        //Asserting test outcomes
+        assertTrue(repeatedUpdate.isUpdated());
+        assertEquals(ErrorCode.REPOSITORY_IO_ERROR, exception.getErrorCode());
+        assertTrue(rejectedBookAvailable);
+        assertEquals(1, boundedRepository.getFailedFlushCount());
+        assertSame(exception, boundedRepository.getLastFlushFailure());
+        assertTrue(retriedUpdate.isUpdated());
+        assertFalse(failingDelegate.getById("1").getIsAvailable());
+        assertEquals(1, boundedRepository.getPendingUpdateCount());
+
+        //Applying test post-conditions
+        boundedRepository.close();
+    }
+}
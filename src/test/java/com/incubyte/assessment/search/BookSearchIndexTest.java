@@ -0,0 +1,88 @@
+package com.incubyte.assessment.search;
+
+import com.incubyte.assessment.model.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link BookSearchIndex} class.
+ *
+ * <p>This test class verifies the tokenization of titles and authors, that queries match books
+ * containing all of their terms with the last term as a prefix, and that results are ranked with
+ * title matches and rare terms first.</p>
+ */
+public class BookSearchIndexTest {
+
+    private BookSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        //Initializing variables and objects required for the test.
+
+        searchIndex = new BookSearchIndex();
+        searchIndex.add(new Book("1", "The Fellowship of the Ring", "J.R.R. Tolkien", 1954));
+        searchIndex.add(new Book("2", "The Two Towers", "J.R.R. Tolkien", 1954));
+        searchIndex.add(new Book("3", "The Return of the King", "J.R.R. Tolkien", 1955));
+        searchIndex.add(new Book("4", "Tolkien: A Biography", "Humphrey Carpenter", 1977));
+        searchIndex.add(new Book("5", "Les Misérables", "Victor Hugo", 1862));
+    }
+
+    @Test
+    void testTokenize_FoldsCaseAndDiacritics() {
+        //Performing test operation
+        List<String> terms = BookSearchIndex.tokenize("Les Misérables, J.R.R. TOLKIEN!");
+
+        //Asserting test outcomes
+        assertEquals(List.of("les", "miserables", "j", "r", "r", "tolkien"), terms);
+        assertTrue(BookSearchIndex.tokenize(null).isEmpty());
+    }
+
+    @Test
+    void testSearch_MatchesAllTermsAndPrefix() {
+        //Performing test operation
+        List<String> ringResults = searchIndex.search("tolkien rin", 10);
+        List<String> accentResults = searchIndex.search("MISERABLES", 10);
+
+        //Asserting test outcomes
+        assertEquals(List.of("1"), ringResults);
+        assertEquals(List.of("5"), accentResults);
+        assertTrue(searchIndex.search("tolkien hugo", 10).isEmpty());
+        assertTrue(searchIndex.search("  ", 10).isEmpty());
+    }
+
+    @Test
+    void testSearch_RanksTitleMatchesFirstAndHonoursLimit() {
+        //Performing test operation
+        List<String> results = searchIndex.search("tolkien", 10);
+
+        //Asserting test outcomes
+        assertEquals(4, results.size());
+        assertEquals("4", results.get(0), "The title match should rank before the author matches");
+        assertEquals(List.of("4", "1"), searchIndex.search("tolkien", 2));
+    }
+
+    @Test
+    void testAdd_IgnoresAlreadyIndexedIsbn() {
+        //Applying test pre-conditions
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            books.add(new Book("bulk-" + i, "Volume " + i, "Anonymous", 2000));
+        }
+
+        //Performing test operation
+        boolean added = searchIndex.add(new Book("1", "Another Title", "Another Author", 2000));
+        searchIndex.addAll(books);
+
+        //Asserting test outcomes
+        assertFalse(added);
+        assertTrue(searchIndex.search("another", 10).isEmpty());
+        assertEquals(1005, searchIndex.size());
+        assertEquals(List.of("bulk-999"), searchIndex.search("volume 999", 10));
+        assertEquals(1000, searchIndex.search("anonymous", 5000).size());
+    }
+}
@@ -0,0 +1,146 @@
+package com.incubyte.assessment.service;
+
+import com.incubyte.assessment.event.BookChangePublisher;
+import com.incubyte.assessment.event.BookChangeType;
+import com.incubyte.assessment.event.NoOpLibraryEventSink;
+import com.incubyte.assessment.exception.CustomException;
+import com.incubyte.assessment.exception.ErrorCode;
+import com.incubyte.assessment.history.BorrowHistory;
+import com.incubyte.assessment.history.BorrowHistoryEntry;
+import com.incubyte.assessment.model.BookDto;
+import com.incubyte.assessment.repository.library.AsyncLibraryRepositoryAdapter;
+import com.incubyte.assessment.repository.library.ConcurrentInMemoryLibraryRepository;
+import com.incubyte.assessment.util.AppConstants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static com.incubyte.assessment.util.MessageFormatUtil.formatMessage;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the {@link AsyncLibraryServiceImpl} class.
+ * <p>It tests various scenarios such as:
+ * <p>- Adding, borrowing, returning and viewing books through futures.
+ * <p>- Completing the futures exceptionally with the errors of the blocking service, for invalid requests and
+ * for repository outcomes alike.
+ * <p>- Borrowing a book concurrently from many futures, which only one of them succeeds.
+ * <p>- Logging the borrows and returns in the borrow history, as the blocking service does.
+ */
+public class AsyncLibraryServiceImplTest {
+
+    private AsyncLibraryRepositoryAdapter libraryRepository;
+    private AsyncLibraryServiceImpl libraryService;
+    private BookDto validBookDto;
+
+    @BeforeEach
+    void setUp() {
+        //Initializing variables and objects required for the test.
+        libraryRepository = new AsyncLibraryRepositoryAdapter(new ConcurrentInMemoryLibraryRepository());
+        libraryService = new AsyncLibraryServiceImpl(libraryRepository);
+        validBookDto = new BookDto("12345", "Test Book", "Author Name", 2020, true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        //Applying test post-conditions
+        libraryRepository.close();
+    }
+
+    private static CustomException failureOf(CompletableFuture<?> future) {
+        CompletionException exception = assertThrows(CompletionException.class, future::join);
+        return assertInstanceOf(CustomException.class, exception.getCause());
+    }
+
+    @Test
+    void testAddBorrowAndReturnBook_Success() {
+        //Performing test operation
+        BookDto addedBook = libraryService.addBook(validBookDto).join();
+        BookDto borrowedBook = libraryService.borrowBook("12345").join();
+        List<BookDto> availableBooksWhileBorrowed = libraryService.viewAvailableBooks(null, 10).join();
+        BookDto returnedBook = libraryService.returnBook("12345").join();
+
+        //Asserting test outcomes
+        assertEquals(validBookDto, addedBook);
+        assertFalse(borrowedBook.isAvailable());
+        assertTrue(availableBooksWhileBorrowed.isEmpty());
+        assertTrue(returnedBook.isAvailable());
+        assertEquals(validBookDto, libraryService.viewBook("12345").join());
+        assertEquals(List.of(validBookDto), libraryService.viewBooksByAuthor("Author Name", true).join());
+        assertEquals(List.of(validBookDto), libraryService.viewBooksPublishedBetween(2019, 2021, false).join());
+    }
+
+    @Test
+    void testInvalidRequestsCompleteExceptionally() {
+        //Performing test operation
+        CompletableFuture<BookDto> invalidBook = libraryService.addBook(new BookDto("", "Test Book", "Author Name", 2020, true));
+        CompletableFuture<List<BookDto>> invalidPage = libraryService.viewAvailableBooks(null, 0);
+        CompletableFuture<List<BookDto>> invalidRange = libraryService.viewBooksPublishedBetween(2021, 2019, false);
+
+        //Asserting test outcomes
+        assertEquals(AppConstants.INVALID_ISBN, failureOf(invalidBook).getMessage());
+        assertEquals(ErrorCode.INVALID_ISBN, failureOf(invalidBook).getErrorCode());
+        assertEquals(AppConstants.INVALID_PAGE_LIMIT, failureOf(invalidPage).getMessage());
+        assertEquals(formatMessage(AppConstants.INVALID_PUBLICATION_YEAR_RANGE, 2021, 2019), failureOf(invalidRange).getMessage());
+    }
+
+    @Test
+    void testRepositoryOutcomesCompleteExceptionally() {
+        //Applying test pre-conditions
+        libraryService.addBook(validBookDto).join();
+        libraryService.borrowBook("12345").join();
+
+        //Performing test operation
+        CompletableFuture<BookDto> duplicateBook = libraryService.addBook(validBookDto);
+        CompletableFuture<BookDto> unavailableBook = libraryService.borrowBook("12345");
+        CompletableFuture<BookDto> unknownBook = libraryService.returnBook("99999");
+
+        //Asserting test outcomes
+        assertEquals(formatMessage(AppConstants.BOOK_ALREADY_EXISTS, "12345"), failureOf(duplicateBook).getMessage());
+        assertEquals(formatMessage(AppConstants.BOOK_NOT_AVAILABLE, "12345"), failureOf(unavailableBook).getMessage());
+        assertEquals(formatMessage(AppConstants.BOOK_DOES_NOT_EXIST, "99999"), failureOf(unknownBook).getMessage());
+    }
+
+    @Test
+    void testConcurrentBorrowsSucceedOnce() {
+        //Applying test pre-conditions
+        libraryService.addBook(validBookDto).join();
+
+        //Performing test operation
+        List<CompletableFuture<BookDto>> borrows = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            borrows.add(libraryService.borrowBook("12345"));
+        }
+        CompletableFuture.allOf(borrows.toArray(CompletableFuture[]::new)).exceptionally(throwable -> null).join();
+
+        //Asserting test outcomes
+        assertEquals(1, borrows.stream().filter(borrow -> !borrow.isCompletedExceptionally()).count());
+    }
+
+    @Test
+    void testBorrowsAndReturnsAreLoggedInTheSharedBorrowHistory() {
+        //Initializing variables and objects required for the test.
+        BorrowHistory borrowHistory = new BorrowHistory();
+        AsyncLibraryServiceImpl service = new AsyncLibraryServiceImpl(libraryRepository, NoOpLibraryEventSink.getInstance(),
+                new BookChangePublisher(), borrowHistory);
+
+        //Applying test pre-conditions
+        service.addBook(validBookDto).join();
+
+        //Performing test operation
+        service.borrowBook("12345").join();
+        service.returnBook("12345").join();
+        service.returnBook("12345").join();
+
+        //Asserting test outcomes
+        assertEquals(List.of(BookChangeType.BORROWED, BookChangeType.RETURNED),
+                borrowHistory.getHistory("12345").stream().map(BorrowHistoryEntry::type).toList());
+        assertEquals(1, borrowHistory.getLoanStats().completedLoanCount());
+        assertEquals(1, borrowHistory.getBorrowCount("12345"));
+    }
+}
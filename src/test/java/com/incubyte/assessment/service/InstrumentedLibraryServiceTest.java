@@ -0,0 +1,81 @@
+package com.incubyte.assessment.service;
+
+import com.incubyte.assessment.exception.CustomException;
+import com.incubyte.assessment.metrics.LibraryMetrics;
+import com.incubyte.assessment.metrics.OperationStats;
+import com.incubyte.assessment.model.BookDto;
+import com.incubyte.assessment.repository.library.InMemoryLibraryRepository;
+import com.incubyte.assessment.repository.library.InstrumentedLibraryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the {@link InstrumentedLibraryService} and
+ * {@link InstrumentedLibraryRepository} decorators.
+ * <p>It tests various scenarios such as:
+ * <p>- Counting successful calls and the repository calls they make.
+ * <p>- Counting failures by their error code.
+ * <p>- Exporting the statistics of every operation.
+ */
+public class InstrumentedLibraryServiceTest {
+
+    private LibraryMetrics metrics;
+    private LibraryService libraryService;
+
+    @BeforeEach
+    void setUp() {
+        //Initializing variables and objects required for the test.
+
+        metrics = new LibraryMetrics();
+        libraryService = new InstrumentedLibraryService(
+                new LibraryServiceImpl(new InstrumentedLibraryRepository(new InMemoryLibraryRepository(), metrics)), metrics);
+    }
+
+    private Map<String, OperationStats> statsByOperation() {
+        return metrics.snapshot().stream().collect(Collectors.toMap(OperationStats::operation, Function.identity()));
+    }
+
+    @Test
+    void testSuccessfulCalls_CountedWithRepositoryCalls() {
+        //Applying test pre-conditions
+        libraryService.addBook(new BookDto("12345", "Test Book", "Author Name", 2020, true));
+
+        //Performing test operation
+        libraryService.borrowBook("12345");
+        libraryService.returnBook("12345");
+
+        //Asserting test outcomes
+        Map<String, OperationStats> stats = statsByOperation();
+        assertEquals(1, stats.get("service.borrowBook").successCount());
+        assertEquals(1, stats.get("service.borrowBook").repositoryCallCount());
+        assertEquals(1, stats.get("service.addBook").latency().count());
+        assertEquals(1, stats.get("repository.borrowIfAvailable").successCount());
+        assertEquals(1, stats.get("repository.returnIfBorrowed").successCount());
+        assertTrue(stats.get("service.returnBook").latency().maxNanos() > 0);
+    }
+
+    @Test
+    void testFailedCalls_CountedByErrorType() {
+        //Applying test pre-conditions
+        libraryService.addBook(new BookDto("12345", "Test Book", "Author Name", 2020, true));
+        libraryService.borrowBook("12345");
+
+        //Performing test operation
+        assertThrows(CustomException.class, () -> libraryService.borrowBook("12345"));
+        assertThrows(CustomException.class, () -> libraryService.borrowBook("6789"));
+        assertThrows(CustomException.class, () -> libraryService.addBook(new BookDto("12345", "Test Book", "Author Name", 2020, true)));
+
+        //Asserting test outcomes
+        Map<String, OperationStats> stats = statsByOperation();
+        assertEquals(Map.of("BOOK_NOT_AVAILABLE", 1L, "BOOK_DOES_NOT_EXIST", 1L), stats.get("service.borrowBook").failureCounts());
+        assertEquals(Map.of("BOOK_ALREADY_EXISTS", 1L), stats.get("service.addBook").failureCounts());
+        assertEquals(3, stats.get("service.borrowBook").latency().count());
+        assertTrue(metrics.export().contains("BOOK_NOT_AVAILABLE"));
+    }
+}
@@ -1,6 +1,7 @@
 package com.incubyte.assessment.service;
 
 import com.incubyte.assessment.exception.CustomException;
+import com.incubyte.assessment.exception.ErrorCode;
 import com.incubyte.assessment.model.BookDto;
 import com.incubyte.assessment.repository.library.LibraryRepository;
 import com.incubyte.assessment.repository.library.LibraryRepositoryFactory;
@@ -64,6 +65,7 @@ public class LibraryServiceAddBookTest {
 
         //Asserting test outcomes
         assertEquals(formatMessage(INVALID_ISBN), exception.getMessage());
+        assertEquals(ErrorCode.INVALID_ISBN, exception.getErrorCode());
     }
 
     @Test
@@ -76,6 +78,7 @@ public class LibraryServiceAddBookTest {
 
         //Asserting test outcomes
         assertEquals(formatMessage(INVALID_ISBN), exception.getMessage());
+        assertEquals(ErrorCode.INVALID_ISBN, exception.getErrorCode());
     }
 
     @Test
@@ -88,6 +91,7 @@ public class LibraryServiceAddBookTest {
 
         //Asserting test outcomes
         assertEquals(formatMessage(INVALID_TITLE), exception.getMessage());
+        assertEquals(ErrorCode.INVALID_TITLE, exception.getErrorCode());
     }
 
     @Test
@@ -100,6 +104,7 @@ public class LibraryServiceAddBookTest {
 
         //Asserting test outcomes
         assertEquals(formatMessage(INVALID_TITLE), exception.getMessage());
+        assertEquals(ErrorCode.INVALID_TITLE, exception.getErrorCode());
     }
 
     @Test
@@ -112,6 +117,7 @@ public class LibraryServiceAddBookTest {
 
         //Asserting test outcomes
         assertEquals(formatMessage(INVALID_AUTHOR), exception.getMessage());
+        assertEquals(ErrorCode.INVALID_AUTHOR, exception.getErrorCode());
     }
 
     @Test
@@ -124,6 +130,7 @@ public class LibraryServiceAddBookTest {
 
         //Asserting test outcomes
         assertEquals(formatMessage(INVALID_AUTHOR), exception.getMessage());
+        assertEquals(ErrorCode.INVALID_AUTHOR, exception.getErrorCode());
     }
 
     @Test
@@ -136,6 +143,7 @@ public class LibraryServiceAddBookTest {
 
         //Asserting test outcomes
         assertEquals(formatMessage(INVALID_PUBLICATION_YEAR), exception.getMessage());
+        assertEquals(ErrorCode.INVALID_PUBLICATION_YEAR, exception.getErrorCode());
     }
 
     @Test
@@ -148,6 +156,7 @@ public class LibraryServiceAddBookTest {
 
         //Asserting test outcomes
         assertEquals(formatMessage(INVALID_PUBLICATION_YEAR), exception.getMessage());
+        assertEquals(ErrorCode.INVALID_PUBLICATION_YEAR, exception.getErrorCode());
     }
 
     @Test
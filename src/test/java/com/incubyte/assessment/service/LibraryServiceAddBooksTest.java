@@ -0,0 +1,82 @@
+package com.incubyte.assessment.service;
+
+import com.incubyte.assessment.model.BookDto;
+import com.incubyte.assessment.model.BookImportError;
+import com.incubyte.assessment.model.BookImportResult;
+import com.incubyte.assessment.repository.library.LibraryRepository;
+import com.incubyte.assessment.repository.library.LibraryRepositoryFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.incubyte.assessment.util.AppConstants.*;
+import static com.incubyte.assessment.util.MessageFormatUtil.formatMessage;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the {@link LibraryServiceImpl#addBooks(Iterable)} method.
+ * This class contains unit tests for importing many books into the library system at once.
+ * <p>It tests various scenarios such as:
+ * <p>- Importing batches larger than the internal batch size.
+ * <p>- Reporting invalid records, duplicates within the import and already existing books individually.
+ */
+public class LibraryServiceAddBooksTest {
+
+    private LibraryServiceImpl libraryService;
+
+    LibraryRepository libraryRepository;
+
+    @BeforeEach
+    void setUp() {
+        //Initializing variables and objects required for the test.
+
+        libraryRepository = LibraryRepositoryFactory.getInstance().createRepository(DEFAULT_REPOSITORY_TYPE);
+        libraryService = new LibraryServiceImpl(libraryRepository);
+        LibraryRepositoryFactory.getInstance().clearCache();
+    }
+
+    @Test
+    void testAddBooks_ImportsSeveralBatches() {
+        //Applying test pre-conditions
+        int bookCount = DEFAULT_IMPORT_BATCH_SIZE * 2 + 7;
+        Iterable<BookDto> bookDtos = () -> IntStream.range(0, bookCount)
+                .mapToObj(i -> new BookDto("isbn-" + i, "Title " + i, "Author " + i, 2020, true))
+                .iterator();
+
+        //Performing test operation
+        BookImportResult result = libraryService.addBooks(bookDtos);
+
+        //Asserting test outcomes
+        assertEquals(bookCount, result.importedCount());
+        assertTrue(result.errors().isEmpty());
+        assertEquals(bookCount, libraryRepository.getAll().size());
+    }
+
+    @Test
+    void testAddBooks_ReportsRejectedRecordsWithoutAbortingImport() {
+        //Applying test pre-conditions
+        libraryService.addBook(new BookDto("existing", "Existing Book", "Author Name", 2020, true));
+        List<BookDto> bookDtos = List.of(
+                new BookDto("12345", "Test Book", "Author Name", 2020, true),
+                new BookDto("", "No Isbn", "Author Name", 2020, true),
+                new BookDto("12345", "Same Isbn", "Author Name", 2020, true),
+                new BookDto("existing", "Existing Book", "Author Name", 2020, true),
+                new BookDto("6789", "Future Book", "Author Name", 9999, true),
+                new BookDto("6790", "Another Book", "Author Name", 1999, true));
+
+        //Performing test operation
+        BookImportResult result = libraryService.addBooks(bookDtos);
+
+        //Asserting test outcomes
+        assertEquals(2, result.importedCount());
+        assertEquals(List.of(
+                new BookImportError(2, "", INVALID_ISBN),
+                new BookImportError(3, "12345", formatMessage(DUPLICATE_ISBN_IN_IMPORT, "12345")),
+                new BookImportError(4, "existing", formatMessage(BOOK_ALREADY_EXISTS, "existing")),
+                new BookImportError(5, "6789", INVALID_PUBLICATION_YEAR)), result.errors());
+        assertEquals("Test Book", libraryRepository.getById("12345").getTitle());
+        assertTrue(libraryRepository.existsById("6790"));
+    }
+}
@@ -0,0 +1,108 @@
+package com.incubyte.assessment.service;
+
+import com.incubyte.assessment.exception.CustomException;
+import com.incubyte.assessment.model.BookBatchOutcome;
+import com.incubyte.assessment.model.BookBatchResult;
+import com.incubyte.assessment.model.BookDto;
+import com.incubyte.assessment.repository.library.InMemoryLibraryRepository;
+import com.incubyte.assessment.repository.library.LibraryRepository;
+import com.incubyte.assessment.util.AppConstants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.incubyte.assessment.util.MessageFormatUtil.formatMessage;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the {@link LibraryServiceImpl#borrowBooks} and {@link LibraryServiceImpl#returnBooks} methods.
+ * <p>It tests various scenarios such as:
+ * <p>- Successfully borrowing and returning a batch of books.
+ * <p>- Rolling back the whole batch when a book is not available or does not exist.
+ * <p>- Rejecting invalid and repeated ISBNs without touching the repository.
+ */
+public class LibraryServiceBorrowAndReturnBooksTest {
+
+    private LibraryServiceImpl libraryService;
+
+    private LibraryRepository libraryRepository;
+
+    @BeforeEach
+    void setUp() {
+        //Initializing variables and objects required for the test.
+        libraryRepository = new InMemoryLibraryRepository();
+        libraryService = new LibraryServiceImpl(libraryRepository);
+
+        libraryService.addBook(new BookDto("100", "First Book", "Author Name", 2020, true));
+        libraryService.addBook(new BookDto("200", "Second Book", "Author Name", 2021, true));
+        libraryService.addBook(new BookDto("300", "Third Book", "Author Name", 2022, true));
+    }
+
+    private static List<String> errorsOf(BookBatchResult result) {
+        return result.outcomes().stream().map(BookBatchOutcome::error).toList();
+    }
+
+    @Test
+    void testBorrowBooks_Success() {
+        //Performing test operation
+        BookBatchResult result = libraryService.borrowBooks(List.of("300", "100"));
+
+        //Asserting test outcomes
+        assertTrue(result.applied());
+        assertEquals(List.of("300", "100"), result.outcomes().stream().map(BookBatchOutcome::isbn).toList());
+        assertFalse(result.outcomes().get(0).book().isAvailable());
+        assertEquals(Arrays.asList(null, null), errorsOf(result));
+        assertEquals(List.of("200"), libraryRepository.getAllAvailable().stream().map(book -> book.getIsbn()).toList());
+    }
+
+    @Test
+    void testBorrowBooks_RolledBackWhenBookNotAvailableOrMissing() {
+        //Applying test pre-conditions
+        libraryService.borrowBook("200");
+
+        //Performing test operation
+        BookBatchResult result = libraryService.borrowBooks(List.of("100", "200", "6789"));
+
+        //Asserting test outcomes
+        assertFalse(result.applied());
+        assertEquals(List.of(formatMessage(AppConstants.BOOK_BATCH_ROLLED_BACK, "100"),
+                formatMessage(AppConstants.BOOK_NOT_AVAILABLE, "200"),
+                formatMessage(AppConstants.BOOK_DOES_NOT_EXIST, "6789")), errorsOf(result));
+        assertNull(result.outcomes().get(0).book());
+        assertTrue(libraryRepository.getById("100").getIsAvailable());
+    }
+
+    @Test
+    void testBorrowBooks_InvalidBatchRejectedWithoutUpdates() {
+        //Performing test operation
+        BookBatchResult result = libraryService.borrowBooks(Arrays.asList("100", "", "100"));
+
+        //Asserting test outcomes
+        assertFalse(result.applied());
+        assertEquals(List.of(formatMessage(AppConstants.BOOK_BATCH_ROLLED_BACK, "100"), AppConstants.INVALID_ISBN,
+                formatMessage(AppConstants.DUPLICATE_ISBN_IN_BATCH, "100")), errorsOf(result));
+        assertTrue(libraryRepository.getById("100").getIsAvailable());
+
+        CustomException exception = assertThrows(CustomException.class, () -> libraryService.borrowBooks(List.of()));
+        assertEquals(AppConstants.EMPTY_BOOK_BATCH, exception.getMessage());
+    }
+
+    @Test
+    void testReturnBooks_LeavesBooksNotBorrowedUnchanged() {
+        //Applying test pre-conditions
+        libraryService.borrowBooks(List.of("100", "200"));
+
+        //Performing test operation
+        BookBatchResult rolledBack = libraryService.returnBooks(List.of("100", "6789"));
+        BookBatchResult result = libraryService.returnBooks(List.of("100", "200", "300"));
+
+        //Asserting test outcomes
+        assertFalse(rolledBack.applied());
+        assertTrue(result.applied());
+        assertTrue(result.outcomes().stream().allMatch(outcome -> outcome.book().isAvailable()));
+        assertEquals(3, libraryRepository.getAllAvailable().size());
+        assertNull(libraryRepository.getById("300").getLastReturnedAt());
+    }
+}
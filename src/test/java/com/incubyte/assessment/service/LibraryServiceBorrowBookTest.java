@@ -1,5 +1,7 @@
 package com.incubyte.assessment.service;
 
+import com.incubyte.assessment.event.AsyncLibraryEventSink;
+import com.incubyte.assessment.event.LibraryEvent;
 import com.incubyte.assessment.exception.CustomException;
 import com.incubyte.assessment.model.Book;
 import com.incubyte.assessment.model.BookDto;
@@ -9,6 +11,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import static com.incubyte.assessment.util.AppConstants.*;
 import static com.incubyte.assessment.util.MessageFormatUtil.formatMessage;
 import static org.junit.jupiter.api.Assertions.*;
@@ -19,6 +25,7 @@ import static org.junit.jupiter.api.Assertions.*;
  * <p>It tests various scenarios such as:
  * <p>- Successfully borrowing a valid book.
  * <p>- Handling errors when trying to borrow a book which is not available or which does not exist.
+ * <p>- Publishing the outcome of the borrow to the event sink.
  */
 public class LibraryServiceBorrowBookTest {
 
@@ -84,4 +91,23 @@ public class LibraryServiceBorrowBookTest {
         assertEquals(formatMessage(BOOK_DOES_NOT_EXIST, isbn), exception.getMessage());
     }
 
+
+    @Test
+    void testBorrowBook_PublishesBorrowedEvent() {
+        //Applying test pre-conditions
+        List<LibraryEvent> events = Collections.synchronizedList(new ArrayList<>());
+        AsyncLibraryEventSink eventSink = new AsyncLibraryEventSink();
+        eventSink.subscribe(events::addAll);
+        libraryService = new LibraryServiceImpl(libraryRepository, eventSink);
+        libraryService.addBook(validBookDto);
+
+        //Performing test operation
+        libraryService.borrowBook(validBook.getIsbn());
+        eventSink.close();
+
+        //Asserting test outcomes
+        assertEquals(2, events.size());
+        assertEquals(formatMessage(BOOK_ADDED_SUCCESSFULLY, validBook.getIsbn()), events.get(0).render());
+        assertEquals(formatMessage(BOOK_BORROWED_SUCCESSFULLY, validBook.getIsbn()), events.get(1).render());
+    }
 }
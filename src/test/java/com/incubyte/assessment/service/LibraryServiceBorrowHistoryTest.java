@@ -0,0 +1,92 @@
+package com.incubyte.assessment.service;
+
+import com.incubyte.assessment.event.BookChangeType;
+import com.incubyte.assessment.exception.CustomException;
+import com.incubyte.assessment.history.BookBorrowCount;
+import com.incubyte.assessment.history.BorrowHistoryEntry;
+import com.incubyte.assessment.history.LoanStats;
+import com.incubyte.assessment.model.BookDto;
+import com.incubyte.assessment.repository.library.ConcurrentInMemoryLibraryRepository;
+import com.incubyte.assessment.util.AppConstants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.incubyte.assessment.util.MessageFormatUtil.formatMessage;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the borrow history methods of {@link LibraryServiceImpl}.
+ * <p>It tests various scenarios such as:
+ * <p>- Logging the borrows and returns of single books and of batches.
+ * <p>- Ignoring the returns of books which are not borrowed.
+ * <p>- Ranking the most borrowed books and reporting the loan statistics.
+ * <p>- Handling errors for an unknown book or an invalid limit.
+ */
+public class LibraryServiceBorrowHistoryTest {
+
+    private LibraryServiceImpl libraryService;
+
+    @BeforeEach
+    void setUp() {
+        //Initializing variables and objects required for the test.
+        libraryService = new LibraryServiceImpl(new ConcurrentInMemoryLibraryRepository());
+        libraryService.addBook(new BookDto("1000", "First Book", "Author Name", 2020, true));
+        libraryService.addBook(new BookDto("2000", "Second Book", "Author Name", 2021, true));
+    }
+
+    @Test
+    void testBorrowsAndReturnsAreLogged() {
+        //Performing test operation
+        libraryService.borrowBook("1000");
+        libraryService.returnBook("1000");
+        libraryService.returnBook("1000");
+        libraryService.borrowBooks(List.of("1000", "2000"));
+        libraryService.returnBooks(List.of("1000", "2000"));
+
+        //Asserting test outcomes
+        List<BorrowHistoryEntry> history = libraryService.viewBorrowHistory("1000");
+        assertEquals(List.of(BookChangeType.BORROWED, BookChangeType.RETURNED, BookChangeType.BORROWED, BookChangeType.RETURNED),
+                history.stream().map(BorrowHistoryEntry::type).toList());
+        assertEquals(2, libraryService.viewBorrowHistory("2000").size());
+    }
+
+    @Test
+    void testMostBorrowedBooksAndLoanStatistics() {
+        //Applying test pre-conditions
+        for (int i = 0; i < 3; i++) {
+            libraryService.borrowBook("1000");
+            libraryService.returnBook("1000");
+        }
+        libraryService.borrowBook("2000");
+
+        //Performing test operation
+        List<BookBorrowCount> mostBorrowed = libraryService.viewMostBorrowedBooks(10);
+        LoanStats loanStats = libraryService.viewLoanStatistics();
+
+        //Asserting test outcomes
+        assertEquals(List.of(new BookBorrowCount("1000", 3), new BookBorrowCount("2000", 1)), mostBorrowed);
+        assertEquals(4, loanStats.borrowCount());
+        assertEquals(3, loanStats.returnCount());
+        assertEquals(3, loanStats.completedLoanCount());
+    }
+
+    @Test
+    void testViewBorrowHistory_UnknownBook() {
+        //Performing test operation
+        CustomException exception = assertThrows(CustomException.class, () -> libraryService.viewBorrowHistory("9999"));
+
+        //Asserting test outcomes
+        assertEquals(formatMessage(AppConstants.BOOK_DOES_NOT_EXIST, "9999"), exception.getMessage());
+    }
+
+    @Test
+    void testViewMostBorrowedBooks_InvalidLimit() {
+        //Performing test operation
+        CustomException exception = assertThrows(CustomException.class, () -> libraryService.viewMostBorrowedBooks(0));
+
+        //Asserting test outcomes
+        assertEquals(AppConstants.INVALID_PAGE_LIMIT, exception.getMessage());
+    }
+}
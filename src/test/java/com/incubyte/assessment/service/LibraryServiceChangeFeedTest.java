@@ -0,0 +1,141 @@
+package com.incubyte.assessment.service;
+
+import com.incubyte.assessment.event.BookChange;
+import com.incubyte.assessment.event.BookChangePublisher;
+import com.incubyte.assessment.event.BookChangeType;
+import com.incubyte.assessment.event.NoOpLibraryEventSink;
+import com.incubyte.assessment.model.BookDto;
+import com.incubyte.assessment.repository.library.ConcurrentInMemoryLibraryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the {@link LibraryServiceImpl#changeFeed()} method.
+ * <p>It tests that:
+ * <p>- Adding, borrowing and returning books publishes their resulting state, including in batches.
+ * <p>- Returning a book which is not borrowed, or a rejected batch, publishes nothing.
+ * <p>- A subscriber which requests nothing does not stall the operations.
+ */
+public class LibraryServiceChangeFeedTest {
+
+    private BookChangePublisher changePublisher;
+    private LibraryServiceImpl libraryService;
+    private final LinkedBlockingQueue<BookChange> changes = new LinkedBlockingQueue<>();
+
+    @BeforeEach
+    void setUp() {
+        //Initializing variables and objects required for the test.
+        changePublisher = new BookChangePublisher(16);
+        libraryService = new LibraryServiceImpl(new ConcurrentInMemoryLibraryRepository(), NoOpLibraryEventSink.getInstance(), changePublisher);
+        libraryService.changeFeed().subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(BookChange change) {
+                changes.add(change);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        //Applying test post-conditions
+        changePublisher.close();
+    }
+
+    private BookChange nextChange() throws InterruptedException {
+        BookChange change = changes.poll(5, TimeUnit.SECONDS);
+        assertNotNull(change, "Expected a change to be published");
+        return change;
+    }
+
+    @Test
+    void testChangeFeed_PublishesAddBorrowAndReturn() throws InterruptedException {
+        //Performing test operation
+        libraryService.addBook(new BookDto("12345", "Test Book", "Author Name", 2020, true));
+        libraryService.borrowBook("12345");
+        libraryService.returnBook("12345");
+        libraryService.returnBook("12345");
+
+        //Asserting test outcomes
+        assertEquals(new BookChange(BookChangeType.ADDED, new BookDto("12345", "Test Book", "Author Name", 2020, true)), nextChange());
+        assertEquals(new BookChange(BookChangeType.BORROWED, new BookDto("12345", "Test Book", "Author Name", 2020, false)), nextChange());
+        assertEquals(new BookChange(BookChangeType.RETURNED, new BookDto("12345", "Test Book", "Author Name", 2020, true)), nextChange());
+        assertNull(changes.poll(100, TimeUnit.MILLISECONDS), "Returning a book which is not borrowed should publish nothing");
+    }
+
+    @Test
+    void testChangeFeed_PublishesImportedAndBatchBorrowedBooks() throws InterruptedException {
+        //Applying test pre-conditions
+        libraryService.addBooks(List.of(new BookDto("1", "First Book", "Author Name", 2020, true),
+                new BookDto("2", "Second Book", "Author Name", 2021, true)));
+
+        //Performing test operation
+        libraryService.borrowBooks(List.of("1", "9"));
+        libraryService.borrowBooks(List.of("1", "2"));
+
+        //Asserting test outcomes
+        assertEquals(List.of(BookChangeType.ADDED, BookChangeType.ADDED, BookChangeType.BORROWED, BookChangeType.BORROWED),
+                List.of(nextChange().type(), nextChange().type(), nextChange().type(), nextChange().type()));
+        assertNull(changes.poll(100, TimeUnit.MILLISECONDS), "A rejected batch should publish nothing");
+    }
+
+    @Test
+    void testChangeFeed_IdleSubscriberDoesNotStallOperations() throws InterruptedException {
+        //Initializing variables and objects required for the test.
+        CountDownLatch unsubscribed = new CountDownLatch(1);
+
+        //Applying test pre-conditions
+        libraryService.changeFeed().subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+            }
+
+            @Override
+            public void onNext(BookChange change) {
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                unsubscribed.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        libraryService.addBook(new BookDto("12345", "Test Book", "Author Name", 2020, true));
+
+        //Performing test operation
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            for (int i = 0; i < 100; i++) {
+                libraryService.borrowBook("12345");
+                libraryService.returnBook("12345");
+            }
+        });
+
+        //Asserting test outcomes
+        assertTrue(unsubscribed.await(5, TimeUnit.SECONDS), "The idle subscriber should have been unsubscribed with an error");
+    }
+}
@@ -0,0 +1,71 @@
+package com.incubyte.assessment.service;
+
+import com.incubyte.assessment.exception.CustomException;
+import com.incubyte.assessment.model.Book;
+import com.incubyte.assessment.model.BookDto;
+import com.incubyte.assessment.repository.library.LibraryRepository;
+import com.incubyte.assessment.repository.library.LibraryRepositoryFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+
+import java.util.List;
+
+import static com.incubyte.assessment.util.AppConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the {@link LibraryServiceImpl#searchBooks(String, int)} method.
+ * This class contains unit tests for searching books by title and author words.
+ * <p>It tests various scenarios such as:
+ * <p>- Finding books stored in the repository before the service was created.
+ * <p>- Finding books added or imported through the service.
+ * <p>- Handling errors for an empty query or an invalid limit.
+ */
+public class LibraryServiceSearchBooksTest {
+
+    @InjectMocks
+    private LibraryServiceImpl libraryService;
+
+    LibraryRepository libraryRepository;
+
+    @BeforeEach
+    void setUp() {
+        //Initializing variables and objects required for the test.
+
+        libraryRepository = LibraryRepositoryFactory.getInstance().createRepository(DEFAULT_REPOSITORY_TYPE);
+        libraryRepository.add(new Book("12345", "The Hobbit", "J.R.R. Tolkien", 1937));
+        libraryService = new LibraryServiceImpl(libraryRepository);
+        LibraryRepositoryFactory.getInstance().clearCache();
+    }
+
+    @Test
+    void testSearchBooks_FindsExistingAndAddedBooks() {
+        //Applying test pre-conditions
+        libraryService.addBook(new BookDto("6789", "The Silmarillion", "J.R.R. Tolkien", 1977, true));
+        libraryService.searchBooks("tolkien", 10);
+        libraryService.addBooks(List.of(new BookDto("1111", "Unfinished Tales", "J.R.R. Tolkien", 1980, true),
+                new BookDto("12345", "Duplicate Title", "Someone Else", 2000, true)));
+
+        //Performing test operation
+        List<BookDto> tolkienBooks = libraryService.searchBooks("Tolkien", 10);
+        List<BookDto> hobbitBooks = libraryService.searchBooks("hob", 10);
+
+        //Asserting test outcomes
+        assertEquals(3, tolkienBooks.size());
+        assertEquals(1, hobbitBooks.size());
+        assertEquals("12345", hobbitBooks.get(0).isbn());
+        assertTrue(libraryService.searchBooks("duplicate", 10).isEmpty());
+    }
+
+    @Test
+    void testSearchBooks_InvalidRequest() {
+        //Performing test operation
+        CustomException queryException = assertThrows(CustomException.class, () -> libraryService.searchBooks(" ", 10));
+        CustomException limitException = assertThrows(CustomException.class, () -> libraryService.searchBooks("hobbit", 0));
+
+        //Asserting test outcomes
+        assertEquals(INVALID_SEARCH_QUERY, queryException.getMessage());
+        assertEquals(INVALID_PAGE_LIMIT, limitException.getMessage());
+    }
+}
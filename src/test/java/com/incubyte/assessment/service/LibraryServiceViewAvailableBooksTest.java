@@ -1,5 +1,6 @@
 package com.incubyte.assessment.service;
 
+import com.incubyte.assessment.exception.CustomException;
 import com.incubyte.assessment.model.Book;
 import com.incubyte.assessment.model.BookDto;
 import com.incubyte.assessment.repository.library.LibraryRepository;
@@ -9,8 +10,10 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static com.incubyte.assessment.util.AppConstants.DEFAULT_REPOSITORY_TYPE;
+import static com.incubyte.assessment.util.AppConstants.INVALID_PAGE_LIMIT;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -19,6 +22,7 @@ import static org.junit.jupiter.api.Assertions.*;
  * <p>It tests various scenarios such as:
  * <p>- Successfully returning the list of available books.
  * <p>- Handling proper response when there are no book available in the library.
+ * <p>- Walking the available books page by page and as a lazy stream.
  */
 public class LibraryServiceViewAvailableBooksTest {
 
@@ -92,4 +96,62 @@ public class LibraryServiceViewAvailableBooksTest {
         assertEquals(0, availableBooks.size());
     }
 
+    @Test
+    void testViewAvailableBooks_AllBooksBorrowed() {
+        //Applying test pre-conditions
+        libraryService.addBook(validBookDto1);
+        libraryService.addBook(validBookDto2);
+        libraryService.borrowBook(book1.getIsbn());
+        libraryService.borrowBook(book2.getIsbn());
+
+        //Performing test operation
+        List<BookDto> availableBooks = libraryService.viewAvailableBooks();
+
+        //Asserting test outcomes
+        assertTrue(availableBooks.isEmpty());
+    }
+
+    @Test
+    void testViewAvailableBooksPage_WalksAllPages() {
+        //Applying test pre-conditions
+        IntStream.range(0, 25).forEach(i -> libraryService.addBook(new BookDto(String.format("isbn-%02d", i), "Title " + i, "Author " + i, 2020, true)));
+        libraryService.borrowBook("isbn-03");
+
+        //Performing test operation
+        List<BookDto> firstPage = libraryService.viewAvailableBooks(null, 10);
+        List<BookDto> secondPage = libraryService.viewAvailableBooks(firstPage.get(9).isbn(), 10);
+        List<BookDto> lastPage = libraryService.viewAvailableBooks(secondPage.get(9).isbn(), 10);
+
+        //Asserting test outcomes
+        assertEquals(10, firstPage.size());
+        assertEquals(10, secondPage.size());
+        assertEquals(4, lastPage.size());
+        assertEquals("isbn-04", firstPage.get(3).isbn());
+        assertEquals("isbn-24", lastPage.get(3).isbn());
+    }
+
+    @Test
+    void testViewAvailableBooksPage_InvalidLimit() {
+        //Performing test operation
+        CustomException exception = assertThrows(CustomException.class, () -> libraryService.viewAvailableBooks(null, 0));
+
+        //Asserting test outcomes
+        assertEquals(INVALID_PAGE_LIMIT, exception.getMessage());
+    }
+
+    @Test
+    void testStreamAvailableBooks_SpansSeveralPages() {
+        //Applying test pre-conditions
+        IntStream.range(0, 2500).forEach(i -> libraryService.addBook(new BookDto("isbn-" + i, "Title " + i, "Author " + i, 2020, true)));
+        libraryService.borrowBook("isbn-42");
+
+        //Performing test operation
+        List<BookDto> availableBooks = libraryService.streamAvailableBooks().toList();
+
+        //Asserting test outcomes
+        assertEquals(2499, availableBooks.size());
+        assertTrue(availableBooks.stream().allMatch(BookDto::isAvailable));
+        assertEquals(2499, availableBooks.stream().map(BookDto::isbn).distinct().count());
+    }
+
 }
@@ -0,0 +1,79 @@
+package com.incubyte.assessment.service;
+
+import com.incubyte.assessment.exception.CustomException;
+import com.incubyte.assessment.model.BookDto;
+import com.incubyte.assessment.repository.library.LibraryRepository;
+import com.incubyte.assessment.repository.library.LibraryRepositoryFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+
+import java.util.List;
+
+import static com.incubyte.assessment.util.AppConstants.*;
+import static com.incubyte.assessment.util.MessageFormatUtil.formatMessage;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the {@link LibraryServiceImpl#viewBooksByAuthor(String, boolean)} and
+ * {@link LibraryServiceImpl#viewBooksPublishedBetween(int, int, boolean)} methods.
+ * <p>It tests various scenarios such as:
+ * <p>- Listing the books of an author, with or without the borrowed ones.
+ * <p>- Listing the books published within a range of years, in publication year order.
+ * <p>- Handling errors for an empty author or an inverted year range.
+ */
+public class LibraryServiceViewBooksByAuthorAndYearTest {
+
+    @InjectMocks
+    private LibraryServiceImpl libraryService;
+
+    LibraryRepository libraryRepository;
+
+    @BeforeEach
+    void setUp() {
+        //Initializing variables and objects required for the test.
+
+        libraryRepository = LibraryRepositoryFactory.getInstance().createRepository(DEFAULT_REPOSITORY_TYPE);
+        libraryService = new LibraryServiceImpl(libraryRepository);
+        LibraryRepositoryFactory.getInstance().clearCache();
+
+        libraryService.addBook(new BookDto("12345", "The Hobbit", "J.R.R. Tolkien", 1937, true));
+        libraryService.addBook(new BookDto("6789", "The Silmarillion", "J.R.R. Tolkien", 1977, true));
+        libraryService.addBook(new BookDto("1111", "Dune", "Frank Herbert", 1965, true));
+    }
+
+    @Test
+    void testViewBooksByAuthor_WithAndWithoutBorrowedBooks() {
+        //Applying test pre-conditions
+        libraryService.borrowBook("6789");
+
+        //Performing test operation
+        List<BookDto> tolkienBooks = libraryService.viewBooksByAuthor("J.R.R. Tolkien", false);
+        List<BookDto> availableTolkienBooks = libraryService.viewBooksByAuthor("J.R.R. Tolkien", true);
+
+        //Asserting test outcomes
+        assertEquals(List.of("12345", "6789"), tolkienBooks.stream().map(BookDto::isbn).toList());
+        assertEquals(List.of("12345"), availableTolkienBooks.stream().map(BookDto::isbn).toList());
+    }
+
+    @Test
+    void testViewBooksPublishedBetween_InPublicationYearOrder() {
+        //Performing test operation
+        List<BookDto> books = libraryService.viewBooksPublishedBetween(1930, 1970, true);
+
+        //Asserting test outcomes
+        assertEquals(List.of("12345", "1111"), books.stream().map(BookDto::isbn).toList());
+        assertTrue(libraryService.viewBooksPublishedBetween(1900, 1920, false).isEmpty());
+    }
+
+    @Test
+    void testViewBooksByAuthorAndYear_InvalidRequest() {
+        //Performing test operation
+        CustomException authorException = assertThrows(CustomException.class, () -> libraryService.viewBooksByAuthor("", false));
+        CustomException rangeException = assertThrows(CustomException.class, () -> libraryService.viewBooksPublishedBetween(2000, 1990, false));
+
+        //Asserting test outcomes
+        assertEquals(INVALID_AUTHOR, authorException.getMessage());
+        assertEquals(formatMessage(INVALID_PUBLICATION_YEAR_RANGE, 2000, 1990), rangeException.getMessage());
+    }
+}
@@ -13,8 +13,8 @@ import static org.junit.jupiter.api.Assertions.*;
  * <p>
  * This class contains unit tests for the utility methods in {@link MessageFormatUtil} to ensure
  * correct formatting and display of messages with dynamic content. The tests validate scenarios
- * including proper argument matching, exception handling for argument mismatches, and verifying
- * the output of the `displayMessage` method.
+ * including proper argument matching, exception handling for argument mismatches, formatting from
+ * the precompiled {@link AppConstants} templates, and verifying the output of the `displayMessage` method.
  */
 class MessageFormatUtilTest {
 
@@ -84,6 +84,20 @@ class MessageFormatUtilTest {
         assertEquals("No placeholders here", result);
     }
 
+    @Test
+    void testFormatMessage_precompiledTemplate() {
+        //Applying test pre-conditions
+        String isbn = "123456";
+
+        //Performing test operation
+        String result = MessageFormatUtil.formatMessage(AppConstants.BOOK_DOES_NOT_EXIST_TEMPLATE, isbn);
+
+        //Asserting test outcomes
+        assertEquals(MessageFormatUtil.formatMessage(AppConstants.BOOK_DOES_NOT_EXIST, isbn), result);
+        assertEquals("Book with ISBN 123456 does not exist in the library.", result);
+        assertThrows(CustomException.class, () -> MessageFormatUtil.formatMessage(AppConstants.BOOK_DOES_NOT_EXIST_TEMPLATE));
+    }
+
     @Test
     void testDisplayMessage_validArguments() {
         //Applying test pre-conditions
@@ -0,0 +1,80 @@
+package com.incubyte.assessment.util;
+
+import com.incubyte.assessment.exception.CustomException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link MessageTemplate}.
+ * <p>
+ * This class contains unit tests verifying that templates count their placeholders when compiled,
+ * render arguments in place of the placeholders, reject a mismatching number of arguments, and that the
+ * {@link AppConstants} templates are compiled from their messages.
+ */
+class MessageTemplateTest {
+
+    @Test
+    void testCompile_CountsPlaceholders() {
+        //Performing test operation
+        MessageTemplate template = MessageTemplate.compile("%s books have been imported, %s records were rejected.%s");
+
+        //Asserting test outcomes
+        assertEquals(3, template.getPlaceholderCount());
+        assertEquals(0, MessageTemplate.compile("Library is open").getPlaceholderCount());
+    }
+
+    @Test
+    void testRender_ReplacesPlaceholders() {
+        //Applying test pre-conditions
+        MessageTemplate template = MessageTemplate.compile("%s: Book with ISBN %s is %s");
+
+        //Performing test operation
+        String result = template.render(1, "123456", null);
+
+        //Asserting test outcomes
+        assertEquals("1: Book with ISBN 123456 is null", result);
+        assertEquals("2: Book with ISBN 6789 is available", template.render(2, "6789", "available"));
+    }
+
+    @Test
+    void testRender_NestedRenderingKeepsOuterMessage() {
+        //Applying test pre-conditions
+        MessageTemplate template = MessageTemplate.compile("Outer %s and %s");
+        Object nestedArgument = new Object() {
+            @Override
+            public String toString() {
+                return MessageTemplate.compile("inner %s").render("value");
+            }
+        };
+
+        //Performing test operation
+        String result = template.render("first", nestedArgument);
+
+        //Asserting test outcomes
+        assertEquals("Outer first and inner value", result);
+    }
+
+    @Test
+    void testRender_ArgumentCountMismatch() {
+        //Applying test pre-conditions
+        MessageTemplate template = MessageTemplate.compile(AppConstants.BOOK_ALREADY_EXISTS);
+
+        //Performing test operation
+        CustomException exception = assertThrows(CustomException.class, template::render);
+
+        //Asserting test outcomes
+        assertEquals("Mismatch between placeholders and arguments. Expected 1 arguments but got 0", exception.getMessage());
+    }
+
+    @Test
+    void testAppConstantsTemplates_MatchTheirFormats() {
+        //Performing test operation
+        MessageTemplate template = AppConstants.REPOSITORY_MIGRATION_INCOMPLETE_TEMPLATE;
+
+        //Asserting test outcomes
+        assertEquals(AppConstants.REPOSITORY_MIGRATION_INCOMPLETE, template.getFormat());
+        assertEquals(2, template.getPlaceholderCount());
+        assertEquals("Repository migration copied 3 of the 5 books of the source.", template.render(3, 5));
+    }
+}